@@ -0,0 +1,101 @@
+package com.cpp.moviejournal.strategy;
+
+import com.cpp.moviejournal.model.MovieReview;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the sort strategies with the boxed comparator chains they used before
+ * {@link ReviewSortEngine}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortStrategyBenchmark {
+  private static final Comparator<MovieReview> COMPARATOR_RATING_HIGH =
+      Comparator.comparing(MovieReview::getRating, Comparator.reverseOrder())
+          .thenComparing(MovieReview::getTitle);
+  private static final Comparator<MovieReview> COMPARATOR_DATE_NEWEST =
+      Comparator.comparing(
+              MovieReview::getDateWatched, Comparator.nullsLast(Comparator.reverseOrder()))
+          .thenComparing(MovieReview::getId, Comparator.reverseOrder());
+  private static final Comparator<MovieReview> COMPARATOR_TITLE_ASC =
+      Comparator.comparing(MovieReview::getTitle, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+          .thenComparing(MovieReview::getDirector);
+
+  @Param({"1000", "10000", "100000"})
+  private int size;
+
+  private List<MovieReview> reviews;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    reviews = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      reviews.add(
+          MovieReview.builder()
+              .setId(i + 1)
+              .setTitle("Movie " + Integer.toString(random.nextInt(size), 36))
+              .setDirector("Director " + random.nextInt(500))
+              .setGenre("Drama")
+              .setRating(random.nextInt(11) / 2.0)
+              .setDateWatched(LocalDate.of(2000, 1, 1).plusDays(random.nextInt(9000)))
+              .build());
+    }
+  }
+
+  private List<MovieReview> comparatorSort(Comparator<MovieReview> order) {
+    List<MovieReview> sorted = new ArrayList<>(reviews);
+    sorted.sort(order);
+    return sorted;
+  }
+
+  @Benchmark
+  public List<MovieReview> ratingComparator() {
+    return comparatorSort(COMPARATOR_RATING_HIGH);
+  }
+
+  @Benchmark
+  public List<MovieReview> ratingEngine() {
+    return new RatingHighSortStrategy().sort(reviews);
+  }
+
+  @Benchmark
+  public List<MovieReview> dateComparator() {
+    return comparatorSort(COMPARATOR_DATE_NEWEST);
+  }
+
+  @Benchmark
+  public List<MovieReview> dateEngine() {
+    return new DateNewestSortStrategy().sort(reviews);
+  }
+
+  @Benchmark
+  public List<MovieReview> titleComparator() {
+    return comparatorSort(COMPARATOR_TITLE_ASC);
+  }
+
+  @Benchmark
+  public List<MovieReview> titleEngine() {
+    return new TitleAscendingSortStrategy().sort(reviews);
+  }
+}
@@ -5,6 +5,7 @@ import com.cpp.moviejournal.gui.FavoriteReviewsPanel;
 import com.cpp.moviejournal.gui.LoginPanel;
 import com.cpp.moviejournal.gui.ReviewManagementPanel;
 import com.cpp.moviejournal.gui.SignupPanel;
+import com.cpp.moviejournal.gui.TicketGalleryPanel;
 import com.cpp.moviejournal.gui.UserProfilePanel;
 import com.cpp.moviejournal.manager.MovieReviewManager;
 import com.cpp.moviejournal.manager.UserManager;
@@ -30,6 +31,7 @@ public class PanelFactory {
             case DASHBOARD -> createDashboardPanel(movieReviewManager);
             case REVIEW_MANAGEMENT -> createReviewManagementPanel(movieReviewManager);
             case FAVORITE_REVIEWS -> createFavoriteReviewsPanel(movieReviewManager);
+            case TICKET_GALLERY -> createTicketGalleryPanel(movieReviewManager);
             case USER_PROFILE -> createUserProfilePanel(userManager);
         };
     }
@@ -66,6 +68,14 @@ public class PanelFactory {
         return panel;
     }
     
+    private static JPanel createTicketGalleryPanel(MovieReviewManager movieReviewManager) {
+        TicketGalleryPanel panel = new TicketGalleryPanel();
+        if (movieReviewManager != null) {
+            panel.setMovieReviewManager(movieReviewManager);
+        }
+        return panel;
+    }
+    
     private static JPanel createUserProfilePanel(UserManager userManager) {
         UserProfilePanel panel = new UserProfilePanel();
         if (userManager != null) {
@@ -83,6 +93,7 @@ public class PanelFactory {
         DASHBOARD,
         REVIEW_MANAGEMENT,
         FAVORITE_REVIEWS,
+        TICKET_GALLERY,
         USER_PROFILE
     }
 }
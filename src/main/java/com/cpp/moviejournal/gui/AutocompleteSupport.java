@@ -0,0 +1,167 @@
+package com.cpp.moviejournal.gui;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.*;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Shows a suggestion drop-down under a text field while the user types.
+ * Up/Down move through the suggestions, Enter or a click accepts one and Escape closes the list;
+ * the field keeps the keyboard focus throughout.
+ */
+public class AutocompleteSupport {
+
+    private static final int MAX_VISIBLE_ROWS = 8;
+
+    private final JTextField field;
+    private final Function<String, List<String>> provider;
+    private final DefaultListModel<String> model = new DefaultListModel<>();
+    private final JList<String> list = new JList<>(model);
+    private final JPopupMenu popup = new JPopupMenu();
+    private boolean accepting;
+
+    private AutocompleteSupport(JTextField field, Function<String, List<String>> provider) {
+        this.field = field;
+        this.provider = provider;
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setFocusable(false);
+        list.setFont(field.getFont());
+        JScrollPane scrollPane = new JScrollPane(list);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder());
+        popup.setFocusable(false);
+        popup.setLayout(new BorderLayout());
+        popup.add(scrollPane, BorderLayout.CENTER);
+    }
+
+    /**
+     * Attaches autocomplete to a text field.
+     *
+     * @param field the field to complete
+     * @param provider returns the suggestions for the text typed so far
+     * @return the installed support
+     */
+    public static AutocompleteSupport install(JTextField field, Function<String, List<String>> provider) {
+        AutocompleteSupport support = new AutocompleteSupport(field, provider);
+        support.registerListeners();
+        return support;
+    }
+
+    private void registerListeners() {
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                scheduleUpdate();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                scheduleUpdate();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                scheduleUpdate();
+            }
+        });
+        field.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (!popup.isVisible()) {
+                    return;
+                }
+                switch (e.getKeyCode()) {
+                    case KeyEvent.VK_DOWN -> moveSelection(1, e);
+                    case KeyEvent.VK_UP -> moveSelection(-1, e);
+                    case KeyEvent.VK_ENTER -> {
+                        if (list.getSelectedIndex() >= 0) {
+                            accept(list.getSelectedValue());
+                            e.consume();
+                        }
+                    }
+                    case KeyEvent.VK_ESCAPE -> {
+                        hide();
+                        e.consume();
+                    }
+                    default -> { }
+                }
+            }
+        });
+        field.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                hide();
+            }
+        });
+        list.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = list.locationToIndex(e.getPoint());
+                if (index >= 0) {
+                    accept(model.get(index));
+                }
+            }
+        });
+    }
+
+    // Document listeners must not change the component tree mid-notification
+    private void scheduleUpdate() {
+        if (!accepting) {
+            SwingUtilities.invokeLater(this::updateSuggestions);
+        }
+    }
+
+    private void updateSuggestions() {
+        String text = field.getText();
+        if (!field.isShowing() || !field.hasFocus() || text.isBlank()) {
+            hide();
+            return;
+        }
+        List<String> suggestions = provider.apply(text);
+        // Nothing to offer when the only suggestion is what the user already typed
+        if (suggestions.isEmpty()
+                || (suggestions.size() == 1 && suggestions.get(0).equalsIgnoreCase(text.trim()))) {
+            hide();
+            return;
+        }
+        model.clear();
+        suggestions.forEach(model::addElement);
+        list.setVisibleRowCount(Math.min(MAX_VISIBLE_ROWS, suggestions.size()));
+        list.clearSelection();
+        // Drop the previous fixed size so the height follows the new row count
+        popup.setPreferredSize(null);
+        popup.setPopupSize(field.getWidth(), popup.getPreferredSize().height);
+        if (!popup.isVisible()) {
+            popup.show(field, 0, field.getHeight());
+        }
+    }
+
+    private void moveSelection(int delta, KeyEvent e) {
+        int index = Math.floorMod(list.getSelectedIndex() + delta, model.getSize());
+        list.setSelectedIndex(index);
+        list.ensureIndexIsVisible(index);
+        e.consume();
+    }
+
+    private void accept(String value) {
+        accepting = true;
+        try {
+            field.setText(value);
+        } finally {
+            accepting = false;
+        }
+        hide();
+    }
+
+    public void hide() {
+        popup.setVisible(false);
+    }
+}
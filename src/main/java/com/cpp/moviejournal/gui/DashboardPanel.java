@@ -6,7 +6,7 @@ import com.cpp.moviejournal.model.MovieReview;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.List;
 
@@ -25,6 +25,7 @@ public class DashboardPanel extends JPanel implements ReviewChangeListener {
     
     // Recent reviews table
     private JTable recentReviewsTable;
+    private DefaultTableModel recentReviewsModel;
     private JScrollPane recentReviewsScrollPane;
     
     // Quick action buttons
@@ -58,8 +59,19 @@ public class DashboardPanel extends JPanel implements ReviewChangeListener {
         
         // Recent reviews table
         String[] columnNames = {"Title", "Director", "Genre", "Rating", "Date Watched"};
-        Object[][] data = {};
-        recentReviewsTable = new JTable(data, columnNames);
+        recentReviewsModel = new DefaultTableModel(columnNames, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+
+            @Override
+            public Class<?> getColumnClass(int column) {
+                return column == 3 ? Double.class : String.class;
+            }
+        };
+        recentReviewsTable = new JTable(recentReviewsModel);
+        recentReviewsTable.getColumn("Rating").setCellRenderer(ReviewTableRenderers.ratingRenderer());
         recentReviewsScrollPane = new JScrollPane(recentReviewsTable);
         
         // Quick action buttons
@@ -234,33 +246,25 @@ public class DashboardPanel extends JPanel implements ReviewChangeListener {
         theaterVisitsLabel.setText(String.valueOf(theaterVisits));
         
         // Update recent reviews table
-        List<MovieReview> recentReviews = movieReviewManager.getAllMovies();
+        List<MovieReview> recentReviews = movieReviewManager.getReviewSummaries();
         
         int displayCount = Math.min(5, recentReviews.size());
-        Object[][] data = new Object[displayCount][5];
-        
+        recentReviewsModel.setRowCount(0);
         for (int i = 0; i < displayCount; i++) {
             MovieReview review = recentReviews.get(i);
-            data[i][0] = review.getTitle();
-            data[i][1] = review.getDirector();
-            data[i][2] = review.getGenre();
-            data[i][3] = createStarRatingDisplay(review.getRating());
-            data[i][4] = review.getDateWatchedAsString();
+            recentReviewsModel.addRow(new Object[]{
+                review.getTitle(),
+                review.getDirector(),
+                review.getGenre(),
+                review.getRating(),
+                review.getDateWatchedAsString()
+            });
         }
         
-        String[] columnNames = {"Title", "Director", "Genre", "Rating", "Date Watched"};
-        recentReviewsTable.setModel(new javax.swing.table.DefaultTableModel(data, columnNames) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        });
-
-        // ✅ Enable HTML rendering for the "Rating" column
-        recentReviewsTable.getColumn("Rating").setCellRenderer(new HtmlTableCellRenderer());
-
-        // Reapply table styling
-        applyStyling();
+        // Reads fall back to the last loaded data while the database is unreachable
+        boolean stale = movieReviewManager.isServingStaleData();
+        recentReviewsLabel.setText(stale ? "Recent Reviews  ⚠ offline, showing last loaded data" : "Recent Reviews");
+        recentReviewsLabel.setForeground(stale ? new Color(220, 53, 69) : new Color(52, 58, 64));
     }
 
     // ReviewChangeListener implementation
@@ -289,48 +293,6 @@ public class DashboardPanel extends JPanel implements ReviewChangeListener {
         SwingUtilities.invokeLater(this::refreshData);
     }
 
-    private String createStarRatingDisplay(double rating) {
-        StringBuilder stars = new StringBuilder();
-        int fullStars = (int) rating;
-        boolean hasHalfStar = (rating - fullStars) >= 0.5;
-        
-        // Add full stars
-        for (int i = 0; i < fullStars; i++) {
-            stars.append("★");
-        }
-        
-        // Add half star if needed
-        if (hasHalfStar) {
-            stars.append("☆");
-        }
-        
-        return stars.toString() + " (" + String.format("%.1f", rating) + ")";
-    }
-
-    private static class HtmlTableCellRenderer extends DefaultTableCellRenderer {
-        @Override
-        public Component getTableCellRendererComponent(JTable table, Object value,
-                                                    boolean isSelected, boolean hasFocus,
-                                                    int row, int column) {
-            JLabel label = (JLabel) super.getTableCellRendererComponent(
-                    table, value, isSelected, hasFocus, row, column);
-
-            if (value != null) {
-                String text = value.toString();
-                label.setText(text);
-                if (text.contains("★") || text.contains("☆")) {
-                    label.setForeground(new Color(255, 193, 7)); // gold
-                    label.setFont(new Font("Segoe UI Symbol", Font.PLAIN, 14));
-                    label.setHorizontalAlignment(SwingConstants.CENTER);
-                } else {
-                    label.setForeground(Color.BLACK);
-                }
-            }
-            return label;
-        }
-    }
-
-    
     // Getters for buttons (to be used by main GUI)
     public JButton getAddReviewButton() {
         return addReviewButton;
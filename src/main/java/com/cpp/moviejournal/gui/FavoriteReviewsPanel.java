@@ -52,8 +52,21 @@ public class FavoriteReviewsPanel extends JPanel implements ReviewChangeListener
             public boolean isCellEditable(int row, int column) {
                 return false;
             }
+
+            @Override
+            public Class<?> getColumnClass(int column) {
+                if (column == 3) {
+                    return Double.class;
+                }
+                if (column == 5) {
+                    return Boolean.class;
+                }
+                return String.class;
+            }
         };
         favoritesTable = new JTable(tableModel);
+        favoritesTable.getColumn("Rating").setCellRenderer(ReviewTableRenderers.ratingRenderer());
+        favoritesTable.getColumn("Ticket").setCellRenderer(ReviewTableRenderers.ticketRenderer());
         ticketPreviewLabel = new JLabel("Select a review to preview ticket", SwingConstants.CENTER);
         reviewDetailsArea = new JTextArea();
         reviewDetailsArea.setEditable(false);
@@ -121,7 +134,7 @@ public class FavoriteReviewsPanel extends JPanel implements ReviewChangeListener
     }
 
     private void updateDetails(MovieReview review) {
-        reviewDetailsArea.setText(review.getReview());
+        reviewDetailsArea.setText(movieReviewManager.loadReviewBody(review));
         String imagePath = review.getTicketImagePath();
         if (imagePath == null || imagePath.isBlank()) {
             ticketPreviewLabel.setText("No ticket image");
@@ -165,9 +178,9 @@ public class FavoriteReviewsPanel extends JPanel implements ReviewChangeListener
                     review.getTitle(),
                     review.getDirector(),
                     review.getGenre(),
-                    String.format("%.1f", review.getRating()),
+                    review.getRating(),
                     review.getDateWatchedAsString(),
-                    review.getTicketImagePath() != null && !review.getTicketImagePath().isBlank() ? "🎟️" : ""
+                    review.getTicketImagePath() != null && !review.getTicketImagePath().isBlank()
             });
         }
 
@@ -2,12 +2,17 @@ package com.cpp.moviejournal.gui;
 
 import com.cpp.moviejournal.factory.PanelFactory;
 import com.cpp.moviejournal.manager.MovieReviewManager;
+import com.cpp.moviejournal.manager.OfflineReplayer;
+import com.cpp.moviejournal.manager.ReviewSyncPoller;
+import com.cpp.moviejournal.manager.TrashPurger;
 import com.cpp.moviejournal.manager.UserManager;
 import com.cpp.moviejournal.model.User;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 
 /**
@@ -19,6 +24,9 @@ public class MovieJournalGUI extends JFrame {
     // Managers
     private UserManager userManager;
     private MovieReviewManager movieReviewManager;
+    private TrashPurger trashPurger;
+    private ReviewSyncPoller reviewSyncPoller;
+    private OfflineReplayer offlineReplayer;
     
     // Current user
     private User currentUser;
@@ -35,11 +43,12 @@ public class MovieJournalGUI extends JFrame {
     private DashboardPanel dashboardPanel;
     private ReviewManagementPanel reviewManagementPanel;
     private FavoriteReviewsPanel favoriteReviewsPanel;
+    private TicketGalleryPanel ticketGalleryPanel;
     private UserProfilePanel userProfilePanel;
     
     // Navigation
     private JPanel navigationPanel;
-    private JButton dashboardBtn, reviewsBtn, favoritesBtn, profileBtn, logoutBtn;
+    private JButton dashboardBtn, reviewsBtn, favoritesBtn, ticketsBtn, profileBtn, logoutBtn;
     
     public MovieJournalGUI() {
         // Show splash screen first
@@ -57,6 +66,15 @@ public class MovieJournalGUI extends JFrame {
     private void initializeManagers() {
         userManager = new UserManager();
         movieReviewManager = new MovieReviewManager();
+        // Hard-deletes expired trash in the background; its daemon thread ends with the app
+        trashPurger = new TrashPurger();
+        trashPurger.start();
+        // Writes deferred favorite toggles, then flushes offline writes still inside the
+        // journal's fsync window, when the app exits
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            movieReviewManager.close();
+            movieReviewManager.disableOfflineMode();
+        }));
     }
     
     private void initializeGUI() {
@@ -83,6 +101,8 @@ public class MovieJournalGUI extends JFrame {
             PanelFactory.PanelType.REVIEW_MANAGEMENT, movieReviewManager, null);
         favoriteReviewsPanel = (FavoriteReviewsPanel) PanelFactory.createPanel(
             PanelFactory.PanelType.FAVORITE_REVIEWS, movieReviewManager, null);
+        ticketGalleryPanel = (TicketGalleryPanel) PanelFactory.createPanel(
+            PanelFactory.PanelType.TICKET_GALLERY, movieReviewManager, null);
         userProfilePanel = (UserProfilePanel) PanelFactory.createPanel(
             PanelFactory.PanelType.USER_PROFILE, null, userManager);
         
@@ -92,6 +112,7 @@ public class MovieJournalGUI extends JFrame {
         mainPanel.add(dashboardPanel, "DASHBOARD");
         mainPanel.add(reviewManagementPanel, "REVIEWS");
         mainPanel.add(favoriteReviewsPanel, "FAVORITES");
+        mainPanel.add(ticketGalleryPanel, "TICKETS");
         mainPanel.add(userProfilePanel, "PROFILE");
         
         // Create navigation panel
@@ -117,12 +138,14 @@ public class MovieJournalGUI extends JFrame {
         reviewsBtn = createNavButton("🎬 Reviews", new Color(0, 123, 255));
         favoritesBtn = createNavButton("⭐ Favorites", new Color(255, 193, 7));
         favoritesBtn.setForeground(Color.BLACK);
+        ticketsBtn = createNavButton("🎟️ Tickets", new Color(23, 162, 184));
         profileBtn = createNavButton("👤 Profile", new Color(108, 117, 125));
         logoutBtn = createNavButton("🚪 Logout", new Color(220, 53, 69));
         
         navigationPanel.add(dashboardBtn);
         navigationPanel.add(reviewsBtn);
         navigationPanel.add(favoritesBtn);
+        navigationPanel.add(ticketsBtn);
         navigationPanel.add(profileBtn);
         navigationPanel.add(Box.createHorizontalGlue());
         navigationPanel.add(logoutBtn);
@@ -157,13 +180,17 @@ public class MovieJournalGUI extends JFrame {
             User user = userManager.loginUser(username, password);
             if (user != null) {
                 currentUser = user;
+                movieReviewManager.close();
                 movieReviewManager = new MovieReviewManager(user.getId());
                 
                 // Set managers for panels
                 dashboardPanel.setMovieReviewManager(movieReviewManager);
                 reviewManagementPanel.setMovieReviewManager(movieReviewManager);
                 favoriteReviewsPanel.setMovieReviewManager(movieReviewManager);
+                ticketGalleryPanel.setMovieReviewManager(movieReviewManager);
                 userProfilePanel.setUserManager(userManager);
+                startReviewSync();
+                startOfflineMode(user.getId());
                 
                 showMainApplication();
                 showMessage("Welcome back, " + user.getUsername() + "!", "Success", JOptionPane.INFORMATION_MESSAGE);
@@ -192,6 +219,7 @@ public class MovieJournalGUI extends JFrame {
         reviewsBtn.addActionListener(e -> showReviews());
         profileBtn.addActionListener(e -> showProfile());
         favoritesBtn.addActionListener(e -> showFavorites());
+        ticketsBtn.addActionListener(e -> showTickets());
         logoutBtn.addActionListener(e -> logout());
         
         // Dashboard button events
@@ -232,6 +260,11 @@ public class MovieJournalGUI extends JFrame {
         favoriteReviewsPanel.refreshData();
     }
     
+    private void showTickets() {
+        cardLayout.show(mainPanel, "TICKETS");
+        ticketGalleryPanel.refreshData();
+    }
+    
     private void showProfile() {
         cardLayout.show(mainPanel, "PROFILE");
         userProfilePanel.setUser(currentUser);
@@ -245,11 +278,46 @@ public class MovieJournalGUI extends JFrame {
         
         if (result == JOptionPane.YES_OPTION) {
             currentUser = null;
+            stopReviewSync();
+            movieReviewManager.close();
+            stopOfflineMode();
             movieReviewManager = new MovieReviewManager();
             showLoginScreen();
         }
     }
     
+    // Picks up edits made in other running instances; panels refresh from the change events
+    private void startReviewSync() {
+        stopReviewSync();
+        reviewSyncPoller = new ReviewSyncPoller(movieReviewManager);
+        reviewSyncPoller.start();
+    }
+    
+    private void stopReviewSync() {
+        if (reviewSyncPoller != null) {
+            reviewSyncPoller.stop();
+            reviewSyncPoller = null;
+        }
+    }
+    
+    // Keeps the journal writable through database outages; the log survives restarts
+    private void startOfflineMode(int userId) {
+        stopOfflineMode();
+        Path journalFile = Paths.get(System.getProperty("user.home"), ".moviejournal", "offline-" + userId + ".log");
+        if (movieReviewManager.enableOfflineMode(journalFile)) {
+            offlineReplayer = new OfflineReplayer(movieReviewManager);
+            offlineReplayer.start();
+        }
+    }
+    
+    private void stopOfflineMode() {
+        if (offlineReplayer != null) {
+            offlineReplayer.stop();
+            offlineReplayer = null;
+        }
+        movieReviewManager.disableOfflineMode();
+    }
+    
     private void showMessage(String message, String title, int messageType) {
         JOptionPane.showMessageDialog(this, message, title, messageType);
     }
@@ -1,14 +1,25 @@
 package com.cpp.moviejournal.gui;
 
+import com.cpp.moviejournal.manager.AddResult;
 import com.cpp.moviejournal.manager.MovieReviewManager;
 import com.cpp.moviejournal.manager.ReviewChangeListener;
+import com.cpp.moviejournal.manager.SmartListManager;
+import com.cpp.moviejournal.manager.TrashPurger;
+import com.cpp.moviejournal.manager.UpdateResult;
+import com.cpp.moviejournal.manager.UpsertOutcome;
+import com.cpp.moviejournal.model.Genre;
 import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.search.AutocompleteIndex;
+import com.cpp.moviejournal.search.DuplicateReviewIndex;
+import com.cpp.moviejournal.search.FacetCounts;
+import com.cpp.moviejournal.search.ReviewFilter;
+import com.cpp.moviejournal.search.ReviewFilterResult;
+import com.cpp.moviejournal.search.SmartList;
 
 import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.filechooser.FileNameExtensionFilter;
-import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
@@ -20,9 +31,11 @@ import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Comprehensive Review Management Panel with CRUD operations, search, and sort
@@ -31,6 +44,14 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
     
     private static final Path TICKET_STORAGE = Path.of(System.getProperty("user.home"), ".moviejournal", "tickets");
     private static final int PREVIEW_SIZE = 180;
+    private static final int SEARCH_DEBOUNCE_MS = 250;
+    private static final int FUZZY_MIN_QUERY_LENGTH = 3;
+    private static final int FUZZY_RESULT_LIMIT = 50;
+    private static final int AUTOCOMPLETE_LIMIT = 8;
+    private static final DateTimeFormatter FILTER_DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final String ALL_GENRES = "All genres";
+    private static final String ANY_RATING = "Any rating";
+    private static final String NO_SMART_LIST = "Smart lists…";
 
     private MovieReviewManager movieReviewManager;
     
@@ -44,6 +65,29 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
     private JComboBox<String> sortComboBox;
     private JButton searchButton;
     private JButton clearSearchButton;
+    private Timer searchDebounceTimer;
+    private int searchGeneration;
+    private JLabel searchHintLabel;
+    
+    // Filter bar components
+    private JComboBox<String> genreFilterComboBox;
+    private JComboBox<String> ratingFilterComboBox;
+    private JTextField watchedFromField;
+    private JTextField watchedToField;
+    private JCheckBox favoritesOnlyCheckBox;
+    private JCheckBox withTicketOnlyCheckBox;
+    private JButton resetFiltersButton;
+    private JLabel filterSummaryLabel;
+    private final List<String> genreFilterValues = new ArrayList<>();
+    private boolean updatingFacetLabels;
+    
+    // Saved smart lists
+    private SmartListManager smartListManager;
+    private JComboBox<Object> smartListComboBox;
+    private JButton saveSmartListButton;
+    private JButton deleteSmartListButton;
+    private SmartList activeSmartList;
+    private boolean updatingSmartLists;
     
     // Action buttons
     private JButton addReviewButton;
@@ -51,6 +95,7 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
     private JButton deleteReviewButton;
     private JButton toggleFavoriteButton;
     private JButton bulkDeleteButton;
+    private JButton trashButton;
     private JButton selectAllButton;
     private JButton clearSelectionButton;
     private JButton refreshButton;
@@ -59,7 +104,7 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
     private JDialog reviewDialog;
     private JTextField titleField;
     private JTextField directorField;
-    private JTextField genreField;
+    private JList<Genre> genreList;
     private StarRatingComponent starRatingComponent;
     private JTextArea reviewTextArea;
     private JTextField dateField;
@@ -89,11 +134,21 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
     public void setMovieReviewManager(MovieReviewManager manager) {
         if (this.movieReviewManager != null) {
             this.movieReviewManager.removeReviewChangeListener(this);
+            this.movieReviewManager.setFavoriteRollbackHandler(null);
+        }
+        if (this.smartListManager != null) {
+            this.smartListManager.close();
+            this.smartListManager = null;
         }
         this.movieReviewManager = manager;
+        this.activeSmartList = null;
         if (this.movieReviewManager != null) {
             this.movieReviewManager.addReviewChangeListener(this);
+            this.movieReviewManager.setFavoriteRollbackHandler(this::showFavoriteRollback);
+            this.smartListManager = new SmartListManager(manager);
+            preloadAutocomplete(manager);
         }
+        reloadSmartLists(null);
         refreshData();
     }
     
@@ -112,6 +167,12 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
                 if (column == 0) {
                     return Boolean.class; // Checkbox column
                 }
+                if (column == 5) {
+                    return Double.class; // Rating column, painted as stars
+                }
+                if (column == 6) {
+                    return Boolean.class; // Favorite column
+                }
                 return super.getColumnClass(column);
             }
         };
@@ -124,6 +185,9 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
         } catch (Exception ignored) {
             // If removal fails for any reason, continue without throwing — model still contains ID
         }
+        // Renderers are installed once; reloads only replace row data
+        reviewsTable.getColumn("Rating").setCellRenderer(ReviewTableRenderers.ratingRenderer());
+        reviewsTable.getColumn("Favorite").setCellRenderer(ReviewTableRenderers.favoriteRenderer());
         tableScrollPane = new JScrollPane(reviewsTable);
         tableSorter = new TableRowSorter<>(tableModel);
         reviewsTable.setRowSorter(tableSorter);
@@ -134,8 +198,32 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
             "Date (Newest)", "Date (Oldest)", "Rating (High)", "Rating (Low)", 
             "Title (A-Z)", "Title (Z-A)"
         });
+        searchDebounceTimer = new Timer(SEARCH_DEBOUNCE_MS, e -> performSearch());
+        searchDebounceTimer.setRepeats(false);
         searchButton = new JButton("🔍 Search");
         clearSearchButton = new JButton("🗑️ Clear");
+        searchHintLabel = new JLabel(" ");
+        searchHintLabel.setFont(new Font("Segoe UI", Font.ITALIC, 12));
+        searchHintLabel.setForeground(new Color(108, 117, 125));
+        
+        // Filter bar components; labels gain facet counts once results arrive
+        genreFilterComboBox = new JComboBox<>(new String[]{ALL_GENRES});
+        ratingFilterComboBox = new JComboBox<>(new String[]{ANY_RATING, "1+ ★", "2+ ★", "3+ ★", "4+ ★", "5 ★"});
+        watchedFromField = new JTextField(8);
+        watchedFromField.setToolTipText("Watched on or after (MM/dd/yyyy)");
+        watchedToField = new JTextField(8);
+        watchedToField.setToolTipText("Watched on or before (MM/dd/yyyy)");
+        favoritesOnlyCheckBox = new JCheckBox("⭐ Favorites");
+        withTicketOnlyCheckBox = new JCheckBox("🎟️ With ticket");
+        resetFiltersButton = new JButton("↺ Reset Filters");
+        filterSummaryLabel = new JLabel(" ");
+        filterSummaryLabel.setForeground(new Color(108, 117, 125));
+        smartListComboBox = new JComboBox<>(new Object[]{NO_SMART_LIST});
+        smartListComboBox.setToolTipText("Open a saved smart list");
+        saveSmartListButton = new JButton("📌 Save List");
+        saveSmartListButton.setToolTipText("Save the current search, filters and sort as a smart list");
+        deleteSmartListButton = new JButton("✖ Delete List");
+        deleteSmartListButton.setEnabled(false);
         
         // Action buttons
         addReviewButton = new JButton("➕ Add Review");
@@ -143,6 +231,8 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
         deleteReviewButton = new JButton("🗑️ Delete");
         toggleFavoriteButton = new JButton("⭐ Toggle Favorite");
         bulkDeleteButton = new JButton("🗑️ Bulk Delete");
+        trashButton = new JButton("♻️ Trash");
+        trashButton.setToolTipText("Restore deleted reviews or empty the trash");
         selectAllButton = new JButton("☑️ Select All");
         clearSelectionButton = new JButton("☐ Clear Selection");
         refreshButton = new JButton("🔄 Refresh");
@@ -159,7 +249,13 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
         // Dialog components
         titleField = new JTextField(20);
         directorField = new JTextField(20);
-        genreField = new JTextField(20);
+        // Genres come from the registry; hold Ctrl or Shift to pick several
+        genreList = new JList<>(Genre.values());
+        genreList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        genreList.setVisibleRowCount(5);
+        // Suggest the journal's existing spellings so titles and directors stay consistent
+        AutocompleteSupport.install(titleField, prefix -> suggest(AutocompleteIndex.Field.TITLE, prefix));
+        AutocompleteSupport.install(directorField, prefix -> suggest(AutocompleteIndex.Field.DIRECTOR, prefix));
         starRatingComponent = new StarRatingComponent(5, true);
         reviewTextArea = new JTextArea(8, 20);
         dateField = new JTextField(20);
@@ -204,7 +300,7 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
         gbc.gridx = 0; gbc.gridy = 2; gbc.fill = GridBagConstraints.NONE;
         formPanel.add(new JLabel("🎪 Genre:"), gbc);
         gbc.gridx = 1; gbc.fill = GridBagConstraints.HORIZONTAL;
-        formPanel.add(genreField, gbc);
+        formPanel.add(new JScrollPane(genreList), gbc);
         
         // Rating
         gbc.gridx = 0; gbc.gridy = 3; gbc.fill = GridBagConstraints.NONE;
@@ -298,6 +394,7 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
         searchPanel.add(searchField);
         searchPanel.add(searchButton);
         searchPanel.add(clearSearchButton);
+        searchPanel.add(searchHintLabel);
         
         // Sort panel
         JPanel sortPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
@@ -307,12 +404,43 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
         sortPanel.add(sortComboBox);
         sortPanel.add(refreshButton);
         
-        panel.add(searchPanel, BorderLayout.WEST);
-        panel.add(sortPanel, BorderLayout.EAST);
+        JPanel controlsRow = new JPanel(new BorderLayout());
+        controlsRow.setBackground(new Color(248, 249, 250));
+        controlsRow.add(searchPanel, BorderLayout.WEST);
+        controlsRow.add(sortPanel, BorderLayout.EAST);
+        
+        panel.add(controlsRow, BorderLayout.NORTH);
+        panel.add(createFilterPanel(), BorderLayout.SOUTH);
         
         return panel;
     }
     
+    private JPanel createFilterPanel() {
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        filterPanel.setBackground(new Color(248, 249, 250));
+        filterPanel.setBorder(new EmptyBorder(10, 0, 0, 0));
+        
+        filterPanel.add(new JLabel("🎪 Genre:"));
+        filterPanel.add(genreFilterComboBox);
+        filterPanel.add(new JLabel("⭐ Rating:"));
+        filterPanel.add(ratingFilterComboBox);
+        filterPanel.add(new JLabel("📅 From:"));
+        filterPanel.add(watchedFromField);
+        filterPanel.add(new JLabel("To:"));
+        filterPanel.add(watchedToField);
+        filterPanel.add(favoritesOnlyCheckBox);
+        filterPanel.add(withTicketOnlyCheckBox);
+        filterPanel.add(resetFiltersButton);
+        filterPanel.add(smartListComboBox);
+        filterPanel.add(saveSmartListButton);
+        filterPanel.add(deleteSmartListButton);
+        filterPanel.add(filterSummaryLabel);
+        
+        favoritesOnlyCheckBox.setOpaque(false);
+        withTicketOnlyCheckBox.setOpaque(false);
+        return filterPanel;
+    }
+    
     private JPanel createCenterPanel() {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBackground(new Color(248, 249, 250));
@@ -345,6 +473,7 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
         rightPanel.add(selectAllButton);
         rightPanel.add(clearSelectionButton);
         rightPanel.add(bulkDeleteButton);
+        rightPanel.add(trashButton);
         
         panel.add(leftPanel, BorderLayout.WEST);
         panel.add(rightPanel, BorderLayout.EAST);
@@ -357,16 +486,56 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
         searchButton.addActionListener(e -> performSearch());
         clearSearchButton.addActionListener(e -> clearSearch());
         searchField.addActionListener(e -> performSearch());
+        // Search as you type: restart the debounce timer on every keystroke
+        searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            @Override
+            public void insertUpdate(javax.swing.event.DocumentEvent e) {
+                searchDebounceTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(javax.swing.event.DocumentEvent e) {
+                searchDebounceTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(javax.swing.event.DocumentEvent e) {
+                searchDebounceTimer.restart();
+            }
+        });
         
         // Sort functionality
         sortComboBox.addActionListener(e -> performSort());
         
+        // Filter bar: every change re-runs the combined filter query
+        genreFilterComboBox.addActionListener(e -> onFilterChanged());
+        ratingFilterComboBox.addActionListener(e -> onFilterChanged());
+        favoritesOnlyCheckBox.addActionListener(e -> onFilterChanged());
+        withTicketOnlyCheckBox.addActionListener(e -> onFilterChanged());
+        watchedFromField.addActionListener(e -> onFilterChanged());
+        watchedToField.addActionListener(e -> onFilterChanged());
+        java.awt.event.FocusAdapter applyDateOnFocusLost = new java.awt.event.FocusAdapter() {
+            @Override
+            public void focusLost(java.awt.event.FocusEvent e) {
+                onFilterChanged();
+            }
+        };
+        watchedFromField.addFocusListener(applyDateOnFocusLost);
+        watchedToField.addFocusListener(applyDateOnFocusLost);
+        resetFiltersButton.addActionListener(e -> resetFilters());
+        
+        // Smart lists: opening one shows its maintained results without re-running the search
+        smartListComboBox.addActionListener(e -> onSmartListSelected());
+        saveSmartListButton.addActionListener(e -> saveSmartList());
+        deleteSmartListButton.addActionListener(e -> deleteSmartList());
+        
         // Action buttons
         addReviewButton.addActionListener(e -> showAddReviewDialog());
         editReviewButton.addActionListener(e -> showEditReviewDialog());
         deleteReviewButton.addActionListener(e -> deleteSelectedReview());
         toggleFavoriteButton.addActionListener(e -> toggleFavoriteSelectedReview());
         bulkDeleteButton.addActionListener(e -> bulkDeleteReviews());
+        trashButton.addActionListener(e -> showTrashDialog());
         selectAllButton.addActionListener(e -> selectAllReviews());
         clearSelectionButton.addActionListener(e -> clearSelection());
         refreshButton.addActionListener(e -> refreshData());
@@ -430,10 +599,14 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
         
         // Button styling
         styleButton(addReviewButton, new Color(40, 167, 69), Color.WHITE);
+        styleButton(resetFiltersButton, new Color(108, 117, 125), Color.WHITE);
+        styleButton(saveSmartListButton, new Color(0, 123, 255), Color.WHITE);
+        styleButton(deleteSmartListButton, new Color(220, 53, 69), Color.WHITE);
         styleButton(editReviewButton, new Color(255, 193, 7), Color.BLACK);
         styleButton(deleteReviewButton, new Color(220, 53, 69), Color.WHITE);
         styleButton(toggleFavoriteButton, new Color(255, 193, 7), Color.BLACK);
         styleButton(bulkDeleteButton, new Color(220, 53, 69), Color.WHITE);
+        styleButton(trashButton, new Color(108, 117, 125), Color.WHITE);
         styleButton(selectAllButton, new Color(0, 123, 255), Color.WHITE);
         styleButton(clearSelectionButton, new Color(108, 117, 125), Color.WHITE);
         styleButton(refreshButton, new Color(108, 117, 125), Color.WHITE);
@@ -452,7 +625,7 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
         // Field styling
         titleField.setFont(new Font("Segoe UI", Font.PLAIN, 12));
         directorField.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-        genreField.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        genreList.setFont(new Font("Segoe UI", Font.PLAIN, 12));
         reviewTextArea.setFont(new Font("Segoe UI", Font.PLAIN, 12));
         dateField.setFont(new Font("Segoe UI", Font.PLAIN, 12));
         ticketPreviewLabel.setOpaque(true);
@@ -485,29 +658,94 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
     }
     
     private void performSearch() {
-        String query = searchField.getText().trim();
+        searchDebounceTimer.stop();
+        String query = searchField.getText();
         if (movieReviewManager == null) return;
-        
-        List<MovieReview> results = movieReviewManager.searchReviews(query);
-        updateTable(results);
+        leaveSmartList();
+        
+        // Results of superseded searches are dropped when they arrive
+        int generation = ++searchGeneration;
+        MovieReviewManager manager = movieReviewManager;
+        ReviewFilter.Builder filterBuilder = createFilterBuilder();
+        new SwingWorker<List<MovieReview>, Void>() {
+            private boolean fuzzy;
+            private FacetCounts facets;
+            private int totalCount;
+
+            @Override
+            protected List<MovieReview> doInBackground() {
+                ReviewFilter filter = filterBuilder.build();
+                if (filter.hasCriteria()) {
+                    ReviewFilterResult result = manager.filterReviews(filter);
+                    facets = result.getFacets();
+                    totalCount = result.getTotalCount();
+                    return result.getReviews();
+                }
+                // Plain search: the filter query still supplies the facet counts
+                facets = manager.filterReviews(filterBuilder.setPage(0, 1).build()).getFacets();
+                List<MovieReview> results = manager.searchReviews(query);
+                // No exact match: the query may be misspelled, so offer similar reviews instead
+                if (results.isEmpty() && query.trim().length() >= FUZZY_MIN_QUERY_LENGTH) {
+                    fuzzy = true;
+                    return manager.fuzzySearchReviews(query, FUZZY_RESULT_LIMIT);
+                }
+                return results;
+            }
+
+            @Override
+            protected void done() {
+                if (generation != searchGeneration || manager != movieReviewManager) {
+                    return;
+                }
+                try {
+                    List<MovieReview> results = get();
+                    int pendingWrites = manager.getPendingOfflineWriteCount();
+                    if (pendingWrites > 0) {
+                        searchHintLabel.setText("⏳ " + pendingWrites + " offline change(s) waiting to sync");
+                    } else if (manager.isServingStaleData()) {
+                        searchHintLabel.setText("⚠ Database unreachable, showing the last loaded reviews");
+                    } else {
+                        searchHintLabel.setText(fuzzy && !results.isEmpty()
+                            ? "No exact matches, showing similar reviews" : " ");
+                    }
+                    showReviews(results);
+                    updateFacetLabels(facets);
+                    filterSummaryLabel.setText(totalCount > results.size()
+                        ? "Showing " + results.size() + " of " + totalCount : " ");
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        }.execute();
     }
     
     private void clearSearch() {
         searchField.setText("");
+        searchDebounceTimer.stop();
+        searchGeneration++;
+        searchHintLabel.setText(" ");
         refreshData();
     }
     
     private void performSort() {
         String sortOption = (String) sortComboBox.getSelectedItem();
         if (movieReviewManager == null) return;
+        leaveSmartList();
+        
+        // With filters active the sort is part of the filter query
+        if (createFilterBuilder().build().hasCriteria()) {
+            performSearch();
+            return;
+        }
         
         List<MovieReview> sortedReviews = movieReviewManager.getSortedReviews(sortOption);
-        updateTable(sortedReviews);
+        showReviews(sortedReviews);
     }
     
     private void showAddReviewDialog() {
         currentEditingReview = null;
         clearDialogFields();
+        setReviewTextLoading(false);
         reviewDialog.setTitle("Add New Review");
         reviewDialog.setVisible(true);
     }
@@ -523,7 +761,7 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
         // Find the review by ID (ID is now in column 1)
         int reviewId = (Integer) model.getValueAt(modelRow, 1);
         if (allReviews == null) {
-            allReviews = movieReviewManager.getAllMovies();
+            allReviews = movieReviewManager.getReviewSummaries();
         }
         
         for (MovieReview review : allReviews) {
@@ -534,18 +772,57 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
         }
         
         if (currentEditingReview != null) {
-            populateDialogFields(currentEditingReview);
+            // The table only holds summaries; the full text is loaded when a row is opened
+            MovieReview editing = currentEditingReview;
+            MovieReviewManager manager = movieReviewManager;
+            populateDialogFields(editing, "Loading review…");
+            setReviewTextLoading(true);
+            new SwingWorker<String, Void>() {
+                @Override
+                protected String doInBackground() {
+                    return manager.loadReviewBody(editing);
+                }
+
+                @Override
+                protected void done() {
+                    // The dialog was closed, or reopened for another review, while loading
+                    if (currentEditingReview != editing || !reviewDialog.isVisible()) {
+                        return;
+                    }
+                    String body = null;
+                    try {
+                        body = get();
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                    }
+                    if (body == null) {
+                        currentEditingReview = null;
+                        reviewDialog.dispose();
+                        JOptionPane.showMessageDialog(ReviewManagementPanel.this, "Could not load the review text.", "Error", JOptionPane.ERROR_MESSAGE);
+                        return;
+                    }
+                    reviewTextArea.setText(body);
+                    reviewTextArea.setCaretPosition(0);
+                    setReviewTextLoading(false);
+                }
+            }.execute();
             reviewDialog.setTitle("Edit Review");
             reviewDialog.setVisible(true);
         }
     }
+
+    /** Keeps the review text read-only and unsaveable until the full text has arrived. */
+    private void setReviewTextLoading(boolean loading) {
+        reviewTextArea.setEnabled(!loading);
+        saveButton.setEnabled(!loading);
+    }
     
     private void deleteSelectedReview() {
         int selectedRow = reviewsTable.getSelectedRow();
         if (selectedRow == -1) return;
         
         int result = JOptionPane.showConfirmDialog(this,
-            "Are you sure you want to delete this review?",
+            "Move this review to the trash?",
             "Confirm Delete",
             JOptionPane.YES_NO_OPTION);
         
@@ -566,7 +843,7 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
             }
             
             refreshData();
-            JOptionPane.showMessageDialog(this, "Review deleted successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+            JOptionPane.showMessageDialog(this, "Review moved to the trash.", "Success", JOptionPane.INFORMATION_MESSAGE);
         }
     }
     
@@ -584,8 +861,8 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
                 return;
             }
             
-            if (genreField.getText().trim().isEmpty()) {
-                JOptionPane.showMessageDialog(reviewDialog, "Please enter a genre!", "Error", JOptionPane.ERROR_MESSAGE);
+            if (genreList.isSelectionEmpty()) {
+                JOptionPane.showMessageDialog(reviewDialog, "Please select at least one genre!", "Error", JOptionPane.ERROR_MESSAGE);
                 return;
             }
             
@@ -620,7 +897,7 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
             userId,
             titleField.getText().trim(),
             directorField.getText().trim(),
-            genreField.getText().trim(),
+            Genre.format(Genre.maskOf(genreList.getSelectedValuesList())),
             rating,
             dateField.getText().trim()
         );
@@ -631,13 +908,64 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
         review.setFavorite(favoriteCheckBox.isSelected());
         
         if (currentEditingReview != null) {
-            // Update existing review
             review.setId(currentEditingReview.getId());
-            movieReviewManager.updateReview(currentEditingReview, review);
+        }
+        // The journal allows one review per title and director; check before the round trip
+        boolean duplicate = movieReviewManager.findDuplicateReviewId(review) != DuplicateReviewIndex.NOT_FOUND;
+        
+        if (currentEditingReview != null) {
+            // Update existing review
+            if (duplicate) {
+                JOptionPane.showMessageDialog(reviewDialog,
+                    "Another review already uses this title and director.", "Duplicate Review", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            UpdateResult result = movieReviewManager.updateReview(currentEditingReview, review);
+            if (result == UpdateResult.CONFLICT) {
+                result = resolveUpdateConflict(review);
+            }
+            if (result == UpdateResult.CONFLICT) {
+                return; // Keep the dialog open with the newer copy loaded
+            }
+            if (result == UpdateResult.NOT_FOUND) {
+                JOptionPane.showMessageDialog(reviewDialog,
+                    "This review was deleted in another window.", "Review Not Found", JOptionPane.WARNING_MESSAGE);
+                reviewDialog.dispose();
+                refreshData();
+                return;
+            }
+            if (result == UpdateResult.FAILED) {
+                JOptionPane.showMessageDialog(reviewDialog, "Could not update the review.", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
             JOptionPane.showMessageDialog(reviewDialog, "Review updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+        } else if (duplicate) {
+            // Offer to overwrite the existing review in one upsert
+            int choice = JOptionPane.showConfirmDialog(reviewDialog,
+                "You already reviewed \"" + review.getTitle() + "\" by " + review.getDirector() + ".\nReplace that review with this one?",
+                "Duplicate Review", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+            if (choice != JOptionPane.YES_OPTION) {
+                return;
+            }
+            if (movieReviewManager.upsertReview(review) == UpsertOutcome.FAILED) {
+                JOptionPane.showMessageDialog(reviewDialog, "Could not replace the review.", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            JOptionPane.showMessageDialog(reviewDialog, "Review replaced successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
         } else {
             // Add new review
-            movieReviewManager.addReview(review);
+            AddResult result = movieReviewManager.addReview(review);
+            if (result == AddResult.DUPLICATE) {
+                // Saved elsewhere after the duplicate check above; keep the dialog open
+                JOptionPane.showMessageDialog(reviewDialog,
+                    "You already reviewed \"" + review.getTitle() + "\" by " + review.getDirector() + ".",
+                    "Duplicate Review", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            if (result == AddResult.FAILED) {
+                JOptionPane.showMessageDialog(reviewDialog, "Could not add the review.", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
             JOptionPane.showMessageDialog(reviewDialog, "Review added successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
         }
         
@@ -653,10 +981,40 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
         }
     }
     
+    /**
+     * Someone saved the review after this dialog loaded it. Lets the user overwrite their change
+     * on top of the newer version or load the newer version into the dialog.
+     *
+     * @return the result of the overwrite, or CONFLICT if the dialog should stay open
+     */
+    private UpdateResult resolveUpdateConflict(MovieReview mine) {
+        MovieReview latest = movieReviewManager.findReview(mine.getId());
+        if (latest == null) {
+            return UpdateResult.NOT_FOUND;
+        }
+        Object[] options = {"Overwrite", "Load Their Version", "Cancel"};
+        int choice = JOptionPane.showOptionDialog(reviewDialog,
+            "This review was changed in another window since you opened it.\n"
+                + "Their version: " + latest.getTitle() + " by " + latest.getDirector()
+                + ", " + latest.getRating() + "★, watched " + latest.getDateWatchedAsString() + ".",
+            "Edit Conflict", JOptionPane.YES_NO_CANCEL_OPTION, JOptionPane.WARNING_MESSAGE,
+            null, options, options[0]);
+        if (choice == 0) {
+            // Apply our edit to the version just read; a further conflict goes back to the user
+            currentEditingReview = latest;
+            return movieReviewManager.updateReview(latest, mine);
+        }
+        if (choice == 1) {
+            currentEditingReview = latest;
+            populateDialogFields(latest, latest.getReview());
+        }
+        return UpdateResult.CONFLICT;
+    }
+    
     private void clearDialogFields() {
         titleField.setText("");
         directorField.setText("");
-        genreField.setText("");
+        genreList.clearSelection();
         starRatingComponent.setRating(5);
         reviewTextArea.setText("");
         dateField.setText(LocalDate.now().format(DateTimeFormatter.ofPattern("MM/dd/yyyy")));
@@ -664,18 +1022,28 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
         clearTicketSelection();
     }
     
-    private void populateDialogFields(MovieReview review) {
+    private void populateDialogFields(MovieReview review, String body) {
         titleField.setText(review.getTitle());
         directorField.setText(review.getDirector());
-        genreField.setText(review.getGenre());
-        starRatingComponent.setRating((int) review.getRating());
-        reviewTextArea.setText(review.getReview());
+        selectGenres(review);
+        starRatingComponent.setRating(review.getRating());
+        reviewTextArea.setText(body);
         dateField.setText(review.getDateWatchedAsString());
         favoriteCheckBox.setSelected(review.isFavorite());
         currentTicketPath = review.getTicketImagePath();
         updateTicketPreview(currentTicketPath);
     }
     
+    private void selectGenres(MovieReview review) {
+        genreList.clearSelection();
+        for (Genre genre : review.getGenres()) {
+            genreList.addSelectionInterval(genre.ordinal(), genre.ordinal());
+        }
+        if (!genreList.isSelectionEmpty()) {
+            genreList.ensureIndexIsVisible(genreList.getMinSelectionIndex());
+        }
+    }
+    
     private void updateTable(List<MovieReview> reviews) {
         DefaultTableModel model = (DefaultTableModel) reviewsTable.getModel();
         model.setRowCount(0);
@@ -688,36 +1056,15 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
                 review.getTitle(),
                 review.getDirector(),
                 review.getGenre(),
-                createStarRatingDisplay(review.getRating()),
-                review.isFavorite() ? "★ Favorite" : "☆",
+                review.getRating(),
+                review.isFavorite(),
                 review.getDateWatchedAsString(),
-                review.getReview().length() > 50 ? 
-                    review.getReview().substring(0, 50) + "..." : 
+                review.getReview().length() > MovieReview.SNIPPET_LENGTH ? 
+                    review.getReview().substring(0, MovieReview.SNIPPET_LENGTH) + "..." : 
                     review.getReview()
             };
             model.addRow(row);
         }
-        reviewsTable.getColumn("Rating").setCellRenderer(new HtmlTableCellRenderer());
-        reviewsTable.getColumn("Favorite").setCellRenderer(new HtmlTableCellRenderer());
-
-    }
-    
-    private String createStarRatingDisplay(double rating) {
-        StringBuilder stars = new StringBuilder();
-        int fullStars = (int) rating;
-        boolean hasHalfStar = (rating - fullStars) >= 0.5;
-        
-        // Add full stars
-        for (int i = 0; i < fullStars; i++) {
-            stars.append("★");
-        }
-        
-        // Add half star if needed
-        if (hasHalfStar) {
-            stars.append("☆");
-        }
-        
-        return stars.toString() + " (" + String.format("%.1f", rating) + ")";
     }
     
     private void bulkDeleteReviews() {
@@ -744,7 +1091,8 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
         
         // Confirm deletion
         int result = JOptionPane.showConfirmDialog(this,
-            "Are you sure you want to delete " + selectedCount + " review(s)?\nThis action cannot be undone!",
+            "Move " + selectedCount + " review(s) to the trash?\nYou can restore them from ♻️ Trash for "
+                + TrashPurger.DEFAULT_RETENTION.toDays() + " days.",
             "Confirm Bulk Delete",
             JOptionPane.YES_NO_OPTION,
             JOptionPane.WARNING_MESSAGE);
@@ -753,7 +1101,7 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
             try {
                 int deletedCount = movieReviewManager.deleteReviews(reviewsToDelete);
                 JOptionPane.showMessageDialog(this, 
-                    "Successfully deleted " + deletedCount + " review(s)!", 
+                    "Moved " + deletedCount + " review(s) to the trash.", 
                     "Success", 
                     JOptionPane.INFORMATION_MESSAGE);
                 refreshData();
@@ -767,6 +1115,107 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
         }
     }
     
+    private void showTrashDialog() {
+        if (movieReviewManager == null) return;
+        
+        JDialog dialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), "Trash", true);
+        dialog.setSize(520, 420);
+        dialog.setLocationRelativeTo(this);
+        
+        DefaultListModel<MovieReview> trashModel = new DefaultListModel<>();
+        JList<MovieReview> trashList = new JList<>(trashModel);
+        trashList.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                    boolean isSelected, boolean cellHasFocus) {
+                MovieReview review = (MovieReview) value;
+                String text = review.getTitle() + " — " + review.getDirector() + " (" + review.getRating() + "★)";
+                return super.getListCellRendererComponent(list, text, index, isSelected, cellHasFocus);
+            }
+        });
+        
+        JLabel hintLabel = new JLabel("Loading…");
+        hintLabel.setForeground(new Color(108, 117, 125));
+        JButton restoreButton = new JButton("↩ Restore Selected");
+        JButton emptyTrashButton = new JButton("🗑️ Empty Trash");
+        JButton closeButton = new JButton("Close");
+        styleButton(restoreButton, new Color(40, 167, 69), Color.WHITE);
+        styleButton(emptyTrashButton, new Color(220, 53, 69), Color.WHITE);
+        styleButton(closeButton, new Color(108, 117, 125), Color.WHITE);
+        
+        MovieReviewManager manager = movieReviewManager;
+        Runnable reload = () -> new SwingWorker<List<MovieReview>, Void>() {
+            @Override
+            protected List<MovieReview> doInBackground() {
+                return manager.getTrashedReviews();
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    List<MovieReview> trashed = get();
+                    trashModel.clear();
+                    trashed.forEach(trashModel::addElement);
+                    hintLabel.setText(trashed.isEmpty()
+                        ? "The trash is empty."
+                        : trashed.size() + " review(s); removed for good after "
+                            + TrashPurger.DEFAULT_RETENTION.toDays() + " days.");
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        }.execute();
+        
+        restoreButton.addActionListener(e -> {
+            List<MovieReview> selected = trashList.getSelectedValuesList();
+            if (selected.isEmpty()) return;
+            int restoredCount = manager.restoreReviews(selected);
+            hintLabel.setText("Restored " + restoredCount + " review(s).");
+            reload.run();
+            refreshData();
+        });
+        emptyTrashButton.addActionListener(e -> {
+            if (trashModel.isEmpty()) return;
+            int result = JOptionPane.showConfirmDialog(dialog,
+                "Permanently delete " + trashModel.size() + " review(s)?\nThis action cannot be undone!",
+                "Empty Trash",
+                JOptionPane.YES_NO_OPTION,
+                JOptionPane.WARNING_MESSAGE);
+            if (result != JOptionPane.YES_OPTION) return;
+            emptyTrashButton.setEnabled(false);
+            hintLabel.setText("Emptying trash…");
+            // Purging runs in pauses between chunks, so keep it off the event thread
+            new SwingWorker<Integer, Void>() {
+                @Override
+                protected Integer doInBackground() {
+                    return manager.emptyTrash();
+                }
+                
+                @Override
+                protected void done() {
+                    emptyTrashButton.setEnabled(true);
+                    reload.run();
+                }
+            }.execute();
+        });
+        closeButton.addActionListener(e -> dialog.dispose());
+        
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        buttonPanel.add(restoreButton);
+        buttonPanel.add(emptyTrashButton);
+        buttonPanel.add(closeButton);
+        
+        JPanel content = new JPanel(new BorderLayout(0, 10));
+        content.setBorder(new EmptyBorder(15, 15, 15, 15));
+        content.add(hintLabel, BorderLayout.NORTH);
+        content.add(new JScrollPane(trashList), BorderLayout.CENTER);
+        content.add(buttonPanel, BorderLayout.SOUTH);
+        dialog.setContentPane(content);
+        
+        reload.run();
+        dialog.setVisible(true);
+    }
+    
     private void selectAllReviews() {
         if (selectedReviews == null) return;
         
@@ -817,11 +1266,15 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
             return;
         }
         
-        boolean newStatus = !target.isFavorite();
-        movieReviewManager.setFavoriteStatus(target, newStatus); // db update favorite status
-        String message = newStatus ? "Review added to favorites!" : "Review removed from favorites.";
-        JOptionPane.showMessageDialog(this, message, "Favorites", JOptionPane.INFORMATION_MESSAGE);
-        refreshData();
+        // Shows at once through the change events; the database write follows in a batch
+        movieReviewManager.setFavoriteStatusDeferred(target, !target.isFavorite());
+    }
+    
+    // Called on the write-behind thread once the table already shows the stored flags again
+    private void showFavoriteRollback(List<MovieReview> reviews) {
+        String titles = reviews.stream().map(MovieReview::getTitle).collect(Collectors.joining(", "));
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+            "Could not update favorites for: " + titles, "Favorites", JOptionPane.WARNING_MESSAGE));
     }
     
     private void updateTableCheckboxes() {
@@ -834,9 +1287,260 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
     public void refreshData() {
         if (movieReviewManager == null) return;
         
-        allReviews = movieReviewManager.getAllMovies();
-        selectedReviews = new boolean[allReviews.size()];
-        updateTable(allReviews);
+        // An open smart list is already current; otherwise re-run the active search and filters
+        // so their results and facet counts stay current
+        if (activeSmartList != null) {
+            showSmartList(activeSmartList);
+            return;
+        }
+        performSearch();
+    }
+    
+    private ReviewFilter.Builder createFilterBuilder() {
+        ReviewFilter.Builder builder = ReviewFilter.builder()
+            .setQuery(searchField.getText())
+            .setSortOption((String) sortComboBox.getSelectedItem())
+            .setWatchedFrom(parseFilterDate(watchedFromField))
+            .setWatchedTo(parseFilterDate(watchedToField))
+            .setFavoritesOnly(favoritesOnlyCheckBox.isSelected())
+            .setWithTicketOnly(withTicketOnlyCheckBox.isSelected());
+        int genreIndex = genreFilterComboBox.getSelectedIndex();
+        if (genreIndex > 0 && genreIndex <= genreFilterValues.size()) {
+            builder.addGenre(genreFilterValues.get(genreIndex - 1));
+        }
+        int minStars = ratingFilterComboBox.getSelectedIndex();
+        if (minStars > 0) {
+            builder.setRatingRange(minStars, ReviewFilter.MAX_RATING);
+        }
+        return builder;
+    }
+    
+    /**
+     * Parses a filter date field, marking it red when the text is not a valid date.
+     */
+    private LocalDate parseFilterDate(JTextField field) {
+        String text = field.getText().trim();
+        field.setForeground(Color.BLACK);
+        if (text.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(text, FILTER_DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            field.setForeground(Color.RED);
+            return null;
+        }
+    }
+    
+    private void onFilterChanged() {
+        if (!updatingFacetLabels) {
+            performSearch();
+        }
+    }
+    
+    private void resetFilters() {
+        updatingFacetLabels = true;
+        try {
+            genreFilterComboBox.setSelectedIndex(0);
+            ratingFilterComboBox.setSelectedIndex(0);
+            watchedFromField.setText("");
+            watchedToField.setText("");
+            favoritesOnlyCheckBox.setSelected(false);
+            withTicketOnlyCheckBox.setSelected(false);
+        } finally {
+            updatingFacetLabels = false;
+        }
+        performSearch();
+    }
+    
+    /**
+     * Shows facet counts in the filter bar labels, keeping the current selections.
+     */
+    private void updateFacetLabels(FacetCounts facets) {
+        updatingFacetLabels = true;
+        try {
+            int genreIndex = genreFilterComboBox.getSelectedIndex();
+            String selectedGenre = genreIndex > 0 && genreIndex <= genreFilterValues.size()
+                ? genreFilterValues.get(genreIndex - 1) : null;
+            genreFilterValues.clear();
+            genreFilterValues.addAll(facets.getGenreCounts().keySet());
+            if (selectedGenre != null && !genreFilterValues.contains(selectedGenre)) {
+                genreFilterValues.add(selectedGenre);
+            }
+            DefaultComboBoxModel<String> genreModel = new DefaultComboBoxModel<>();
+            genreModel.addElement(ALL_GENRES);
+            for (String genre : genreFilterValues) {
+                genreModel.addElement(genre + " (" + facets.getGenreCounts().getOrDefault(genre, 0) + ")");
+            }
+            genreFilterComboBox.setModel(genreModel);
+            genreFilterComboBox.setSelectedIndex(selectedGenre != null ? genreFilterValues.indexOf(selectedGenre) + 1 : 0);
+            
+            int ratingIndex = ratingFilterComboBox.getSelectedIndex();
+            DefaultComboBoxModel<String> ratingModel = new DefaultComboBoxModel<>();
+            ratingModel.addElement(ANY_RATING);
+            for (int stars = 1; stars < FacetCounts.RATING_BUCKETS; stars++) {
+                String label = stars == FacetCounts.RATING_BUCKETS - 1 ? stars + " ★" : stars + "+ ★";
+                ratingModel.addElement(label + " (" + facets.getRatingAtLeastCount(stars) + ")");
+            }
+            ratingFilterComboBox.setModel(ratingModel);
+            ratingFilterComboBox.setSelectedIndex(Math.max(0, ratingIndex));
+            
+            favoritesOnlyCheckBox.setText("⭐ Favorites (" + facets.getFavoriteCount() + ")");
+            withTicketOnlyCheckBox.setText("🎟️ With ticket (" + facets.getTicketCount() + ")");
+        } finally {
+            updatingFacetLabels = false;
+        }
+    }
+
+    private List<String> suggest(AutocompleteIndex.Field field, String prefix) {
+        if (movieReviewManager == null) {
+            return List.of();
+        }
+        return movieReviewManager.suggest(field, prefix, AUTOCOMPLETE_LIMIT);
+    }
+    
+    /**
+     * Builds the autocomplete index in the background right after login.
+     */
+    private void preloadAutocomplete(MovieReviewManager manager) {
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                manager.preloadAutocomplete();
+                return null;
+            }
+        }.execute();
+    }
+    
+    /**
+     * Fills the smart list selector, selecting the given list if present.
+     */
+    private void reloadSmartLists(SmartList selected) {
+        updatingSmartLists = true;
+        try {
+            DefaultComboBoxModel<Object> model = new DefaultComboBoxModel<>();
+            model.addElement(NO_SMART_LIST);
+            if (smartListManager != null) {
+                for (SmartList list : smartListManager.getSmartLists()) {
+                    model.addElement(list);
+                    if (selected != null && list.getId() == selected.getId()) {
+                        model.setSelectedItem(list);
+                    }
+                }
+            }
+            smartListComboBox.setModel(model);
+        } finally {
+            updatingSmartLists = false;
+        }
+        deleteSmartListButton.setEnabled(smartListComboBox.getSelectedItem() instanceof SmartList);
+    }
+    
+    private void onSmartListSelected() {
+        if (updatingSmartLists) {
+            return;
+        }
+        Object selected = smartListComboBox.getSelectedItem();
+        deleteSmartListButton.setEnabled(selected instanceof SmartList);
+        if (selected instanceof SmartList list) {
+            activeSmartList = list;
+            showSmartList(list);
+        } else if (activeSmartList != null) {
+            activeSmartList = null;
+            performSearch();
+        }
+    }
+    
+    /**
+     * Leaves smart list mode when the user searches, filters or sorts again.
+     */
+    private void leaveSmartList() {
+        if (activeSmartList == null) {
+            return;
+        }
+        activeSmartList = null;
+        updatingSmartLists = true;
+        try {
+            smartListComboBox.setSelectedIndex(0);
+        } finally {
+            updatingSmartLists = false;
+        }
+        deleteSmartListButton.setEnabled(false);
+    }
+    
+    private void showSmartList(SmartList list) {
+        if (smartListManager == null) return;
+        
+        int generation = ++searchGeneration;
+        SmartListManager lists = smartListManager;
+        new SwingWorker<List<MovieReview>, Void>() {
+            @Override
+            protected List<MovieReview> doInBackground() {
+                // Only the first list opened loads the journal; later opens read maintained views
+                return lists.openSmartList(list);
+            }
+
+            @Override
+            protected void done() {
+                if (generation != searchGeneration || lists != smartListManager) {
+                    return;
+                }
+                try {
+                    List<MovieReview> results = get();
+                    searchHintLabel.setText("📌 " + list.getName());
+                    showReviews(results);
+                    filterSummaryLabel.setText(results.size() + " in list");
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        }.execute();
+    }
+    
+    private void saveSmartList() {
+        if (smartListManager == null) return;
+        if (movieReviewManager.getCurrentUserId() <= 0) {
+            JOptionPane.showMessageDialog(this, "Sign in to save smart lists.", "Smart Lists", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        String name = JOptionPane.showInputDialog(this, "Name this smart list:", "Save Smart List", JOptionPane.PLAIN_MESSAGE);
+        if (name == null || name.isBlank()) {
+            return;
+        }
+        ReviewFilter filter = activeSmartList != null ? activeSmartList.getFilter() : createFilterBuilder().build();
+        SmartList saved = smartListManager.saveSmartList(name, filter);
+        if (saved == null) {
+            JOptionPane.showMessageDialog(this, "Failed to save the smart list.", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        activeSmartList = saved;
+        reloadSmartLists(saved);
+        showSmartList(saved);
+    }
+    
+    private void deleteSmartList() {
+        if (!(smartListComboBox.getSelectedItem() instanceof SmartList list) || smartListManager == null) {
+            return;
+        }
+        int confirm = JOptionPane.showConfirmDialog(this,
+            "Delete the smart list \"" + list.getName() + "\"? Your reviews are not affected.",
+            "Delete Smart List", JOptionPane.YES_NO_OPTION);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
+        if (smartListManager.deleteSmartList(list)) {
+            activeSmartList = null;
+            reloadSmartLists(null);
+            performSearch();
+        }
+    }
+
+    /**
+     * Displays a result list, keeping the bulk-selection state aligned with the shown rows.
+     */
+    private void showReviews(List<MovieReview> reviews) {
+        allReviews = reviews;
+        selectedReviews = new boolean[reviews.size()];
+        updateTable(reviews);
     }
 
     // ReviewChangeListener implementation
@@ -865,29 +1569,6 @@ public class ReviewManagementPanel extends JPanel implements ReviewChangeListene
         SwingUtilities.invokeLater(this::refreshData);
     }
 
-    private static class HtmlTableCellRenderer extends DefaultTableCellRenderer {
-        @Override
-        public Component getTableCellRendererComponent(JTable table, Object value,
-                                                    boolean isSelected, boolean hasFocus,
-                                                    int row, int column) {
-            JLabel label = (JLabel) super.getTableCellRendererComponent(
-                    table, value, isSelected, hasFocus, row, column);
-
-            if (value != null) {
-                String text = value.toString();
-                label.setText(text);
-                if (text.contains("★") || text.contains("☆")) {
-                    label.setForeground(new Color(255, 193, 7)); // gold
-                    label.setFont(new Font("Segoe UI Symbol", Font.PLAIN, 14));
-                    label.setHorizontalAlignment(SwingConstants.CENTER);
-                } else {
-                    label.setForeground(Color.BLACK);
-                }
-            }
-            return label;
-        }
-    }
-
     private void handleTicketUpload() {
         JFileChooser chooser = new JFileChooser();
         chooser.setDialogTitle("Select Ticket Image");
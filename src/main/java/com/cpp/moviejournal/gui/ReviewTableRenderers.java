@@ -0,0 +1,105 @@
+package com.cpp.moviejournal.gui;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableCellRenderer;
+import java.awt.*;
+
+/**
+ * Shared table cell renderers for the review tables.
+ * Cells carry typed values (Double ratings, Boolean flags) rather than pre-formatted strings,
+ * and every font, colour and label used while rendering is created once up front, so painting
+ * or scrolling a table does not allocate per cell. Install each renderer once per table.
+ */
+public final class ReviewTableRenderers {
+
+    private static final int MAX_RATING = 5;
+
+    private static final Font SYMBOL_FONT = new Font("Segoe UI Symbol", Font.PLAIN, 14);
+    private static final Color GOLD = new Color(255, 193, 7);
+    private static final Color TICKET_COLOR = new Color(23, 162, 184);
+
+    private static final String FAVORITE_TEXT = "★ Favorite";
+    private static final String NOT_FAVORITE_TEXT = "☆";
+    private static final String TICKET_TEXT = "🎟️";
+    private static final String NO_TICKET_TEXT = "";
+
+    /** Star glyph strings for every half-step rating, indexed by rating * 2. */
+    private static final String[] RATING_GLYPHS = new String[MAX_RATING * 2 + 1];
+
+    static {
+        for (int i = 0; i < RATING_GLYPHS.length; i++) {
+            double rating = i / 2.0;
+            StringBuilder glyphs = new StringBuilder();
+            for (int star = 0; star < i / 2; star++) {
+                glyphs.append('★');
+            }
+            if (i % 2 == 1) {
+                glyphs.append('☆');
+            }
+            RATING_GLYPHS[i] = glyphs + " (" + String.format("%.1f", rating) + ")";
+        }
+    }
+
+    private ReviewTableRenderers() {
+    }
+
+    /**
+     * Returns the precomputed glyph string for a rating, e.g. "★★★☆ (3.5)".
+     *
+     * @param rating the rating (0-5, rounded to the nearest half step)
+     * @return the shared glyph string
+     */
+    public static String ratingGlyphs(double rating) {
+        int index = (int) Math.round(Math.max(0, Math.min(rating, MAX_RATING)) * 2);
+        return RATING_GLYPHS[index];
+    }
+
+    /**
+     * Creates a renderer for Double rating cells, painted as stars.
+     */
+    public static TableCellRenderer ratingRenderer() {
+        return new StarRatingTableCellRenderer();
+    }
+
+    /**
+     * Creates a renderer for Boolean favorite cells.
+     */
+    public static TableCellRenderer favoriteRenderer() {
+        return new FlagCellRenderer(FAVORITE_TEXT, NOT_FAVORITE_TEXT, GOLD);
+    }
+
+    /**
+     * Creates a renderer for Boolean has-ticket cells.
+     */
+    public static TableCellRenderer ticketRenderer() {
+        return new FlagCellRenderer(TICKET_TEXT, NO_TICKET_TEXT, TICKET_COLOR);
+    }
+
+    /**
+     * Renders a Boolean cell as one of two constant labels.
+     */
+    private static class FlagCellRenderer extends DefaultTableCellRenderer {
+        private final String trueText;
+        private final String falseText;
+        private final Color color;
+
+        FlagCellRenderer(String trueText, String falseText, Color color) {
+            this.trueText = trueText;
+            this.falseText = falseText;
+            this.color = color;
+            setHorizontalAlignment(SwingConstants.CENTER);
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value,
+                                                       boolean isSelected, boolean hasFocus,
+                                                       int row, int column) {
+            super.getTableCellRendererComponent(table, null, isSelected, hasFocus, row, column);
+            setText(Boolean.TRUE.equals(value) ? trueText : falseText);
+            setFont(SYMBOL_FONT);
+            setForeground(color);
+            return this;
+        }
+    }
+}
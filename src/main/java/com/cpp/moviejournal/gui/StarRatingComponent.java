@@ -4,246 +4,234 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Interactive Star Rating Component
+ * Interactive Star Rating Component.
+ * Paints all stars itself from cached shapes (no child components) and supports half stars.
  */
-public class StarRatingComponent extends JPanel {
-    
-    private int rating = 0;
-    private int maxRating = 5;
-    private boolean editable = true;
-    private StarRatingListener listener;
-    
+public class StarRatingComponent extends JComponent {
+
+    private static final int MAX_RATING = 5;
+    private static final int STAR_SIZE = 18;
+    private static final int STAR_GAP = 2;
+    private static final int VALUE_GAP = 6;
+
     private static final Color FILLED_COLOR = new Color(255, 193, 7); // Gold
     private static final Color EMPTY_COLOR = new Color(206, 212, 218); // Light gray
     private static final Color HOVER_COLOR = new Color(255, 235, 59); // Light gold
-    
+    private static final Color VALUE_COLOR = new Color(108, 117, 125);
+    private static final Font VALUE_FONT = new Font("Segoe UI", Font.PLAIN, 12);
+
+    /** Star outlines keyed by pixel size; a star is only ever built once per size. */
+    private static final Map<Integer, Shape> STAR_SHAPES = new ConcurrentHashMap<>();
+    /** Value labels for every half-step rating, indexed by rating * 2. */
+    private static final String[] VALUE_TEXT = new String[MAX_RATING * 2 + 1];
+
+    static {
+        for (int i = 0; i < VALUE_TEXT.length; i++) {
+            VALUE_TEXT[i] = String.format("%.1f", i / 2.0);
+        }
+    }
+
+    private double rating = 0;
+    private double hoverRating = -1;
+    private boolean editable = true;
+    private boolean showValue = false;
+    private StarRatingListener listener;
+
     public interface StarRatingListener {
-        void ratingChanged(int newRating);
+        void ratingChanged(double newRating);
     }
-    
+
     public StarRatingComponent() {
         this(0, true);
     }
-    
-    public StarRatingComponent(int initialRating, boolean editable) {
-        this.rating = Math.max(0, Math.min(initialRating, maxRating));
+
+    public StarRatingComponent(double initialRating, boolean editable) {
+        this.rating = clampToHalfStep(initialRating);
         this.editable = editable;
         initializeComponent();
     }
-    
+
     private void initializeComponent() {
-        setLayout(new FlowLayout(FlowLayout.LEFT, 2, 0));
         setOpaque(false);
         setPreferredSize(new Dimension(120, 25));
-        
-        for (int i = 1; i <= maxRating; i++) {
-            StarButton star = new StarButton(i);
-            add(star);
-        }
+
+        MouseAdapter mouseHandler = new MouseAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                if (editable) {
+                    setHoverRating(ratingAt(e.getX()));
+                }
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                setHoverRating(-1);
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (editable) {
+                    setRating(ratingAt(e.getX()));
+                    notifyRatingChanged(rating);
+                }
+            }
+        };
+        addMouseListener(mouseHandler);
+        addMouseMotionListener(mouseHandler);
     }
-    
-    public void setRating(int rating) {
-        this.rating = Math.max(0, Math.min(rating, maxRating));
-        updateStars();
+
+    public void setRating(double rating) {
+        double clamped = clampToHalfStep(rating);
+        if (clamped != this.rating) {
+            this.rating = clamped;
+            repaint();
+        }
     }
-    
-    public int getRating() {
+
+    public double getRating() {
         return rating;
     }
-    
+
     public void setEditable(boolean editable) {
         this.editable = editable;
-        updateStars();
+        if (!editable) {
+            hoverRating = -1;
+        }
+        repaint();
+    }
+
+    /**
+     * Shows the numeric value (e.g. "4.5") after the stars.
+     */
+    public void setShowValue(boolean showValue) {
+        this.showValue = showValue;
+        repaint();
     }
-    
+
     public void setStarRatingListener(StarRatingListener listener) {
         this.listener = listener;
     }
-    
-    private void updateStars() {
-        for (Component comp : getComponents()) {
-            if (comp instanceof StarButton) {
-                StarButton star = (StarButton) comp;
-                star.updateAppearance();
-            }
+
+    private void setHoverRating(double hoverRating) {
+        if (this.hoverRating != hoverRating) {
+            this.hoverRating = hoverRating;
+            repaint();
         }
     }
-    
-    private void notifyRatingChanged(int newRating) {
+
+    private void notifyRatingChanged(double newRating) {
         if (listener != null) {
             listener.ratingChanged(newRating);
         }
     }
-    
-    private class StarButton extends JButton {
-        private final int starNumber;
-        private boolean isHovered = false;
-        
-        public StarButton(int starNumber) {
-            this.starNumber = starNumber;
-            setPreferredSize(new Dimension(20, 20));
-            setBorderPainted(false);
-            setContentAreaFilled(false);
-            setFocusPainted(false);
-            setOpaque(false);
-            
-            if (editable) {
-                addMouseListener(new MouseAdapter() {
-                    @Override
-                    public void mouseEntered(MouseEvent e) {
-                        isHovered = true;
-                        updateAppearance();
-                    }
-                    
-                    @Override
-                    public void mouseExited(MouseEvent e) {
-                        isHovered = false;
-                        updateAppearance();
-                    }
-                    
-                    @Override
-                    public void mouseClicked(MouseEvent e) {
-                        if (editable) {
-                            setRating(starNumber);
-                            notifyRatingChanged(rating);
-                        }
-                    }
-                });
-            }
-            
-            updateAppearance();
-        }
-        
-        public void updateAppearance() {
-            repaint();
+
+    /**
+     * Maps an x coordinate to a half-step rating: the left half of a star selects x.5.
+     */
+    private double ratingAt(int x) {
+        int starX = x - getInsets().left;
+        int slot = STAR_SIZE + STAR_GAP;
+        int star = Math.min(MAX_RATING - 1, Math.max(0, starX / slot));
+        boolean leftHalf = (starX - star * slot) < STAR_SIZE / 2;
+        return star + (leftHalf ? 0.5 : 1.0);
+    }
+
+    private static double clampToHalfStep(double rating) {
+        double clamped = Math.max(0, Math.min(rating, MAX_RATING));
+        return Math.round(clamped * 2) / 2.0;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g.create();
+        if (isOpaque()) {
+            g2d.setColor(getBackground());
+            g2d.fillRect(0, 0, getWidth(), getHeight());
         }
-        
-        @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            Graphics2D g2d = (Graphics2D) g.create();
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            
-            int size = Math.min(getWidth(), getHeight()) - 4;
-            int x = (getWidth() - size) / 2;
-            int y = (getHeight() - size) / 2;
-            
-            // Determine star color
-            Color starColor;
-            if (starNumber <= rating) {
-                starColor = FILLED_COLOR;
-            } else if (isHovered && editable) {
-                starColor = HOVER_COLOR;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        Insets insets = getInsets();
+        int x = insets.left;
+        int y = insets.top + Math.max(0, (getHeight() - insets.top - insets.bottom - STAR_SIZE) / 2);
+        double shown = hoverRating >= 0 ? hoverRating : rating;
+        Color fillColor = hoverRating >= 0 ? HOVER_COLOR : FILLED_COLOR;
+        Shape star = starShape(STAR_SIZE);
+
+        AffineTransform original = g2d.getTransform();
+        for (int i = 0; i < MAX_RATING; i++) {
+            g2d.translate(x + i * (STAR_SIZE + STAR_GAP), y);
+            double fill = shown - i;
+            if (fill >= 1) {
+                g2d.setColor(fillColor);
+                g2d.fill(star);
+            } else if (fill >= 0.5) {
+                paintHalfStar(g2d, star, fillColor);
             } else {
-                starColor = EMPTY_COLOR;
+                g2d.setColor(EMPTY_COLOR);
+                g2d.fill(star);
             }
-            
-            // Draw star
-            drawStar(g2d, x, y, size, starColor);
-            
-            g2d.dispose();
+            g2d.setTransform(original);
         }
-        
-        private void drawStar(Graphics2D g2d, int x, int y, int size, Color color) {
-            g2d.setColor(color);
-            
-            // Create star shape
-            int[] xPoints = new int[10];
-            int[] yPoints = new int[10];
-            
-            double centerX = x + size / 2.0;
-            double centerY = y + size / 2.0;
-            double outerRadius = size / 2.0;
-            double innerRadius = outerRadius * 0.4;
-            
-            for (int i = 0; i < 10; i++) {
-                double angle = Math.PI / 2 + (i * Math.PI / 5);
-                double radius = (i % 2 == 0) ? outerRadius : innerRadius;
-                xPoints[i] = (int) (centerX + radius * Math.cos(angle));
-                yPoints[i] = (int) (centerY + radius * Math.sin(angle));
-            }
-            
-            g2d.fillPolygon(xPoints, yPoints, 10);
+
+        if (showValue) {
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2d.setFont(VALUE_FONT);
+            g2d.setColor(VALUE_COLOR);
+            FontMetrics metrics = g2d.getFontMetrics();
+            int textX = x + MAX_RATING * (STAR_SIZE + STAR_GAP) + VALUE_GAP;
+            int textY = y + (STAR_SIZE + metrics.getAscent() - metrics.getDescent()) / 2;
+            g2d.drawString(VALUE_TEXT[(int) Math.round(rating * 2)], textX, textY);
         }
+        g2d.dispose();
     }
-    
-    // Static method to create a display-only star rating
-    public static JPanel createDisplayStarRating(double rating) {
-        JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT, 2, 0));
-        panel.setOpaque(false);
-        
-        int fullStars = (int) rating;
-        boolean hasHalfStar = (rating - fullStars) >= 0.5;
-        
-        // Add full stars
-        for (int i = 0; i < fullStars; i++) {
-            panel.add(createStarLabel(FILLED_COLOR));
-        }
-        
-        // Add half star if needed
-        if (hasHalfStar) {
-            panel.add(createHalfStarLabel());
-        }
-        
-        // Add rating text
-        JLabel ratingLabel = new JLabel(String.format("%.1f", rating));
-        ratingLabel.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 12));
-        ratingLabel.setForeground(new Color(108, 117, 125));
-        panel.add(ratingLabel);
-        
-        return panel;
-    }
-    
-    private static JLabel createStarLabel(Color color) {
-        JLabel star = new JLabel("★") {
-            @Override
-            protected void paintComponent(Graphics g) {
-                Graphics2D g2d = (Graphics2D) g.create();
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                g2d.setColor(color);
-                g2d.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 16));
-                FontMetrics fm = g2d.getFontMetrics();
-                int x = (getWidth() - fm.stringWidth("★")) / 2;
-                int y = (getHeight() + fm.getAscent()) / 2 - 2;
-                g2d.drawString("★", x, y);
-                g2d.dispose();
-            }
-        };
-        star.setPreferredSize(new Dimension(20, 20));
-        star.setOpaque(false);
-        return star;
+
+    private static void paintHalfStar(Graphics2D g2d, Shape star, Color fillColor) {
+        Shape clip = g2d.getClip();
+        g2d.clipRect(0, 0, STAR_SIZE / 2, STAR_SIZE);
+        g2d.setColor(fillColor);
+        g2d.fill(star);
+        g2d.setClip(clip);
+        g2d.clipRect(STAR_SIZE / 2, 0, STAR_SIZE - STAR_SIZE / 2, STAR_SIZE);
+        g2d.setColor(EMPTY_COLOR);
+        g2d.fill(star);
+        g2d.setClip(clip);
     }
-    
-    private static JLabel createHalfStarLabel() {
-        JLabel halfStar = new JLabel("☆") {
-            @Override
-            protected void paintComponent(Graphics g) {
-                Graphics2D g2d = (Graphics2D) g.create();
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                
-                // Draw half-filled star
-                g2d.setColor(FILLED_COLOR);
-                g2d.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 16));
-                FontMetrics fm = g2d.getFontMetrics();
-                int x = (getWidth() - fm.stringWidth("★")) / 2;
-                int y = (getHeight() + fm.getAscent()) / 2 - 2;
-                
-                // Clip to show only left half
-                g2d.setClip(0, 0, getWidth() / 2, getHeight());
-                g2d.drawString("★", x, y);
-                
-                // Draw empty right half
-                g2d.setClip(getWidth() / 2, 0, getWidth() / 2, getHeight());
-                g2d.setColor(EMPTY_COLOR);
-                g2d.drawString("★", x, y);
-                
-                g2d.dispose();
+
+    private static Shape starShape(int size) {
+        return STAR_SHAPES.computeIfAbsent(size, StarRatingComponent::createStarShape);
+    }
+
+    private static Shape createStarShape(int size) {
+        Path2D.Double path = new Path2D.Double();
+        double center = size / 2.0;
+        double outerRadius = size / 2.0;
+        double innerRadius = outerRadius * 0.4;
+        for (int i = 0; i < 10; i++) {
+            double angle = -Math.PI / 2 + (i * Math.PI / 5);
+            double radius = (i % 2 == 0) ? outerRadius : innerRadius;
+            double px = center + radius * Math.cos(angle);
+            double py = center + radius * Math.sin(angle);
+            if (i == 0) {
+                path.moveTo(px, py);
+            } else {
+                path.lineTo(px, py);
             }
-        };
-        halfStar.setPreferredSize(new Dimension(20, 20));
-        halfStar.setOpaque(false);
-        return halfStar;
+        }
+        path.closePath();
+        return path;
+    }
+
+    // Static method to create a display-only star rating
+    public static StarRatingComponent createDisplayStarRating(double rating) {
+        StarRatingComponent component = new StarRatingComponent(rating, false);
+        component.setShowValue(true);
+        component.setPreferredSize(new Dimension(140, 25));
+        return component;
     }
 }
@@ -0,0 +1,39 @@
+package com.cpp.moviejournal.gui;
+
+import javax.swing.*;
+import javax.swing.border.Border;
+import javax.swing.table.TableCellRenderer;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+
+/**
+ * Renders numeric rating cells as painted stars.
+ * A single {@link StarRatingComponent} is reconfigured for every cell, so painting a column
+ * allocates neither strings nor components.
+ */
+public class StarRatingTableCellRenderer implements TableCellRenderer {
+
+    private static final Border NO_FOCUS_BORDER = BorderFactory.createEmptyBorder(1, 6, 1, 1);
+
+    private final StarRatingComponent stars = new StarRatingComponent(0, false) {
+        @Override
+        public String getToolTipText(MouseEvent event) {
+            return ReviewTableRenderers.ratingGlyphs(getRating());
+        }
+    };
+
+    public StarRatingTableCellRenderer() {
+        stars.setShowValue(true);
+        stars.setOpaque(true);
+        stars.setBorder(NO_FOCUS_BORDER);
+    }
+
+    @Override
+    public Component getTableCellRendererComponent(JTable table, Object value,
+                                                   boolean isSelected, boolean hasFocus,
+                                                   int row, int column) {
+        stars.setRating(value instanceof Number ? ((Number) value).doubleValue() : 0);
+        stars.setBackground(isSelected ? table.getSelectionBackground() : table.getBackground());
+        return stars;
+    }
+}
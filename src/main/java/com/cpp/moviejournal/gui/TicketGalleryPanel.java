@@ -0,0 +1,379 @@
+package com.cpp.moviejournal.gui;
+
+import com.cpp.moviejournal.manager.MovieReviewManager;
+import com.cpp.moviejournal.manager.ReviewChangeListener;
+import com.cpp.moviejournal.model.MovieReview;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Gallery of every ticket stub in the user's journal.
+ * The grid is virtualized: only cells intersecting the viewport are painted, all of them
+ * through one recycled cell component, and thumbnails are loaded asynchronously.
+ */
+public class TicketGalleryPanel extends JPanel implements ReviewChangeListener {
+
+    private static final int THUMBNAIL_SIZE = 140;
+    private static final int CELL_WIDTH = 170;
+    private static final int CELL_HEIGHT = 200;
+    private static final int CELL_GAP = 12;
+
+    private MovieReviewManager movieReviewManager;
+    private final TicketThumbnailLoader thumbnailLoader = new TicketThumbnailLoader(THUMBNAIL_SIZE);
+
+    private TicketGrid ticketGrid;
+    private JScrollPane gridScrollPane;
+    private JLabel countLabel;
+
+    public TicketGalleryPanel() {
+        initializeComponents();
+        setupLayout();
+    }
+
+    public void setMovieReviewManager(MovieReviewManager manager) {
+        if (this.movieReviewManager != null) {
+            this.movieReviewManager.removeReviewChangeListener(this);
+        }
+        this.movieReviewManager = manager;
+        if (this.movieReviewManager != null) {
+            this.movieReviewManager.addReviewChangeListener(this);
+        }
+        thumbnailLoader.clear();
+        refreshData();
+    }
+
+    private void initializeComponents() {
+        ticketGrid = new TicketGrid();
+        gridScrollPane = new JScrollPane(ticketGrid);
+        gridScrollPane.getVerticalScrollBar().setUnitIncrement(CELL_HEIGHT / 4);
+        // Blit scrolling repaints only the newly exposed strip instead of the whole viewport
+        gridScrollPane.getViewport().setScrollMode(JViewport.BLIT_SCROLL_MODE);
+        countLabel = new JLabel("0 tickets");
+    }
+
+    private void setupLayout() {
+        setLayout(new BorderLayout());
+        setBorder(new EmptyBorder(20, 20, 20, 20));
+        setBackground(new Color(248, 249, 250));
+
+        JPanel headerPanel = new JPanel(new BorderLayout());
+        headerPanel.setOpaque(false);
+        headerPanel.setBorder(new EmptyBorder(0, 0, 15, 0));
+
+        JLabel header = new JLabel("🎟️ Ticket Gallery");
+        header.setFont(new Font("Segoe UI Emoji", Font.BOLD, 20));
+        header.setForeground(new Color(52, 58, 64));
+        countLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        countLabel.setForeground(new Color(108, 117, 125));
+
+        headerPanel.add(header, BorderLayout.WEST);
+        headerPanel.add(countLabel, BorderLayout.EAST);
+        add(headerPanel, BorderLayout.NORTH);
+
+        gridScrollPane.setBorder(BorderFactory.createLineBorder(new Color(206, 212, 218), 1));
+        gridScrollPane.getViewport().setBackground(Color.WHITE);
+        add(gridScrollPane, BorderLayout.CENTER);
+    }
+
+    public void refreshData() {
+        List<MovieReview> tickets = movieReviewManager != null
+            ? movieReviewManager.getTicketReviews()
+            : Collections.emptyList();
+        ticketGrid.setTickets(tickets);
+        countLabel.setText(tickets.size() + (tickets.size() == 1 ? " ticket" : " tickets"));
+    }
+
+    // ReviewChangeListener implementation
+    @Override
+    public void onReviewAdded(MovieReview review) {
+        SwingUtilities.invokeLater(this::refreshData);
+    }
+
+    @Override
+    public void onReviewUpdated(MovieReview review) {
+        SwingUtilities.invokeLater(this::refreshData);
+    }
+
+    @Override
+    public void onReviewDeleted(int reviewId) {
+        SwingUtilities.invokeLater(this::refreshData);
+    }
+
+    @Override
+    public void onReviewsBulkDeleted(int count) {
+        SwingUtilities.invokeLater(this::refreshData);
+    }
+
+    @Override
+    public void onReviewsCleared() {
+        SwingUtilities.invokeLater(this::refreshData);
+    }
+
+    /**
+     * Virtualized grid: sized for every ticket, but paints only the rows in the clip.
+     */
+    private class TicketGrid extends JComponent implements Scrollable {
+        private List<MovieReview> tickets = new ArrayList<>();
+        private final TicketCell cell = new TicketCell();
+        private final CellRendererPane rendererPane = new CellRendererPane();
+        private volatile Set<String> visiblePaths = Collections.emptySet();
+        private int hoveredIndex = -1;
+
+        TicketGrid() {
+            setOpaque(true);
+            setBackground(Color.WHITE);
+            add(rendererPane);
+            ToolTipManager.sharedInstance().registerComponent(this);
+
+            MouseAdapter hoverTracker = new MouseAdapter() {
+                @Override
+                public void mouseMoved(MouseEvent e) {
+                    updateHover(indexAt(e.getPoint()));
+                }
+
+                @Override
+                public void mouseExited(MouseEvent e) {
+                    updateHover(-1);
+                }
+            };
+            addMouseListener(hoverTracker);
+            addMouseMotionListener(hoverTracker);
+        }
+
+        void setTickets(List<MovieReview> tickets) {
+            this.tickets = tickets;
+            hoveredIndex = -1;
+            revalidate();
+            repaint();
+        }
+
+        private int columns() {
+            int width = getParent() instanceof JViewport ? getParent().getWidth() : getWidth();
+            return Math.max(1, (width - CELL_GAP) / (CELL_WIDTH + CELL_GAP));
+        }
+
+        private int rows() {
+            int columns = columns();
+            return (tickets.size() + columns - 1) / columns;
+        }
+
+        private Rectangle cellBounds(int index) {
+            int columns = columns();
+            int x = CELL_GAP + (index % columns) * (CELL_WIDTH + CELL_GAP);
+            int y = CELL_GAP + (index / columns) * (CELL_HEIGHT + CELL_GAP);
+            return new Rectangle(x, y, CELL_WIDTH, CELL_HEIGHT);
+        }
+
+        private int indexAt(Point point) {
+            int column = (point.x - CELL_GAP) / (CELL_WIDTH + CELL_GAP);
+            int row = (point.y - CELL_GAP) / (CELL_HEIGHT + CELL_GAP);
+            if (point.x < CELL_GAP || point.y < CELL_GAP || column >= columns()) {
+                return -1;
+            }
+            int index = row * columns() + column;
+            return index < tickets.size() && cellBounds(index).contains(point) ? index : -1;
+        }
+
+        private void updateHover(int index) {
+            if (index == hoveredIndex) {
+                return;
+            }
+            if (hoveredIndex >= 0) {
+                repaint(cellBounds(hoveredIndex));
+            }
+            hoveredIndex = index;
+            if (hoveredIndex >= 0) {
+                repaint(cellBounds(hoveredIndex));
+            }
+        }
+
+        @Override
+        public String getToolTipText(MouseEvent event) {
+            int index = indexAt(event.getPoint());
+            if (index < 0) {
+                return null;
+            }
+            MovieReview review = tickets.get(index);
+            return review.getTitle() + " - " + review.getDateWatchedAsString();
+        }
+
+        @Override
+        public Dimension getPreferredSize() {
+            int columns = columns();
+            int width = CELL_GAP + columns * (CELL_WIDTH + CELL_GAP);
+            int height = CELL_GAP + rows() * (CELL_HEIGHT + CELL_GAP);
+            return new Dimension(width, height);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Rectangle clip = g.getClipBounds();
+            if (clip == null) {
+                clip = new Rectangle(0, 0, getWidth(), getHeight());
+            }
+            g.setColor(getBackground());
+            g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+            // Publish the visible set before requesting thumbnails so loads for it are not skipped.
+            // Blit scrolling clips to the newly exposed strip, so the set comes from the viewport.
+            int[] visible = indexRange(getVisibleRect());
+            Set<String> paths = new HashSet<>();
+            for (int i = visible[0]; i <= visible[1]; i++) {
+                paths.add(tickets.get(i).getTicketImagePath());
+            }
+            visiblePaths = paths;
+
+            int[] range = indexRange(clip);
+            for (int i = range[0]; i <= range[1]; i++) {
+                Rectangle bounds = cellBounds(i);
+                if (!bounds.intersects(clip)) {
+                    continue;
+                }
+                MovieReview review = tickets.get(i);
+                String path = review.getTicketImagePath();
+                // Reads the field on every check, so a load sees the viewport as it is by then
+                BufferedImage thumbnail = thumbnailLoader.getThumbnail(
+                    path, wanted -> visiblePaths.contains(wanted), this::repaintPath);
+                cell.configure(review, thumbnail, thumbnailLoader.isFailed(path), i == hoveredIndex);
+                rendererPane.paintComponent(g, cell, this, bounds.x, bounds.y, bounds.width, bounds.height, true);
+            }
+        }
+
+        /** First and last ticket index whose row intersects the given area (empty when first > last). */
+        private int[] indexRange(Rectangle area) {
+            int columns = columns();
+            int rowHeight = CELL_HEIGHT + CELL_GAP;
+            int firstRow = Math.max(0, (area.y - CELL_GAP) / rowHeight);
+            int lastRow = Math.min(rows() - 1, (area.y + area.height) / rowHeight);
+            int first = firstRow * columns;
+            int last = Math.min(tickets.size() - 1, (lastRow + 1) * columns - 1);
+            return new int[]{first, last};
+        }
+
+        private void repaintPath(String path) {
+            Rectangle visible = getVisibleRect();
+            int[] range = indexRange(visible);
+            for (int i = range[0]; i <= range[1]; i++) {
+                if (path.equals(tickets.get(i).getTicketImagePath())) {
+                    repaint(cellBounds(i));
+                }
+            }
+        }
+
+        // Scrollable implementation: track the viewport width so columns reflow on resize
+        @Override
+        public Dimension getPreferredScrollableViewportSize() {
+            return new Dimension(4 * (CELL_WIDTH + CELL_GAP) + CELL_GAP, 2 * (CELL_HEIGHT + CELL_GAP));
+        }
+
+        @Override
+        public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+            return (CELL_HEIGHT + CELL_GAP) / 4;
+        }
+
+        @Override
+        public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+            return Math.max(CELL_HEIGHT + CELL_GAP, visibleRect.height - CELL_HEIGHT);
+        }
+
+        @Override
+        public boolean getScrollableTracksViewportWidth() {
+            return true;
+        }
+
+        @Override
+        public boolean getScrollableTracksViewportHeight() {
+            return false;
+        }
+    }
+
+    /**
+     * The single cell component reused for every painted ticket.
+     */
+    private static class TicketCell extends JComponent {
+        private static final Font TITLE_FONT = new Font("Segoe UI", Font.BOLD, 12);
+        private static final Font DATE_FONT = new Font("Segoe UI", Font.PLAIN, 11);
+        private static final Font PLACEHOLDER_FONT = new Font("Segoe UI Emoji", Font.PLAIN, 28);
+        private static final Color CARD_COLOR = Color.WHITE;
+        private static final Color HOVER_COLOR = new Color(232, 240, 254);
+        private static final Color BORDER_COLOR = new Color(206, 212, 218);
+        private static final Color PLACEHOLDER_COLOR = new Color(241, 243, 245);
+        private static final Color TITLE_COLOR = new Color(52, 58, 64);
+        private static final Color DATE_COLOR = new Color(108, 117, 125);
+
+        private String title;
+        private String date;
+        private BufferedImage thumbnail;
+        private boolean failed;
+        private boolean hovered;
+
+        void configure(MovieReview review, BufferedImage thumbnail, boolean failed, boolean hovered) {
+            this.title = review.getTitle();
+            this.date = review.getDateWatchedAsString();
+            this.thumbnail = thumbnail;
+            this.failed = failed;
+            this.hovered = hovered;
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2d = (Graphics2D) g;
+            int width = getWidth();
+            int height = getHeight();
+
+            g2d.setColor(hovered ? HOVER_COLOR : CARD_COLOR);
+            g2d.fillRect(0, 0, width, height);
+            g2d.setColor(BORDER_COLOR);
+            g2d.drawRect(0, 0, width - 1, height - 1);
+
+            int imageX = (width - THUMBNAIL_SIZE) / 2;
+            int imageY = 8;
+            if (thumbnail != null) {
+                g2d.drawImage(thumbnail,
+                    imageX + (THUMBNAIL_SIZE - thumbnail.getWidth()) / 2,
+                    imageY + (THUMBNAIL_SIZE - thumbnail.getHeight()) / 2, null);
+            } else {
+                g2d.setColor(PLACEHOLDER_COLOR);
+                g2d.fillRect(imageX, imageY, THUMBNAIL_SIZE, THUMBNAIL_SIZE);
+                g2d.setColor(DATE_COLOR);
+                g2d.setFont(PLACEHOLDER_FONT);
+                drawCentered(g2d, failed ? "⚠" : "🎟", imageY + THUMBNAIL_SIZE / 2 + 10, width);
+            }
+
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2d.setColor(TITLE_COLOR);
+            g2d.setFont(TITLE_FONT);
+            drawCentered(g2d, clip(g2d, title, width - 12), imageY + THUMBNAIL_SIZE + 22, width);
+            g2d.setColor(DATE_COLOR);
+            g2d.setFont(DATE_FONT);
+            drawCentered(g2d, date, imageY + THUMBNAIL_SIZE + 38, width);
+        }
+
+        private static void drawCentered(Graphics2D g2d, String text, int baseline, int width) {
+            int textWidth = g2d.getFontMetrics().stringWidth(text);
+            g2d.drawString(text, (width - textWidth) / 2, baseline);
+        }
+
+        private static String clip(Graphics2D g2d, String text, int maxWidth) {
+            FontMetrics metrics = g2d.getFontMetrics();
+            if (text == null || metrics.stringWidth(text) <= maxWidth) {
+                return text == null ? "" : text;
+            }
+            int end = text.length();
+            while (end > 0 && metrics.stringWidth(text.substring(0, end) + "…") > maxWidth) {
+                end--;
+            }
+            return text.substring(0, end) + "…";
+        }
+    }
+}
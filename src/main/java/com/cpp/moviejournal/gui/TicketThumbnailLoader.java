@@ -0,0 +1,156 @@
+package com.cpp.moviejournal.gui;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Loads ticket thumbnails off the EDT and keeps the most recently used ones in memory.
+ * Large images are decoded with source subsampling so only roughly thumbnail-sized
+ * pixel data is ever materialized.
+ */
+public class TicketThumbnailLoader {
+
+    private static final int LOADER_THREADS = 2;
+    private static final int DEFAULT_CACHE_SIZE = 256;
+
+    /** Marker stored for paths that could not be decoded, so they are not retried on every paint. */
+    private static final BufferedImage FAILED = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+
+    private final int thumbnailSize;
+    private final Map<String, BufferedImage> cache;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor;
+
+    public TicketThumbnailLoader(int thumbnailSize) {
+        this(thumbnailSize, DEFAULT_CACHE_SIZE);
+    }
+
+    public TicketThumbnailLoader(int thumbnailSize, int cacheSize) {
+        this.thumbnailSize = thumbnailSize;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(cacheSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        this.executor = Executors.newFixedThreadPool(LOADER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "ticket-thumbnail-loader");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the cached thumbnail for the path, or null while it is still loading.
+     * A load is scheduled on first request; {@code stillWanted} is checked again right
+     * before decoding so cells that scrolled out of view never cost any I/O.
+     *
+     * @param path the ticket image path
+     * @param stillWanted predicate telling whether the path is still visible
+     * @param onLoaded callback invoked on the EDT once the thumbnail is ready
+     * @return the thumbnail, or null if not loaded yet or unreadable
+     */
+    public BufferedImage getThumbnail(String path, Predicate<String> stillWanted, Consumer<String> onLoaded) {
+        BufferedImage cached = cache.get(path);
+        if (cached != null) {
+            return cached == FAILED ? null : cached;
+        }
+        if (pending.add(path)) {
+            executor.execute(() -> load(path, stillWanted, onLoaded));
+        }
+        return null;
+    }
+
+    /**
+     * Tells whether the path was tried and could not be decoded.
+     *
+     * @param path the ticket image path
+     * @return true if the image is known to be unreadable
+     */
+    public boolean isFailed(String path) {
+        return cache.get(path) == FAILED;
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void load(String path, Predicate<String> stillWanted, Consumer<String> onLoaded) {
+        try {
+            if (!stillWanted.test(path)) {
+                return;
+            }
+            BufferedImage thumbnail = decodeThumbnail(path);
+            cache.put(path, thumbnail != null ? thumbnail : FAILED);
+            SwingUtilities.invokeLater(() -> onLoaded.accept(path));
+        } finally {
+            pending.remove(path);
+        }
+    }
+
+    private BufferedImage decodeThumbnail(String path) {
+        File file = new File(path);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (ImageInputStream input = ImageIO.createImageInputStream(file)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.min(width, height) / (thumbnailSize * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return scaleToFit(reader.read(0, param));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private BufferedImage scaleToFit(BufferedImage source) {
+        double scale = Math.min(
+            (double) thumbnailSize / source.getWidth(),
+            (double) thumbnailSize / source.getHeight());
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = scaled.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(source, 0, 0, width, height, null);
+        g2d.dispose();
+        return scaled;
+    }
+}
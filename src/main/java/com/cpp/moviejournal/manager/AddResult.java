@@ -0,0 +1,13 @@
+package com.cpp.moviejournal.manager;
+
+/**
+ * Result of adding one review with {@link MovieReviewManager#addReview}.
+ */
+public enum AddResult {
+  /** The review was saved, or queued to be saved once the server is reachable. */
+  ADDED,
+  /** Another review already holds the title and director; nothing was written. */
+  DUPLICATE,
+  /** The write failed. */
+  FAILED
+}
@@ -0,0 +1,288 @@
+package com.cpp.moviejournal.manager;
+
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.util.RetryPolicy;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds favorite toggles back for a short delay and writes them in one batch, so flipping
+ * favorites quickly costs one round trip instead of one per click. The review and the listeners
+ * see a toggle at once. Toggles of the same review coalesce: the last one wins, and toggling a
+ * review back to the flag the database holds drops the write altogether.
+ *
+ * <p>A write the database rejects is undone locally and reported to the manager's rollback
+ * handler. A write that fails because the database is unreachable goes to the offline journal
+ * when there is one, or else is retried with the next batch.
+ */
+class FavoriteWriteBehind {
+  static final Duration DEFAULT_FLUSH_DELAY = Duration.ofMillis(500);
+
+  /**
+   * A toggle not yet written.
+   *
+   * @param review the review shown to the user, already carrying {@code favorite}
+   * @param storedFavorite the flag the database holds
+   * @param baseVersion the version the database holds
+   * @param favorite the flag to write
+   */
+  record Pending(MovieReview review, boolean storedFavorite, int baseVersion, boolean favorite) {
+    // A toggle made while this one was in flight, rebased onto what the database still holds
+    Pending after(Pending failed) {
+      return new Pending(review, failed.storedFavorite, failed.baseVersion, favorite);
+    }
+  }
+
+  private final MovieReviewManager manager;
+  private final Duration flushDelay;
+  private final Map<Integer, Pending> pending = new LinkedHashMap<>();
+  private final Object flushLock = new Object();
+  private ScheduledExecutorService scheduler;
+  private boolean flushScheduled;
+
+  FavoriteWriteBehind(MovieReviewManager manager, Duration flushDelay) {
+    this.manager = manager;
+    this.flushDelay = flushDelay;
+  }
+
+  /**
+   * Records a toggle and applies it to the review.
+   *
+   * @param review the review as shown
+   * @param favorite the new flag
+   */
+  synchronized void toggle(MovieReview review, boolean favorite) {
+    Pending earlier = pending.get(review.getId());
+    boolean storedFavorite = earlier != null ? earlier.storedFavorite() : review.isFavorite();
+    int baseVersion = earlier != null ? earlier.baseVersion() : review.getVersion();
+    review.setFavorite(favorite);
+    if (favorite == storedFavorite) {
+      // An even number of toggles leaves nothing to write
+      pending.remove(review.getId());
+      return;
+    }
+    pending.put(review.getId(), new Pending(review, storedFavorite, baseVersion, favorite));
+    scheduleFlush();
+  }
+
+  /**
+   * Drops a review's pending toggle, e.g. because a direct write replaces it.
+   *
+   * @param reviewId the review
+   */
+  synchronized void discard(int reviewId) {
+    pending.remove(reviewId);
+  }
+
+  /**
+   * Gets the number of toggles not yet written.
+   *
+   * @return the count
+   */
+  synchronized int size() {
+    return pending.size();
+  }
+
+  /**
+   * Applies the pending flags to reviews read from the database, which do not have them yet.
+   *
+   * @param reviews freshly read reviews; changed in place
+   * @return the same list
+   */
+  synchronized List<MovieReview> overlay(List<MovieReview> reviews) {
+    if (!pending.isEmpty()) {
+      for (MovieReview review : reviews) {
+        Pending toggle = pending.get(review.getId());
+        if (toggle != null) {
+          review.setFavorite(toggle.favorite());
+        }
+      }
+    }
+    return reviews;
+  }
+
+  /**
+   * Writes every pending toggle in one batch.
+   *
+   * @return the number of toggles written
+   */
+  int flush() {
+    synchronized (flushLock) {
+      List<Pending> batch;
+      synchronized (this) {
+        flushScheduled = false;
+        batch = new ArrayList<>(pending.values());
+        pending.clear();
+      }
+      if (batch.isEmpty()) {
+        return 0;
+      }
+      if (manager.isOffline()) {
+        // Journaled writes must reach the server first, so these queue up behind them
+        handleFailedBatch(batch, true);
+        return 0;
+      }
+      // The update only reads the key, the version and the flag
+      List<MovieReview> rows = new ArrayList<>(batch.size());
+      for (Pending toggle : batch) {
+        rows.add(
+            MovieReview.builder()
+                .setId(toggle.review().getId())
+                .setUserId(toggle.review().getUserId())
+                .setFavorite(toggle.favorite())
+                .setVersion(toggle.baseVersion())
+                .build());
+      }
+      List<UpdateResult> results;
+      try {
+        results = manager.updateFavoriteRows(rows);
+      } catch (SQLException e) {
+        System.err.println("Error saving favorites: " + e.getMessage());
+        e.printStackTrace();
+        handleFailedBatch(batch, RetryPolicy.isTransient(e));
+        return 0;
+      }
+      Map<Integer, Integer> writtenVersions = new LinkedHashMap<>();
+      List<MovieReview> rolledBack = new ArrayList<>();
+      for (int i = 0; i < batch.size(); i++) {
+        Pending toggle = batch.get(i);
+        UpdateResult result = results.get(i);
+        if (result == UpdateResult.CONFLICT) {
+          result = reapply(toggle, rows.get(i));
+        }
+        if (result == UpdateResult.UPDATED) {
+          confirm(toggle, rows.get(i).getVersion());
+          writtenVersions.put(toggle.review().getId(), rows.get(i).getVersion());
+        } else if (result == UpdateResult.FAILED && rollBack(toggle)) {
+          rolledBack.add(toggle.review());
+        }
+        // NOT_FOUND: the review was deleted meanwhile, so there is nothing to undo
+      }
+      manager.publishFavoriteWrites(writtenVersions);
+      manager.publishFavoriteRollbacks(rolledBack);
+      return writtenVersions.size();
+    }
+  }
+
+  // Setting a flag does not depend on the other fields, so reapply it to the newer copy
+  private UpdateResult reapply(Pending toggle, MovieReview row) {
+    try {
+      MovieReview latest = manager.findReviewRow(toggle.review().getId());
+      if (latest == null) {
+        return UpdateResult.NOT_FOUND;
+      }
+      if (latest.isFavorite() != toggle.favorite()
+          && manager.updateFavoriteRow(latest, toggle.favorite()) != UpdateResult.UPDATED) {
+        return UpdateResult.FAILED;
+      }
+      row.setVersion(latest.getVersion());
+      return UpdateResult.UPDATED;
+    } catch (SQLException e) {
+      System.err.println("Error saving favorite: " + e.getMessage());
+      e.printStackTrace();
+      return UpdateResult.FAILED;
+    }
+  }
+
+  private synchronized void confirm(Pending toggle, int version) {
+    MovieReview review = toggle.review();
+    if (review.getVersion() == toggle.baseVersion()) {
+      review.setVersion(version);
+    }
+    Pending newer = pending.get(review.getId());
+    if (newer != null) {
+      pending.put(
+          review.getId(),
+          new Pending(newer.review(), toggle.favorite(), version, newer.favorite()));
+    }
+  }
+
+  private void handleFailedBatch(List<Pending> batch, boolean transientFailure) {
+    List<MovieReview> rolledBack = new ArrayList<>();
+    for (Pending toggle : batch) {
+      if (!transientFailure) {
+        if (rollBack(toggle)) {
+          rolledBack.add(toggle.review());
+        }
+      } else if (hasNewer(toggle)
+          || !manager.journalFavoriteOffline(toggle.review(), toggle.favorite())) {
+        // A newer toggle of the same review replaces this one, so only it gets journaled
+        requeue(toggle);
+      }
+    }
+    manager.publishFavoriteRollbacks(rolledBack);
+  }
+
+  private synchronized boolean hasNewer(Pending toggle) {
+    return pending.containsKey(toggle.review().getId());
+  }
+
+  private synchronized void requeue(Pending toggle) {
+    int reviewId = toggle.review().getId();
+    Pending newer = pending.get(reviewId);
+    if (newer == null) {
+      pending.put(reviewId, toggle);
+    } else if (newer.favorite() == toggle.storedFavorite()) {
+      pending.remove(reviewId);
+    } else {
+      pending.put(reviewId, newer.after(toggle));
+    }
+    scheduleFlush();
+  }
+
+  /**
+   * Undoes a toggle the database rejected.
+   *
+   * @return true if the review went back to its stored flag; false if a newer toggle already
+   *     replaced it, in which case that one is rebased instead
+   */
+  private synchronized boolean rollBack(Pending toggle) {
+    int reviewId = toggle.review().getId();
+    Pending newer = pending.get(reviewId);
+    if (newer != null) {
+      if (newer.favorite() == toggle.storedFavorite()) {
+        pending.remove(reviewId);
+      } else {
+        pending.put(reviewId, newer.after(toggle));
+      }
+      return false;
+    }
+    toggle.review().setFavorite(toggle.storedFavorite());
+    return true;
+  }
+
+  private synchronized void scheduleFlush() {
+    if (flushScheduled || pending.isEmpty()) {
+      return;
+    }
+    if (scheduler == null) {
+      scheduler =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "favorite-write-behind");
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    flushScheduled = true;
+    scheduler.schedule(this::flush, flushDelay.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /** Writes what is pending and stops the timer. */
+  void close() {
+    flush();
+    synchronized (this) {
+      if (scheduler != null) {
+        scheduler.shutdownNow();
+        scheduler = null;
+      }
+    }
+  }
+}
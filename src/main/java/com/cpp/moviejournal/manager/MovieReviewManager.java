@@ -1,121 +1,102 @@
 package com.cpp.moviejournal.manager;
 
 import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.repository.RepositoryFactory;
+import com.cpp.moviejournal.repository.ReviewRepository;
+import com.cpp.moviejournal.search.AutocompleteIndex;
+import com.cpp.moviejournal.search.DuplicateReviewIndex;
+import com.cpp.moviejournal.search.ReviewFacetIndex;
+import com.cpp.moviejournal.search.ReviewFilter;
+import com.cpp.moviejournal.search.ReviewFilterResult;
+import com.cpp.moviejournal.search.SearchQueryCache;
+import com.cpp.moviejournal.search.TrigramIndex;
 import com.cpp.moviejournal.strategy.SortStrategy;
 import com.cpp.moviejournal.strategy.SortStrategyFactory;
 import com.cpp.moviejournal.util.DatabaseConnection;
-import java.sql.Connection;
-import java.sql.DatabaseMetaData;
-import java.sql.Date;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
+import com.cpp.moviejournal.util.RetryPolicy;
+import com.cpp.moviejournal.util.UnitOfWork;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
- * Manages movie review-related database operations including CRUD operations,
- * searching, sorting, and observer notifications.
+ * Manages movie review-related operations including CRUD operations, searching, sorting, and
+ * observer notifications. Storage goes through a {@link ReviewRepository}, so the same manager
+ * runs against MySQL, a local file or memory. Writes made inside a {@link UnitOfWork} reach the
+ * listeners only when the unit commits.
  */
 public class MovieReviewManager {
   private static final String DEFAULT_TITLE = "Untitled";
   private static final String DEFAULT_DIRECTOR = "Unknown";
   private static final String EMPTY_STRING = "";
-  private static final String TABLE_MOVIE_REVIEWS = "movie_reviews";
-  private static final String COLUMN_TICKET_IMAGE_PATH = "ticket_image_path";
-  private static final String COLUMN_IS_FAVORITE = "is_favorite";
-
-  private static final String CREATE_MOVIE_REVIEWS_TABLE_SQL =
-      """
-      CREATE TABLE IF NOT EXISTS movie_reviews (
-          id INT AUTO_INCREMENT PRIMARY KEY,
-          user_id INT NOT NULL,
-          title VARCHAR(255) NOT NULL,
-          director VARCHAR(255) NOT NULL,
-          genre VARCHAR(100) NOT NULL,
-          rating DECIMAL(2,1) NOT NULL CHECK (rating >= 0 AND rating <= 5),
-          review TEXT,
-          date_watched DATE NOT NULL,
-          ticket_image_path VARCHAR(500),
-          is_favorite BOOLEAN DEFAULT FALSE,
-          created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-          updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-          FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
-          UNIQUE KEY unique_user_movie_director (user_id, title, director)
-      )
-      """;
-
-  private static final String CREATE_USERS_TABLE_SQL =
-      """
-      CREATE TABLE IF NOT EXISTS users (
-          id INT AUTO_INCREMENT PRIMARY KEY,
-          username VARCHAR(50) NOT NULL UNIQUE,
-          email VARCHAR(100) NOT NULL UNIQUE,
-          password VARCHAR(255) NOT NULL,
-          created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-          last_login TIMESTAMP NULL,
-          is_active BOOLEAN DEFAULT TRUE,
-          INDEX idx_username (username),
-          INDEX idx_email (email)
-      )
-      """;
-
-  private static final String CHECK_USER_EXISTS_SQL = "SELECT COUNT(*) FROM users WHERE id = ?";
-  private static final String INSERT_TEST_USER_SQL =
-      "INSERT INTO users (id, username, email, password, created_at, is_active) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP, TRUE)";
-
-  private static final String INSERT_REVIEW_SQL =
-      "INSERT INTO movie_reviews (user_id, title, director, genre, rating, review, date_watched, ticket_image_path, is_favorite) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
-  private static final String DELETE_REVIEW_SQL = "DELETE FROM movie_reviews WHERE id = ? AND user_id = ?";
-
-  private static final String UPDATE_REVIEW_SQL =
-      "UPDATE movie_reviews SET title = ?, director = ?, genre = ?, rating = ?, review = ?, date_watched = ?, ticket_image_path = ?, is_favorite = ? WHERE id = ? AND user_id = ?";
-
-  private static final String SELECT_ALL_REVIEWS_SQL = "SELECT * FROM movie_reviews ORDER BY created_at DESC";
-
-  private static final String SELECT_REVIEWS_BY_USER_SQL =
-      "SELECT * FROM movie_reviews WHERE user_id = ? ORDER BY created_at DESC";
-
-  private static final String SELECT_FAVORITE_REVIEWS_SQL =
-      "SELECT * FROM movie_reviews WHERE is_favorite = TRUE ORDER BY created_at DESC";
-
-  private static final String SELECT_FAVORITE_REVIEWS_BY_USER_SQL =
-      "SELECT * FROM movie_reviews WHERE is_favorite = TRUE AND user_id = ? ORDER BY created_at DESC";
-
-  private static final String UPDATE_FAVORITE_STATUS_SQL =
-      "UPDATE movie_reviews SET is_favorite = ? WHERE id = ? AND user_id = ?";
-
-  private static final String DELETE_ALL_REVIEWS_SQL = "DELETE FROM movie_reviews";
-
-  private static final String SELECT_AVG_RATING_SQL = "SELECT AVG(rating) FROM movie_reviews";
-
-  private static final String SELECT_AVG_RATING_BY_USER_SQL =
-      "SELECT AVG(rating) FROM movie_reviews WHERE user_id = ?";
-
-  private static final String SELECT_TOTAL_REVIEWS_SQL = "SELECT COUNT(*) FROM movie_reviews";
-
-  private static final String SELECT_TOTAL_REVIEWS_BY_USER_SQL =
-      "SELECT COUNT(*) FROM movie_reviews WHERE user_id = ?";
-
-  private static final String SELECT_THEATER_VISIT_COUNT_SQL =
-      "SELECT COUNT(*) FROM movie_reviews WHERE ticket_image_path IS NOT NULL AND ticket_image_path <> ''";
-
-  private static final String SELECT_THEATER_VISIT_COUNT_BY_USER_SQL =
-      "SELECT COUNT(*) FROM movie_reviews WHERE ticket_image_path IS NOT NULL AND ticket_image_path <> '' AND user_id = ?";
+
+  // Keys of the reads whose last good result is served while the database is down
+  private static final String READ_ALL_REVIEWS = "allReviews";
+  private static final String READ_REVIEW_SUMMARIES = "reviewSummaries";
+  private static final String READ_FAVORITE_REVIEWS = "favoriteReviews";
+  private static final String READ_TICKET_REVIEWS = "ticketReviews";
+  private static final String READ_AVERAGE_RATING = "averageRating";
+  private static final String READ_TOTAL_REVIEWS = "totalReviews";
+  private static final String READ_THEATER_VISIT_COUNT = "theaterVisitCount";
+
+  /** Journals up to this size are filtered in memory; larger ones query the database. */
+  private static final int MAX_IN_MEMORY_FACET_REVIEWS = 200_000;
 
   private final int currentUserId;
+  private final ReviewRepository repository;
   private final List<ReviewChangeListener> listeners = new CopyOnWriteArrayList<>();
+  private final SearchQueryCache searchCache = new SearchQueryCache();
+  private final TrigramIndex trigramIndex = new TrigramIndex();
+  private final ReviewFacetIndex facetIndex = new ReviewFacetIndex();
+  private final AutocompleteIndex autocompleteIndex = new AutocompleteIndex();
+  private final DuplicateReviewIndex duplicateIndex = new DuplicateReviewIndex();
+  private final ReviewBodyLoader bodyLoader;
+  // Last successful result of each read, keyed by its name, served while the database is down
+  private final Map<String, Object> lastKnownGood = new ConcurrentHashMap<>();
+  private final Set<String> failedReads = ConcurrentHashMap.newKeySet();
+  private volatile OfflineJournal offlineJournal;
+  private final FavoriteWriteBehind favoriteWriteBehind =
+      new FavoriteWriteBehind(this, FavoriteWriteBehind.DEFAULT_FLUSH_DELAY);
+  private volatile Consumer<List<MovieReview>> favoriteRollbackHandler;
 
   public MovieReviewManager() {
     this(0);
   }
 
   public MovieReviewManager(int currentUserId) {
+    this(currentUserId, RepositoryFactory.createReviewRepository());
+  }
+
+  /**
+   * Creates a manager on a given repository, e.g. an in-memory one in tests.
+   *
+   * @param currentUserId the user whose journal this is, or 0 for every user
+   * @param repository where reviews are stored
+   */
+  public MovieReviewManager(int currentUserId, ReviewRepository repository) {
     this.currentUserId = currentUserId;
+    this.repository = repository;
+    this.bodyLoader =
+        new ReviewBodyLoader(currentUserId, repository, ReviewBodyLoader.DEFAULT_CAPACITY);
     initializeDatabase();
+    addReviewChangeListener(searchCache);
+    addReviewChangeListener(trigramIndex);
+    addReviewChangeListener(facetIndex);
+    addReviewChangeListener(autocompleteIndex);
+    addReviewChangeListener(duplicateIndex);
+    addReviewChangeListener(bodyLoader);
   }
 
   public int getCurrentUserId() {
@@ -145,7 +126,20 @@ public class MovieReviewManager {
     }
   }
 
+  // Inside a unit of work listeners hear about writes only once the unit commits
+  private static boolean deferredUntilCommit(Runnable notification) {
+    UnitOfWork unit = UnitOfWork.current();
+    if (unit == null) {
+      return false;
+    }
+    unit.afterCommit(notification);
+    return true;
+  }
+
   private void notifyReviewAdded(MovieReview review) {
+    if (deferredUntilCommit(() -> notifyReviewAdded(review))) {
+      return;
+    }
     for (ReviewChangeListener listener : listeners) {
       try {
         listener.onReviewAdded(review);
@@ -156,6 +150,9 @@ public class MovieReviewManager {
   }
 
   private void notifyReviewUpdated(MovieReview review) {
+    if (deferredUntilCommit(() -> notifyReviewUpdated(review))) {
+      return;
+    }
     for (ReviewChangeListener listener : listeners) {
       try {
         listener.onReviewUpdated(review);
@@ -166,6 +163,9 @@ public class MovieReviewManager {
   }
 
   private void notifyReviewDeleted(int reviewId) {
+    if (deferredUntilCommit(() -> notifyReviewDeleted(reviewId))) {
+      return;
+    }
     for (ReviewChangeListener listener : listeners) {
       try {
         listener.onReviewDeleted(reviewId);
@@ -175,17 +175,36 @@ public class MovieReviewManager {
     }
   }
 
-  private void notifyReviewsBulkDeleted(int count) {
+  private void notifyReviewsBulkDeleted(List<Integer> reviewIds, int count) {
+    if (deferredUntilCommit(() -> notifyReviewsBulkDeleted(reviewIds, count))) {
+      return;
+    }
     for (ReviewChangeListener listener : listeners) {
       try {
-        listener.onReviewsBulkDeleted(count);
+        listener.onReviewsBulkDeleted(reviewIds, count);
       } catch (Exception ignored) {
         // Ignore listener exceptions
       }
     }
   }
 
+  /**
+   * Tells listeners about changes made outside this manager's write methods: by another instance,
+   * as found by {@link ReviewSyncPoller}, or by {@link OfflineReplayer} syncing offline writes.
+   */
+  void publishRemoteChanges(
+      List<MovieReview> added, List<MovieReview> updated, List<Integer> deletedIds) {
+    added.forEach(this::notifyReviewAdded);
+    updated.forEach(this::notifyReviewUpdated);
+    if (!deletedIds.isEmpty()) {
+      notifyReviewsBulkDeleted(deletedIds, deletedIds.size());
+    }
+  }
+
   private void notifyReviewsCleared() {
+    if (deferredUntilCommit(this::notifyReviewsCleared)) {
+      return;
+    }
     for (ReviewChangeListener listener : listeners) {
       try {
         listener.onReviewsCleared();
@@ -196,93 +215,150 @@ public class MovieReviewManager {
   }
 
   private void initializeDatabase() {
-    try (Connection conn = DatabaseConnection.getConnection()) {
-      createMovieReviewsTable(conn);
-      createUsersTable(conn);
-      seedTestUserIfNeeded(conn);
-      ensureColumnsExist(conn);
+    try {
+      repository.initialize(currentUserId);
     } catch (SQLException e) {
       System.err.println("Error initializing database: " + e.getMessage());
       e.printStackTrace();
     }
   }
 
-  private void createMovieReviewsTable(Connection conn) throws SQLException {
-    try (PreparedStatement stmt = conn.prepareStatement(CREATE_MOVIE_REVIEWS_TABLE_SQL)) {
-      stmt.executeUpdate();
-    }
-  }
 
-  private void createUsersTable(Connection conn) throws SQLException {
-    try (PreparedStatement stmt = conn.prepareStatement(CREATE_USERS_TABLE_SQL)) {
-      stmt.executeUpdate();
+  /**
+   * Adds a new movie review.
+   *
+   * @param movieReview the review to add
+   * @return {@link AddResult#DUPLICATE} if another review already holds its title and director;
+   *     use {@link #upsertReview} to overwrite that one
+   */
+  public AddResult addReview(MovieReview movieReview) {
+    if (movieReview == null) {
+      return AddResult.FAILED;
     }
-  }
-
-  private void seedTestUserIfNeeded(Connection conn) throws SQLException {
-    if (currentUserId > 0 && !userExists(conn, currentUserId)) {
-      insertTestUser(conn, currentUserId);
+    prepareReviewForInsert(movieReview);
+    // The unique key would reject the insert; report it without the failing round trip
+    if (findDuplicateReviewId(movieReview) != DuplicateReviewIndex.NOT_FOUND) {
+      return AddResult.DUPLICATE;
     }
-  }
-
-  private boolean userExists(Connection conn, int userId) throws SQLException {
-    try (PreparedStatement checkStmt = conn.prepareStatement(CHECK_USER_EXISTS_SQL)) {
-      checkStmt.setInt(1, userId);
-      try (ResultSet rs = checkStmt.executeQuery()) {
-        return rs.next() && rs.getInt(1) > 0;
-      }
+    OfflineJournal journal = offlineJournalIfUnreachable();
+    if (journal != null) {
+      addReviewOffline(journal, movieReview);
+      return AddResult.ADDED;
     }
+    return insertReviewIntoDatabase(movieReview);
   }
 
-  private void insertTestUser(Connection conn, int userId) throws SQLException {
-    try (PreparedStatement insertStmt = conn.prepareStatement(INSERT_TEST_USER_SQL)) {
-      insertStmt.setInt(1, userId);
-      insertStmt.setString(2, "test_user_" + userId);
-      insertStmt.setString(3, "test_" + userId + "@example.com");
-      insertStmt.setString(4, "password");
-      insertStmt.executeUpdate();
+  /**
+   * Finds another review in this journal that already holds the candidate's title and director,
+   * compared like the {@code unique_user_movie_director} key (ignoring case and accents). Served
+   * from an in-memory index built on first use, so the UI can warn before saving.
+   *
+   * @param candidate the review about to be added or saved
+   * @return the ID of the conflicting review, or {@link DuplicateReviewIndex#NOT_FOUND}
+   */
+  public int findDuplicateReviewId(MovieReview candidate) {
+    if (candidate == null) {
+      return DuplicateReviewIndex.NOT_FOUND;
     }
+    if (!duplicateIndex.isLoaded()) {
+      duplicateIndex.rebuild(getReviewSummaries());
+    }
+    int userId = currentUserId > 0 ? currentUserId : candidate.getUserId();
+    int reviewId =
+        duplicateIndex.findReviewId(
+            userId, withDefault(candidate.getTitle(), DEFAULT_TITLE),
+            withDefault(candidate.getDirector(), DEFAULT_DIRECTOR));
+    // A review never conflicts with itself when it is edited
+    return reviewId == candidate.getId() && candidate.getId() != 0
+        ? DuplicateReviewIndex.NOT_FOUND
+        : reviewId;
   }
 
-  private void ensureColumnsExist(Connection conn) throws SQLException {
-    ensureColumnExists(conn, TABLE_MOVIE_REVIEWS, COLUMN_TICKET_IMAGE_PATH, "VARCHAR(500)");
-    ensureColumnExists(conn, TABLE_MOVIE_REVIEWS, COLUMN_IS_FAVORITE, "BOOLEAN DEFAULT FALSE");
-  }
-
-  private void ensureColumnExists(
-      Connection conn, String tableName, String columnName, String columnDefinition)
-      throws SQLException {
-    DatabaseMetaData metaData = conn.getMetaData();
-    boolean exists =
-        columnExists(metaData, tableName, columnName)
-            || columnExists(metaData, tableName.toUpperCase(), columnName.toUpperCase());
-    if (!exists) {
-      String alterSQL =
-          "ALTER TABLE " + tableName + " ADD COLUMN " + columnName + " " + columnDefinition;
-      try (PreparedStatement alterStmt = conn.prepareStatement(alterSQL)) {
-        alterStmt.executeUpdate();
-      }
-    }
+  private static String withDefault(String value, String defaultValue) {
+    return value == null || value.trim().isEmpty() ? defaultValue : value;
   }
 
-  private boolean columnExists(DatabaseMetaData metaData, String tableName, String columnName)
-      throws SQLException {
-    try (ResultSet rs = metaData.getColumns(null, null, tableName, columnName)) {
-      return rs.next();
+  /**
+   * Inserts a review, or overwrites the review that already holds its title and director, in
+   * one statement.
+   *
+   * @param movieReview the review to write; its ID is set to the row written
+   * @return what the write did
+   */
+  public UpsertOutcome upsertReview(MovieReview movieReview) {
+    if (movieReview == null) {
+      return UpsertOutcome.FAILED;
     }
+    return upsertReviews(List.of(movieReview)).get(0);
   }
 
   /**
-   * Adds a new movie review.
+   * Upserts reviews as one batch in a single transaction, e.g. for imports: new
+   * (title, director) pairs are inserted, existing ones are overwritten.
    *
-   * @param movieReview the review to add
+   * @param reviews the reviews to write; their IDs are set to the rows written
+   * @return one outcome per review, in order; all {@link UpsertOutcome#FAILED} if the batch
+   *     failed
    */
-  public void addReview(MovieReview movieReview) {
-    if (movieReview == null) {
-      return;
+  public List<UpsertOutcome> upsertReviews(List<MovieReview> reviews) {
+    List<UpsertOutcome> outcomes = new ArrayList<>();
+    if (reviews == null || reviews.isEmpty()) {
+      return outcomes;
     }
-    prepareReviewForInsert(movieReview);
-    insertReviewIntoDatabase(movieReview);
+    List<MovieReview> validReviews = new ArrayList<>();
+    for (MovieReview review : reviews) {
+      if (review != null) {
+        prepareReviewForInsert(review);
+        validReviews.add(review);
+      }
+    }
+    // Which pairs already exist decides between INSERTED and UNCHANGED for single-row counts
+    Map<String, Integer> existingIds = new HashMap<>();
+    for (MovieReview review : validReviews) {
+      int existingId = findDuplicateReviewId(review);
+      if (existingId != DuplicateReviewIndex.NOT_FOUND) {
+        existingIds.put(pairKey(review), existingId);
+      }
+    }
+    OfflineJournal journal = offlineJournalIfUnreachable();
+    if (journal != null) {
+      return upsertReviewsOffline(journal, reviews, existingIds);
+    }
+    List<UpsertOutcome> written;
+    try {
+      written = validReviews.isEmpty() ? List.of() : repository.upsert(validReviews, existingIds);
+    } catch (SQLException e) {
+      journal = offlineJournalFor(e);
+      if (journal != null) {
+        return upsertReviewsOffline(journal, reviews, existingIds);
+      }
+      System.err.println("Error upserting reviews: " + e.getMessage());
+      e.printStackTrace();
+      reviews.forEach(review -> outcomes.add(UpsertOutcome.FAILED));
+      return outcomes;
+    }
+    int row = 0;
+    for (MovieReview review : reviews) {
+      if (review == null) {
+        outcomes.add(UpsertOutcome.FAILED);
+        continue;
+      }
+      UpsertOutcome outcome = written.get(row++);
+      outcomes.add(outcome);
+      if (outcome == UpsertOutcome.INSERTED) {
+        notifyReviewAdded(review);
+      } else if (outcome == UpsertOutcome.UPDATED) {
+        notifyReviewUpdated(review);
+      }
+    }
+    return outcomes;
+  }
+
+  private String pairKey(MovieReview review) {
+    return DuplicateReviewIndex.pairKey(
+        currentUserId > 0 ? currentUserId : review.getUserId(),
+        review.getTitle(),
+        review.getDirector());
   }
 
   private void prepareReviewForInsert(MovieReview movieReview) {
@@ -307,46 +383,52 @@ public class MovieReviewManager {
     }
   }
 
-  private void insertReviewIntoDatabase(MovieReview movieReview) {
-    try (Connection conn = DatabaseConnection.getConnection();
-        PreparedStatement stmt =
-            conn.prepareStatement(INSERT_REVIEW_SQL, Statement.RETURN_GENERATED_KEYS)) {
-      setReviewInsertParameters(stmt, movieReview);
-      int rowsAffected = stmt.executeUpdate();
-      if (rowsAffected > 0) {
-        setGeneratedReviewId(stmt, movieReview);
-        notifyReviewAdded(movieReview);
+  private AddResult insertReviewIntoDatabase(MovieReview movieReview) {
+    try {
+      if (!insertReviewRow(movieReview)) {
+        return AddResult.FAILED;
       }
+      notifyReviewAdded(movieReview);
+      return AddResult.ADDED;
+    } catch (SQLIntegrityConstraintViolationException e) {
+      // Added elsewhere since the duplicate index was built
+      return AddResult.DUPLICATE;
     } catch (SQLException e) {
+      OfflineJournal journal = offlineJournalFor(e);
+      if (journal != null) {
+        addReviewOffline(journal, movieReview);
+        return AddResult.ADDED;
+      }
       System.err.println("Error adding review: " + e.getMessage());
       e.printStackTrace();
     }
+    return AddResult.FAILED;
   }
 
-  private void setReviewInsertParameters(PreparedStatement stmt, MovieReview review)
-      throws SQLException {
-    stmt.setInt(1, review.getUserId());
-    stmt.setString(2, review.getTitle());
-    stmt.setString(3, review.getDirector());
-    stmt.setString(4, review.getGenre());
-    stmt.setDouble(5, review.getRating());
-    stmt.setString(6, review.getReview());
-    stmt.setDate(7, Date.valueOf(review.getDateWatched()));
-    stmt.setString(8, review.getTicketImagePath());
-    stmt.setBoolean(9, review.isFavorite());
+  // The *Row methods write without notifying, so OfflineReplayer can publish a batch at once
+  boolean insertReviewRow(MovieReview movieReview) throws SQLException {
+    return repository.insert(movieReview);
   }
 
-  private void setGeneratedReviewId(PreparedStatement stmt, MovieReview review)
-      throws SQLException {
-    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-      if (generatedKeys.next()) {
-        review.setId(generatedKeys.getInt(1));
-      }
+  UpsertOutcome upsertReviewRow(MovieReview movieReview) throws SQLException {
+    Map<String, Integer> knownIds = new HashMap<>();
+    if (movieReview.getId() > 0) {
+      knownIds.put(pairKey(movieReview), movieReview.getId());
     }
+    return repository.upsert(List.of(movieReview), knownIds).get(0);
+  }
+
+  /**
+   * Finds the live review holding a candidate's title and director on the server.
+   */
+  MovieReview findReviewByTitleAndDirectorRow(MovieReview candidate) throws SQLException {
+    return repository.findByTitleAndDirector(
+        candidate.getUserId(), candidate.getTitle(), candidate.getDirector());
   }
 
   /**
-   * Deletes a movie review.
+   * Moves a movie review to the trash. It disappears from every query at once and can be
+   * restored until the trash is emptied or {@link TrashPurger} removes it.
    *
    * @param review the review to delete
    */
@@ -355,6 +437,11 @@ public class MovieReviewManager {
       return;
     }
     enforceUserScope(review);
+    OfflineJournal journal = offlineJournalIfUnreachable();
+    if (journal != null) {
+      deleteReviewOffline(journal, review);
+      return;
+    }
     deleteReviewFromDatabase(review);
   }
 
@@ -365,20 +452,27 @@ public class MovieReviewManager {
   }
 
   private void deleteReviewFromDatabase(MovieReview review) {
-    try (Connection conn = DatabaseConnection.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(DELETE_REVIEW_SQL)) {
-      stmt.setInt(1, review.getId());
-      stmt.setInt(2, review.getUserId());
-      stmt.executeUpdate();
+    try {
+      softDeleteReviewRow(review);
       notifyReviewDeleted(review.getId());
     } catch (SQLException e) {
+      OfflineJournal journal = offlineJournalFor(e);
+      if (journal != null) {
+        deleteReviewOffline(journal, review);
+        return;
+      }
       System.err.println("Error deleting review: " + e.getMessage());
       e.printStackTrace();
     }
   }
 
+  int softDeleteReviewRow(MovieReview review) throws SQLException {
+    return repository.softDelete(review.getUserId(), review.getId());
+  }
+
   /**
-   * Deletes multiple reviews in a single operation.
+   * Moves multiple reviews to the trash in a single transaction. The repository flags IDs in
+   * bounded chunks, so thousands of reviews never end up in one oversized statement.
    *
    * @param reviews list of MovieReview objects to delete
    * @return number of reviews successfully deleted
@@ -391,6 +485,10 @@ public class MovieReviewManager {
     if (validReviews.isEmpty()) {
       return 0;
     }
+    OfflineJournal journal = offlineJournalIfUnreachable();
+    if (journal != null) {
+      return deleteReviewsOffline(journal, validReviews);
+    }
     return deleteReviewsFromDatabase(validReviews);
   }
 
@@ -406,41 +504,86 @@ public class MovieReviewManager {
   }
 
   private int deleteReviewsFromDatabase(List<MovieReview> validReviews) {
-    String sql = buildBulkDeleteSql(validReviews.size());
-    try (Connection conn = DatabaseConnection.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(sql)) {
-      setBulkDeleteParameters(stmt, validReviews);
-      int deletedCount = stmt.executeUpdate();
+    List<Integer> ids = collectIds(validReviews);
+    try {
+      int deletedCount = repository.softDelete(validReviews.get(0).getUserId(), ids);
       if (deletedCount > 0) {
-        notifyReviewsBulkDeleted(deletedCount);
+        notifyReviewsBulkDeleted(ids, deletedCount);
       }
       return deletedCount;
     } catch (SQLException e) {
+      OfflineJournal journal = offlineJournalFor(e);
+      if (journal != null) {
+        return deleteReviewsOffline(journal, validReviews);
+      }
       System.err.println("Error deleting reviews: " + e.getMessage());
       e.printStackTrace();
     }
     return 0;
   }
 
-  private String buildBulkDeleteSql(int reviewCount) {
-    StringBuilder sqlBuilder =
-        new StringBuilder("DELETE FROM movie_reviews WHERE user_id = ? AND id IN (");
-    for (int i = 0; i < reviewCount; i++) {
-      if (i > 0) {
-        sqlBuilder.append(", ");
-      }
-      sqlBuilder.append("?");
+  private List<Integer> collectIds(List<MovieReview> reviews) {
+    List<Integer> ids = new ArrayList<>(reviews.size());
+    for (MovieReview review : reviews) {
+      ids.add(review.getId());
+    }
+    return ids;
+  }
+
+  /**
+   * Gets the reviews in the trash, most recently deleted first.
+   *
+   * @return trashed reviews for current user
+   */
+  public List<MovieReview> getTrashedReviews() {
+    try {
+      return repository.findTrashed(currentUserId);
+    } catch (SQLException e) {
+      System.err.println("Error getting trashed reviews: " + e.getMessage());
+      e.printStackTrace();
+      return new ArrayList<>();
     }
-    sqlBuilder.append(")");
-    return sqlBuilder.toString();
   }
 
-  private void setBulkDeleteParameters(PreparedStatement stmt, List<MovieReview> validReviews)
-      throws SQLException {
-    stmt.setInt(1, validReviews.get(0).getUserId());
-    for (int i = 0; i < validReviews.size(); i++) {
-      stmt.setInt(i + 2, validReviews.get(i).getId());
+  /**
+   * Takes reviews back out of the trash; listeners see them as added again.
+   *
+   * @param reviews trashed reviews to restore
+   * @return number of reviews restored
+   */
+  public int restoreReviews(List<MovieReview> reviews) {
+    if (reviews == null || reviews.isEmpty()) {
+      return 0;
+    }
+    List<MovieReview> validReviews = filterAndScopeReviews(reviews);
+    if (validReviews.isEmpty()) {
+      return 0;
     }
+    try {
+      List<Integer> restoredIds =
+          repository.restore(validReviews.get(0).getUserId(), collectIds(validReviews));
+      // Reviews that were not in the trash, e.g. restored elsewhere meanwhile, were not added
+      for (MovieReview review : validReviews) {
+        if (restoredIds.contains(review.getId())) {
+          notifyReviewAdded(review);
+        }
+      }
+      return restoredIds.size();
+    } catch (SQLException e) {
+      System.err.println("Error restoring reviews: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return 0;
+  }
+
+  /**
+   * Permanently removes every review in the current user's trash, in bounded chunks.
+   *
+   * @return number of reviews removed
+   */
+  public int emptyTrash() {
+    TrashPurger purger = new TrashPurger(repository);
+    return currentUserId > 0 ? purger.purgeUser(currentUserId) : purger.purgeAll();
   }
 
   /**
@@ -448,13 +591,27 @@ public class MovieReviewManager {
    *
    * @param original the original review
    * @param updated the updated review
+   * @return {@link UpdateResult#CONFLICT} if the review changed since {@code original} was read;
+   *     reload it with {@link #findReview(int)} and retry or keep the newer copy
    */
-  public void updateReview(MovieReview original, MovieReview updated) {
+  public UpdateResult updateReview(MovieReview original, MovieReview updated) {
     if (original == null || updated == null) {
-      return;
+      return UpdateResult.FAILED;
+    }
+    if (!updated.isBodyLoaded()) {
+      // Saving a summary as is would cut the stored text down to its snippet
+      String body = loadReviewBody(updated);
+      if (body == null) {
+        return UpdateResult.FAILED;
+      }
+      updated.setReview(body);
     }
     prepareReviewForUpdate(original, updated);
-    updateReviewInDatabase(original, updated);
+    OfflineJournal journal = offlineJournalIfUnreachable();
+    if (journal != null) {
+      return updateReviewOffline(journal, original, updated);
+    }
+    return updateReviewInDatabase(original, updated);
   }
 
   private void prepareReviewForUpdate(MovieReview original, MovieReview updated) {
@@ -465,30 +622,81 @@ public class MovieReviewManager {
     updated.setId(original.getId());
   }
 
-  private void updateReviewInDatabase(MovieReview original, MovieReview updated) {
-    try (Connection conn = DatabaseConnection.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(UPDATE_REVIEW_SQL)) {
-      setReviewUpdateParameters(stmt, original, updated);
-      stmt.executeUpdate();
-      notifyReviewUpdated(updated);
+  private UpdateResult updateReviewInDatabase(MovieReview original, MovieReview updated) {
+    try {
+      UpdateResult result = updateReviewRow(original, updated);
+      if (result == UpdateResult.UPDATED) {
+        notifyReviewUpdated(updated);
+      }
+      return result;
     } catch (SQLException e) {
+      OfflineJournal journal = offlineJournalFor(e);
+      if (journal != null) {
+        return updateReviewOffline(journal, original, updated);
+      }
       System.err.println("Error updating review: " + e.getMessage());
       e.printStackTrace();
+      return UpdateResult.FAILED;
     }
   }
 
-  private void setReviewUpdateParameters(
-      PreparedStatement stmt, MovieReview original, MovieReview updated) throws SQLException {
-    stmt.setString(1, updated.getTitle());
-    stmt.setString(2, updated.getDirector());
-    stmt.setString(3, updated.getGenre());
-    stmt.setDouble(4, updated.getRating());
-    stmt.setString(5, updated.getReview());
-    stmt.setDate(6, Date.valueOf(updated.getDateWatched()));
-    stmt.setString(7, updated.getTicketImagePath());
-    stmt.setBoolean(8, updated.isFavorite());
-    stmt.setInt(9, original.getId());
-    stmt.setInt(10, original.getUserId());
+  UpdateResult updateReviewRow(MovieReview original, MovieReview updated) throws SQLException {
+    return repository.update(original, updated);
+  }
+
+  /**
+   * Fetches the reviews written since a watermark, using the {@code (user_id, updated_at)} index
+   * instead of reloading the journal. The watermark is inclusive because {@code updated_at} has
+   * one-second precision; callers should expect to see rows again and skip versions they know.
+   * Reviews removed with {@link #clearAllReviews()} leave no tombstone.
+   *
+   * @param since the watermark from the previous delta, or null for every review
+   * @return the changes, or null if the fetch failed
+   */
+  public ReviewDelta fetchChangesSince(Instant since) {
+    try {
+      return repository.findChangedSince(currentUserId, since != null ? since : Instant.EPOCH);
+    } catch (SQLException e) {
+      System.err.println("Error fetching changed reviews: " + e.getMessage());
+      e.printStackTrace();
+      return null;
+    }
+  }
+
+  /**
+   * Reads the time on the database clock that stamps changes, as a first watermark for
+   * {@link #fetchChangesSince}.
+   *
+   * @return the database time, or null if it could not be read
+   */
+  public Instant fetchServerTime() {
+    try {
+      return repository.currentTime(currentUserId);
+    } catch (SQLException e) {
+      System.err.println("Error reading the server time: " + e.getMessage());
+      e.printStackTrace();
+      return null;
+    }
+  }
+
+  /**
+   * Reads the current copy of a review, e.g. to resolve an update conflict.
+   *
+   * @param reviewId the review ID
+   * @return the review as stored now, or null if it no longer exists or is in the trash
+   */
+  public MovieReview findReview(int reviewId) {
+    try {
+      return findReviewRow(reviewId);
+    } catch (SQLException e) {
+      System.err.println("Error finding review: " + e.getMessage());
+      e.printStackTrace();
+      return null;
+    }
+  }
+
+  MovieReview findReviewRow(int reviewId) throws SQLException {
+    return repository.findById(currentUserId, reviewId);
   }
 
   /**
@@ -497,44 +705,76 @@ public class MovieReviewManager {
    * @return list of all movie reviews
    */
   public List<MovieReview> getAllMovies() {
-    if (currentUserId > 0) {
-      return getReviewsByUser(currentUserId);
-    }
-    return executeQuery(SELECT_ALL_REVIEWS_SQL);
+    List<MovieReview> reviews =
+        readReviews(
+            READ_ALL_REVIEWS,
+            "Error getting movies for current user",
+            () -> repository.findAll(currentUserId));
+    favoriteWriteBehind.overlay(reviews);
+    OfflineJournal journal = offlineJournal;
+    return journal != null && journal.hasPending() ? journal.overlay(reviews) : reviews;
+  }
+
+  /**
+   * Gets summaries of all movie reviews for list views: every field, but only the first
+   * {@link MovieReview#SNIPPET_LENGTH} + 1 characters of the review text, which stays on the
+   * server. Use {@link #loadReviewBody(MovieReview)} when a summary is opened.
+   *
+   * @return summaries of all movie reviews, newest first
+   */
+  public List<MovieReview> getReviewSummaries() {
+    List<MovieReview> summaries =
+        readReviews(
+            READ_REVIEW_SUMMARIES,
+            "Error getting review summaries",
+            () -> repository.findSummaries(currentUserId));
+    favoriteWriteBehind.overlay(summaries);
+    OfflineJournal journal = offlineJournal;
+    return journal != null && journal.hasPending() ? journal.overlay(summaries) : summaries;
   }
 
-  private List<MovieReview> getReviewsByUser(int userId) {
-    try (Connection conn = DatabaseConnection.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(SELECT_REVIEWS_BY_USER_SQL)) {
-      stmt.setInt(1, userId);
-      return executeQuery(stmt);
+  /**
+   * Gets the full review text of a review or summary. Texts loaded recently are cached.
+   *
+   * @param review the review
+   * @return the full text, or null if the review no longer exists or the read fails
+   */
+  public String loadReviewBody(MovieReview review) {
+    if (review == null) {
+      return null;
+    }
+    try {
+      return bodyLoader.load(review);
     } catch (SQLException e) {
-      System.err.println("Error getting movies for current user: " + e.getMessage());
+      System.err.println("Error loading review text: " + e.getMessage());
       e.printStackTrace();
-      return new ArrayList<>();
+      return null;
     }
   }
 
   /**
-   * Searches reviews by query string.
+   * Searches reviews by query string. Queries are normalized and results are cached per
+   * query; a query extending a cached one is answered by filtering the cached results.
    *
    * @param query the search query
-   * @return list of matching reviews
+   * @return summaries of the matching reviews
    */
   public List<MovieReview> searchReviews(String query) {
-    if (query == null || query.trim().isEmpty()) {
-      return getAllMovies();
+    String normalizedQuery = SearchQueryCache.normalize(query);
+    if (normalizedQuery.isEmpty()) {
+      return getReviewSummaries();
     }
-    return executeSearchQuery(query);
-  }
-
-  private List<MovieReview> executeSearchQuery(String query) {
-    String sql = buildSearchSql();
-    String searchPattern = "%" + query.toLowerCase().trim() + "%";
-    try (Connection conn = DatabaseConnection.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(sql)) {
-      setSearchParameters(stmt, searchPattern);
-      return executeQuery(stmt);
+    List<MovieReview> cached = searchCache.get(normalizedQuery);
+    if (cached != null) {
+      return cached;
+    }
+    // A write landing while the query runs clears the cache; its results must not refill it
+    long generation = searchCache.generation();
+    try {
+      List<MovieReview> results =
+          favoriteWriteBehind.overlay(repository.search(currentUserId, normalizedQuery));
+      searchCache.put(normalizedQuery, results, generation);
+      return results;
     } catch (SQLException e) {
       System.err.println("Error searching reviews: " + e.getMessage());
       e.printStackTrace();
@@ -542,26 +782,90 @@ public class MovieReviewManager {
     }
   }
 
-  private String buildSearchSql() {
-    String base = "SELECT * FROM movie_reviews ";
-    String where = "WHERE ";
-    if (currentUserId > 0) {
-      where += "user_id = ? AND ";
+  /**
+   * Searches reviews tolerating typos, e.g. "Nolen" finds "Christopher Nolan". Results come
+   * from an in-memory trigram index that is built on first use and kept current by review
+   * change events.
+   *
+   * @param query the search query
+   * @param limit the maximum number of results
+   * @return matching reviews, most similar first
+   */
+  public List<MovieReview> fuzzySearchReviews(String query, int limit) {
+    if (!trigramIndex.isLoaded()) {
+      trigramIndex.rebuild(getReviewSummaries());
     }
-    return base
-        + where
-        + "(LOWER(title) LIKE ? OR LOWER(director) LIKE ? OR LOWER(genre) LIKE ?) ORDER BY created_at DESC";
+    return trigramIndex.search(query, limit);
   }
 
-  private void setSearchParameters(PreparedStatement stmt, String searchPattern)
-      throws SQLException {
-    int paramIndex = 1;
-    if (currentUserId > 0) {
-      stmt.setInt(paramIndex++, currentUserId);
+  /**
+   * Suggests distinct titles, directors or genres from the journal that start with the typed
+   * text, most used first. Suggestions come from an in-memory prefix index that is built on
+   * first use (see {@link #preloadAutocomplete()}) and kept current by review change events.
+   *
+   * @param field the field being typed
+   * @param prefix the text typed so far
+   * @param limit the maximum number of suggestions
+   * @return the suggested values
+   */
+  public List<String> suggest(AutocompleteIndex.Field field, String prefix, int limit) {
+    preloadAutocomplete();
+    return autocompleteIndex.suggest(field, prefix, limit);
+  }
+
+  /**
+   * Builds the autocomplete index if it is not built yet, so the first suggestion request does
+   * not wait for the journal to load.
+   */
+  public void preloadAutocomplete() {
+    if (!autocompleteIndex.isLoaded()) {
+      autocompleteIndex.rebuild(getReviewSummaries());
+    }
+  }
+
+  /**
+   * Filters reviews by the given criteria, returning the requested page together with the total
+   * match count and per-facet counts. Answered from the in-memory facet index, which is built
+   * on first use; journals too large to hold in memory are filtered by the database.
+   *
+   * @param filter the filter criteria
+   * @return the page of reviews and facet counts, empty if the query fails
+   */
+  public ReviewFilterResult filterReviews(ReviewFilter filter) {
+    if (facetIndex.isLoaded() || loadFacetIndex()) {
+      return facetIndex.filter(filter);
+    }
+    return queryFilteredReviews(filter);
+  }
+
+  private boolean loadFacetIndex() {
+    if (getTotalReviews() > MAX_IN_MEMORY_FACET_REVIEWS) {
+      return false;
+    }
+    List<MovieReview> reviews = getReviewSummaries();
+    if (failedReads.contains(READ_REVIEW_SUMMARIES)) {
+      // Do not pin an index built during an outage; query the database again next time
+      return false;
+    }
+    facetIndex.rebuild(reviews);
+    return true;
+  }
+
+  /**
+   * Filters reviews in a single database query, returning the requested page together with the
+   * total match count and per-facet counts.
+   *
+   * @param filter the filter criteria
+   * @return the page of reviews and facet counts, empty if the query fails
+   */
+  public ReviewFilterResult queryFilteredReviews(ReviewFilter filter) {
+    try {
+      return repository.filter(currentUserId, filter);
+    } catch (SQLException e) {
+      System.err.println("Error filtering reviews: " + e.getMessage());
+      e.printStackTrace();
+      return ReviewFilterResult.empty();
     }
-    stmt.setString(paramIndex++, searchPattern);
-    stmt.setString(paramIndex++, searchPattern);
-    stmt.setString(paramIndex, searchPattern);
   }
 
   /**
@@ -571,7 +875,7 @@ public class MovieReviewManager {
    * @return sorted list of reviews
    */
   public List<MovieReview> getSortedReviews(String sortOption) {
-    List<MovieReview> reviews = getAllMovies();
+    List<MovieReview> reviews = getReviewSummaries();
     SortStrategy strategy = SortStrategyFactory.createStrategy(sortOption);
     return strategy.sort(reviews);
   }
@@ -582,19 +886,36 @@ public class MovieReviewManager {
    * @return list of favorite reviews
    */
   public List<MovieReview> getFavoriteReviews() {
-    String sql =
-        currentUserId > 0 ? SELECT_FAVORITE_REVIEWS_BY_USER_SQL : SELECT_FAVORITE_REVIEWS_SQL;
-    try (Connection conn = DatabaseConnection.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(sql)) {
-      if (currentUserId > 0) {
-        stmt.setInt(1, currentUserId);
-      }
-      return executeQuery(stmt);
-    } catch (SQLException e) {
-      System.err.println("Error getting favorite reviews: " + e.getMessage());
-      e.printStackTrace();
-      return new ArrayList<>();
+    if (hasUnsavedWrites()) {
+      return new ArrayList<>(getAllMovies().stream().filter(MovieReview::isFavorite).toList());
+    }
+    return readReviews(
+        READ_FAVORITE_REVIEWS,
+        "Error getting favorite reviews",
+        () -> repository.findFavorites(currentUserId));
+  }
+
+  /**
+   * Gets reviews that have a ticket image attached, newest watch date first.
+   *
+   * @return list of reviews with ticket images
+   */
+  public List<MovieReview> getTicketReviews() {
+    if (hasUnsavedWrites()) {
+      return new ArrayList<>(
+          getAllMovies().stream()
+              .filter(MovieReviewManager::hasTicketImage)
+              .sorted(
+                  Comparator.comparing(
+                          MovieReview::getDateWatched,
+                          Comparator.nullsLast(Comparator.<LocalDate>reverseOrder()))
+                      .thenComparing(MovieReview::getId, Comparator.reverseOrder()))
+              .toList());
     }
+    return readReviews(
+        READ_TICKET_REVIEWS,
+        "Error getting ticket reviews",
+        () -> repository.findWithTickets(currentUserId));
   }
 
   /**
@@ -603,8 +924,17 @@ public class MovieReviewManager {
    * @return the average rating
    */
   public double getAverageRating() {
-    String sql = currentUserId > 0 ? SELECT_AVG_RATING_BY_USER_SQL : SELECT_AVG_RATING_SQL;
-    return getDoubleValue(sql, "Error getting average rating");
+    if (hasUnsavedWrites()) {
+      return getReviewSummaries().stream()
+          .mapToDouble(MovieReview::getRating)
+          .average()
+          .orElse(0.0);
+    }
+    return readValue(
+        READ_AVERAGE_RATING,
+        "Error getting average rating",
+        () -> repository.averageRating(currentUserId),
+        0.0);
   }
 
   /**
@@ -613,9 +943,14 @@ public class MovieReviewManager {
    * @return the total number of reviews
    */
   public int getTotalReviews() {
-    String sql =
-        currentUserId > 0 ? SELECT_TOTAL_REVIEWS_BY_USER_SQL : SELECT_TOTAL_REVIEWS_SQL;
-    return getIntValue(sql, "Error getting total reviews");
+    if (hasUnsavedWrites()) {
+      return getReviewSummaries().size();
+    }
+    return readValue(
+        READ_TOTAL_REVIEWS,
+        "Error getting total reviews",
+        () -> repository.count(currentUserId),
+        0);
   }
 
   /**
@@ -624,47 +959,24 @@ public class MovieReviewManager {
    * @return the theater visit count
    */
   public int getTheaterVisitCount() {
-    String sql =
-        currentUserId > 0
-            ? SELECT_THEATER_VISIT_COUNT_BY_USER_SQL
-            : SELECT_THEATER_VISIT_COUNT_SQL;
-    return getIntValue(sql, "Error getting theater visit count");
-  }
-
-  private double getDoubleValue(String sql, String errorMessage) {
-    try (Connection conn = DatabaseConnection.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(sql)) {
-      if (currentUserId > 0) {
-        stmt.setInt(1, currentUserId);
-      }
-      try (ResultSet rs = stmt.executeQuery()) {
-        if (rs.next()) {
-          return rs.getDouble(1);
-        }
-      }
-    } catch (SQLException e) {
-      System.err.println(errorMessage + ": " + e.getMessage());
-      e.printStackTrace();
+    if (hasUnsavedWrites()) {
+      return (int)
+          getReviewSummaries().stream().filter(MovieReviewManager::hasTicketImage).count();
     }
-    return 0.0;
+    return readValue(
+        READ_THEATER_VISIT_COUNT,
+        "Error getting theater visit count",
+        () -> repository.countWithTickets(currentUserId),
+        0);
   }
 
-  private int getIntValue(String sql, String errorMessage) {
-    try (Connection conn = DatabaseConnection.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(sql)) {
-      if (currentUserId > 0) {
-        stmt.setInt(1, currentUserId);
-      }
-      try (ResultSet rs = stmt.executeQuery()) {
-        if (rs.next()) {
-          return rs.getInt(1);
-        }
-      }
-    } catch (SQLException e) {
-      System.err.println(errorMessage + ": " + e.getMessage());
-      e.printStackTrace();
-    }
-    return 0;
+  // Reads the database has not caught up with yet are computed from the overlaid list instead
+  private boolean hasUnsavedWrites() {
+    return getPendingOfflineWriteCount() > 0 || favoriteWriteBehind.size() > 0;
+  }
+
+  private static boolean hasTicketImage(MovieReview review) {
+    return review.getTicketImagePath() != null && !review.getTicketImagePath().isEmpty();
   }
 
   /**
@@ -672,37 +984,287 @@ public class MovieReviewManager {
    *
    * @param review the review to update
    * @param favorite the favorite status
+   * @return {@link UpdateResult#CONFLICT} if the review changed since it was read
+   */
+  public UpdateResult setFavoriteStatus(MovieReview review, boolean favorite) {
+    if (review == null) {
+      return UpdateResult.FAILED;
+    }
+    enforceUserScope(review);
+    favoriteWriteBehind.discard(review.getId());
+    OfflineJournal journal = offlineJournalIfUnreachable();
+    if (journal != null) {
+      return setFavoriteStatusOffline(journal, review, favorite);
+    }
+    return updateFavoriteStatusInDatabase(review, favorite);
+  }
+
+  /**
+   * Sets the favorite status of a review without waiting for the database. The review and the
+   * listeners see the change at once; the write follows about half a second later, batched
+   * with other toggles, and toggling the same review back and forth in the meantime writes
+   * nothing. A write the database rejects is undone
+   * and the review handed to the {@linkplain #setFavoriteRollbackHandler rollback handler}.
+   * Inside a unit of work the write is made at once, as part of the unit.
+   *
+   * @param review the review to update
+   * @param favorite the favorite status
    */
-  public void setFavoriteStatus(MovieReview review, boolean favorite) {
+  public void setFavoriteStatusDeferred(MovieReview review, boolean favorite) {
     if (review == null) {
       return;
     }
+    if (UnitOfWork.current() != null) {
+      setFavoriteStatus(review, favorite);
+      return;
+    }
     enforceUserScope(review);
-    updateFavoriteStatusInDatabase(review, favorite);
+    OfflineJournal journal = offlineJournalIfUnreachable();
+    if (journal != null) {
+      favoriteWriteBehind.discard(review.getId());
+      setFavoriteStatusOffline(journal, review, favorite);
+      return;
+    }
+    favoriteWriteBehind.toggle(review, favorite);
+    notifyReviewUpdated(review);
+  }
+
+  /**
+   * Writes deferred favorite toggles now instead of waiting for the timer, e.g. on shutdown.
+   *
+   * @return the number of toggles written
+   */
+  public int flushPendingFavorites() {
+    return favoriteWriteBehind.flush();
+  }
+
+  /**
+   * Writes deferred favorite toggles and stops their timer. Call when the manager is replaced,
+   * e.g. on logout, or when the app exits; a later toggle starts the timer again.
+   */
+  public void close() {
+    favoriteWriteBehind.close();
+  }
+
+  /**
+   * Sets who hears about deferred favorite toggles the database rejected. The reviews already
+   * carry their stored flag again, and listeners were told of the change back. Called on the
+   * write-behind thread.
+   *
+   * @param handler receives the rolled back reviews, or null to stop
+   */
+  public void setFavoriteRollbackHandler(Consumer<List<MovieReview>> handler) {
+    this.favoriteRollbackHandler = handler;
+  }
+
+  List<UpdateResult> updateFavoriteRows(List<MovieReview> reviews) throws SQLException {
+    return repository.updateFavorites(reviews);
+  }
+
+  // Returns false when offline mode is off, so the toggle has to wait for the server
+  boolean journalFavoriteOffline(MovieReview review, boolean favorite) {
+    OfflineJournal journal = offlineJournal;
+    if (journal == null) {
+      return false;
+    }
+    setFavoriteStatusOffline(journal, review, favorite);
+    return true;
   }
 
-  private void updateFavoriteStatusInDatabase(MovieReview review, boolean favorite) {
-    try (Connection conn = DatabaseConnection.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(UPDATE_FAVORITE_STATUS_SQL)) {
-      stmt.setBoolean(1, favorite);
-      stmt.setInt(2, review.getId());
-      stmt.setInt(3, review.getUserId());
-      stmt.executeUpdate();
-      review.setFavorite(favorite);
+  // Called by the write-behind once toggles listeners already heard of are stored
+  void publishFavoriteWrites(Map<Integer, Integer> versions) {
+    versions.forEach(
+        (reviewId, version) -> {
+          for (ReviewChangeListener listener : listeners) {
+            try {
+              listener.onReviewWritten(reviewId, version);
+            } catch (Exception ignored) {
+              // Ignore listener exceptions
+            }
+          }
+        });
+  }
+
+  void publishFavoriteRollbacks(List<MovieReview> reviews) {
+    if (reviews.isEmpty()) {
+      return;
+    }
+    for (MovieReview review : reviews) {
       notifyReviewUpdated(review);
+    }
+    Consumer<List<MovieReview>> handler = favoriteRollbackHandler;
+    if (handler != null) {
+      try {
+        handler.accept(reviews);
+      } catch (Exception ignored) {
+        // Ignore handler exceptions, like listener notifications do
+      }
+    }
+  }
+
+  private UpdateResult updateFavoriteStatusInDatabase(MovieReview review, boolean favorite) {
+    try {
+      UpdateResult result = updateFavoriteRow(review, favorite);
+      if (result == UpdateResult.UPDATED) {
+        notifyReviewUpdated(review);
+      }
+      return result;
     } catch (SQLException e) {
+      OfflineJournal journal = offlineJournalFor(e);
+      if (journal != null) {
+        return setFavoriteStatusOffline(journal, review, favorite);
+      }
       System.err.println("Error updating favorite status: " + e.getMessage());
       e.printStackTrace();
+      return UpdateResult.FAILED;
+    }
+  }
+
+  UpdateResult updateFavoriteRow(MovieReview review, boolean favorite) throws SQLException {
+    return repository.updateFavorite(review, favorite);
+  }
+
+  /**
+   * Keeps the journal writable while the database is unreachable: adds, edits, deletes and
+   * favorite toggles then go to an append-only log at {@code journalFile} and show up in reads
+   * at once, until {@link OfflineReplayer} syncs them. Writes left by a previous run are
+   * recovered.
+   *
+   * @param journalFile where to keep the log, one file per user
+   * @return true if offline mode is on
+   */
+  public boolean enableOfflineMode(Path journalFile) {
+    disableOfflineMode();
+    try {
+      offlineJournal = new OfflineJournal(journalFile, OfflineJournal.DEFAULT_FLUSH_INTERVAL);
+      return true;
+    } catch (IOException e) {
+      System.err.println("Error opening offline journal: " + e.getMessage());
+      e.printStackTrace();
+      return false;
+    }
+  }
+
+  /**
+   * Turns offline mode off, flushing the log. Unsynced writes stay in the file for next time.
+   */
+  public void disableOfflineMode() {
+    OfflineJournal journal = offlineJournal;
+    offlineJournal = null;
+    if (journal != null) {
+      journal.close();
+    }
+  }
+
+  /**
+   * Tells whether writes currently go to the offline journal instead of the database.
+   *
+   * @return true while the database is unreachable or earlier offline writes await sync
+   */
+  public boolean isOffline() {
+    return offlineJournalIfUnreachable() != null;
+  }
+
+  /**
+   * Gets the number of offline writes not yet synced to the database.
+   *
+   * @return the count, 0 when offline mode is off
+   */
+  public int getPendingOfflineWriteCount() {
+    OfflineJournal journal = offlineJournal;
+    return journal != null ? journal.size() : 0;
+  }
+
+  OfflineJournal getOfflineJournal() {
+    return offlineJournal;
+  }
+
+  // Pending entries must replay before any new write reaches the server, to keep their order.
+  // A unit of work fails as a whole instead, since the journal cannot roll back with it.
+  private OfflineJournal offlineJournalIfUnreachable() {
+    OfflineJournal journal = offlineJournal;
+    if (journal == null
+        || UnitOfWork.current() != null
+        || (DatabaseConnection.isAvailable() && !journal.hasPending())) {
+      return null;
     }
+    return journal;
+  }
+
+  // A write that failed because the server is unreachable can still complete locally
+  private OfflineJournal offlineJournalFor(SQLException e) {
+    return RetryPolicy.isTransient(e) && UnitOfWork.current() == null ? offlineJournal : null;
+  }
+
+  private void addReviewOffline(OfflineJournal journal, MovieReview review) {
+    review.setId(journal.nextTemporaryId());
+    review.setVersion(0);
+    journal.append(PendingWrite.Operation.ADD, 0, review);
+    notifyReviewAdded(review);
+  }
+
+  // A replaced review keeps the ID of the one it overwrites; a new one gets a temporary ID
+  private List<UpsertOutcome> upsertReviewsOffline(
+      OfflineJournal journal, List<MovieReview> reviews, Map<String, Integer> existingIds) {
+    List<UpsertOutcome> outcomes = new ArrayList<>();
+    for (MovieReview review : reviews) {
+      if (review == null) {
+        outcomes.add(UpsertOutcome.FAILED);
+        continue;
+      }
+      Integer existingId = existingIds.get(pairKey(review));
+      review.setId(existingId != null ? existingId : journal.nextTemporaryId());
+      journal.append(PendingWrite.Operation.UPSERT, review.getVersion(), review);
+      if (existingId != null) {
+        notifyReviewUpdated(review);
+        outcomes.add(UpsertOutcome.UPDATED);
+      } else {
+        notifyReviewAdded(review);
+        outcomes.add(UpsertOutcome.INSERTED);
+      }
+    }
+    return outcomes;
+  }
+
+  private UpdateResult updateReviewOffline(
+      OfflineJournal journal, MovieReview original, MovieReview updated) {
+    updated.setVersion(original.getVersion() + 1);
+    journal.append(PendingWrite.Operation.UPDATE, original.getVersion(), updated);
+    notifyReviewUpdated(updated);
+    return UpdateResult.UPDATED;
+  }
+
+  private void deleteReviewOffline(OfflineJournal journal, MovieReview review) {
+    journal.append(PendingWrite.Operation.DELETE, review.getVersion(), review);
+    notifyReviewDeleted(review.getId());
+  }
+
+  private int deleteReviewsOffline(OfflineJournal journal, List<MovieReview> reviews) {
+    for (MovieReview review : reviews) {
+      journal.append(PendingWrite.Operation.DELETE, review.getVersion(), review);
+    }
+    notifyReviewsBulkDeleted(collectIds(reviews), reviews.size());
+    return reviews.size();
+  }
+
+  // Mirrors the server, which bumps the version on a favorite toggle, so a later offline edit
+  // of the same review is based on the version the toggle will produce
+  private UpdateResult setFavoriteStatusOffline(
+      OfflineJournal journal, MovieReview review, boolean favorite) {
+    int baseVersion = review.getVersion();
+    review.setFavorite(favorite);
+    review.setVersion(baseVersion + 1);
+    journal.append(PendingWrite.Operation.FAVORITE, baseVersion, review);
+    notifyReviewUpdated(review);
+    return UpdateResult.UPDATED;
   }
 
   /**
    * Clears all reviews (useful for testing).
    */
   public void clearAllReviews() {
-    try (Connection conn = DatabaseConnection.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(DELETE_ALL_REVIEWS_SQL)) {
-      stmt.executeUpdate();
+    try {
+      repository.deleteAll();
       notifyReviewsCleared();
     } catch (SQLException e) {
       System.err.println("Error clearing reviews: " + e.getMessage());
@@ -719,40 +1281,74 @@ public class MovieReviewManager {
     return getTheaterVisitCount();
   }
 
-  private List<MovieReview> executeQuery(String sql) {
-    try (Connection conn = DatabaseConnection.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(sql);
-        ResultSet rs = stmt.executeQuery()) {
-      return executeQuery(stmt);
+  /** A repository read that may fail; see {@link #readReviews} and {@link #readValue}. */
+  @FunctionalInterface
+  private interface RepositoryRead<T> {
+    T read() throws SQLException;
+  }
+
+  private List<MovieReview> readReviews(
+      String key, String errorMessage, RepositoryRead<List<MovieReview>> read) {
+    try {
+      return rememberReviews(key, read.read());
     } catch (SQLException e) {
-      System.err.println("Error executing query: " + e.getMessage());
+      System.err.println(errorMessage + ": " + e.getMessage());
       e.printStackTrace();
-      return new ArrayList<>();
+      return fallbackReviews(key);
     }
   }
 
-  private List<MovieReview> executeQuery(PreparedStatement stmt) throws SQLException {
-    List<MovieReview> reviews = new ArrayList<>();
-    try (ResultSet rs = stmt.executeQuery()) {
-      while (rs.next()) {
-        reviews.add(createReviewFromResultSet(rs));
-      }
+  private <T> T readValue(
+      String key, String errorMessage, RepositoryRead<T> read, T whenNothingCached) {
+    try {
+      return remember(key, read.read());
+    } catch (SQLException e) {
+      System.err.println(errorMessage + ": " + e.getMessage());
+      e.printStackTrace();
+      return fallback(key, whenNothingCached);
     }
+  }
+
+  /**
+   * Tells whether the last attempt of some read failed, so what the caller shows may be out of
+   * date: either the last known good result or, if there was none, an empty one.
+   *
+   * @return true until every failed read has succeeded again
+   */
+  public boolean isServingStaleData() {
+    return !failedReads.isEmpty();
+  }
+
+  private <T> T remember(String key, T result) {
+    lastKnownGood.put(key, result);
+    failedReads.remove(key);
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T fallback(String key, T whenNothingCached) {
+    failedReads.add(key);
+    Object cached = lastKnownGood.get(key);
+    return cached != null ? (T) cached : whenNothingCached;
+  }
+
+  // Every successful read keeps only an unmodifiable snapshot of the list, so callers sorting
+  // or clearing theirs cannot change the fallback; the reviews are copied only when the fallback
+  // is actually served
+  private List<MovieReview> rememberReviews(String key, List<MovieReview> reviews) {
+    remember(key, List.copyOf(reviews));
     return reviews;
   }
 
-  private MovieReview createReviewFromResultSet(ResultSet rs) throws SQLException {
-    return MovieReview.builder()
-        .setId(rs.getInt("id"))
-        .setUserId(rs.getInt("user_id"))
-        .setTitle(rs.getString("title"))
-        .setDirector(rs.getString("director"))
-        .setGenre(rs.getString("genre"))
-        .setRating(rs.getDouble("rating"))
-        .setReview(rs.getString("review"))
-        .setDateWatched(rs.getDate("date_watched").toLocalDate())
-        .setTicketImagePath(rs.getString("ticket_image_path"))
-        .setFavorite(rs.getBoolean("is_favorite"))
-        .build();
+  private List<MovieReview> fallbackReviews(String key) {
+    return copyReviews(fallback(key, List.<MovieReview>of()));
+  }
+
+  private static List<MovieReview> copyReviews(List<MovieReview> reviews) {
+    List<MovieReview> copies = new ArrayList<>(reviews.size());
+    for (MovieReview review : reviews) {
+      copies.add(review.copy());
+    }
+    return copies;
   }
 }
@@ -0,0 +1,276 @@
+package com.cpp.moviejournal.manager;
+
+import com.cpp.moviejournal.model.MovieReview;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable, append-only log of the writes made while the database is unreachable. Appending only
+ * buffers the line in memory, so a write completes locally in microseconds; a background flusher
+ * writes and fsyncs the buffered lines together every {@link #DEFAULT_FLUSH_INTERVAL}, trading a
+ * bounded window of loss on power failure for one disk sync per batch instead of per write.
+ *
+ * <p>The pending writes also act as the local read store: {@link #overlay(List)} applies them on
+ * top of the last rows loaded from the server.
+ */
+public class OfflineJournal implements AutoCloseable {
+  public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(50);
+
+  private final Path file;
+  private final List<PendingWrite> pending = new ArrayList<>();
+  private final StringBuilder unflushed = new StringBuilder();
+  private final ScheduledExecutorService flusher;
+  private FileChannel channel;
+  private long nextSequence = 1;
+  private int nextTemporaryId = -1;
+
+  /**
+   * Opens the journal, recovering the writes a previous run left unreplayed.
+   *
+   * @param file the log file; created if missing
+   * @param flushInterval how long appended writes may wait for their fsync
+   * @throws IOException if the file cannot be read or opened
+   */
+  public OfflineJournal(Path file, Duration flushInterval) throws IOException {
+    this.file = file;
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    recover();
+    channel = openForAppend();
+    flusher =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "offline-journal-flusher");
+              thread.setDaemon(true);
+              return thread;
+            });
+    flusher.scheduleWithFixedDelay(
+        this::flushQuietly,
+        flushInterval.toMillis(),
+        flushInterval.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  private void recover() throws IOException {
+    if (!Files.exists(file)) {
+      return;
+    }
+    for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+      if (line.isBlank()) {
+        continue;
+      }
+      try {
+        PendingWrite write = PendingWrite.decode(line);
+        pending.add(write);
+        nextSequence = Math.max(nextSequence, write.getSequence() + 1);
+        nextTemporaryId = Math.min(nextTemporaryId, write.getReview().getId() - 1);
+      } catch (IllegalArgumentException e) {
+        // Only the last line can be torn by a crash mid-write; everything after it is lost too
+        System.err.println("Ignoring torn offline journal entry: " + e.getMessage());
+        break;
+      }
+    }
+    rewrite(pending);
+  }
+
+  private FileChannel openForAppend() throws IOException {
+    return FileChannel.open(
+        file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+  }
+
+  /**
+   * Records a write. Returns without touching the disk; see {@link #flush()}.
+   *
+   * @param operation the kind of write
+   * @param baseVersion the row version the write was based on
+   * @param review the review as written
+   * @return the recorded write
+   */
+  public synchronized PendingWrite append(
+      PendingWrite.Operation operation, int baseVersion, MovieReview review) {
+    PendingWrite write = new PendingWrite(nextSequence++, operation, baseVersion, review);
+    pending.add(write);
+    unflushed.append(write.encode()).append('\n');
+    return write;
+  }
+
+  /**
+   * Gives a review added offline an ID that cannot clash with a server ID.
+   *
+   * @return a negative, unused ID
+   */
+  public synchronized int nextTemporaryId() {
+    return nextTemporaryId--;
+  }
+
+  /**
+   * Writes and fsyncs everything appended so far.
+   *
+   * @throws IOException if the write fails; the lines stay buffered for the next attempt
+   */
+  public synchronized void flush() throws IOException {
+    if (unflushed.isEmpty()) {
+      return;
+    }
+    ByteBuffer buffer = StandardCharsets.UTF_8.encode(unflushed.toString());
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    channel.force(false);
+    unflushed.setLength(0);
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (IOException e) {
+      System.err.println("Error flushing offline journal: " + e.getMessage());
+    }
+  }
+
+  public synchronized boolean hasPending() {
+    return !pending.isEmpty();
+  }
+
+  public synchronized int size() {
+    return pending.size();
+  }
+
+  /**
+   * Gets the oldest pending writes, in the order they were made.
+   *
+   * @param limit the maximum number of writes
+   * @return up to {@code limit} writes
+   */
+  public synchronized List<PendingWrite> peek(int limit) {
+    return new ArrayList<>(pending.subList(0, Math.min(limit, pending.size())));
+  }
+
+  /**
+   * Drops the oldest writes once they have been replayed, and compacts the file to the rest.
+   *
+   * @param count number of writes replayed
+   * @param serverIds server IDs given to reviews added offline, by temporary ID; later writes
+   *     to those reviews are rewritten to target the server ID
+   * @throws IOException if the file cannot be rewritten
+   */
+  public synchronized void acknowledge(int count, Map<Integer, Integer> serverIds)
+      throws IOException {
+    flush();
+    pending.subList(0, Math.min(count, pending.size())).clear();
+    pending.replaceAll(
+        write -> {
+          Integer serverId = serverIds.get(write.getReview().getId());
+          return serverId != null ? write.withReviewId(serverId) : write;
+        });
+    channel.close();
+    rewrite(pending);
+    channel = openForAppend();
+  }
+
+  // Writes the remaining entries to a temporary file and swaps it in, so a crash leaves either
+  // the old or the new log, never a half-written one
+  private void rewrite(List<PendingWrite> writes) throws IOException {
+    Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    StringBuilder content = new StringBuilder();
+    for (PendingWrite write : writes) {
+      content.append(write.encode()).append('\n');
+    }
+    try (FileChannel out =
+        FileChannel.open(
+            temporary,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer buffer = StandardCharsets.UTF_8.encode(content.toString());
+      while (buffer.hasRemaining()) {
+        out.write(buffer);
+      }
+      out.force(false);
+    }
+    Files.move(
+        temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Applies the pending writes to reviews loaded from the server, giving the journal as the user
+   * last saw it.
+   *
+   * @param serverReviews reviews from the server or its last known good copy
+   * @return a new list with pending adds first (newest first, like the server's order), updates
+   *     applied and deletes removed
+   */
+  public synchronized List<MovieReview> overlay(List<MovieReview> serverReviews) {
+    Map<Integer, MovieReview> byId = new LinkedHashMap<>();
+    for (MovieReview review : serverReviews) {
+      byId.put(review.getId(), review);
+    }
+    List<Integer> addedIds = new ArrayList<>();
+    for (PendingWrite write : pending) {
+      MovieReview review = write.getReview();
+      switch (write.getOperation()) {
+        case ADD -> {
+          byId.put(review.getId(), review);
+          addedIds.add(0, review.getId());
+        }
+        case UPDATE -> byId.put(review.getId(), review);
+        case UPSERT -> {
+          // A new pair was given a temporary ID; a replaced review keeps its own
+          if (byId.put(review.getId(), review) == null) {
+            addedIds.add(0, review.getId());
+          }
+        }
+        case DELETE -> byId.remove(review.getId());
+        case FAVORITE -> {
+          MovieReview current = byId.get(review.getId());
+          if (current != null) {
+            // Copy: the server rows may be shared with the last-known-good cache
+            MovieReview favorite = PendingWrite.copy(current);
+            favorite.setFavorite(review.isFavorite());
+            favorite.setVersion(review.getVersion());
+            byId.put(review.getId(), favorite);
+          }
+        }
+      }
+    }
+    List<MovieReview> reviews = new ArrayList<>(byId.size());
+    for (Integer reviewId : addedIds) {
+      MovieReview added = byId.remove(reviewId);
+      if (added != null) {
+        reviews.add(added);
+      }
+    }
+    reviews.addAll(byId.values());
+    return reviews;
+  }
+
+  /**
+   * Stops the flusher after a final flush.
+   */
+  @Override
+  public synchronized void close() {
+    flusher.shutdownNow();
+    flushQuietly();
+    try {
+      channel.close();
+    } catch (IOException e) {
+      System.err.println("Error closing offline journal: " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,238 @@
+package com.cpp.moviejournal.manager;
+
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.util.DatabaseConnection;
+import com.cpp.moviejournal.util.RetryPolicy;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Syncs the writes made in offline mode once the database is reachable again. Replays the
+ * {@link OfflineJournal} in order, in batches, and drops each batch from the log only after it
+ * has been applied. Conflicts are resolved in favor of the server:
+ *
+ * <ul>
+ *   <li>an add whose title and director already exist keeps the server's review;
+ *   <li>an edit of a review that changed on the server since it was read keeps the server's copy;
+ *   <li>an edit of a review deleted on the server is dropped;
+ *   <li>a favorite toggle is reapplied to the server's current copy;
+ *   <li>a replacement overwrites whatever review holds its title and director by then.
+ * </ul>
+ */
+public class OfflineReplayer {
+  public static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(10);
+  public static final int DEFAULT_BATCH_SIZE = 100;
+
+  private final MovieReviewManager manager;
+  private final Duration interval;
+  private final int batchSize;
+  private ScheduledExecutorService scheduler;
+
+  public OfflineReplayer(MovieReviewManager manager) {
+    this(manager, DEFAULT_INTERVAL, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Creates a replayer.
+   *
+   * @param manager the journal whose offline writes to sync
+   * @param interval time between attempts
+   * @param batchSize writes replayed before the log is compacted
+   */
+  public OfflineReplayer(MovieReviewManager manager, Duration interval, int batchSize) {
+    if (interval == null || interval.isZero() || interval.isNegative()) {
+      throw new IllegalArgumentException("interval must be positive");
+    }
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("batchSize must be positive");
+    }
+    this.manager = manager;
+    this.interval = interval;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Starts syncing on a background daemon thread.
+   */
+  public synchronized void start() {
+    if (scheduler != null) {
+      return;
+    }
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "offline-replayer");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.scheduleWithFixedDelay(
+        this::replayPending, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops syncing. Writes not yet replayed stay in the log.
+   */
+  public synchronized void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  /**
+   * Replays batches until the log is empty or the database fails again.
+   *
+   * @return number of writes replayed
+   */
+  public int replayPending() {
+    OfflineJournal journal = manager.getOfflineJournal();
+    int replayed = 0;
+    while (journal != null && journal.hasPending() && DatabaseConnection.isAvailable()) {
+      int batch = replayBatch(journal);
+      if (batch == 0) {
+        break;
+      }
+      replayed += batch;
+    }
+    return replayed;
+  }
+
+  private int replayBatch(OfflineJournal journal) {
+    List<PendingWrite> batch = journal.peek(batchSize);
+    Map<Integer, Integer> serverIds = new HashMap<>();
+    List<MovieReview> added = new ArrayList<>();
+    List<MovieReview> updated = new ArrayList<>();
+    List<Integer> deletedIds = new ArrayList<>();
+    int replayed = 0;
+    try {
+      for (PendingWrite write : batch) {
+        replay(write, serverIds, added, updated, deletedIds);
+        replayed++;
+      }
+    } catch (SQLException e) {
+      // Keep the rest for the next attempt; what was replayed so far is acknowledged below
+      System.err.println("Offline sync paused: " + e.getMessage());
+    }
+    if (replayed == 0) {
+      return 0;
+    }
+    try {
+      journal.acknowledge(replayed, serverIds);
+    } catch (IOException e) {
+      // The log still holds the batch; replaying it again is resolved as conflicts
+      System.err.println("Error compacting offline journal: " + e.getMessage());
+      e.printStackTrace();
+      return 0;
+    }
+    manager.publishRemoteChanges(added, updated, deletedIds);
+    return replayed;
+  }
+
+  private void replay(
+      PendingWrite write,
+      Map<Integer, Integer> serverIds,
+      List<MovieReview> added,
+      List<MovieReview> updated,
+      List<Integer> deletedIds)
+      throws SQLException {
+    MovieReview review = write.getReview();
+    review.setId(serverIds.getOrDefault(review.getId(), review.getId()));
+    try {
+      switch (write.getOperation()) {
+        case ADD -> replayAdd(review, serverIds, added, deletedIds);
+        case UPDATE -> replayUpdate(write, review, updated, deletedIds);
+        case DELETE -> manager.softDeleteReviewRow(review); // Already gone is fine
+        case FAVORITE -> replayFavorite(review, updated);
+        case UPSERT -> replayUpsert(review, serverIds, added, updated, deletedIds);
+      }
+    } catch (SQLException e) {
+      if (RetryPolicy.isTransient(e)) {
+        throw e;
+      }
+      // Retrying cannot make it succeed; dropping it keeps the writes behind it moving
+      System.err.println(
+          "Dropping offline " + write.getOperation() + " of review " + review.getId() + ": "
+              + e.getMessage());
+    }
+  }
+
+  private void replayAdd(
+      MovieReview review,
+      Map<Integer, Integer> serverIds,
+      List<MovieReview> added,
+      List<Integer> deletedIds)
+      throws SQLException {
+    int temporaryId = review.getId();
+    MovieReview existing = manager.findReviewByTitleAndDirectorRow(review);
+    if (existing != null) {
+      added.add(existing);
+      serverIds.put(temporaryId, existing.getId());
+    } else if (manager.insertReviewRow(review)) {
+      added.add(review);
+      serverIds.put(temporaryId, review.getId());
+    }
+    deletedIds.add(temporaryId);
+  }
+
+  private void replayUpsert(
+      MovieReview review,
+      Map<Integer, Integer> serverIds,
+      List<MovieReview> added,
+      List<MovieReview> updated,
+      List<Integer> deletedIds)
+      throws SQLException {
+    int localId = review.getId();
+    UpsertOutcome outcome = manager.upsertReviewRow(review);
+    if (review.getId() != localId) {
+      // Written to another row than the one shown locally, e.g. a review added offline
+      serverIds.put(localId, review.getId());
+      deletedIds.add(localId);
+      added.add(review);
+    } else if (outcome == UpsertOutcome.UPDATED) {
+      updated.add(review);
+    }
+  }
+
+  private void replayUpdate(
+      PendingWrite write,
+      MovieReview review,
+      List<MovieReview> updated,
+      List<Integer> deletedIds)
+      throws SQLException {
+    MovieReview original = write.getReview();
+    original.setId(review.getId());
+    original.setVersion(write.getBaseVersion());
+    switch (manager.updateReviewRow(original, review)) {
+      case UPDATED -> updated.add(review);
+      case CONFLICT -> {
+        MovieReview latest = manager.findReviewRow(review.getId());
+        if (latest != null) {
+          updated.add(latest);
+        }
+      }
+      case NOT_FOUND -> deletedIds.add(review.getId());
+      case FAILED -> {
+        // Not returned by updateReviewRow; it throws instead
+      }
+    }
+  }
+
+  private void replayFavorite(MovieReview review, List<MovieReview> updated)
+      throws SQLException {
+    MovieReview latest = manager.findReviewRow(review.getId());
+    if (latest == null || latest.isFavorite() == review.isFavorite()) {
+      return;
+    }
+    if (manager.updateFavoriteRow(latest, review.isFavorite()) == UpdateResult.UPDATED) {
+      updated.add(latest);
+    }
+  }
+}
@@ -0,0 +1,163 @@
+package com.cpp.moviejournal.manager;
+
+import com.cpp.moviejournal.model.MovieReview;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * One write made while the database was unreachable, as recorded in the {@link OfflineJournal}.
+ * Holds a snapshot of the review, so later local edits do not change what gets replayed.
+ */
+public final class PendingWrite {
+  /** The kind of write. */
+  public enum Operation {
+    ADD,
+    UPDATE,
+    DELETE,
+    FAVORITE,
+    /** Overwrites the review holding the title and director, or adds one. */
+    UPSERT
+  }
+
+  private static final String FIELD_SEPARATOR = "\t";
+  // URLEncoder never emits '~' unescaped, so it cannot collide with an encoded value
+  private static final String NULL_FIELD = "~";
+  private static final int FIELD_COUNT = 14;
+
+  private final long sequence;
+  private final Operation operation;
+  private final int baseVersion;
+  private final MovieReview review;
+
+  /**
+   * Creates a pending write.
+   *
+   * @param sequence position in the journal, increasing
+   * @param operation the kind of write
+   * @param baseVersion the row version the write was based on
+   * @param review the review as written; copied
+   */
+  public PendingWrite(long sequence, Operation operation, int baseVersion, MovieReview review) {
+    this.sequence = sequence;
+    this.operation = operation;
+    this.baseVersion = baseVersion;
+    this.review = copy(review);
+  }
+
+  public long getSequence() {
+    return sequence;
+  }
+
+  public Operation getOperation() {
+    return operation;
+  }
+
+  public int getBaseVersion() {
+    return baseVersion;
+  }
+
+  /**
+   * Gets a copy of the review as written.
+   *
+   * @return the review
+   */
+  public MovieReview getReview() {
+    return copy(review);
+  }
+
+  /**
+   * Gets the same write aimed at another review ID, e.g. the server ID of a review added offline.
+   *
+   * @param reviewId the ID to use
+   * @return the retargeted write
+   */
+  public PendingWrite withReviewId(int reviewId) {
+    MovieReview retargeted = copy(review);
+    retargeted.setId(reviewId);
+    return new PendingWrite(sequence, operation, baseVersion, retargeted);
+  }
+
+  /**
+   * Encodes the write as one journal line, without the line break.
+   *
+   * @return the encoded line
+   */
+  public String encode() {
+    return String.join(
+        FIELD_SEPARATOR,
+        String.valueOf(sequence),
+        operation.name(),
+        String.valueOf(baseVersion),
+        String.valueOf(review.getId()),
+        String.valueOf(review.getUserId()),
+        encodeText(review.getTitle()),
+        encodeText(review.getDirector()),
+        encodeText(review.getGenre()),
+        String.valueOf(review.getRating()),
+        encodeText(review.getReview()),
+        review.getDateWatched() != null ? review.getDateWatched().toString() : NULL_FIELD,
+        encodeText(review.getTicketImagePath()),
+        String.valueOf(review.isFavorite()),
+        String.valueOf(review.getVersion()));
+  }
+
+  /**
+   * Decodes a journal line written by {@link #encode()}.
+   *
+   * @param line the line
+   * @return the write
+   * @throws IllegalArgumentException if the line is incomplete or malformed, e.g. torn by a crash
+   */
+  public static PendingWrite decode(String line) {
+    String[] fields = line.split(FIELD_SEPARATOR, -1);
+    if (fields.length != FIELD_COUNT) {
+      throw new IllegalArgumentException("Expected " + FIELD_COUNT + " fields: " + line);
+    }
+    MovieReview review =
+        MovieReview.builder()
+            .setId(Integer.parseInt(fields[3]))
+            .setUserId(Integer.parseInt(fields[4]))
+            .setTitle(decodeText(fields[5]))
+            .setDirector(decodeText(fields[6]))
+            .setGenre(decodeText(fields[7]))
+            .setRating(Double.parseDouble(fields[8]))
+            .setReview(decodeText(fields[9]))
+            .setDateWatched(fields[10].equals(NULL_FIELD) ? null : LocalDate.parse(fields[10]))
+            .setTicketImagePath(decodeText(fields[11]))
+            .setFavorite(Boolean.parseBoolean(fields[12]))
+            .setVersion(Integer.parseInt(fields[13]))
+            .build();
+    return new PendingWrite(
+        Long.parseLong(fields[0]),
+        Operation.valueOf(fields[1]),
+        Integer.parseInt(fields[2]),
+        review);
+  }
+
+  private static String encodeText(String value) {
+    return value != null ? URLEncoder.encode(value, StandardCharsets.UTF_8) : NULL_FIELD;
+  }
+
+  private static String decodeText(String field) {
+    return field.equals(NULL_FIELD) ? null : URLDecoder.decode(field, StandardCharsets.UTF_8);
+  }
+
+  static MovieReview copy(MovieReview review) {
+    return MovieReview.builder()
+        .setId(review.getId())
+        .setUserId(review.getUserId())
+        .setTitle(review.getTitle())
+        .setDirector(review.getDirector())
+        .setGenre(review.getGenre())
+        .setRating(review.getRating())
+        .setReview(review.getReview())
+        .setDateWatched(review.getDateWatched())
+        .setTicketImagePath(review.getTicketImagePath())
+        .setFavorite(review.isFavorite())
+        .setVersion(review.getVersion())
+        .setBodyLoaded(review.isBodyLoaded())
+        .build();
+  }
+}
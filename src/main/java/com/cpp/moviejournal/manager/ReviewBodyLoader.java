@@ -0,0 +1,113 @@
+package com.cpp.moviejournal.manager;
+
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.repository.ReviewRepository;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads the full review text of summaries on demand, e.g. when a row is opened for editing, and
+ * keeps the last few in a small LRU cache so reopening a row costs no round trip. Entries are
+ * tied to the row version they were loaded for, and review change events keep them current.
+ */
+class ReviewBodyLoader implements ReviewChangeListener {
+  static final int DEFAULT_CAPACITY = 32;
+
+  private record Body(int version, String text) {}
+
+  private final int userId;
+  private final ReviewRepository repository;
+  private final Map<Integer, Body> entries;
+
+  ReviewBodyLoader(int userId, ReviewRepository repository, int capacity) {
+    this.userId = userId;
+    this.repository = repository;
+    this.entries =
+        new LinkedHashMap<>(capacity, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Integer, Body> eldest) {
+            return size() > capacity;
+          }
+        };
+  }
+
+  /**
+   * Gets a review's full text, from the review itself, the cache or the database.
+   *
+   * @param review a review or summary
+   * @return the full text, or null if the review no longer exists
+   * @throws SQLException if the database read fails
+   */
+  String load(MovieReview review) throws SQLException {
+    if (review.isBodyLoaded()) {
+      return review.getReview();
+    }
+    synchronized (this) {
+      Body cached = entries.get(review.getId());
+      if (cached != null && cached.version() == review.getVersion()) {
+        return cached.text();
+      }
+    }
+    String text = repository.findReviewBody(userId, review.getId());
+    if (text != null) {
+      remember(review.getId(), review.getVersion(), text);
+    }
+    return text;
+  }
+
+  /**
+   * Gets the number of cached texts.
+   *
+   * @return the count
+   */
+  synchronized int size() {
+    return entries.size();
+  }
+
+  private synchronized void remember(int reviewId, int version, String text) {
+    entries.put(reviewId, new Body(version, text));
+  }
+
+  // A full copy from an event is the newest text there is; a summary only tells us it changed
+  private synchronized void refresh(MovieReview review) {
+    if (review.isBodyLoaded()) {
+      entries.put(review.getId(), new Body(review.getVersion(), review.getReview()));
+    } else {
+      entries.remove(review.getId());
+    }
+  }
+
+  @Override
+  public void onReviewAdded(MovieReview review) {
+    refresh(review);
+  }
+
+  @Override
+  public void onReviewUpdated(MovieReview review) {
+    refresh(review);
+  }
+
+  @Override
+  public synchronized void onReviewDeleted(int reviewId) {
+    entries.remove(reviewId);
+  }
+
+  @Override
+  public synchronized void onReviewsBulkDeleted(int count) {
+    entries.clear();
+  }
+
+  @Override
+  public synchronized void onReviewsBulkDeleted(List<Integer> reviewIds, int count) {
+    for (Integer reviewId : reviewIds) {
+      entries.remove(reviewId);
+    }
+  }
+
+  @Override
+  public synchronized void onReviewsCleared() {
+    entries.clear();
+  }
+}
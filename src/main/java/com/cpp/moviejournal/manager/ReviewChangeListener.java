@@ -1,6 +1,7 @@
 package com.cpp.moviejournal.manager;
 
 import com.cpp.moviejournal.model.MovieReview;
+import java.util.List;
 
 /**
  * Observer Pattern: Interface for listeners that respond to review changes.
@@ -35,10 +36,33 @@ public interface ReviewChangeListener {
    */
   void onReviewsBulkDeleted(int count);
 
+  /**
+   * Called when multiple reviews are deleted in bulk, with the IDs that were requested for
+   * deletion. Listeners maintaining per-review state override this; the default forwards the
+   * count to {@link #onReviewsBulkDeleted(int)}.
+   *
+   * @param reviewIds the IDs of the reviews requested for deletion
+   * @param count the number of reviews deleted
+   */
+  default void onReviewsBulkDeleted(List<Integer> reviewIds, int count) {
+    onReviewsBulkDeleted(count);
+  }
+
   /**
    * Called when all reviews are cleared.
    */
   void onReviewsCleared();
+
+  /**
+   * Called when a deferred write, already announced through {@link #onReviewUpdated}, reaches the
+   * database. Nothing shown changes, so the default does nothing; listeners tracking versions
+   * override this.
+   *
+   * @param reviewId the ID of the written review
+   * @param version the version the review was stored under
+   */
+  default void onReviewWritten(int reviewId, int version) {
+  }
 }
 
 
@@ -0,0 +1,49 @@
+package com.cpp.moviejournal.manager;
+
+import com.cpp.moviejournal.model.MovieReview;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reviews changed since a watermark, as returned by {@link MovieReviewManager#fetchChangesSince}.
+ * Live rows carry their current values; rows moved to the trash come back as tombstone IDs.
+ */
+public class ReviewDelta {
+  private final List<MovieReview> changed;
+  private final List<Integer> deletedIds;
+  private final Instant watermark;
+
+  /**
+   * Creates a delta.
+   *
+   * @param changed reviews inserted or updated since the watermark
+   * @param deletedIds IDs of reviews trashed since the watermark
+   * @param watermark the newest {@code updated_at} seen, or the requested one if nothing changed
+   */
+  public ReviewDelta(List<MovieReview> changed, List<Integer> deletedIds, Instant watermark) {
+    this.changed = List.copyOf(changed);
+    this.deletedIds = List.copyOf(deletedIds);
+    this.watermark = watermark;
+  }
+
+  public List<MovieReview> getChanged() {
+    return changed;
+  }
+
+  public List<Integer> getDeletedIds() {
+    return deletedIds;
+  }
+
+  /**
+   * Gets the watermark to pass to the next fetch.
+   *
+   * @return the newest change time seen, or null if no change has been seen yet
+   */
+  public Instant getWatermark() {
+    return watermark;
+  }
+
+  public boolean isEmpty() {
+    return changed.isEmpty() && deletedIds.isEmpty();
+  }
+}
@@ -0,0 +1,216 @@
+package com.cpp.moviejournal.manager;
+
+import com.cpp.moviejournal.model.MovieReview;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a journal current with edits made by other running instances. Polls
+ * {@link MovieReviewManager#fetchChangesSince} on a background thread and republishes only the
+ * reviews whose version this instance has not seen, so listeners update without full reloads.
+ * Local writes are learned through the listener callbacks and never echoed back.
+ *
+ * <p>The journal is already loaded when polling starts, so the first poll only reads the server
+ * time as the watermark. A changed review the poller has not seen yet was therefore loaded at
+ * startup if it was created before that time, and is new otherwise.
+ */
+public class ReviewSyncPoller implements ReviewChangeListener {
+  public static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(15);
+  // Re-reads a short window before the watermark so rows committed late by a slow transaction,
+  // stamped just before the last poll, are not skipped
+  static final Duration WATERMARK_OVERLAP = Duration.ofSeconds(5);
+  // Known version of a review deleted here or already published as deleted
+  private static final int DELETED = -1;
+
+  /** Changes in one delta that this instance had not seen yet. */
+  record Changes(List<MovieReview> added, List<MovieReview> updated, List<Integer> deletedIds) {
+    boolean isEmpty() {
+      return added.isEmpty() && updated.isEmpty() && deletedIds.isEmpty();
+    }
+  }
+
+  private final MovieReviewManager manager;
+  private final Duration interval;
+  private final Map<Integer, Integer> knownVersions = new HashMap<>();
+  private Instant watermark;
+  private Instant startedAt;
+  private ScheduledExecutorService scheduler;
+
+  public ReviewSyncPoller(MovieReviewManager manager) {
+    this(manager, DEFAULT_INTERVAL);
+  }
+
+  /**
+   * Creates a poller.
+   *
+   * @param manager the journal to keep current
+   * @param interval time between polls
+   */
+  public ReviewSyncPoller(MovieReviewManager manager, Duration interval) {
+    if (interval == null || interval.isZero() || interval.isNegative()) {
+      throw new IllegalArgumentException("interval must be positive");
+    }
+    this.manager = manager;
+    this.interval = interval;
+  }
+
+  /**
+   * Starts listening for local writes and polling on a background daemon thread. The first poll
+   * only reads the server time, without fetching or publishing anything.
+   */
+  public synchronized void start() {
+    if (scheduler != null) {
+      return;
+    }
+    manager.addReviewChangeListener(this);
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "review-sync-poller");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.scheduleWithFixedDelay(
+        this::pollOnce, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops polling and listening.
+   */
+  public synchronized void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+    manager.removeReviewChangeListener(this);
+  }
+
+  /**
+   * Fetches one delta and publishes the unseen part of it through the manager.
+   *
+   * @return number of reviews published
+   */
+  public int pollOnce() {
+    Instant since;
+    synchronized (this) {
+      since = watermark != null ? watermark.minus(WATERMARK_OVERLAP) : null;
+    }
+    if (since == null) {
+      Instant serverTime = manager.fetchServerTime();
+      if (serverTime != null) {
+        startAt(serverTime); // Otherwise already reported; the next poll retries
+      }
+      return 0;
+    }
+    ReviewDelta delta = manager.fetchChangesSince(since);
+    if (delta == null) {
+      return 0; // Already reported; the next poll retries from the same watermark
+    }
+    Changes changes = apply(delta);
+    // Publish outside the lock: listeners call back into onReviewAdded/onReviewUpdated
+    if (!changes.isEmpty()) {
+      manager.publishRemoteChanges(changes.added(), changes.updated(), changes.deletedIds());
+    }
+    return changes.added().size() + changes.updated().size() + changes.deletedIds().size();
+  }
+
+  /**
+   * Sets the first watermark, taken once the journal is loaded.
+   *
+   * @param serverTime the time on the database clock
+   */
+  synchronized void startAt(Instant serverTime) {
+    startedAt = serverTime;
+    watermark = serverTime;
+  }
+
+  /**
+   * Merges a delta into the known versions and advances the watermark.
+   *
+   * @return the changes not seen before
+   */
+  synchronized Changes apply(ReviewDelta delta) {
+    List<MovieReview> added = new ArrayList<>();
+    List<MovieReview> updated = new ArrayList<>();
+    List<Integer> deletedIds = new ArrayList<>();
+    for (MovieReview review : delta.getChanged()) {
+      Integer known = knownVersions.get(review.getId());
+      if (known == null && loadedAtStart(review)) {
+        updated.add(review);
+      } else if (known == null || known == DELETED) {
+        added.add(review); // New, or back from the trash
+      } else if (review.getVersion() > known) {
+        updated.add(review);
+      } else {
+        continue; // Versions only grow; an older copy means a local write overtook this fetch
+      }
+      knownVersions.put(review.getId(), review.getVersion());
+    }
+    for (Integer reviewId : delta.getDeletedIds()) {
+      Integer known = knownVersions.put(reviewId, DELETED);
+      if (known == null || known != DELETED) {
+        deletedIds.add(reviewId);
+      }
+    }
+    if (delta.getWatermark() != null
+        && (watermark == null || delta.getWatermark().isAfter(watermark))) {
+      watermark = delta.getWatermark();
+    }
+    return new Changes(added, updated, deletedIds);
+  }
+
+  private boolean loadedAtStart(MovieReview review) {
+    return startedAt != null
+        && review.getCreatedAt() != null
+        && review.getCreatedAt().isBefore(startedAt);
+  }
+
+  synchronized Instant getWatermark() {
+    return watermark;
+  }
+
+  // ReviewChangeListener implementation: remember local writes so polls do not echo them
+  @Override
+  public synchronized void onReviewAdded(MovieReview review) {
+    knownVersions.put(review.getId(), review.getVersion());
+  }
+
+  @Override
+  public synchronized void onReviewUpdated(MovieReview review) {
+    knownVersions.put(review.getId(), review.getVersion());
+  }
+
+  @Override
+  public synchronized void onReviewDeleted(int reviewId) {
+    knownVersions.put(reviewId, DELETED);
+  }
+
+  @Override
+  public synchronized void onReviewsBulkDeleted(int count) {
+    // IDs unknown: their tombstones in the next delta republish the deletion, which is harmless
+  }
+
+  @Override
+  public synchronized void onReviewsBulkDeleted(List<Integer> reviewIds, int count) {
+    reviewIds.forEach(reviewId -> knownVersions.put(reviewId, DELETED));
+  }
+
+  @Override
+  public synchronized void onReviewsCleared() {
+    // IDs unknown: as for bulk deletes, the tombstones are republished once, which is harmless
+    knownVersions.clear();
+  }
+
+  @Override
+  public synchronized void onReviewWritten(int reviewId, int version) {
+    // A write-behind toggle was announced with the version it replaced
+    knownVersions.merge(reviewId, version, Math::max);
+  }
+}
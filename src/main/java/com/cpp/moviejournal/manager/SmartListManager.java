@@ -0,0 +1,245 @@
+package com.cpp.moviejournal.manager;
+
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.repository.RepositoryFactory;
+import com.cpp.moviejournal.repository.SmartListRepository;
+import com.cpp.moviejournal.search.ReviewFilter;
+import com.cpp.moviejournal.search.SmartList;
+import com.cpp.moviejournal.search.SmartListView;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Manages a user's saved smart lists. Definitions are stored in a {@link SmartListRepository}
+ * for the configured backend; results are materialized in memory the first time any list is
+ * opened and then kept current from the review manager's change notifications, so opening a
+ * list costs a copy of its members regardless of journal size.
+ */
+public class SmartListManager implements ReviewChangeListener {
+  private final MovieReviewManager reviewManager;
+  private final SmartListRepository repository;
+  private final int userId;
+  private final Map<Integer, SmartList> lists = new LinkedHashMap<>();
+  private final Map<Integer, SmartListView> views = new HashMap<>();
+  private final Map<Integer, MovieReview> reviewsById = new LinkedHashMap<>();
+  private boolean listsLoaded;
+  private boolean materialized;
+
+  /**
+   * Creates a smart list manager for the review manager's user and subscribes it to the
+   * manager's review changes.
+   *
+   * @param reviewManager the review manager whose journal the lists are drawn from
+   */
+  public SmartListManager(MovieReviewManager reviewManager) {
+    this(reviewManager, RepositoryFactory.createSmartListRepository());
+  }
+
+  /**
+   * Creates a smart list manager storing its lists in the given repository.
+   *
+   * @param reviewManager the review manager whose journal the lists are drawn from
+   * @param repository the smart list storage
+   */
+  public SmartListManager(MovieReviewManager reviewManager, SmartListRepository repository) {
+    this.reviewManager = reviewManager;
+    this.repository = repository;
+    this.userId = reviewManager.getCurrentUserId();
+    initializeDatabase();
+    reviewManager.addReviewChangeListener(this);
+  }
+
+  private void initializeDatabase() {
+    try {
+      repository.initialize();
+    } catch (SQLException e) {
+      System.err.println("Error initializing smart lists database: " + e.getMessage());
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Unsubscribes from review changes and drops the materialized lists.
+   */
+  public synchronized void close() {
+    reviewManager.removeReviewChangeListener(this);
+    dematerialize();
+  }
+
+  /**
+   * Gets the user's smart lists, ordered by name.
+   *
+   * @return the saved smart lists
+   */
+  public synchronized List<SmartList> getSmartLists() {
+    loadListsIfNeeded();
+    return new ArrayList<>(lists.values());
+  }
+
+  private void loadListsIfNeeded() {
+    if (listsLoaded || userId <= 0) {
+      return;
+    }
+    try {
+      for (SmartList list : repository.findByUser(userId)) {
+        lists.put(list.getId(), list);
+      }
+      listsLoaded = true;
+    } catch (SQLException e) {
+      System.err.println("Error loading smart lists: " + e.getMessage());
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Saves a smart list, replacing the definition of an existing list with the same name.
+   *
+   * @param name the list name
+   * @param filter the criteria and sort order; paging is ignored
+   * @return the saved list, or null if it could not be saved
+   */
+  public synchronized SmartList saveSmartList(String name, ReviewFilter filter) {
+    if (name == null || name.isBlank() || filter == null || userId <= 0) {
+      return null;
+    }
+    loadListsIfNeeded();
+    try {
+      SmartList list = repository.save(userId, name.trim(), filter);
+      lists.put(list.getId(), list);
+      if (materialized) {
+        materialize(list);
+      } else {
+        views.remove(list.getId());
+      }
+      return list;
+    } catch (SQLException e) {
+      System.err.println("Error saving smart list: " + e.getMessage());
+      e.printStackTrace();
+      return null;
+    }
+  }
+
+  /**
+   * Deletes a smart list.
+   *
+   * @param list the list to delete
+   * @return true if the list was deleted
+   */
+  public synchronized boolean deleteSmartList(SmartList list) {
+    if (list == null) {
+      return false;
+    }
+    try {
+      if (repository.delete(list.getId(), userId)) {
+        lists.remove(list.getId());
+        views.remove(list.getId());
+        return true;
+      }
+    } catch (SQLException e) {
+      System.err.println("Error deleting smart list: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return false;
+  }
+
+  /**
+   * Gets the reviews in a smart list, in the list's sort order. The first call loads the
+   * journal once and materializes every list; later calls read the maintained views.
+   *
+   * @param list the list to open
+   * @return the matching reviews
+   */
+  public synchronized List<MovieReview> openSmartList(SmartList list) {
+    if (list == null) {
+      return new ArrayList<>();
+    }
+    if (!materialized) {
+      reviewsById.clear();
+      for (MovieReview review : reviewManager.getReviewSummaries()) {
+        reviewsById.put(review.getId(), review);
+      }
+      materialized = true;
+    }
+    SmartListView view = views.get(list.getId());
+    if (view == null) {
+      view = materialize(list);
+    }
+    return view.getReviews();
+  }
+
+  private SmartListView materialize(SmartList list) {
+    SmartListView view = new SmartListView(list.getFilter());
+    view.rebuild(reviewsById.values());
+    views.put(list.getId(), view);
+    return view;
+  }
+
+  private void dematerialize() {
+    reviewsById.clear();
+    views.clear();
+    materialized = false;
+  }
+
+  private void applyChange(MovieReview review) {
+    if (!materialized || review == null) {
+      return;
+    }
+    reviewsById.put(review.getId(), review);
+    for (SmartListView view : views.values()) {
+      view.apply(review);
+    }
+  }
+
+  private void applyRemoval(int reviewId) {
+    if (!materialized) {
+      return;
+    }
+    reviewsById.remove(reviewId);
+    for (SmartListView view : views.values()) {
+      view.remove(reviewId);
+    }
+  }
+
+  // ReviewChangeListener implementation: keep materialized lists in step with writes
+  @Override
+  public synchronized void onReviewAdded(MovieReview review) {
+    applyChange(review);
+  }
+
+  @Override
+  public synchronized void onReviewUpdated(MovieReview review) {
+    applyChange(review);
+  }
+
+  @Override
+  public synchronized void onReviewDeleted(int reviewId) {
+    applyRemoval(reviewId);
+  }
+
+  @Override
+  public synchronized void onReviewsBulkDeleted(int count) {
+    // Without IDs the affected reviews are unknown; materialize again on next open
+    dematerialize();
+  }
+
+  @Override
+  public synchronized void onReviewsBulkDeleted(List<Integer> reviewIds, int count) {
+    for (Integer reviewId : reviewIds) {
+      applyRemoval(reviewId);
+    }
+  }
+
+  @Override
+  public synchronized void onReviewsCleared() {
+    if (materialized) {
+      reviewsById.clear();
+      for (SmartListView view : views.values()) {
+        view.clear();
+      }
+    }
+  }
+}
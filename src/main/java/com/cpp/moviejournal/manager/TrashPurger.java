@@ -0,0 +1,174 @@
+package com.cpp.moviejournal.manager;
+
+import com.cpp.moviejournal.repository.RepositoryFactory;
+import com.cpp.moviejournal.repository.ReviewRepository;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hard-deletes reviews that have sat in the trash past their retention period. Rows go in
+ * chunks of a bounded size, each its own short statement, with a pause between chunks so a large
+ * purge never holds many row locks or starves interactive queries.
+ */
+public class TrashPurger {
+  public static final Duration DEFAULT_RETENTION = Duration.ofDays(30);
+  public static final int DEFAULT_CHUNK_SIZE = 500;
+  public static final Duration DEFAULT_PAUSE = Duration.ofMillis(250);
+  private static final Duration INITIAL_DELAY = Duration.ofMinutes(1);
+  private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+  /** Deletes up to {@code limit} rows and returns how many went. */
+  @FunctionalInterface
+  interface ChunkDeleter {
+    int deleteChunk(int limit) throws SQLException;
+  }
+
+  private final ReviewRepository repository;
+  private final Duration retention;
+  private final int chunkSize;
+  private final Duration pause;
+  private ScheduledExecutorService scheduler;
+
+  public TrashPurger() {
+    this(DEFAULT_RETENTION, DEFAULT_CHUNK_SIZE, DEFAULT_PAUSE);
+  }
+
+  public TrashPurger(ReviewRepository repository) {
+    this(repository, DEFAULT_RETENTION, DEFAULT_CHUNK_SIZE, DEFAULT_PAUSE);
+  }
+
+  /**
+   * Creates a purger.
+   *
+   * @param retention how long reviews stay restorable
+   * @param chunkSize maximum rows removed per statement
+   * @param pause wait between chunks
+   */
+  public TrashPurger(Duration retention, int chunkSize, Duration pause) {
+    this(RepositoryFactory.createReviewRepository(), retention, chunkSize, pause);
+  }
+
+  /**
+   * Creates a purger on a given repository.
+   *
+   * @param repository where the trashed reviews are stored
+   * @param retention how long reviews stay restorable
+   * @param chunkSize maximum rows removed per statement
+   * @param pause wait between chunks
+   */
+  public TrashPurger(
+      ReviewRepository repository, Duration retention, int chunkSize, Duration pause) {
+    if (retention == null || retention.isNegative()) {
+      throw new IllegalArgumentException("retention must not be negative");
+    }
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("chunkSize must be positive");
+    }
+    if (pause == null || pause.isNegative()) {
+      throw new IllegalArgumentException("pause must not be negative");
+    }
+    this.repository = repository;
+    this.retention = retention;
+    this.chunkSize = chunkSize;
+    this.pause = pause;
+  }
+
+  /**
+   * Starts purging expired trash periodically on a background daemon thread.
+   */
+  public synchronized void start() {
+    if (scheduler != null) {
+      return;
+    }
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "trash-purger");
+              thread.setDaemon(true);
+              thread.setPriority(Thread.MIN_PRIORITY);
+              return thread;
+            });
+    scheduler.scheduleWithFixedDelay(
+        this::purgeExpired,
+        INITIAL_DELAY.toMillis(),
+        PURGE_INTERVAL.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the background purge; a chunk in flight is allowed to finish.
+   */
+  public synchronized void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  /**
+   * Removes reviews of all users that were trashed longer ago than the retention period.
+   *
+   * @return number of reviews removed
+   */
+  public int purgeExpired() {
+    Instant cutoff = Instant.now().minus(retention);
+    return purge(0, cutoff, "Error purging expired trash");
+  }
+
+  /**
+   * Removes every review in one user's trash, regardless of age.
+   *
+   * @param userId the user ID
+   * @return number of reviews removed
+   */
+  public int purgeUser(int userId) {
+    return purge(userId, null, "Error emptying trash");
+  }
+
+  /**
+   * Removes every review in the trash, regardless of owner or age.
+   *
+   * @return number of reviews removed
+   */
+  public int purgeAll() {
+    return purge(0, null, "Error emptying trash");
+  }
+
+  private int purge(int userId, Instant trashedBefore, String errorMessage) {
+    try {
+      return drain(
+          limit -> repository.purgeTrashed(userId, trashedBefore, limit), chunkSize, pause);
+    } catch (SQLException e) {
+      System.err.println(errorMessage + ": " + e.getMessage());
+      e.printStackTrace();
+      return 0;
+    }
+  }
+
+  /**
+   * Deletes chunk after chunk until one comes back short, pausing in between. Stops early, with
+   * the interrupt flag restored, if the thread is interrupted while pausing.
+   *
+   * @return the total number of rows deleted
+   */
+  static int drain(ChunkDeleter deleter, int chunkSize, Duration pause) throws SQLException {
+    int total = 0;
+    while (true) {
+      int deleted = deleter.deleteChunk(chunkSize);
+      total += deleted;
+      if (deleted < chunkSize) {
+        return total;
+      }
+      try {
+        Thread.sleep(pause.toMillis());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return total;
+      }
+    }
+  }
+}
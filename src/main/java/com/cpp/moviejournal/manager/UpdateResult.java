@@ -0,0 +1,16 @@
+package com.cpp.moviejournal.manager;
+
+/**
+ * Result of a version-checked write such as {@link MovieReviewManager#updateReview} or
+ * {@link MovieReviewManager#setFavoriteStatus}.
+ */
+public enum UpdateResult {
+  /** The review was written and its version advanced. */
+  UPDATED,
+  /** Someone else changed the review since it was read; nothing was written. */
+  CONFLICT,
+  /** The review no longer exists or is in the trash. */
+  NOT_FOUND,
+  /** The write failed. */
+  FAILED
+}
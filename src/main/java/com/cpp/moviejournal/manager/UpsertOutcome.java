@@ -0,0 +1,15 @@
+package com.cpp.moviejournal.manager;
+
+/**
+ * Result of writing one review with {@link MovieReviewManager#upsertReview}.
+ */
+public enum UpsertOutcome {
+  /** No review held the (title, director) pair; a new one was inserted. */
+  INSERTED,
+  /** The review holding the pair was overwritten with the new values. */
+  UPDATED,
+  /** The review holding the pair already had exactly these values. */
+  UNCHANGED,
+  /** The write failed. */
+  FAILED
+}
@@ -0,0 +1,163 @@
+package com.cpp.moviejournal.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The fixed registry of genres a review can be tagged with. Each genre owns one bit, so a
+ * review's genres fit in a single integer mask that SQL and in-memory filters test with a
+ * bitwise AND.
+ *
+ * <p>Bits are stored in the database: new genres take the next free bit, and existing genres
+ * never change or give up theirs.
+ */
+public enum Genre {
+  ACTION(0, "Action"),
+  ADVENTURE(1, "Adventure"),
+  ANIMATION(2, "Animation", "animated"),
+  COMEDY(3, "Comedy"),
+  CRIME(4, "Crime"),
+  DOCUMENTARY(5, "Documentary"),
+  DRAMA(6, "Drama"),
+  FAMILY(7, "Family"),
+  FANTASY(8, "Fantasy"),
+  HISTORY(9, "History", "historical"),
+  HORROR(10, "Horror"),
+  MUSICAL(11, "Musical", "music"),
+  MYSTERY(12, "Mystery"),
+  ROMANCE(13, "Romance", "romantic", "rom-com"),
+  SCI_FI(14, "Sci-Fi", "science fiction", "scifi", "sci fi", "sf"),
+  THRILLER(15, "Thriller"),
+  WAR(16, "War"),
+  WESTERN(17, "Western");
+
+  /** Separates the genres of one review in text, e.g. "Sci-Fi/Thriller" or "Crime, Drama". */
+  public static final String SEPARATOR = "/";
+
+  private static final Pattern SEPARATORS = Pattern.compile("\\s*(?:[/,;&|+]|\\band\\b)\\s*");
+  private static final Map<String, Genre> BY_NAME = new HashMap<>();
+
+  static {
+    for (Genre genre : values()) {
+      BY_NAME.put(normalize(genre.displayName), genre);
+      for (String alias : genre.aliases) {
+        BY_NAME.put(normalize(alias), genre);
+      }
+    }
+  }
+
+  private final int bit;
+  private final String displayName;
+  private final String[] aliases;
+
+  Genre(int bit, String displayName, String... aliases) {
+    this.bit = bit;
+    this.displayName = displayName;
+    this.aliases = aliases;
+  }
+
+  /**
+   * Gets this genre's bit in a genre mask.
+   *
+   * @return the mask with only this genre set
+   */
+  public int mask() {
+    return 1 << bit;
+  }
+
+  public String getDisplayName() {
+    return displayName;
+  }
+
+  /**
+   * Looks a genre up by its display name or a common alias, ignoring case and surrounding
+   * whitespace.
+   *
+   * @param name the name, e.g. "sci-fi" or "Science Fiction"
+   * @return the genre, or null if the registry has none by that name
+   */
+  public static Genre fromName(String name) {
+    return name != null ? BY_NAME.get(normalize(name)) : null;
+  }
+
+  /**
+   * Parses free-text genres such as "Sci-Fi/Thriller" or "Crime & Drama" into a mask. Parts the
+   * registry does not know are skipped.
+   *
+   * @param text the genre text
+   * @return the mask of the recognized genres, 0 if none
+   */
+  public static int parseMask(String text) {
+    if (text == null || text.isBlank()) {
+      return 0;
+    }
+    int mask = 0;
+    for (String part : SEPARATORS.split(text.trim())) {
+      Genre genre = fromName(part);
+      if (genre != null) {
+        mask |= genre.mask();
+      }
+    }
+    return mask;
+  }
+
+  /**
+   * Builds the mask of a set of genres.
+   *
+   * @param genres the genres
+   * @return the mask
+   */
+  public static int maskOf(Collection<Genre> genres) {
+    int mask = 0;
+    for (Genre genre : genres) {
+      mask |= genre.mask();
+    }
+    return mask;
+  }
+
+  /**
+   * Expands a mask into its genres.
+   *
+   * @param mask the mask
+   * @return the genres, in registry order
+   */
+  public static Set<Genre> fromMask(int mask) {
+    Set<Genre> genres = EnumSet.noneOf(Genre.class);
+    for (Genre genre : values()) {
+      if ((mask & genre.mask()) != 0) {
+        genres.add(genre);
+      }
+    }
+    return genres;
+  }
+
+  /**
+   * Formats a mask as the genre text stored with a review, e.g. "Sci-Fi/Thriller".
+   *
+   * @param mask the mask
+   * @return the display names joined by {@link #SEPARATOR}, empty for 0
+   */
+  public static String format(int mask) {
+    List<String> names = new ArrayList<>();
+    for (Genre genre : fromMask(mask)) {
+      names.add(genre.displayName);
+    }
+    return String.join(SEPARATOR, names);
+  }
+
+  private static String normalize(String name) {
+    return name.trim().toLowerCase(Locale.ROOT);
+  }
+
+  @Override
+  public String toString() {
+    return displayName;
+  }
+}
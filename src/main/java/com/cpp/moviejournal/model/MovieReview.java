@@ -1,6 +1,11 @@
 package com.cpp.moviejournal.model;
 
+import com.cpp.moviejournal.util.TitleCollation;
+import java.text.CollationKey;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Set;
 
 /**
  * Represents a movie review in the Movie Journal application.
@@ -17,6 +22,12 @@ public class MovieReview {
   private static final String EMPTY_STRING = "";
   private static final String DATE_FORMAT = "%02d/%02d/%04d";
 
+  /**
+   * Characters of review text list views show. Summaries keep one more, so a view can tell the
+   * text goes on.
+   */
+  public static final int SNIPPET_LENGTH = 50;
+
   private int id;
   private int userId; // Foreign key to users table
   private String title;
@@ -27,6 +38,12 @@ public class MovieReview {
   private LocalDate dateWatched;
   private String ticketImagePath;
   private boolean favorite;
+  private int version; // Row version for optimistic concurrency, bumped on every write
+  private boolean bodyLoaded = true; // False on summaries, whose review text is only a snippet
+  private CollationKey titleSortKey; // Computed on first use, reset when the title changes
+  private int genreMask = -1; // Parsed from the genre text on first use, -1 until then
+  private Instant createdAt; // When the review was first stored, null until then
+  private Instant deletedAt; // When the review was moved to the trash, null while it is live
 
   /**
    * Constructor for new movie review.
@@ -154,6 +171,10 @@ public class MovieReview {
     private LocalDate dateWatched;
     private String ticketImagePath;
     private boolean favorite;
+    private int version;
+    private boolean bodyLoaded = true;
+    private Instant createdAt;
+    private Instant deletedAt;
 
     public Builder setId(int id) {
       this.id = id;
@@ -180,6 +201,11 @@ public class MovieReview {
       return this;
     }
 
+    public Builder setGenres(Collection<Genre> genres) {
+      this.genre = Genre.format(Genre.maskOf(genres));
+      return this;
+    }
+
     public Builder setRating(double rating) {
       this.rating = rating;
       return this;
@@ -205,6 +231,26 @@ public class MovieReview {
       return this;
     }
 
+    public Builder setVersion(int version) {
+      this.version = version;
+      return this;
+    }
+
+    public Builder setBodyLoaded(boolean bodyLoaded) {
+      this.bodyLoaded = bodyLoaded;
+      return this;
+    }
+
+    public Builder setCreatedAt(Instant createdAt) {
+      this.createdAt = createdAt;
+      return this;
+    }
+
+    public Builder setDeletedAt(Instant deletedAt) {
+      this.deletedAt = deletedAt;
+      return this;
+    }
+
     /**
      * Builds a MovieReview object from the builder.
      *
@@ -212,8 +258,14 @@ public class MovieReview {
      */
     public MovieReview build() {
       LocalDate date = dateWatched != null ? dateWatched : LocalDate.now();
-      return new MovieReview(
-          id, userId, title, director, genre, rating, review, date, ticketImagePath, favorite);
+      MovieReview movieReview =
+          new MovieReview(
+              id, userId, title, director, genre, rating, review, date, ticketImagePath, favorite);
+      movieReview.version = version;
+      movieReview.bodyLoaded = bodyLoaded;
+      movieReview.createdAt = createdAt;
+      movieReview.deletedAt = deletedAt;
+      return movieReview;
     }
   }
 
@@ -249,6 +301,71 @@ public class MovieReview {
 
   public void setReview(String review) {
     this.review = review;
+    this.bodyLoaded = true;
+  }
+
+  /**
+   * Tells whether this copy carries the full review text. Summaries read for list views only
+   * carry its first {@link #SNIPPET_LENGTH} + 1 characters; the full text is loaded on demand
+   * and must be before the review is saved.
+   *
+   * @return false for a summary
+   */
+  public boolean isBodyLoaded() {
+    return bodyLoaded;
+  }
+
+  /**
+   * Creates an independent copy of this review, a summary if this is one.
+   *
+   * @return a new review with the same fields
+   */
+  public MovieReview copy() {
+    return builder()
+        .setId(id)
+        .setUserId(userId)
+        .setTitle(title)
+        .setDirector(director)
+        .setGenre(genre)
+        .setRating(rating)
+        .setReview(review)
+        .setDateWatched(dateWatched)
+        .setTicketImagePath(ticketImagePath)
+        .setFavorite(favorite)
+        .setVersion(version)
+        .setBodyLoaded(bodyLoaded)
+        .setCreatedAt(createdAt)
+        .setDeletedAt(deletedAt)
+        .build();
+  }
+
+  /**
+   * Creates a summary of this review for list views: the same fields, with the review text cut
+   * to a snippet.
+   *
+   * @return a new summary
+   */
+  public MovieReview toSummary() {
+    String snippet =
+        review != null && review.length() > SNIPPET_LENGTH + 1
+            ? review.substring(0, SNIPPET_LENGTH + 1)
+            : review;
+    return builder()
+        .setId(id)
+        .setUserId(userId)
+        .setTitle(title)
+        .setDirector(director)
+        .setGenre(genre)
+        .setRating(rating)
+        .setReview(snippet)
+        .setDateWatched(dateWatched)
+        .setTicketImagePath(ticketImagePath)
+        .setFavorite(favorite)
+        .setVersion(version)
+        .setBodyLoaded(false)
+        .setCreatedAt(createdAt)
+        .setDeletedAt(deletedAt)
+        .build();
   }
 
   public String getTitle() {
@@ -257,6 +374,21 @@ public class MovieReview {
 
   public void setTitle(String title) {
     this.title = title;
+    this.titleSortKey = null;
+  }
+
+  /**
+   * Gets the key this review's title sorts by, ignoring leading articles, case and accents.
+   *
+   * @return the cached collation key, or null if there is no title
+   */
+  public CollationKey getTitleSortKey() {
+    CollationKey key = titleSortKey;
+    if (key == null && title != null) {
+      key = TitleCollation.sortKey(title);
+      titleSortKey = key;
+    }
+    return key;
   }
 
   public String getDirector() {
@@ -273,6 +405,36 @@ public class MovieReview {
 
   public void setGenre(String genre) {
     this.genre = genre;
+    this.genreMask = -1;
+  }
+
+  /**
+   * Gets the registry genres this review is tagged with, as a {@link Genre} mask. The mask is
+   * parsed from the genre text, so free text typed before the registry existed still counts;
+   * parts the registry does not know are left out.
+   *
+   * @return the cached mask, 0 if no registry genre is named
+   */
+  public int getGenreMask() {
+    int mask = genreMask;
+    if (mask < 0) {
+      mask = Genre.parseMask(genre);
+      genreMask = mask;
+    }
+    return mask;
+  }
+
+  public Set<Genre> getGenres() {
+    return Genre.fromMask(getGenreMask());
+  }
+
+  /**
+   * Tags this review with registry genres, replacing the genre text with their display names.
+   *
+   * @param genres the genres
+   */
+  public void setGenres(Collection<Genre> genres) {
+    setGenre(Genre.format(Genre.maskOf(genres)));
   }
 
   public double getRating() {
@@ -318,6 +480,45 @@ public class MovieReview {
     this.favorite = favorite;
   }
 
+  /**
+   * Gets the row version this copy was read at; updates only succeed while it is current.
+   *
+   * @return the row version
+   */
+  public int getVersion() {
+    return version;
+  }
+
+  public void setVersion(int version) {
+    this.version = version;
+  }
+
+  /**
+   * Gets when the review was first stored. Lists are ordered newest first by it.
+   *
+   * @return the creation time, or null if the review was not read from storage
+   */
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(Instant createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  /**
+   * Gets when the review was moved to the trash.
+   *
+   * @return the time it was trashed, or null while it is live
+   */
+  public Instant getDeletedAt() {
+    return deletedAt;
+  }
+
+  public void setDeletedAt(Instant deletedAt) {
+    this.deletedAt = deletedAt;
+  }
+
   /**
    * Gets the date watched as a formatted string (MM/dd/yyyy).
    *
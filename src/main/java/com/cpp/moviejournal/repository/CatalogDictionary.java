@@ -0,0 +1,257 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.util.UnitOfWork;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Two-way cache between the names in one database's catalog tables and their integer keys:
+ * {@code directors}, {@code genres}, and {@code movies}, a title together with its director.
+ * Reviews reference the catalog by key, so list reads ship three integers instead of three
+ * strings and grouping by director or genre compares integers.
+ *
+ * <p>Names are stored with a binary collation, so every spelling keeps its own key and resolving
+ * a key gives back exactly what the user typed. Keys are never reassigned, so cached entries do
+ * not go stale; entries created inside a {@link UnitOfWork} are only cached once it commits,
+ * since a rollback takes them back out of the tables.
+ */
+final class CatalogDictionary {
+  private static final String CREATE_DIRECTORS_TABLE_SQL =
+      """
+      CREATE TABLE IF NOT EXISTS directors (
+          id INT AUTO_INCREMENT PRIMARY KEY,
+          name VARCHAR(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+          UNIQUE KEY unique_director_name (name)
+      )
+      """;
+
+  private static final String CREATE_GENRES_TABLE_SQL =
+      """
+      CREATE TABLE IF NOT EXISTS genres (
+          id INT AUTO_INCREMENT PRIMARY KEY,
+          name VARCHAR(100) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+          UNIQUE KEY unique_genre_name (name)
+      )
+      """;
+
+  private static final String CREATE_MOVIES_TABLE_SQL =
+      """
+      CREATE TABLE IF NOT EXISTS movies (
+          id INT AUTO_INCREMENT PRIMARY KEY,
+          title VARCHAR(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+          director_id INT NOT NULL,
+          FOREIGN KEY (director_id) REFERENCES directors(id),
+          UNIQUE KEY unique_movie_title_director (title, director_id)
+      )
+      """;
+
+  // movie_reviews with its names taken from the catalog, for reads once the name columns are
+  // gone. The names get the review table's case-insensitive collation back, so comparisons and
+  // title sorting behave as they did on the name columns.
+  private static final String NAMED_REVIEWS_SQL =
+      "(SELECT r.id, r.user_id, movies.title COLLATE utf8mb4_unicode_ci AS title,"
+          + " directors.name COLLATE utf8mb4_unicode_ci AS director,"
+          + " genres.name COLLATE utf8mb4_unicode_ci AS genre, r.rating, r.review, r.date_watched,"
+          + " r.ticket_image_path, r.is_favorite, r.deleted_at, r.version, r.movie_id,"
+          + " r.director_id, r.genre_id, r.genre_mask, r.created_at, r.updated_at"
+          + " FROM movie_reviews r LEFT JOIN movies ON movies.id = r.movie_id"
+          + " LEFT JOIN directors ON directors.id = r.director_id"
+          + " LEFT JOIN genres ON genres.id = r.genre_id) movie_reviews";
+
+  /** The catalog keys of one review; 0 where a name is missing. */
+  record Ids(int movieId, int directorId, int genreId) {}
+
+  /** One catalog table, cached both ways. */
+  private static final class Table {
+    private final String insertSql;
+    private final String selectNamesSql;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+
+    Table(String table, String nameColumn, String... keyColumns) {
+      List<String> columns = new ArrayList<>();
+      columns.add(nameColumn);
+      Collections.addAll(columns, keyColumns);
+      // LAST_INSERT_ID(id) makes an existing row's key come back as the generated key
+      this.insertSql =
+          "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+              + "?, ".repeat(columns.size() - 1) + "?) ON DUPLICATE KEY UPDATE"
+              + " id = LAST_INSERT_ID(id)";
+      this.selectNamesSql = "SELECT id, " + nameColumn + " FROM " + table + " WHERE id IN (";
+    }
+
+    /**
+     * Gets the key of a name, adding the name to the table if it is new.
+     *
+     * @param scope a key the name is unique within, like a title's director, or 0
+     */
+    int idFor(Connection conn, String name, int scope) throws SQLException {
+      if (name == null) {
+        return 0;
+      }
+      String cacheKey = scope > 0 ? scope + "/" + name : name;
+      Integer cached = ids.get(cacheKey);
+      if (cached != null) {
+        return cached;
+      }
+      int id;
+      try (PreparedStatement stmt =
+          conn.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
+        stmt.setString(1, name);
+        if (scope > 0) {
+          stmt.setInt(2, scope);
+        }
+        stmt.executeUpdate();
+        try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+          if (!generatedKeys.next()) {
+            throw new SQLException("No key returned for catalog entry " + name);
+          }
+          id = generatedKeys.getInt(1);
+        }
+      }
+      UnitOfWork unit = UnitOfWork.current();
+      if (unit != null) {
+        unit.afterCommit(() -> remember(cacheKey, name, id));
+      } else {
+        remember(cacheKey, name, id);
+      }
+      return id;
+    }
+
+    private void remember(String cacheKey, String name, int id) {
+      ids.put(cacheKey, id);
+      names.put(id, name);
+    }
+
+    String name(int id) {
+      return names.get(id);
+    }
+
+    /** Reads the names of keys not cached yet, e.g. ones another process created. */
+    void load(Connection conn, Set<Integer> wanted) throws SQLException {
+      List<Integer> missing = new ArrayList<>();
+      for (Integer id : wanted) {
+        if (!names.containsKey(id)) {
+          missing.add(id);
+        }
+      }
+      int chunkSize = MySqlReviewRepository.BULK_CHUNK_SIZE;
+      for (int from = 0; from < missing.size(); from += chunkSize) {
+        List<Integer> chunk = missing.subList(from, Math.min(from + chunkSize, missing.size()));
+        String sql = selectNamesSql + "?, ".repeat(chunk.size() - 1) + "?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+          for (int i = 0; i < chunk.size(); i++) {
+            stmt.setInt(i + 1, chunk.get(i));
+          }
+          try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+              names.put(rs.getInt(1), rs.getString(2));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private final Table directors = new Table("directors", "name");
+  private final Table genres = new Table("genres", "name");
+  private final Table movies = new Table("movies", "title", "director_id");
+
+  /**
+   * Creates the catalog tables if they do not exist.
+   *
+   * @param conn a connection to the database holding the reviews
+   * @throws SQLException if a table cannot be created
+   */
+  static void createTables(Connection conn) throws SQLException {
+    for (String sql :
+        new String[] {
+          CREATE_DIRECTORS_TABLE_SQL, CREATE_GENRES_TABLE_SQL, CREATE_MOVIES_TABLE_SQL
+        }) {
+      try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        stmt.executeUpdate();
+      }
+    }
+  }
+
+  /**
+   * Rewrites a query over {@code movie_reviews} to read each review's names from the catalog
+   * instead of its name columns. The query's own columns and predicates stay as they are.
+   *
+   * @param sql a statement selecting {@code FROM movie_reviews}
+   * @return the statement reading from the catalog
+   */
+  static String withNames(String sql) {
+    return sql.replace(" FROM movie_reviews", " FROM " + NAMED_REVIEWS_SQL);
+  }
+
+  /**
+   * Gets the catalog keys of a review's title, director and genre, adding new names. Call it
+   * before a write's own transaction starts, so new names commit at once and other writers do
+   * not wait on their unique keys; inside a unit of work they join the unit instead.
+   *
+   * @param conn a connection to the database holding the reviews
+   * @param review the review about to be written
+   * @return the keys
+   * @throws SQLException if a key cannot be read or created
+   */
+  Ids idsFor(Connection conn, MovieReview review) throws SQLException {
+    int directorId = directors.idFor(conn, review.getDirector(), 0);
+    int movieId = directorId > 0 ? movies.idFor(conn, review.getTitle(), directorId) : 0;
+    return new Ids(movieId, directorId, genres.idFor(conn, review.getGenre(), 0));
+  }
+
+  /**
+   * Fills in the names of reviews read by key, reading the names not cached yet in one query
+   * per table. A review whose key is 0 keeps the name it was read with.
+   *
+   * @param conn a connection to the database the reviews were read from
+   * @param reviews the reviews; changed in place
+   * @param ids the keys of each review, in the same order
+   * @throws SQLException if names cannot be read
+   */
+  void resolveNames(Connection conn, List<MovieReview> reviews, List<Ids> ids)
+      throws SQLException {
+    Set<Integer> movieIds = new LinkedHashSet<>();
+    Set<Integer> directorIds = new LinkedHashSet<>();
+    Set<Integer> genreIds = new LinkedHashSet<>();
+    for (Ids keys : ids) {
+      addKey(movieIds, keys.movieId());
+      addKey(directorIds, keys.directorId());
+      addKey(genreIds, keys.genreId());
+    }
+    movies.load(conn, movieIds);
+    directors.load(conn, directorIds);
+    genres.load(conn, genreIds);
+    for (int i = 0; i < reviews.size(); i++) {
+      MovieReview review = reviews.get(i);
+      Ids keys = ids.get(i);
+      if (keys.movieId() > 0) {
+        review.setTitle(movies.name(keys.movieId()));
+      }
+      if (keys.directorId() > 0) {
+        review.setDirector(directors.name(keys.directorId()));
+      }
+      if (keys.genreId() > 0) {
+        review.setGenre(genres.name(keys.genreId()));
+      }
+    }
+  }
+
+  private static void addKey(Set<Integer> keys, int key) {
+    if (key > 0) {
+      keys.add(key);
+    }
+  }
+}
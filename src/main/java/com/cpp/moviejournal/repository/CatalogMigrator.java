@@ -0,0 +1,90 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.util.DatabaseConnection;
+import java.sql.SQLException;
+
+/**
+ * Moves existing reviews onto the normalized catalog: creates the {@code movies},
+ * {@code directors} and {@code genres} tables and the review columns referencing them, then
+ * backfills the keys of every review in committed batches, on the primary or on every shard.
+ *
+ * <p>Deploy the app version that writes the keys first, then run this while it is up; running
+ * it again only visits reviews still missing their keys. The name columns stay as they are, so
+ * older readers keep working and reviews without keys are still read by name. Once every review
+ * is linked, the unique key on {@code (user_id, movie_id)} is added.
+ *
+ * <p>To contract, set {@code DB_CATALOG_ONLY} on every app process, so they stop writing and
+ * reading the names, then run this with {@code contract}. It links anything still missing,
+ * drops the unique key on the names and clears the names from the reviews.
+ */
+public class CatalogMigrator {
+
+  /**
+   * Backfills the catalog keys of every review.
+   *
+   * @return the number of reviews filled in
+   * @throws SQLException if the schema cannot be updated or a batch fails; finished batches stay
+   *     committed
+   */
+  public int migrate() throws SQLException {
+    int shards = DatabaseConnection.getShardCount();
+    if (shards == 0) {
+      return migrate(new MySqlReviewRepository());
+    }
+    int filled = 0;
+    for (int shard = 0; shard < shards; shard++) {
+      filled += migrate(new MySqlReviewRepository(shard));
+    }
+    return filled;
+  }
+
+  private static int migrate(MySqlReviewRepository repository) throws SQLException {
+    repository.initialize(0);
+    int filled = repository.backfillCatalog(0);
+    repository.addCatalogKey();
+    return filled;
+  }
+
+  /**
+   * Links any review still missing its catalog keys or genre mask, then clears the names of
+   * every review. Only run it once no app process reads the names any more.
+   *
+   * @return the number of reviews whose names were cleared
+   * @throws SQLException if the schema cannot be updated or a batch fails; finished batches stay
+   *     committed
+   */
+  public int contract() throws SQLException {
+    int shards = DatabaseConnection.getShardCount();
+    if (shards == 0) {
+      return contract(new MySqlReviewRepository());
+    }
+    int cleared = 0;
+    for (int shard = 0; shard < shards; shard++) {
+      cleared += contract(new MySqlReviewRepository(shard));
+    }
+    return cleared;
+  }
+
+  private static int contract(MySqlReviewRepository repository) throws SQLException {
+    repository.initialize(0);
+    repository.backfillCatalog(0);
+    // The mask backfill parses the genre names, so it has to finish before they are cleared
+    repository.backfillGenreMasks(0);
+    return repository.contractCatalog(0);
+  }
+
+  public static void main(String[] args) {
+    try {
+      if (args.length == 1 && args[0].equals("contract")) {
+        int cleared = new CatalogMigrator().contract();
+        System.out.println("Cleared the names of " + cleared + " reviews");
+        return;
+      }
+      int filled = new CatalogMigrator().migrate();
+      System.out.println("Linked " + filled + " reviews to the movie catalog");
+    } catch (SQLException e) {
+      System.err.println("Error migrating the movie catalog: " + e.getMessage());
+      e.printStackTrace();
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package com.cpp.moviejournal.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Maps user IDs onto shards by consistent hashing. Each shard owns many points on a ring of
+ * 64-bit hashes, and a user belongs to the shard owning the first point at or after the user's
+ * hash. Adding a shard therefore takes over only about {@code 1/n} of the users, spread evenly
+ * over the old shards, instead of reshuffling nearly all of them like {@code userId % n} would.
+ */
+final class ConsistentHashRing {
+  // Enough points per shard that each one's share of users stays within a few percent of even
+  static final int VIRTUAL_NODES_PER_SHARD = 64;
+
+  private final NavigableMap<Long, Integer> ring = new TreeMap<>();
+  private final int shardCount;
+
+  /**
+   * Creates a ring over shards {@code 0} to {@code shardCount - 1}.
+   *
+   * @param shardCount the number of shards, at least 1
+   */
+  ConsistentHashRing(int shardCount) {
+    if (shardCount < 1) {
+      throw new IllegalArgumentException("shardCount must be at least 1");
+    }
+    this.shardCount = shardCount;
+    for (int shard = 0; shard < shardCount; shard++) {
+      for (int node = 0; node < VIRTUAL_NODES_PER_SHARD; node++) {
+        // A shard's points depend only on its own position, so existing points never move
+        ring.put(hash("shard-" + shard + "#" + node), shard);
+      }
+    }
+  }
+
+  /**
+   * Gets the shard a user hashes to.
+   *
+   * @param userId the user
+   * @return the shard, from 0 to {@link #getShardCount()} - 1
+   */
+  int shardFor(int userId) {
+    Map.Entry<Long, Integer> owner = ring.ceilingEntry(hash("user-" + userId));
+    return (owner != null ? owner : ring.firstEntry()).getValue();
+  }
+
+  int getShardCount() {
+    return shardCount;
+  }
+
+  private static long hash(String key) {
+    byte[] digest = md5().digest(key.getBytes(StandardCharsets.UTF_8));
+    long value = 0;
+    for (int i = 0; i < Long.BYTES; i++) {
+      value = (value << 8) | (digest[i] & 0xFF);
+    }
+    return value;
+  }
+
+  private static MessageDigest md5() {
+    try {
+      return MessageDigest.getInstance("MD5");
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to provide MD5
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,302 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.model.User;
+import com.cpp.moviejournal.repository.InMemoryReviewRepository.StoredReview;
+import com.cpp.moviejournal.search.ReviewFilter;
+import com.cpp.moviejournal.search.SmartList;
+import com.cpp.moviejournal.util.UnitOfWork;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An embedded database in one local file, for running the journal without a MySQL server. Users,
+ * reviews and smart lists are served from {@link InMemoryUserRepository},
+ * {@link InMemoryReviewRepository} and {@link InMemorySmartListRepository}; after every write
+ * the whole data set is written to a temporary file, synced and moved over the old one, so a
+ * crash leaves either the previous or the new snapshot, never a mix. A personal journal holds a
+ * few thousand rows at most, so rewriting the file is cheaper than keeping a log. Writes inside
+ * a {@link UnitOfWork} are saved together when the unit ends.
+ */
+public class FileDatabase {
+  private static final String HEADER = "moviejournal-db\t3";
+  // Version 2 files are the same without review creation times, version 1 also without smart
+  // lists
+  private static final String HEADER_V2 = "moviejournal-db\t2";
+  private static final String HEADER_V1 = "moviejournal-db\t1";
+  private static final String FIELD_SEPARATOR = "\t";
+  // URLEncoder never emits '~' unescaped, so it cannot collide with an encoded value
+  private static final String NULL_FIELD = "~";
+  private static final String USER_RECORD = "U";
+  private static final String REVIEW_RECORD = "R";
+  private static final String SMART_LIST_RECORD = "S";
+  private static final String GENRE_SEPARATOR = MySqlSmartListRepository.GENRE_SEPARATOR;
+  private static final int USER_FIELD_COUNT = 8;
+  private static final int REVIEW_FIELD_COUNT = 16;
+  private static final int REVIEW_FIELD_COUNT_V2 = 15;
+  private static final int SMART_LIST_FIELD_COUNT = 13;
+
+  private final Path file;
+  private final InMemoryUserRepository users;
+  private final InMemoryReviewRepository reviews;
+  private final InMemorySmartListRepository smartLists;
+  private final Set<UnitOfWork> unitsAwaitingSave = ConcurrentHashMap.newKeySet();
+
+  private FileDatabase(Path file) {
+    this.file = file;
+    this.users = new InMemoryUserRepository(this::saveOrDefer);
+    this.reviews = new InMemoryReviewRepository(this::saveOrDefer);
+    this.smartLists = new InMemorySmartListRepository(this::saveOrDefer);
+  }
+
+  /**
+   * Opens a database file, creating it on the first write if it does not exist.
+   *
+   * @param file the file
+   * @return the open database
+   * @throws IOException if the file exists but cannot be read or is not a database file
+   */
+  public static FileDatabase open(Path file) throws IOException {
+    FileDatabase database = new FileDatabase(file);
+    database.load();
+    return database;
+  }
+
+  public UserRepository getUserRepository() {
+    return users;
+  }
+
+  public ReviewRepository getReviewRepository() {
+    return reviews;
+  }
+
+  public SmartListRepository getSmartListRepository() {
+    return smartLists;
+  }
+
+  public Path getFile() {
+    return file;
+  }
+
+  private void load() throws IOException {
+    if (!Files.exists(file)) {
+      return;
+    }
+    List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+    if (lines.isEmpty() || !List.of(HEADER, HEADER_V2, HEADER_V1).contains(lines.get(0))) {
+      throw new IOException("Not a movie journal database: " + file);
+    }
+    List<User> loadedUsers = new ArrayList<>();
+    List<StoredReview> loadedReviews = new ArrayList<>();
+    List<SmartList> loadedSmartLists = new ArrayList<>();
+    for (String line : lines.subList(1, lines.size())) {
+      if (line.isBlank()) {
+        continue;
+      }
+      String[] fields = line.split(FIELD_SEPARATOR, -1);
+      try {
+        if (fields[0].equals(USER_RECORD) && fields.length == USER_FIELD_COUNT) {
+          loadedUsers.add(decodeUser(fields));
+        } else if (fields[0].equals(REVIEW_RECORD)
+            && (fields.length == REVIEW_FIELD_COUNT || fields.length == REVIEW_FIELD_COUNT_V2)) {
+          loadedReviews.add(decodeReview(fields));
+        } else if (fields[0].equals(SMART_LIST_RECORD) && fields.length == SMART_LIST_FIELD_COUNT) {
+          loadedSmartLists.add(decodeSmartList(fields));
+        } else {
+          throw new IllegalArgumentException("unknown record");
+        }
+      } catch (RuntimeException e) {
+        // The file is replaced atomically, so a bad line means outside damage; do not guess
+        throw new IOException("Corrupt record in " + file + ": " + e.getMessage(), e);
+      }
+    }
+    users.load(loadedUsers);
+    reviews.load(loadedReviews);
+    smartLists.load(loadedSmartLists);
+  }
+
+  // Inside a unit of work the file is rewritten and synced once, when the unit ends
+  private void saveOrDefer() {
+    UnitOfWork unit = UnitOfWork.current();
+    if (unit == null) {
+      save();
+    } else if (unitsAwaitingSave.add(unit)) {
+      unit.afterCompletion(
+          () -> {
+            unitsAwaitingSave.remove(unit);
+            save();
+          });
+    }
+  }
+
+  // Both repositories call back here with their own lock held; this lock orders the snapshots
+  private synchronized void save() {
+    StringBuilder content = new StringBuilder(HEADER).append('\n');
+    for (User user : users.snapshot()) {
+      content.append(encodeUser(user)).append('\n');
+    }
+    for (StoredReview stored : reviews.snapshot()) {
+      content.append(encodeReview(stored)).append('\n');
+    }
+    for (SmartList list : smartLists.snapshot()) {
+      content.append(encodeSmartList(list)).append('\n');
+    }
+    try {
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+      try (FileChannel out =
+          FileChannel.open(
+              temporary,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.WRITE,
+              StandardOpenOption.TRUNCATE_EXISTING)) {
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(content.toString());
+        while (buffer.hasRemaining()) {
+          out.write(buffer);
+        }
+        out.force(false);
+      }
+      Files.move(
+          temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      // The write stays in memory and goes out with the next snapshot that succeeds
+      System.err.println("Error saving database file: " + e.getMessage());
+      e.printStackTrace();
+    }
+  }
+
+  private static String encodeUser(User user) {
+    return String.join(
+        FIELD_SEPARATOR,
+        USER_RECORD,
+        String.valueOf(user.getId()),
+        encodeText(user.getUsername()),
+        encodeText(user.getEmail()),
+        encodeText(user.getPassword()),
+        encodeValue(user.getCreatedAt()),
+        encodeValue(user.getLastLogin()),
+        String.valueOf(user.isActive()));
+  }
+
+  private static User decodeUser(String[] fields) {
+    return new User(
+        Integer.parseInt(fields[1]),
+        decodeText(fields[2]),
+        decodeText(fields[3]),
+        decodeText(fields[4]),
+        fields[5].equals(NULL_FIELD) ? null : LocalDateTime.parse(fields[5]),
+        fields[6].equals(NULL_FIELD) ? null : LocalDateTime.parse(fields[6]),
+        Boolean.parseBoolean(fields[7]));
+  }
+
+  private static String encodeReview(StoredReview stored) {
+    MovieReview review = stored.review();
+    return String.join(
+        FIELD_SEPARATOR,
+        REVIEW_RECORD,
+        String.valueOf(stored.createdOrder()),
+        encodeValue(stored.updatedAt()),
+        encodeValue(stored.deletedAt()),
+        String.valueOf(review.getId()),
+        String.valueOf(review.getUserId()),
+        encodeText(review.getTitle()),
+        encodeText(review.getDirector()),
+        encodeText(review.getGenre()),
+        String.valueOf(review.getRating()),
+        encodeText(review.getReview()),
+        encodeValue(review.getDateWatched()),
+        encodeText(review.getTicketImagePath()),
+        String.valueOf(review.isFavorite()),
+        String.valueOf(review.getVersion()),
+        encodeValue(review.getCreatedAt()));
+  }
+
+  private static StoredReview decodeReview(String[] fields) {
+    MovieReview review =
+        MovieReview.builder()
+            .setId(Integer.parseInt(fields[4]))
+            .setUserId(Integer.parseInt(fields[5]))
+            .setTitle(decodeText(fields[6]))
+            .setDirector(decodeText(fields[7]))
+            .setGenre(decodeText(fields[8]))
+            .setRating(Double.parseDouble(fields[9]))
+            .setReview(decodeText(fields[10]))
+            .setDateWatched(fields[11].equals(NULL_FIELD) ? null : LocalDate.parse(fields[11]))
+            .setTicketImagePath(decodeText(fields[12]))
+            .setFavorite(Boolean.parseBoolean(fields[13]))
+            .setVersion(Integer.parseInt(fields[14]))
+            .setCreatedAt(
+                fields.length > 15 && !fields[15].equals(NULL_FIELD)
+                    ? Instant.parse(fields[15])
+                    : null)
+            .build();
+    return new StoredReview(
+        review,
+        Long.parseLong(fields[1]),
+        Instant.parse(fields[2]),
+        fields[3].equals(NULL_FIELD) ? null : Instant.parse(fields[3]));
+  }
+
+  private static String encodeSmartList(SmartList list) {
+    ReviewFilter filter = list.getFilter();
+    return String.join(
+        FIELD_SEPARATOR,
+        SMART_LIST_RECORD,
+        String.valueOf(list.getId()),
+        String.valueOf(list.getUserId()),
+        encodeText(list.getName()),
+        encodeText(filter.getQuery()),
+        encodeText(String.join(GENRE_SEPARATOR, filter.getGenres())),
+        String.valueOf(filter.getMinRating()),
+        String.valueOf(filter.getMaxRating()),
+        encodeValue(filter.getWatchedFrom()),
+        encodeValue(filter.getWatchedTo()),
+        String.valueOf(filter.isFavoritesOnly()),
+        String.valueOf(filter.isWithTicketOnly()),
+        encodeText(filter.getSortOption()));
+  }
+
+  private static SmartList decodeSmartList(String[] fields) {
+    ReviewFilter filter =
+        ReviewFilter.builder()
+            .setQuery(decodeText(fields[4]))
+            .setGenres(Arrays.asList(decodeText(fields[5]).split(GENRE_SEPARATOR)))
+            .setRatingRange(Double.parseDouble(fields[6]), Double.parseDouble(fields[7]))
+            .setWatchedFrom(fields[8].equals(NULL_FIELD) ? null : LocalDate.parse(fields[8]))
+            .setWatchedTo(fields[9].equals(NULL_FIELD) ? null : LocalDate.parse(fields[9]))
+            .setFavoritesOnly(Boolean.parseBoolean(fields[10]))
+            .setWithTicketOnly(Boolean.parseBoolean(fields[11]))
+            .setSortOption(decodeText(fields[12]))
+            .build();
+    return new SmartList(
+        Integer.parseInt(fields[1]), Integer.parseInt(fields[2]), decodeText(fields[3]), filter);
+  }
+
+  private static String encodeValue(Object value) {
+    return value != null ? value.toString() : NULL_FIELD;
+  }
+
+  private static String encodeText(String value) {
+    return value != null ? URLEncoder.encode(value, StandardCharsets.UTF_8) : NULL_FIELD;
+  }
+
+  private static String decodeText(String field) {
+    return field.equals(NULL_FIELD) ? null : URLDecoder.decode(field, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,505 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.manager.ReviewDelta;
+import com.cpp.moviejournal.manager.UpdateResult;
+import com.cpp.moviejournal.manager.UpsertOutcome;
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.search.DuplicateReviewIndex;
+import com.cpp.moviejournal.search.ReviewFacetIndex;
+import com.cpp.moviejournal.search.ReviewFilter;
+import com.cpp.moviejournal.search.ReviewFilterResult;
+import com.cpp.moviejournal.search.SearchQueryCache;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Review storage in process memory, for tests and benchmarks that should not need a MySQL
+ * server. Rows live in concurrent maps indexed by ID, by user and by (user, title, director)
+ * pair, the last mirroring MySQL's unique key. Stored rows are immutable and replaced on write,
+ * so reads run without locking; writes are serialized so the indexes change together.
+ */
+public class InMemoryReviewRepository implements ReviewRepository {
+  private static final String SQLSTATE_DUPLICATE_KEY = "23000";
+
+  /** One stored row; never mutated once published. */
+  record StoredReview(MovieReview review, long createdOrder, Instant updatedAt, Instant deletedAt) {
+    boolean isLive() {
+      return deletedAt == null;
+    }
+  }
+
+  private final Map<Integer, StoredReview> rowsById = new ConcurrentHashMap<>();
+  private final Map<Integer, Set<Integer>> idsByUser = new ConcurrentHashMap<>();
+  private final Map<String, Integer> idsByPair = new ConcurrentHashMap<>();
+  private final Runnable onChange;
+  private int nextId = 1;
+  private long nextCreatedOrder = 1;
+
+  public InMemoryReviewRepository() {
+    this(() -> {});
+  }
+
+  /**
+   * Creates a repository that calls {@code onChange} after every committed write, while writes
+   * are still blocked, e.g. to persist the rows.
+   */
+  InMemoryReviewRepository(Runnable onChange) {
+    this.onChange = onChange;
+  }
+
+  @Override
+  public void initialize(int seedUserId) {
+    // Nothing to create; users are not enforced as foreign keys here
+  }
+
+  @Override
+  public synchronized boolean insert(MovieReview review) throws SQLException {
+    String pair = pairKey(review);
+    Integer existingId = idsByPair.get(pair);
+    if (existingId != null) {
+      if (rowsById.get(existingId).isLive()) {
+        throw duplicate(review);
+      }
+      // Re-adding a movie from the trash replaces the trashed copy
+      remove(existingId);
+    }
+    review.setId(nextId++);
+    review.setVersion(0);
+    put(newRow(review));
+    onChange.run();
+    return true;
+  }
+
+  @Override
+  public synchronized List<UpsertOutcome> upsert(
+      List<MovieReview> reviews, Map<String, Integer> knownIds) {
+    List<UpsertOutcome> outcomes = new ArrayList<>(reviews.size());
+    for (MovieReview review : reviews) {
+      Integer existingId = idsByPair.get(pairKey(review));
+      if (existingId == null) {
+        review.setId(nextId++);
+        review.setVersion(0);
+        put(newRow(review));
+        outcomes.add(UpsertOutcome.INSERTED);
+        continue;
+      }
+      StoredReview stored = rowsById.get(existingId);
+      review.setId(existingId);
+      if (stored.isLive() && sameValues(stored.review(), review)) {
+        review.setVersion(stored.review().getVersion());
+        outcomes.add(UpsertOutcome.UNCHANGED);
+        continue;
+      }
+      review.setVersion(stored.review().getVersion() + 1);
+      MovieReview row = copy(review);
+      row.setCreatedAt(stored.review().getCreatedAt());
+      put(new StoredReview(row, stored.createdOrder(), Instant.now(), null));
+      outcomes.add(UpsertOutcome.UPDATED);
+    }
+    onChange.run();
+    return outcomes;
+  }
+
+  private static boolean sameValues(MovieReview a, MovieReview b) {
+    return Objects.equals(a.getTitle(), b.getTitle())
+        && Objects.equals(a.getDirector(), b.getDirector())
+        && Objects.equals(a.getGenre(), b.getGenre())
+        && a.getRating() == b.getRating()
+        && Objects.equals(a.getReview(), b.getReview())
+        && Objects.equals(a.getDateWatched(), b.getDateWatched())
+        && Objects.equals(a.getTicketImagePath(), b.getTicketImagePath())
+        && a.isFavorite() == b.isFavorite();
+  }
+
+  @Override
+  public synchronized UpdateResult update(MovieReview original, MovieReview updated)
+      throws SQLException {
+    StoredReview stored = liveRow(original.getUserId(), original.getId());
+    if (stored == null) {
+      return UpdateResult.NOT_FOUND;
+    }
+    if (stored.review().getVersion() != original.getVersion()) {
+      return UpdateResult.CONFLICT;
+    }
+    Integer holder = idsByPair.get(pairKey(updated));
+    if (holder != null && holder != original.getId()) {
+      throw duplicate(updated);
+    }
+    MovieReview row = copy(updated);
+    row.setId(original.getId());
+    row.setUserId(stored.review().getUserId());
+    row.setVersion(original.getVersion() + 1);
+    row.setCreatedAt(stored.review().getCreatedAt());
+    idsByPair.remove(pairKey(stored.review()));
+    put(new StoredReview(row, stored.createdOrder(), Instant.now(), null));
+    updated.setVersion(row.getVersion());
+    onChange.run();
+    return UpdateResult.UPDATED;
+  }
+
+  @Override
+  public synchronized UpdateResult updateFavorite(MovieReview review, boolean favorite) {
+    UpdateResult result = applyFavorite(review, favorite);
+    if (result == UpdateResult.UPDATED) {
+      onChange.run();
+    }
+    return result;
+  }
+
+  @Override
+  public synchronized List<UpdateResult> updateFavorites(List<MovieReview> reviews) {
+    List<UpdateResult> results = new ArrayList<>(reviews.size());
+    for (MovieReview review : reviews) {
+      results.add(applyFavorite(review, review.isFavorite()));
+    }
+    if (results.contains(UpdateResult.UPDATED)) {
+      onChange.run();
+    }
+    return results;
+  }
+
+  private UpdateResult applyFavorite(MovieReview review, boolean favorite) {
+    StoredReview stored = liveRow(review.getUserId(), review.getId());
+    if (stored == null) {
+      return UpdateResult.NOT_FOUND;
+    }
+    if (stored.review().getVersion() != review.getVersion()) {
+      return UpdateResult.CONFLICT;
+    }
+    MovieReview row = copy(stored.review());
+    row.setFavorite(favorite);
+    row.setVersion(row.getVersion() + 1);
+    put(new StoredReview(row, stored.createdOrder(), Instant.now(), null));
+    review.setFavorite(favorite);
+    review.setVersion(row.getVersion());
+    return UpdateResult.UPDATED;
+  }
+
+  @Override
+  public synchronized int softDelete(int userId, int reviewId) {
+    return softDelete(userId, List.of(reviewId));
+  }
+
+  @Override
+  public synchronized int softDelete(int userId, List<Integer> reviewIds) {
+    Instant now = Instant.now();
+    int deleted = 0;
+    for (Integer reviewId : reviewIds) {
+      StoredReview stored = liveRow(userId, reviewId);
+      if (stored != null) {
+        put(new StoredReview(stored.review(), stored.createdOrder(), now, now));
+        deleted++;
+      }
+    }
+    if (deleted > 0) {
+      onChange.run();
+    }
+    return deleted;
+  }
+
+  @Override
+  public synchronized List<Integer> restore(int userId, List<Integer> reviewIds) {
+    Instant now = Instant.now();
+    List<Integer> restored = new ArrayList<>();
+    for (Integer reviewId : reviewIds) {
+      StoredReview stored = rowsById.get(reviewId);
+      if (stored != null && !stored.isLive() && belongsTo(stored, userId)) {
+        put(new StoredReview(stored.review(), stored.createdOrder(), now, null));
+        restored.add(reviewId);
+      }
+    }
+    if (!restored.isEmpty()) {
+      onChange.run();
+    }
+    return restored;
+  }
+
+  @Override
+  public synchronized int purgeTrashed(int userId, Instant trashedBefore, int limit) {
+    List<StoredReview> expired =
+        rows(userId, stored -> !stored.isLive()
+            && (trashedBefore == null || stored.deletedAt().isBefore(trashedBefore)));
+    expired.sort(
+        Comparator.comparing(StoredReview::deletedAt)
+            .thenComparing(stored -> stored.review().getId()));
+    int purged = Math.min(limit, expired.size());
+    for (StoredReview stored : expired.subList(0, purged)) {
+      remove(stored.review().getId());
+    }
+    if (purged > 0) {
+      onChange.run();
+    }
+    return purged;
+  }
+
+  @Override
+  public synchronized void deleteAll() {
+    rowsById.clear();
+    idsByUser.clear();
+    idsByPair.clear();
+    onChange.run();
+  }
+
+  @Override
+  public MovieReview findById(int userId, int reviewId) {
+    StoredReview stored = liveRow(userId, reviewId);
+    return stored != null ? readRow(stored) : null;
+  }
+
+  @Override
+  public MovieReview findByTitleAndDirector(int userId, String title, String director) {
+    Integer reviewId = idsByPair.get(DuplicateReviewIndex.pairKey(userId, title, director));
+    return reviewId != null ? findById(userId, reviewId) : null;
+  }
+
+  @Override
+  public List<MovieReview> findAll(int userId) {
+    return newestFirst(rows(userId, StoredReview::isLive));
+  }
+
+  @Override
+  public List<MovieReview> findSummaries(int userId) {
+    return newestFirstSummaries(rows(userId, StoredReview::isLive));
+  }
+
+  @Override
+  public String findReviewBody(int userId, int reviewId) {
+    StoredReview stored = liveRow(userId, reviewId);
+    return stored != null ? stored.review().getReview() : null;
+  }
+
+  @Override
+  public List<MovieReview> findFavorites(int userId) {
+    return newestFirstSummaries(
+        rows(userId, stored -> stored.isLive() && stored.review().isFavorite()));
+  }
+
+  @Override
+  public List<MovieReview> findWithTickets(int userId) {
+    List<StoredReview> rows =
+        rows(userId, stored -> stored.isLive() && hasTicketImage(stored.review()));
+    rows.sort(
+        Comparator.comparing(
+                (StoredReview stored) -> stored.review().getDateWatched(),
+                Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()))
+            .thenComparing(stored -> stored.review().getId())
+            .reversed());
+    return summaries(rows);
+  }
+
+  @Override
+  public List<MovieReview> findTrashed(int userId) {
+    List<StoredReview> rows = rows(userId, stored -> !stored.isLive());
+    rows.sort(
+        Comparator.comparing(StoredReview::deletedAt)
+            .thenComparing(stored -> stored.review().getId())
+            .reversed());
+    return reviews(rows);
+  }
+
+  @Override
+  public List<MovieReview> search(int userId, String normalizedQuery) {
+    return newestFirstSummaries(
+        rows(userId, stored -> stored.isLive()
+            && SearchQueryCache.matches(stored.review(), normalizedQuery)));
+  }
+
+  @Override
+  public ReviewFilterResult filter(int userId, ReviewFilter filter) {
+    ReviewFacetIndex index = new ReviewFacetIndex();
+    index.rebuild(findSummaries(userId));
+    return index.filter(filter);
+  }
+
+  @Override
+  public ReviewDelta findChangedSince(int userId, Instant since) {
+    List<StoredReview> rows = rows(userId, stored -> !stored.updatedAt().isBefore(since));
+    rows.sort(
+        Comparator.comparing(StoredReview::updatedAt)
+            .thenComparing(stored -> stored.review().getId()));
+    List<MovieReview> changed = new ArrayList<>();
+    List<Integer> deletedIds = new ArrayList<>();
+    Instant watermark = since;
+    for (StoredReview stored : rows) {
+      if (stored.isLive()) {
+        changed.add(readRow(stored));
+      } else {
+        deletedIds.add(stored.review().getId());
+      }
+      watermark = stored.updatedAt();
+    }
+    return new ReviewDelta(changed, deletedIds, watermark);
+  }
+
+  @Override
+  public Instant currentTime(int userId) {
+    return Instant.now();
+  }
+
+  @Override
+  public double averageRating(int userId) {
+    return rows(userId, StoredReview::isLive).stream()
+        .mapToDouble(stored -> stored.review().getRating())
+        .average()
+        .orElse(0.0);
+  }
+
+  @Override
+  public int count(int userId) {
+    return rows(userId, StoredReview::isLive).size();
+  }
+
+  @Override
+  public int countWithTickets(int userId) {
+    return rows(userId, stored -> stored.isLive() && hasTicketImage(stored.review())).size();
+  }
+
+  /** Gets every stored row, trashed ones included, e.g. to persist them. */
+  Collection<StoredReview> snapshot() {
+    return List.copyOf(rowsById.values());
+  }
+
+  /** Replaces the contents with previously persisted rows, without calling back. */
+  synchronized void load(Collection<StoredReview> rows) {
+    rowsById.clear();
+    idsByUser.clear();
+    idsByPair.clear();
+    for (StoredReview stored : rows) {
+      put(stored);
+      nextId = Math.max(nextId, stored.review().getId() + 1);
+      nextCreatedOrder = Math.max(nextCreatedOrder, stored.createdOrder() + 1);
+    }
+  }
+
+  private void put(StoredReview stored) {
+    MovieReview review = stored.review();
+    rowsById.put(review.getId(), stored);
+    idsByUser.computeIfAbsent(review.getUserId(), userId -> ConcurrentHashMap.newKeySet())
+        .add(review.getId());
+    idsByPair.put(pairKey(review), review.getId());
+  }
+
+  private void remove(int reviewId) {
+    StoredReview stored = rowsById.remove(reviewId);
+    if (stored != null) {
+      Set<Integer> userIds = idsByUser.get(stored.review().getUserId());
+      if (userIds != null) {
+        userIds.remove(reviewId);
+      }
+      idsByPair.remove(pairKey(stored.review()), reviewId);
+    }
+  }
+
+  private StoredReview liveRow(int userId, int reviewId) {
+    StoredReview stored = rowsById.get(reviewId);
+    return stored != null && stored.isLive() && belongsTo(stored, userId) ? stored : null;
+  }
+
+  private static boolean belongsTo(StoredReview stored, int userId) {
+    return userId <= 0 || stored.review().getUserId() == userId;
+  }
+
+  private List<StoredReview> rows(int userId, Predicate<StoredReview> condition) {
+    Collection<StoredReview> candidates;
+    if (userId > 0) {
+      candidates = new ArrayList<>();
+      for (Integer reviewId : idsByUser.getOrDefault(userId, Set.of())) {
+        StoredReview stored = rowsById.get(reviewId);
+        if (stored != null) {
+          candidates.add(stored);
+        }
+      }
+    } else {
+      candidates = rowsById.values();
+    }
+    List<StoredReview> matches = new ArrayList<>();
+    for (StoredReview stored : candidates) {
+      if (condition.test(stored)) {
+        matches.add(stored);
+      }
+    }
+    return matches;
+  }
+
+  private static List<MovieReview> newestFirst(List<StoredReview> rows) {
+    rows.sort(Comparator.comparingLong(StoredReview::createdOrder).reversed());
+    return reviews(rows);
+  }
+
+  private static List<MovieReview> newestFirstSummaries(List<StoredReview> rows) {
+    rows.sort(Comparator.comparingLong(StoredReview::createdOrder).reversed());
+    return summaries(rows);
+  }
+
+  private static List<MovieReview> summaries(List<StoredReview> rows) {
+    List<MovieReview> summaries = new ArrayList<>(rows.size());
+    for (StoredReview stored : rows) {
+      summaries.add(stored.review().toSummary());
+    }
+    return summaries;
+  }
+
+  private static List<MovieReview> reviews(List<StoredReview> rows) {
+    List<MovieReview> reviews = new ArrayList<>(rows.size());
+    for (StoredReview stored : rows) {
+      reviews.add(readRow(stored));
+    }
+    return reviews;
+  }
+
+  private static String pairKey(MovieReview review) {
+    return DuplicateReviewIndex.pairKey(review.getUserId(), review.getTitle(), review.getDirector());
+  }
+
+  private static boolean hasTicketImage(MovieReview review) {
+    return review.getTicketImagePath() != null && !review.getTicketImagePath().isEmpty();
+  }
+
+  private static SQLException duplicate(MovieReview review) {
+    return new SQLIntegrityConstraintViolationException(
+        "Duplicate entry for " + review.getTitle() + " by " + review.getDirector(),
+        SQLSTATE_DUPLICATE_KEY);
+  }
+
+  // Callers own the objects they pass and get back; stored rows are never shared with them
+  private StoredReview newRow(MovieReview review) {
+    Instant now = Instant.now();
+    MovieReview row = copy(review);
+    row.setCreatedAt(now);
+    return new StoredReview(row, nextCreatedOrder++, now, null);
+  }
+
+  private static MovieReview readRow(StoredReview stored) {
+    MovieReview review = copy(stored.review());
+    review.setDeletedAt(stored.deletedAt());
+    return review;
+  }
+
+  static MovieReview copy(MovieReview review) {
+    return MovieReview.builder()
+        .setId(review.getId())
+        .setUserId(review.getUserId())
+        .setTitle(review.getTitle())
+        .setDirector(review.getDirector())
+        .setGenre(review.getGenre())
+        .setRating(review.getRating())
+        .setReview(review.getReview())
+        .setDateWatched(review.getDateWatched())
+        .setTicketImagePath(review.getTicketImagePath())
+        .setFavorite(review.isFavorite())
+        .setVersion(review.getVersion())
+        .setCreatedAt(review.getCreatedAt())
+        .build();
+  }
+}
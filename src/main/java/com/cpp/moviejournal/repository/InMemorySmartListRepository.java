@@ -0,0 +1,92 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.search.ReviewFilter;
+import com.cpp.moviejournal.search.SmartList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Smart list storage in process memory. Smart lists are immutable, so they are stored and
+ * handed out as they are. Names are unique per user, matched exactly. Reads run without
+ * locking; writes are serialized.
+ */
+public class InMemorySmartListRepository implements SmartListRepository {
+  private final Map<Integer, SmartList> listsById = new ConcurrentHashMap<>();
+  private final Runnable onChange;
+  private int nextId = 1;
+
+  public InMemorySmartListRepository() {
+    this(() -> {});
+  }
+
+  /**
+   * Creates a repository that calls {@code onChange} after every write, while writes are still
+   * blocked, e.g. to persist the lists.
+   */
+  InMemorySmartListRepository(Runnable onChange) {
+    this.onChange = onChange;
+  }
+
+  @Override
+  public void initialize() {
+    // Nothing to create
+  }
+
+  @Override
+  public List<SmartList> findByUser(int userId) {
+    List<SmartList> lists = new ArrayList<>();
+    for (SmartList list : listsById.values()) {
+      if (list.getUserId() == userId) {
+        lists.add(list);
+      }
+    }
+    lists.sort(Comparator.comparing(SmartList::getName));
+    return lists;
+  }
+
+  @Override
+  public synchronized SmartList save(int userId, String name, ReviewFilter filter) {
+    int id = nextId;
+    for (SmartList list : listsById.values()) {
+      if (list.getUserId() == userId && list.getName().equals(name)) {
+        id = list.getId();
+      }
+    }
+    if (id == nextId) {
+      nextId++;
+    }
+    SmartList saved = new SmartList(id, userId, name, filter);
+    listsById.put(id, saved);
+    onChange.run();
+    return saved;
+  }
+
+  @Override
+  public synchronized boolean delete(int listId, int userId) {
+    SmartList list = listsById.get(listId);
+    if (list == null || list.getUserId() != userId) {
+      return false;
+    }
+    listsById.remove(listId);
+    onChange.run();
+    return true;
+  }
+
+  /** Gets every stored list, e.g. to persist them. */
+  Collection<SmartList> snapshot() {
+    return new ArrayList<>(listsById.values());
+  }
+
+  /** Replaces the contents with previously persisted lists, without calling back. */
+  synchronized void load(Collection<SmartList> lists) {
+    listsById.clear();
+    for (SmartList list : lists) {
+      listsById.put(list.getId(), list);
+      nextId = Math.max(nextId, list.getId() + 1);
+    }
+  }
+}
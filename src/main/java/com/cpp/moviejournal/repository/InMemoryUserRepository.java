@@ -0,0 +1,201 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.model.User;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * User storage in process memory. Usernames and emails are unique ignoring case, like MySQL's
+ * default collation. Reads run without locking; writes are serialized.
+ */
+public class InMemoryUserRepository implements UserRepository {
+  private static final String SQLSTATE_DUPLICATE_KEY = "23000";
+
+  private final Map<Integer, User> usersById = new ConcurrentHashMap<>();
+  private final Map<String, Integer> idsByUsername = new ConcurrentHashMap<>();
+  private final Map<String, Integer> idsByEmail = new ConcurrentHashMap<>();
+  private final Runnable onChange;
+  private int nextId = 1;
+
+  public InMemoryUserRepository() {
+    this(() -> {});
+  }
+
+  /**
+   * Creates a repository that calls {@code onChange} after every committed write, while writes
+   * are still blocked, e.g. to persist the users.
+   */
+  InMemoryUserRepository(Runnable onChange) {
+    this.onChange = onChange;
+  }
+
+  @Override
+  public void initialize() {
+    // Nothing to create
+  }
+
+  @Override
+  public synchronized boolean insert(User user) throws SQLException {
+    if (idsByUsername.containsKey(fold(user.getUsername()))
+        || idsByEmail.containsKey(fold(user.getEmail()))) {
+      throw new SQLIntegrityConstraintViolationException(
+          "Duplicate entry for " + user.getUsername(), SQLSTATE_DUPLICATE_KEY);
+    }
+    user.setId(nextId++);
+    put(copy(user));
+    onChange.run();
+    return true;
+  }
+
+  @Override
+  public User findByUsername(String username, boolean activeOnly) {
+    return find(idsByUsername.get(fold(username)), activeOnly);
+  }
+
+  @Override
+  public User findByEmail(String email, boolean activeOnly) {
+    return find(idsByEmail.get(fold(email)), activeOnly);
+  }
+
+  private User find(Integer userId, boolean activeOnly) {
+    User user = userId != null ? usersById.get(userId) : null;
+    return user != null && (user.isActive() || !activeOnly) ? copy(user) : null;
+  }
+
+  @Override
+  public boolean existsByUsername(String username) {
+    return idsByUsername.containsKey(fold(username));
+  }
+
+  @Override
+  public boolean existsByEmail(String email) {
+    return idsByEmail.containsKey(fold(email));
+  }
+
+  @Override
+  public boolean existsOther(int excludedUserId, String username, String email) {
+    Integer byUsername = idsByUsername.get(fold(username));
+    Integer byEmail = idsByEmail.get(fold(email));
+    return (byUsername != null && byUsername != excludedUserId)
+        || (byEmail != null && byEmail != excludedUserId);
+  }
+
+  @Override
+  public List<User> findAll() {
+    List<User> users = new ArrayList<>();
+    for (User user : usersById.values()) {
+      users.add(copy(user));
+    }
+    users.sort(
+        Comparator.comparing(User::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(User::getId)
+            .reversed());
+    return users;
+  }
+
+  @Override
+  public synchronized boolean updatePassword(String username, String hashedPassword) {
+    return modify(idsByUsername.get(fold(username)), user -> user.setPassword(hashedPassword));
+  }
+
+  @Override
+  public synchronized boolean updateProfile(User user) throws SQLException {
+    User stored = usersById.get(user.getId());
+    if (stored == null) {
+      return false;
+    }
+    if (existsOther(user.getId(), user.getUsername(), user.getEmail())) {
+      throw new SQLIntegrityConstraintViolationException(
+          "Duplicate entry for " + user.getUsername(), SQLSTATE_DUPLICATE_KEY);
+    }
+    idsByUsername.remove(fold(stored.getUsername()));
+    idsByEmail.remove(fold(stored.getEmail()));
+    return modify(
+        user.getId(),
+        updated -> {
+          updated.setUsername(user.getUsername());
+          updated.setEmail(user.getEmail());
+        });
+  }
+
+  @Override
+  public synchronized boolean updateLastLogin(int userId, LocalDateTime lastLogin) {
+    return modify(userId, user -> user.setLastLogin(lastLogin));
+  }
+
+  @Override
+  public synchronized boolean deactivate(String username) {
+    return modify(idsByUsername.get(fold(username)), user -> user.setActive(false));
+  }
+
+  @Override
+  public synchronized void deleteAll() {
+    usersById.clear();
+    idsByUsername.clear();
+    idsByEmail.clear();
+    onChange.run();
+  }
+
+  /** Gets every stored user, e.g. to persist them. */
+  Collection<User> snapshot() {
+    List<User> users = new ArrayList<>();
+    for (User user : usersById.values()) {
+      users.add(copy(user));
+    }
+    return users;
+  }
+
+  /** Replaces the contents with previously persisted users, without calling back. */
+  synchronized void load(Collection<User> users) {
+    usersById.clear();
+    idsByUsername.clear();
+    idsByEmail.clear();
+    for (User user : users) {
+      put(copy(user));
+      nextId = Math.max(nextId, user.getId() + 1);
+    }
+  }
+
+  // Stored users are replaced rather than changed so readers never see half a write
+  private boolean modify(Integer userId, Consumer<User> change) {
+    User stored = userId != null ? usersById.get(userId) : null;
+    if (stored == null) {
+      return false;
+    }
+    User updated = copy(stored);
+    change.accept(updated);
+    put(updated);
+    onChange.run();
+    return true;
+  }
+
+  private void put(User user) {
+    usersById.put(user.getId(), user);
+    idsByUsername.put(fold(user.getUsername()), user.getId());
+    idsByEmail.put(fold(user.getEmail()), user.getId());
+  }
+
+  private static String fold(String value) {
+    return value != null ? value.toLowerCase(Locale.ROOT) : "";
+  }
+
+  static User copy(User user) {
+    return new User(
+        user.getId(),
+        user.getUsername(),
+        user.getEmail(),
+        user.getPassword(),
+        user.getCreatedAt(),
+        user.getLastLogin(),
+        user.isActive());
+  }
+}
@@ -0,0 +1,1349 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.manager.ReviewDelta;
+import com.cpp.moviejournal.manager.UpdateResult;
+import com.cpp.moviejournal.manager.UpsertOutcome;
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.search.DuplicateReviewIndex;
+import com.cpp.moviejournal.search.ReviewFilter;
+import com.cpp.moviejournal.search.ReviewFilterQuery;
+import com.cpp.moviejournal.search.ReviewFilterResult;
+import com.cpp.moviejournal.util.DatabaseConnection;
+import com.cpp.moviejournal.util.ReadYourWritesSession;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Review storage on the MySQL server configured in {@link DatabaseConnection}. Writes go to the
+ * primary; list, search, filter and statistics reads may go to a read replica. Single-row
+ * lookups stay on the primary because callers use them to resolve conflicts before writing, and
+ * so do change polls, whose watermark would otherwise skip rows a lagging replica has not
+ * applied yet.
+ *
+ * <p>A repository for one shard of {@code DB_SHARD_URLS} reads and writes that shard only; see
+ * {@link ShardedReviewRepository}.
+ */
+public class MySqlReviewRepository implements ReviewRepository {
+  private static final String TABLE_MOVIE_REVIEWS = "movie_reviews";
+  // Composite indexes backing the filter query's per-user range and IN predicates
+  private static final String[][] MOVIE_REVIEWS_INDEXES = {
+    {"idx_user_date_watched", "user_id, date_watched"},
+    {"idx_user_genre", "user_id, genre"},
+    {"idx_user_rating", "user_id, rating"},
+    {"idx_user_deleted_at", "user_id, deleted_at"},
+    {"idx_user_updated_at", "user_id, updated_at"},
+    {"idx_user_director_id", "user_id, director_id"},
+    {"idx_user_genre_id", "user_id, genre_id"},
+    // Lets genre filters and counts test the mask without visiting the rows
+    {"idx_user_genre_mask", "user_id, genre_mask"}
+  };
+  private static final String COLUMN_TICKET_IMAGE_PATH = "ticket_image_path";
+  private static final String COLUMN_IS_FAVORITE = "is_favorite";
+  private static final String COLUMN_DELETED_AT = "deleted_at";
+  private static final String COLUMN_VERSION = "version";
+  private static final String COLUMN_MOVIE_ID = "movie_id";
+  private static final String COLUMN_DIRECTOR_ID = "director_id";
+  private static final String COLUMN_GENRE_ID = "genre_id";
+  private static final String COLUMN_GENRE_MASK = "genre_mask";
+  private static final String[] NAME_COLUMNS = {"title", "director", "genre"};
+  // One review per movie and user by catalog key; rows not linked yet have NULL keys, which
+  // never clash
+  private static final String UNIQUE_USER_MOVIE_INDEX = "unique_user_movie";
+  private static final String UNIQUE_USER_NAMES_INDEX = "unique_user_movie_director";
+
+  private static final String CREATE_MOVIE_REVIEWS_TABLE_SQL =
+      """
+      CREATE TABLE IF NOT EXISTS movie_reviews (
+          id INT AUTO_INCREMENT PRIMARY KEY,
+          user_id INT NOT NULL,
+          title VARCHAR(255) NOT NULL,
+          director VARCHAR(255) NOT NULL,
+          genre VARCHAR(100) NOT NULL,
+          rating DECIMAL(2,1) NOT NULL CHECK (rating >= 0 AND rating <= 5),
+          review TEXT,
+          date_watched DATE NOT NULL,
+          ticket_image_path VARCHAR(500),
+          is_favorite BOOLEAN DEFAULT FALSE,
+          deleted_at TIMESTAMP NULL DEFAULT NULL,
+          version INT NOT NULL DEFAULT 0,
+          movie_id INT NULL,
+          director_id INT NULL,
+          genre_id INT NULL,
+          genre_mask INT NULL,
+          created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+          updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+          FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+          UNIQUE KEY unique_user_movie_director (user_id, title, director),
+          UNIQUE KEY unique_user_movie (user_id, movie_id)
+      )
+      """;
+
+  // Shards hold no users table to reference; users are only ever deactivated, never deleted
+  private static final String CREATE_SHARD_MOVIE_REVIEWS_TABLE_SQL =
+      CREATE_MOVIE_REVIEWS_TABLE_SQL.replace(
+          "FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,", "");
+
+  private static final String CHECK_USER_EXISTS_SQL = "SELECT COUNT(*) FROM users WHERE id = ?";
+  private static final String INSERT_TEST_USER_SQL =
+      "INSERT INTO users (id, username, email, password, created_at, is_active) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP, TRUE)";
+
+  private static final String INSERT_REVIEW_SQL =
+      "INSERT INTO movie_reviews (user_id, title, director, genre, rating, review, date_watched, ticket_image_path, is_favorite, movie_id, director_id, genre_id, genre_mask) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  // LAST_INSERT_ID(id) makes the existing row's ID come back as the generated key on update.
+  // The version is compared before the other assignments overwrite the columns it checks, and
+  // only advances when something actually changes, so unchanged rows still report UNCHANGED.
+  private static final String UPSERT_REVIEW_SQL =
+      INSERT_REVIEW_SQL
+          + " ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id),"
+          + " version = IF(title <=> VALUES(title) AND director <=> VALUES(director)"
+          + " AND genre <=> VALUES(genre) AND rating <=> VALUES(rating) AND review <=> VALUES(review)"
+          + " AND date_watched <=> VALUES(date_watched) AND ticket_image_path <=> VALUES(ticket_image_path)"
+          + " AND is_favorite <=> VALUES(is_favorite) AND deleted_at IS NULL, version, version + 1),"
+          + " title = VALUES(title), director = VALUES(director),"
+          + " genre = VALUES(genre), rating = VALUES(rating), review = VALUES(review),"
+          + " date_watched = VALUES(date_watched), ticket_image_path = VALUES(ticket_image_path),"
+          + " is_favorite = VALUES(is_favorite), deleted_at = NULL, movie_id = VALUES(movie_id),"
+          + " director_id = VALUES(director_id), genre_id = VALUES(genre_id),"
+          + " genre_mask = VALUES(genre_mask)";
+  // Catalog-only rows carry no names to compare, so changed names show in the keys instead
+  private static final String CATALOG_UPSERT_REVIEW_SQL =
+      UPSERT_REVIEW_SQL.replace(
+          "version = IF(",
+          "version = IF(movie_id <=> VALUES(movie_id) AND genre_id <=> VALUES(genre_id) AND ");
+  // MySQL reports 2 affected rows when ON DUPLICATE KEY UPDATE changed an existing row
+  private static final int UPSERT_ROWS_UPDATED = 2;
+
+  // Deletes only move reviews to the trash; TrashPurger removes the rows later
+  private static final String SOFT_DELETE_REVIEW_SQL =
+      "UPDATE movie_reviews SET deleted_at = CURRENT_TIMESTAMP WHERE id = ? AND user_id = ? AND deleted_at IS NULL";
+
+  private static final String BULK_SOFT_DELETE_SQL_PREFIX =
+      "UPDATE movie_reviews SET deleted_at = CURRENT_TIMESTAMP WHERE deleted_at IS NULL AND user_id = ?";
+
+  private static final String SELECT_TRASHED_IDS_SQL_PREFIX =
+      "SELECT id FROM movie_reviews WHERE deleted_at IS NOT NULL AND user_id = ?";
+
+  private static final String BULK_RESTORE_SQL_PREFIX =
+      "UPDATE movie_reviews SET deleted_at = NULL WHERE deleted_at IS NOT NULL AND user_id = ?";
+
+  // Keeps each bulk statement well under driver parameter limits and short on row locks
+  static final int BULK_CHUNK_SIZE = 500;
+
+  static final int NO_SHARD = -1;
+
+  private static final String SELECT_TRASHED_REVIEWS_SQL =
+      "SELECT * FROM movie_reviews WHERE deleted_at IS NOT NULL ORDER BY deleted_at DESC, id DESC";
+
+  private static final String SELECT_TRASHED_REVIEWS_BY_USER_SQL =
+      "SELECT * FROM movie_reviews WHERE user_id = ? AND deleted_at IS NOT NULL ORDER BY deleted_at DESC, id DESC";
+
+  // A trashed review still holds its (title, director) pair in the unique key
+  private static final String PURGE_TRASHED_DUPLICATE_SQL =
+      "DELETE FROM movie_reviews WHERE user_id = ? AND title = ? AND director = ? AND deleted_at IS NOT NULL";
+
+  private static final String PURGE_TRASHED_DUPLICATE_BY_MOVIE_SQL =
+      "DELETE FROM movie_reviews WHERE user_id = ? AND movie_id = ? AND deleted_at IS NOT NULL";
+
+  // Updates only apply to the version the caller read, so concurrent edits are detected
+  // instead of silently overwriting each other
+  private static final String UPDATE_REVIEW_SQL =
+      "UPDATE movie_reviews SET title = ?, director = ?, genre = ?, rating = ?, review = ?, date_watched = ?, ticket_image_path = ?, is_favorite = ?, movie_id = ?, director_id = ?, genre_id = ?, genre_mask = ?, version = version + 1 WHERE id = ? AND user_id = ? AND version = ? AND deleted_at IS NULL";
+
+  private static final String UPDATE_FAVORITE_STATUS_SQL =
+      "UPDATE movie_reviews SET is_favorite = ?, version = version + 1 WHERE id = ? AND user_id = ? AND version = ? AND deleted_at IS NULL";
+
+  // Soft deletes bump updated_at too, so trashed rows come back as tombstones
+  private static final String SELECT_CHANGED_REVIEWS_SQL =
+      "SELECT * FROM movie_reviews WHERE updated_at >= ? ORDER BY updated_at, id";
+
+  private static final String SELECT_CHANGED_REVIEWS_BY_USER_SQL =
+      "SELECT * FROM movie_reviews WHERE user_id = ? AND updated_at >= ? ORDER BY updated_at, id";
+
+  private static final String SELECT_CURRENT_TIME_SQL = "SELECT CURRENT_TIMESTAMP";
+
+  private static final String SELECT_REVIEW_BY_ID_SQL =
+      "SELECT * FROM movie_reviews WHERE id = ? AND deleted_at IS NULL";
+
+  private static final String SELECT_REVIEW_BY_ID_AND_USER_SQL =
+      "SELECT * FROM movie_reviews WHERE id = ? AND user_id = ? AND deleted_at IS NULL";
+
+  private static final String SELECT_REVIEW_BY_TITLE_AND_DIRECTOR_SQL =
+      "SELECT * FROM movie_reviews WHERE user_id = ? AND title = ? AND director = ? AND deleted_at IS NULL";
+
+  private static final String SELECT_ALL_REVIEWS_SQL = "SELECT * FROM movie_reviews WHERE deleted_at IS NULL ORDER BY created_at DESC";
+
+  private static final String SELECT_REVIEWS_BY_USER_SQL =
+      "SELECT * FROM movie_reviews WHERE user_id = ? AND deleted_at IS NULL ORDER BY created_at DESC";
+
+  // List views only show a snippet of the review text, so summaries leave the rest on the server.
+  // Names come as catalog keys, resolved through the CatalogDictionary; rows not backfilled yet
+  // still send the names themselves.
+  private static final String SUMMARY_NAME_COLUMNS =
+      " IF(movie_id IS NULL, title, NULL) AS title,"
+          + " IF(director_id IS NULL, director, NULL) AS director,"
+          + " IF(genre_id IS NULL, genre, NULL) AS genre,";
+  private static final String CATALOG_SUMMARY_NAME_COLUMNS =
+      " NULL AS title, NULL AS director, NULL AS genre,";
+  private static final String SUMMARY_COLUMNS =
+      "id, user_id, movie_id, director_id, genre_id,"
+          + SUMMARY_NAME_COLUMNS
+          + " rating, LEFT(review, "
+          + (MovieReview.SNIPPET_LENGTH + 1)
+          + ") AS review, date_watched, ticket_image_path, is_favorite, version, created_at";
+
+  private static final String SEARCH_NAMES_SQL =
+      "(LOWER(title) LIKE ? OR LOWER(director) LIKE ? OR LOWER(genre) LIKE ?)";
+
+  // Matches the query against the catalog tables, which hold each name once, instead of the rows
+  private static final String SEARCH_CATALOG_SQL =
+      "(movie_id IN (SELECT id FROM movies WHERE LOWER(title) LIKE ?) OR director_id IN (SELECT id FROM directors WHERE LOWER(name) LIKE ?) OR genre_id IN (SELECT id FROM genres WHERE LOWER(name) LIKE ?))";
+
+  private static final String SELECT_UNCATALOGED_REVIEWS_SQL =
+      "SELECT id, title, director, genre FROM movie_reviews WHERE id > ? AND movie_id IS NULL ORDER BY id LIMIT ?";
+
+  private static final String SELECT_UNCATALOGED_REVIEWS_BY_USER_SQL =
+      "SELECT id, title, director, genre FROM movie_reviews WHERE id > ? AND movie_id IS NULL AND user_id = ? ORDER BY id LIMIT ?";
+
+  // Skips rows an older app version renamed since they were read; the next backfill gets them
+  private static final String BACKFILL_CATALOG_IDS_SQL =
+      "UPDATE movie_reviews SET movie_id = ?, director_id = ?, genre_id = ? WHERE id = ? AND movie_id IS NULL AND BINARY title = ? AND BINARY director = ? AND BINARY genre = ?";
+
+  // Rows not fully linked keep their names for the next backfill. Each statement commits on its
+  // own, so clearing a large table never holds many row locks at once.
+  private static final String CLEAR_CATALOG_NAMES_SQL =
+      "UPDATE movie_reviews SET title = NULL, director = NULL, genre = NULL WHERE title IS NOT NULL AND movie_id IS NOT NULL AND director_id IS NOT NULL AND genre_id IS NOT NULL AND genre_mask IS NOT NULL LIMIT ?";
+
+  private static final String CLEAR_CATALOG_NAMES_BY_USER_SQL =
+      "UPDATE movie_reviews SET title = NULL, director = NULL, genre = NULL WHERE title IS NOT NULL AND movie_id IS NOT NULL AND director_id IS NOT NULL AND genre_id IS NOT NULL AND genre_mask IS NOT NULL AND user_id = ? LIMIT ?";
+
+  // A NULL mask marks rows written before genre masks existed; 0 means no registry genre
+  private static final String SELECT_UNMASKED_REVIEWS_SQL =
+      "SELECT id, genre FROM movie_reviews WHERE id > ? AND genre_mask IS NULL ORDER BY id LIMIT ?";
+
+  private static final String SELECT_UNMASKED_REVIEWS_BY_USER_SQL =
+      "SELECT id, genre FROM movie_reviews WHERE id > ? AND genre_mask IS NULL AND user_id = ? ORDER BY id LIMIT ?";
+
+  private static final String BACKFILL_GENRE_MASK_SQL =
+      "UPDATE movie_reviews SET genre_mask = ? WHERE id = ? AND genre_mask IS NULL AND BINARY genre = ?";
+
+  private static final String SELECT_ALL_REVIEW_SUMMARIES_SQL =
+      "SELECT " + SUMMARY_COLUMNS + " FROM movie_reviews WHERE deleted_at IS NULL ORDER BY created_at DESC";
+
+  private static final String SELECT_REVIEW_SUMMARIES_BY_USER_SQL =
+      "SELECT " + SUMMARY_COLUMNS + " FROM movie_reviews WHERE user_id = ? AND deleted_at IS NULL ORDER BY created_at DESC";
+
+  private static final String SELECT_REVIEW_BODY_SQL =
+      "SELECT review FROM movie_reviews WHERE id = ? AND deleted_at IS NULL";
+
+  private static final String SELECT_REVIEW_BODY_BY_USER_SQL =
+      "SELECT review FROM movie_reviews WHERE id = ? AND user_id = ? AND deleted_at IS NULL";
+
+  private static final String SELECT_FAVORITE_REVIEWS_SQL =
+      "SELECT " + SUMMARY_COLUMNS + " FROM movie_reviews WHERE is_favorite = TRUE AND deleted_at IS NULL ORDER BY created_at DESC";
+
+  private static final String SELECT_FAVORITE_REVIEWS_BY_USER_SQL =
+      "SELECT " + SUMMARY_COLUMNS + " FROM movie_reviews WHERE is_favorite = TRUE AND user_id = ? AND deleted_at IS NULL ORDER BY created_at DESC";
+
+  private static final String SELECT_TICKET_REVIEWS_SQL =
+      "SELECT " + SUMMARY_COLUMNS + " FROM movie_reviews WHERE ticket_image_path IS NOT NULL AND ticket_image_path <> '' AND deleted_at IS NULL ORDER BY date_watched DESC, id DESC";
+
+  private static final String SELECT_TICKET_REVIEWS_BY_USER_SQL =
+      "SELECT " + SUMMARY_COLUMNS + " FROM movie_reviews WHERE ticket_image_path IS NOT NULL AND ticket_image_path <> '' AND user_id = ? AND deleted_at IS NULL ORDER BY date_watched DESC, id DESC";
+
+  private static final String DELETE_ALL_REVIEWS_SQL = "DELETE FROM movie_reviews";
+
+  private static final String SELECT_AVG_RATING_SQL = "SELECT AVG(rating) FROM movie_reviews WHERE deleted_at IS NULL";
+
+  private static final String SELECT_AVG_RATING_BY_USER_SQL =
+      "SELECT AVG(rating) FROM movie_reviews WHERE user_id = ? AND deleted_at IS NULL";
+
+  private static final String SELECT_TOTAL_REVIEWS_SQL = "SELECT COUNT(*) FROM movie_reviews WHERE deleted_at IS NULL";
+
+  private static final String SELECT_TOTAL_REVIEWS_BY_USER_SQL =
+      "SELECT COUNT(*) FROM movie_reviews WHERE user_id = ? AND deleted_at IS NULL";
+
+  private static final String SELECT_THEATER_VISIT_COUNT_SQL =
+      "SELECT COUNT(*) FROM movie_reviews WHERE ticket_image_path IS NOT NULL AND ticket_image_path <> '' AND deleted_at IS NULL";
+
+  private static final String SELECT_THEATER_VISIT_COUNT_BY_USER_SQL =
+      "SELECT COUNT(*) FROM movie_reviews WHERE ticket_image_path IS NOT NULL AND ticket_image_path <> '' AND user_id = ? AND deleted_at IS NULL";
+
+  // Writes pin this repository's reads to the primary for a while; see ReadYourWritesSession
+  private final ReadYourWritesSession session = new ReadYourWritesSession();
+  private final CatalogDictionary catalog = new CatalogDictionary();
+  private final int shard;
+  private final boolean catalogOnly;
+
+  /** Creates a repository on the primary at {@code DB_URL}. */
+  public MySqlReviewRepository() {
+    this(NO_SHARD);
+  }
+
+  /**
+   * Creates a repository on one review shard.
+   *
+   * @param shard the shard's position in {@code DB_SHARD_URLS}, or {@link #NO_SHARD}
+   */
+  MySqlReviewRepository(int shard) {
+    this.shard = shard;
+    this.catalogOnly = DatabaseConnection.isCatalogOnly();
+  }
+
+  @Override
+  public void initialize(int seedUserId) throws SQLException {
+    if (shard != NO_SHARD) {
+      try (Connection conn = primaryConnection();
+          PreparedStatement stmt = conn.prepareStatement(CREATE_SHARD_MOVIE_REVIEWS_TABLE_SQL)) {
+        CatalogDictionary.createTables(conn);
+        stmt.executeUpdate();
+        ensureColumnsExist(conn);
+        ensureIndexesExist(conn);
+        if (catalogOnly) {
+          contractSchema(conn);
+        }
+      }
+      return;
+    }
+    try (Connection conn = primaryConnection()) {
+      // Reviews reference users, so their table has to exist first
+      MySqlUserRepository.createUsersTable(conn);
+      CatalogDictionary.createTables(conn);
+      createMovieReviewsTable(conn);
+      seedTestUserIfNeeded(conn, seedUserId);
+      ensureColumnsExist(conn);
+      ensureIndexesExist(conn);
+      if (catalogOnly) {
+        contractSchema(conn);
+      }
+    }
+  }
+
+  private void createMovieReviewsTable(Connection conn) throws SQLException {
+    try (PreparedStatement stmt = conn.prepareStatement(CREATE_MOVIE_REVIEWS_TABLE_SQL)) {
+      stmt.executeUpdate();
+    }
+  }
+
+  private void seedTestUserIfNeeded(Connection conn, int userId) throws SQLException {
+    if (userId > 0 && !userExists(conn, userId)) {
+      insertTestUser(conn, userId);
+    }
+  }
+
+  private boolean userExists(Connection conn, int userId) throws SQLException {
+    try (PreparedStatement checkStmt = conn.prepareStatement(CHECK_USER_EXISTS_SQL)) {
+      checkStmt.setInt(1, userId);
+      try (ResultSet rs = checkStmt.executeQuery()) {
+        return rs.next() && rs.getInt(1) > 0;
+      }
+    }
+  }
+
+  private void insertTestUser(Connection conn, int userId) throws SQLException {
+    try (PreparedStatement insertStmt = conn.prepareStatement(INSERT_TEST_USER_SQL)) {
+      insertStmt.setInt(1, userId);
+      insertStmt.setString(2, "test_user_" + userId);
+      insertStmt.setString(3, "test_" + userId + "@example.com");
+      insertStmt.setString(4, "password");
+      insertStmt.executeUpdate();
+    }
+  }
+
+  private void ensureColumnsExist(Connection conn) throws SQLException {
+    ensureColumnExists(conn, TABLE_MOVIE_REVIEWS, COLUMN_TICKET_IMAGE_PATH, "VARCHAR(500)");
+    ensureColumnExists(conn, TABLE_MOVIE_REVIEWS, COLUMN_IS_FAVORITE, "BOOLEAN DEFAULT FALSE");
+    ensureColumnExists(conn, TABLE_MOVIE_REVIEWS, COLUMN_DELETED_AT, "TIMESTAMP NULL DEFAULT NULL");
+    ensureColumnExists(conn, TABLE_MOVIE_REVIEWS, COLUMN_VERSION, "INT NOT NULL DEFAULT 0");
+    ensureColumnExists(conn, TABLE_MOVIE_REVIEWS, COLUMN_MOVIE_ID, "INT NULL");
+    ensureColumnExists(conn, TABLE_MOVIE_REVIEWS, COLUMN_DIRECTOR_ID, "INT NULL");
+    ensureColumnExists(conn, TABLE_MOVIE_REVIEWS, COLUMN_GENRE_ID, "INT NULL");
+    ensureColumnExists(conn, TABLE_MOVIE_REVIEWS, COLUMN_GENRE_MASK, "INT NULL");
+  }
+
+  private void ensureColumnExists(
+      Connection conn, String tableName, String columnName, String columnDefinition)
+      throws SQLException {
+    DatabaseMetaData metaData = conn.getMetaData();
+    boolean exists =
+        columnExists(metaData, tableName, columnName)
+            || columnExists(metaData, tableName.toUpperCase(), columnName.toUpperCase());
+    if (!exists) {
+      String alterSQL =
+          "ALTER TABLE " + tableName + " ADD COLUMN " + columnName + " " + columnDefinition;
+      try (PreparedStatement alterStmt = conn.prepareStatement(alterSQL)) {
+        alterStmt.executeUpdate();
+      }
+    }
+  }
+
+  private void ensureIndexesExist(Connection conn) throws SQLException {
+    for (String[] index : MOVIE_REVIEWS_INDEXES) {
+      ensureIndexExists(conn, TABLE_MOVIE_REVIEWS, index[0], index[1]);
+    }
+  }
+
+  private void ensureIndexExists(
+      Connection conn, String tableName, String indexName, String columns) throws SQLException {
+    ensureIndexExists(conn, tableName, indexName, columns, "INDEX");
+  }
+
+  private void ensureIndexExists(
+      Connection conn, String tableName, String indexName, String columns, String indexType)
+      throws SQLException {
+    if (!indexExists(conn.getMetaData(), tableName, indexName)) {
+      String createSQL =
+          "CREATE " + indexType + " " + indexName + " ON " + tableName + " (" + columns + ")";
+      try (PreparedStatement createStmt = conn.prepareStatement(createSQL)) {
+        createStmt.executeUpdate();
+      }
+    }
+  }
+
+  /**
+   * Adds the unique key on {@code (user_id, movie_id)} to a table created before it existed.
+   * Fails if an older app version renamed a review without relinking it, leaving two rows of a
+   * user on one movie key.
+   */
+  private void ensureCatalogKeyExists(Connection conn) throws SQLException {
+    ensureIndexExists(
+        conn, TABLE_MOVIE_REVIEWS, UNIQUE_USER_MOVIE_INDEX, "user_id, movie_id", "UNIQUE INDEX");
+  }
+
+  /**
+   * Prepares the table for catalog-only writes: the name columns accept NULL, and the catalog
+   * key replaces the unique key on the names.
+   */
+  private void contractSchema(Connection conn) throws SQLException {
+    ensureCatalogKeyExists(conn);
+    DatabaseMetaData metaData = conn.getMetaData();
+    if (indexExists(metaData, TABLE_MOVIE_REVIEWS, UNIQUE_USER_NAMES_INDEX)) {
+      try (PreparedStatement stmt =
+          conn.prepareStatement(
+              "ALTER TABLE " + TABLE_MOVIE_REVIEWS + " DROP INDEX " + UNIQUE_USER_NAMES_INDEX)) {
+        stmt.executeUpdate();
+      }
+    }
+    for (String column : NAME_COLUMNS) {
+      if (!columnNullable(metaData, TABLE_MOVIE_REVIEWS, column)) {
+        String type = column.equals("genre") ? "VARCHAR(100)" : "VARCHAR(255)";
+        String alterSQL =
+            "ALTER TABLE " + TABLE_MOVIE_REVIEWS + " MODIFY " + column + " " + type + " NULL";
+        try (PreparedStatement stmt = conn.prepareStatement(alterSQL)) {
+          stmt.executeUpdate();
+        }
+      }
+    }
+  }
+
+  private boolean columnNullable(DatabaseMetaData metaData, String tableName, String columnName)
+      throws SQLException {
+    try (ResultSet rs = metaData.getColumns(null, null, tableName, columnName)) {
+      return !rs.next() || rs.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls;
+    }
+  }
+
+  private boolean indexExists(DatabaseMetaData metaData, String tableName, String indexName)
+      throws SQLException {
+    try (ResultSet rs = metaData.getIndexInfo(null, null, tableName, false, false)) {
+      while (rs.next()) {
+        if (indexName.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private boolean columnExists(DatabaseMetaData metaData, String tableName, String columnName)
+      throws SQLException {
+    try (ResultSet rs = metaData.getColumns(null, null, tableName, columnName)) {
+      return rs.next();
+    }
+  }
+
+  @Override
+  public boolean insert(MovieReview review) throws SQLException {
+    try (Connection conn = writeConnection()) {
+      CatalogDictionary.Ids ids = catalog.idsFor(conn, review);
+      conn.setAutoCommit(false);
+      try (PreparedStatement purgeStmt =
+              conn.prepareStatement(
+                  catalogOnly ? PURGE_TRASHED_DUPLICATE_BY_MOVIE_SQL : PURGE_TRASHED_DUPLICATE_SQL);
+          PreparedStatement stmt =
+              conn.prepareStatement(INSERT_REVIEW_SQL, Statement.RETURN_GENERATED_KEYS)) {
+        // Re-adding a movie from the trash replaces the trashed copy
+        purgeStmt.setInt(1, review.getUserId());
+        if (catalogOnly) {
+          purgeStmt.setInt(2, ids.movieId());
+        } else {
+          purgeStmt.setString(2, review.getTitle());
+          purgeStmt.setString(3, review.getDirector());
+        }
+        purgeStmt.executeUpdate();
+        setReviewInsertParameters(stmt, review, ids);
+        int rowsAffected = stmt.executeUpdate();
+        conn.commit();
+        if (rowsAffected > 0) {
+          setGeneratedReviewId(stmt, review);
+          return true;
+        }
+        return false;
+      } catch (SQLException e) {
+        conn.rollback();
+        throw e;
+      }
+    }
+  }
+
+  private void setReviewInsertParameters(
+      PreparedStatement stmt, MovieReview review, CatalogDictionary.Ids ids) throws SQLException {
+    stmt.setInt(1, review.getUserId());
+    setNames(stmt, 2, review);
+    stmt.setDouble(5, review.getRating());
+    stmt.setString(6, review.getReview());
+    stmt.setDate(7, Date.valueOf(review.getDateWatched()));
+    stmt.setString(8, review.getTicketImagePath());
+    stmt.setBoolean(9, review.isFavorite());
+    setCatalogIds(stmt, 10, ids);
+    stmt.setInt(13, review.getGenreMask());
+  }
+
+  // Catalog-only rows leave the name columns empty; the catalog keys carry the names
+  private void setNames(PreparedStatement stmt, int index, MovieReview review)
+      throws SQLException {
+    String[] names = {review.getTitle(), review.getDirector(), review.getGenre()};
+    for (int i = 0; i < names.length; i++) {
+      if (catalogOnly) {
+        stmt.setNull(index + i, Types.VARCHAR);
+      } else {
+        stmt.setString(index + i, names[i]);
+      }
+    }
+  }
+
+  private static void setCatalogIds(PreparedStatement stmt, int index, CatalogDictionary.Ids ids)
+      throws SQLException {
+    int[] keys = {ids.movieId(), ids.directorId(), ids.genreId()};
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] > 0) {
+        stmt.setInt(index + i, keys[i]);
+      } else {
+        stmt.setNull(index + i, Types.INTEGER);
+      }
+    }
+  }
+
+  private void setGeneratedReviewId(PreparedStatement stmt, MovieReview review)
+      throws SQLException {
+    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+      if (generatedKeys.next()) {
+        review.setId(generatedKeys.getInt(1));
+      }
+    }
+  }
+
+  @Override
+  public List<UpsertOutcome> upsert(List<MovieReview> reviews, Map<String, Integer> knownIds)
+      throws SQLException {
+    try (Connection conn = writeConnection()) {
+      List<CatalogDictionary.Ids> ids = new ArrayList<>(reviews.size());
+      for (MovieReview review : reviews) {
+        ids.add(catalog.idsFor(conn, review));
+      }
+      conn.setAutoCommit(false);
+      try (PreparedStatement stmt =
+          conn.prepareStatement(
+              catalogOnly ? CATALOG_UPSERT_REVIEW_SQL : UPSERT_REVIEW_SQL,
+              Statement.RETURN_GENERATED_KEYS)) {
+        for (int row = 0; row < reviews.size(); row++) {
+          setReviewInsertParameters(stmt, reviews.get(row), ids.get(row));
+          stmt.addBatch();
+        }
+        int[] counts = stmt.executeBatch();
+        List<Integer> generatedIds = new ArrayList<>();
+        try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+          while (generatedKeys.next()) {
+            generatedIds.add(generatedKeys.getInt(1));
+          }
+        }
+        conn.commit();
+        return applyUpsertResults(reviews, counts, generatedIds, new HashMap<>(knownIds));
+      } catch (SQLException e) {
+        conn.rollback();
+        throw e;
+      }
+    }
+  }
+
+  private List<UpsertOutcome> applyUpsertResults(
+      List<MovieReview> reviews,
+      int[] counts,
+      List<Integer> generatedIds,
+      Map<String, Integer> existingIds) {
+    List<UpsertOutcome> outcomes = new ArrayList<>(reviews.size());
+    for (int row = 0; row < reviews.size(); row++) {
+      MovieReview review = reviews.get(row);
+      String key =
+          DuplicateReviewIndex.pairKey(review.getUserId(), review.getTitle(), review.getDirector());
+      Integer existingId = existingIds.get(key);
+      if (row < generatedIds.size() && generatedIds.size() == counts.length) {
+        review.setId(generatedIds.get(row));
+      } else if (existingId != null) {
+        review.setId(existingId);
+      }
+      outcomes.add(upsertOutcome(counts[row], existingId != null));
+      // Later rows of the batch with the same pair hit the row this one wrote
+      existingIds.put(key, review.getId());
+    }
+    return outcomes;
+  }
+
+  private static UpsertOutcome upsertOutcome(int count, boolean existed) {
+    if (count == UPSERT_ROWS_UPDATED) {
+      return UpsertOutcome.UPDATED;
+    }
+    if (count == Statement.SUCCESS_NO_INFO) {
+      return existed ? UpsertOutcome.UPDATED : UpsertOutcome.INSERTED;
+    }
+    if (count == Statement.EXECUTE_FAILED) {
+      return UpsertOutcome.FAILED;
+    }
+    // With found-rows counting an unchanged existing row also reports 1
+    if (existed) {
+      return UpsertOutcome.UNCHANGED;
+    }
+    return count > 0 ? UpsertOutcome.INSERTED : UpsertOutcome.UNCHANGED;
+  }
+
+  @Override
+  public UpdateResult update(MovieReview original, MovieReview updated) throws SQLException {
+    try (Connection conn = writeConnection()) {
+      CatalogDictionary.Ids ids = catalog.idsFor(conn, updated);
+      try (PreparedStatement stmt = conn.prepareStatement(UPDATE_REVIEW_SQL)) {
+        setNames(stmt, 1, updated);
+        stmt.setDouble(4, updated.getRating());
+        stmt.setString(5, updated.getReview());
+        stmt.setDate(6, Date.valueOf(updated.getDateWatched()));
+        stmt.setString(7, updated.getTicketImagePath());
+        stmt.setBoolean(8, updated.isFavorite());
+        setCatalogIds(stmt, 9, ids);
+        stmt.setInt(12, updated.getGenreMask());
+        stmt.setInt(13, original.getId());
+        stmt.setInt(14, original.getUserId());
+        stmt.setInt(15, original.getVersion());
+        if (stmt.executeUpdate() == 0) {
+          return classifyMissedUpdate(conn, original);
+        }
+        updated.setVersion(original.getVersion() + 1);
+        return UpdateResult.UPDATED;
+      }
+    }
+  }
+
+  @Override
+  public UpdateResult updateFavorite(MovieReview review, boolean favorite) throws SQLException {
+    try (Connection conn = writeConnection();
+        PreparedStatement stmt = conn.prepareStatement(UPDATE_FAVORITE_STATUS_SQL)) {
+      stmt.setBoolean(1, favorite);
+      stmt.setInt(2, review.getId());
+      stmt.setInt(3, review.getUserId());
+      stmt.setInt(4, review.getVersion());
+      if (stmt.executeUpdate() == 0) {
+        return classifyMissedUpdate(conn, review);
+      }
+      review.setFavorite(favorite);
+      review.setVersion(review.getVersion() + 1);
+      return UpdateResult.UPDATED;
+    }
+  }
+
+  @Override
+  public List<UpdateResult> updateFavorites(List<MovieReview> reviews) throws SQLException {
+    try (Connection conn = writeConnection();
+        PreparedStatement stmt = conn.prepareStatement(UPDATE_FAVORITE_STATUS_SQL)) {
+      for (MovieReview review : reviews) {
+        stmt.setBoolean(1, review.isFavorite());
+        stmt.setInt(2, review.getId());
+        stmt.setInt(3, review.getUserId());
+        stmt.setInt(4, review.getVersion());
+        stmt.addBatch();
+      }
+      int[] counts = stmt.executeBatch();
+      List<UpdateResult> results = new ArrayList<>(reviews.size());
+      for (int row = 0; row < reviews.size(); row++) {
+        MovieReview review = reviews.get(row);
+        if (counts[row] == 0) {
+          results.add(classifyMissedUpdate(conn, review));
+        } else {
+          review.setVersion(review.getVersion() + 1);
+          results.add(UpdateResult.UPDATED);
+        }
+      }
+      return results;
+    }
+  }
+
+  // A version-checked write matched no row: either the version moved on or the row is gone
+  private UpdateResult classifyMissedUpdate(Connection conn, MovieReview review)
+      throws SQLException {
+    try (PreparedStatement stmt = conn.prepareStatement(SELECT_REVIEW_BY_ID_AND_USER_SQL)) {
+      stmt.setInt(1, review.getId());
+      stmt.setInt(2, review.getUserId());
+      try (ResultSet rs = stmt.executeQuery()) {
+        return rs.next() ? UpdateResult.CONFLICT : UpdateResult.NOT_FOUND;
+      }
+    }
+  }
+
+  @Override
+  public int softDelete(int userId, int reviewId) throws SQLException {
+    try (Connection conn = writeConnection();
+        PreparedStatement stmt = conn.prepareStatement(SOFT_DELETE_REVIEW_SQL)) {
+      stmt.setInt(1, reviewId);
+      stmt.setInt(2, userId);
+      return stmt.executeUpdate();
+    }
+  }
+
+  @Override
+  public int softDelete(int userId, List<Integer> reviewIds) throws SQLException {
+    try (Connection conn = writeConnection()) {
+      return updateInChunks(conn, BULK_SOFT_DELETE_SQL_PREFIX, userId, reviewIds);
+    }
+  }
+
+  @Override
+  public List<Integer> restore(int userId, List<Integer> reviewIds) throws SQLException {
+    try (Connection conn = writeConnection()) {
+      conn.setAutoCommit(false);
+      try {
+        // Locks the trashed rows first, so the IDs returned are exactly the ones restored
+        List<Integer> trashedIds = new ArrayList<>();
+        for (List<Integer> chunk : chunks(reviewIds)) {
+          String sql = buildBulkSql(SELECT_TRASHED_IDS_SQL_PREFIX, chunk.size()) + " FOR UPDATE";
+          try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            setBulkParameters(stmt, userId, chunk);
+            try (ResultSet rs = stmt.executeQuery()) {
+              while (rs.next()) {
+                trashedIds.add(rs.getInt(1));
+              }
+            }
+          }
+        }
+        updateChunks(conn, BULK_RESTORE_SQL_PREFIX, userId, trashedIds);
+        conn.commit();
+        return trashedIds;
+      } catch (SQLException e) {
+        conn.rollback();
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Runs {@code sqlPrefix AND id IN (...)} over the IDs in chunks, all in one transaction.
+   *
+   * @return the total number of rows changed
+   */
+  private int updateInChunks(Connection conn, String sqlPrefix, int userId, List<Integer> ids)
+      throws SQLException {
+    conn.setAutoCommit(false);
+    try {
+      int total = updateChunks(conn, sqlPrefix, userId, ids);
+      conn.commit();
+      return total;
+    } catch (SQLException e) {
+      conn.rollback();
+      throw e;
+    }
+  }
+
+  private int updateChunks(Connection conn, String sqlPrefix, int userId, List<Integer> ids)
+      throws SQLException {
+    int total = 0;
+    for (List<Integer> chunk : chunks(ids)) {
+      try (PreparedStatement stmt = conn.prepareStatement(buildBulkSql(sqlPrefix, chunk.size()))) {
+        setBulkParameters(stmt, userId, chunk);
+        total += stmt.executeUpdate();
+      }
+    }
+    return total;
+  }
+
+  private static List<List<Integer>> chunks(List<Integer> ids) {
+    List<List<Integer>> chunks = new ArrayList<>();
+    for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+      chunks.add(ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size())));
+    }
+    return chunks;
+  }
+
+  private void setBulkParameters(PreparedStatement stmt, int userId, List<Integer> ids)
+      throws SQLException {
+    stmt.setInt(1, userId);
+    for (int i = 0; i < ids.size(); i++) {
+      stmt.setInt(i + 2, ids.get(i));
+    }
+  }
+
+  private String buildBulkSql(String sqlPrefix, int reviewCount) {
+    StringBuilder sqlBuilder = new StringBuilder(sqlPrefix).append(" AND id IN (");
+    for (int i = 0; i < reviewCount; i++) {
+      if (i > 0) {
+        sqlBuilder.append(", ");
+      }
+      sqlBuilder.append("?");
+    }
+    sqlBuilder.append(")");
+    return sqlBuilder.toString();
+  }
+
+  @Override
+  public int purgeTrashed(int userId, Instant trashedBefore, int limit) throws SQLException {
+    StringBuilder sql =
+        new StringBuilder("DELETE FROM movie_reviews WHERE deleted_at IS NOT NULL");
+    if (userId > 0) {
+      sql.append(" AND user_id = ?");
+    }
+    if (trashedBefore != null) {
+      sql.append(" AND deleted_at < ?");
+    }
+    sql.append(" ORDER BY deleted_at, id LIMIT ?");
+    try (Connection conn = writeConnection();
+        PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+      int paramIndex = 1;
+      if (userId > 0) {
+        stmt.setInt(paramIndex++, userId);
+      }
+      if (trashedBefore != null) {
+        stmt.setTimestamp(paramIndex++, Timestamp.from(trashedBefore));
+      }
+      stmt.setInt(paramIndex, limit);
+      return stmt.executeUpdate();
+    }
+  }
+
+  @Override
+  public void deleteAll() throws SQLException {
+    try (Connection conn = writeConnection();
+        PreparedStatement stmt = conn.prepareStatement(DELETE_ALL_REVIEWS_SQL)) {
+      stmt.executeUpdate();
+    }
+  }
+
+  @Override
+  public MovieReview findById(int userId, int reviewId) throws SQLException {
+    String sql = userId > 0 ? SELECT_REVIEW_BY_ID_AND_USER_SQL : SELECT_REVIEW_BY_ID_SQL;
+    try (Connection conn = primaryConnection();
+        PreparedStatement stmt = conn.prepareStatement(namedSql(sql))) {
+      stmt.setInt(1, reviewId);
+      if (userId > 0) {
+        stmt.setInt(2, userId);
+      }
+      List<MovieReview> reviews = executeQuery(stmt);
+      return reviews.isEmpty() ? null : reviews.get(0);
+    }
+  }
+
+  @Override
+  public MovieReview findByTitleAndDirector(int userId, String title, String director)
+      throws SQLException {
+    try (Connection conn = primaryConnection();
+        PreparedStatement stmt =
+            conn.prepareStatement(namedSql(SELECT_REVIEW_BY_TITLE_AND_DIRECTOR_SQL))) {
+      stmt.setInt(1, userId);
+      stmt.setString(2, title);
+      stmt.setString(3, director);
+      List<MovieReview> reviews = executeQuery(stmt);
+      return reviews.isEmpty() ? null : reviews.get(0);
+    }
+  }
+
+  @Override
+  public List<MovieReview> findAll(int userId) throws SQLException {
+    return queryByUser(userId, SELECT_REVIEWS_BY_USER_SQL, SELECT_ALL_REVIEWS_SQL);
+  }
+
+  @Override
+  public List<MovieReview> findSummaries(int userId) throws SQLException {
+    return querySummariesByUser(
+        userId, SELECT_REVIEW_SUMMARIES_BY_USER_SQL, SELECT_ALL_REVIEW_SUMMARIES_SQL);
+  }
+
+  @Override
+  public String findReviewBody(int userId, int reviewId) throws SQLException {
+    String sql = userId > 0 ? SELECT_REVIEW_BODY_BY_USER_SQL : SELECT_REVIEW_BODY_SQL;
+    try (Connection conn = primaryConnection();
+        PreparedStatement stmt = conn.prepareStatement(sql)) {
+      stmt.setInt(1, reviewId);
+      if (userId > 0) {
+        stmt.setInt(2, userId);
+      }
+      try (ResultSet rs = stmt.executeQuery()) {
+        return rs.next() ? rs.getString("review") : null;
+      }
+    }
+  }
+
+  @Override
+  public List<MovieReview> findFavorites(int userId) throws SQLException {
+    return querySummariesByUser(
+        userId, SELECT_FAVORITE_REVIEWS_BY_USER_SQL, SELECT_FAVORITE_REVIEWS_SQL);
+  }
+
+  @Override
+  public List<MovieReview> findWithTickets(int userId) throws SQLException {
+    return querySummariesByUser(
+        userId, SELECT_TICKET_REVIEWS_BY_USER_SQL, SELECT_TICKET_REVIEWS_SQL);
+  }
+
+  @Override
+  public List<MovieReview> findTrashed(int userId) throws SQLException {
+    return queryByUser(userId, SELECT_TRASHED_REVIEWS_BY_USER_SQL, SELECT_TRASHED_REVIEWS_SQL);
+  }
+
+  private List<MovieReview> queryByUser(int userId, String userSql, String allSql)
+      throws SQLException {
+    try (Connection conn = readConnection();
+        PreparedStatement stmt = conn.prepareStatement(namedSql(userId > 0 ? userSql : allSql))) {
+      if (userId > 0) {
+        stmt.setInt(1, userId);
+      }
+      return executeQuery(stmt);
+    }
+  }
+
+  private List<MovieReview> querySummariesByUser(int userId, String userSql, String allSql)
+      throws SQLException {
+    try (Connection conn = readConnection();
+        PreparedStatement stmt = conn.prepareStatement(summarySql(userId > 0 ? userSql : allSql))) {
+      if (userId > 0) {
+        stmt.setInt(1, userId);
+      }
+      return executeSummaryQuery(conn, stmt);
+    }
+  }
+
+  @Override
+  public List<MovieReview> search(int userId, String normalizedQuery) throws SQLException {
+    String searchPattern = ReviewFilterQuery.containsPattern(normalizedQuery);
+    try (Connection conn = readConnection();
+        PreparedStatement stmt = conn.prepareStatement(buildSearchSql(userId))) {
+      int paramIndex = 1;
+      if (userId > 0) {
+        stmt.setInt(paramIndex++, userId);
+      }
+      stmt.setString(paramIndex++, searchPattern);
+      stmt.setString(paramIndex++, searchPattern);
+      stmt.setString(paramIndex, searchPattern);
+      return executeSummaryQuery(conn, stmt);
+    }
+  }
+
+  private String buildSearchSql(int userId) {
+    String base = "SELECT " + SUMMARY_COLUMNS + " FROM movie_reviews ";
+    String where = "WHERE deleted_at IS NULL AND ";
+    if (userId > 0) {
+      where += "user_id = ? AND ";
+    }
+    return summarySql(
+        base
+            + where
+            + (catalogOnly ? SEARCH_CATALOG_SQL : SEARCH_NAMES_SQL)
+            + " ORDER BY created_at DESC");
+  }
+
+  @Override
+  public ReviewFilterResult filter(int userId, ReviewFilter filter) throws SQLException {
+    ReviewFilterQuery query = ReviewFilterQuery.compile(filter, userId);
+    try (Connection conn = readConnection();
+        PreparedStatement stmt = conn.prepareStatement(namedSql(query.getSql()))) {
+      query.bind(stmt);
+      try (ResultSet rs = stmt.executeQuery()) {
+        // Filter rows come without timestamps; a user's page is already in order
+        return query.read(rs, row -> readReviewColumns(row).setBodyLoaded(false).build());
+      }
+    }
+  }
+
+  @Override
+  public ReviewDelta findChangedSince(int userId, Instant since) throws SQLException {
+    String sql = userId > 0 ? SELECT_CHANGED_REVIEWS_BY_USER_SQL : SELECT_CHANGED_REVIEWS_SQL;
+    try (Connection conn = primaryConnection();
+        PreparedStatement stmt = conn.prepareStatement(namedSql(sql))) {
+      int paramIndex = 1;
+      if (userId > 0) {
+        stmt.setInt(paramIndex++, userId);
+      }
+      stmt.setTimestamp(paramIndex, Timestamp.from(since));
+      List<MovieReview> changed = new ArrayList<>();
+      List<Integer> deletedIds = new ArrayList<>();
+      Instant watermark = since;
+      try (ResultSet rs = stmt.executeQuery()) {
+        while (rs.next()) {
+          if (rs.getTimestamp("deleted_at") != null) {
+            deletedIds.add(rs.getInt("id"));
+          } else {
+            changed.add(createReviewFromResultSet(rs));
+          }
+          // Rows arrive in updated_at order, so the last one holds the newest change
+          watermark = rs.getTimestamp("updated_at").toInstant();
+        }
+      }
+      return new ReviewDelta(changed, deletedIds, watermark);
+    }
+  }
+
+  @Override
+  public Instant currentTime(int userId) throws SQLException {
+    // Asks the primary, whose clock stamps updated_at
+    try (Connection conn = primaryConnection();
+        PreparedStatement stmt = conn.prepareStatement(SELECT_CURRENT_TIME_SQL);
+        ResultSet rs = stmt.executeQuery()) {
+      rs.next();
+      return rs.getTimestamp(1).toInstant();
+    }
+  }
+
+  @Override
+  public double averageRating(int userId) throws SQLException {
+    try (Connection conn = readConnection();
+        PreparedStatement stmt =
+            prepareByUser(conn, userId, SELECT_AVG_RATING_BY_USER_SQL, SELECT_AVG_RATING_SQL);
+        ResultSet rs = stmt.executeQuery()) {
+      return rs.next() ? rs.getDouble(1) : 0.0;
+    }
+  }
+
+  @Override
+  public int count(int userId) throws SQLException {
+    return countByUser(userId, SELECT_TOTAL_REVIEWS_BY_USER_SQL, SELECT_TOTAL_REVIEWS_SQL);
+  }
+
+  @Override
+  public int countWithTickets(int userId) throws SQLException {
+    return countByUser(
+        userId, SELECT_THEATER_VISIT_COUNT_BY_USER_SQL, SELECT_THEATER_VISIT_COUNT_SQL);
+  }
+
+  private int countByUser(int userId, String userSql, String allSql) throws SQLException {
+    try (Connection conn = readConnection();
+        PreparedStatement stmt = prepareByUser(conn, userId, userSql, allSql);
+        ResultSet rs = stmt.executeQuery()) {
+      return rs.next() ? rs.getInt(1) : 0;
+    }
+  }
+
+  private PreparedStatement prepareByUser(
+      Connection conn, int userId, String userSql, String allSql) throws SQLException {
+    PreparedStatement stmt = conn.prepareStatement(userId > 0 ? userSql : allSql);
+    if (userId > 0) {
+      stmt.setInt(1, userId);
+    }
+    return stmt;
+  }
+
+  /**
+   * Fills in the catalog keys of reviews written before the catalog existed, in batches of
+   * {@link #BULK_CHUNK_SIZE}. Each batch commits on its own, so the backfill can run beside the
+   * app and resume where it stopped; reviews written since the catalog exists already have keys.
+   *
+   * @param userId only this user's reviews, or 0 for every review, trashed ones included
+   * @return the number of reviews filled in
+   * @throws SQLException if a batch fails; earlier batches stay committed
+   */
+  int backfillCatalog(int userId) throws SQLException {
+    int filled = 0;
+    int lastId = 0;
+    try (Connection conn = primaryConnection()) {
+      while (true) {
+        List<MovieReview> batch = selectUncataloged(conn, userId, lastId);
+        if (batch.isEmpty()) {
+          return filled;
+        }
+        List<CatalogDictionary.Ids> ids = new ArrayList<>(batch.size());
+        for (MovieReview review : batch) {
+          ids.add(catalog.idsFor(conn, review));
+        }
+        conn.setAutoCommit(false);
+        try (PreparedStatement stmt = conn.prepareStatement(BACKFILL_CATALOG_IDS_SQL)) {
+          for (int row = 0; row < batch.size(); row++) {
+            MovieReview review = batch.get(row);
+            setCatalogIds(stmt, 1, ids.get(row));
+            stmt.setInt(4, review.getId());
+            stmt.setString(5, review.getTitle());
+            stmt.setString(6, review.getDirector());
+            stmt.setString(7, review.getGenre());
+            stmt.addBatch();
+          }
+          for (int count : stmt.executeBatch()) {
+            filled += count > 0 ? 1 : 0;
+          }
+          conn.commit();
+        } catch (SQLException e) {
+          conn.rollback();
+          throw e;
+        } finally {
+          conn.setAutoCommit(true);
+        }
+        lastId = batch.get(batch.size() - 1).getId();
+      }
+    }
+  }
+
+  /**
+   * Adds the unique key on {@code (user_id, movie_id)} if the table predates it. Run it once
+   * every review is linked to the catalog.
+   *
+   * @throws SQLException if the key cannot be added, e.g. because two of a user's reviews share
+   *     a movie key
+   */
+  void addCatalogKey() throws SQLException {
+    try (Connection conn = primaryConnection()) {
+      ensureCatalogKeyExists(conn);
+    }
+  }
+
+  /**
+   * Finishes the move to the catalog. The name columns are made nullable and the unique key on
+   * the names is dropped. Then the names of linked reviews are cleared, in statements of
+   * {@link #BULK_CHUNK_SIZE} rows. From then on the names are only in the catalog, so run it
+   * once every process has {@code DB_CATALOG_ONLY} set.
+   *
+   * @param userId only this user's reviews, or 0 for every review, trashed ones included
+   * @return the number of reviews whose names were cleared
+   * @throws SQLException if the schema cannot be changed or a statement fails; rows already
+   *     cleared stay cleared
+   */
+  int contractCatalog(int userId) throws SQLException {
+    try (Connection conn = primaryConnection()) {
+      contractSchema(conn);
+      return clearCatalogNames(conn, userId);
+    }
+  }
+
+  /**
+   * Clears the names of a user's linked reviews, e.g. the copies a shard move made, while
+   * {@code DB_CATALOG_ONLY} is set; otherwise the names stay.
+   *
+   * @return the number of reviews whose names were cleared
+   */
+  int clearCatalogNames(int userId) throws SQLException {
+    if (!catalogOnly) {
+      return 0;
+    }
+    try (Connection conn = primaryConnection()) {
+      return clearCatalogNames(conn, userId);
+    }
+  }
+
+  private int clearCatalogNames(Connection conn, int userId) throws SQLException {
+    String sql = userId > 0 ? CLEAR_CATALOG_NAMES_BY_USER_SQL : CLEAR_CATALOG_NAMES_SQL;
+    int cleared = 0;
+    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+      int paramIndex = 1;
+      if (userId > 0) {
+        stmt.setInt(paramIndex++, userId);
+      }
+      stmt.setInt(paramIndex, BULK_CHUNK_SIZE);
+      int count;
+      do {
+        count = stmt.executeUpdate();
+        cleared += count;
+      } while (count == BULK_CHUNK_SIZE);
+    }
+    return cleared;
+  }
+
+  /**
+   * Parses the free-text genres of reviews written before genre masks existed into their
+   * {@link com.cpp.moviejournal.model.Genre} masks, in committed batches of
+   * {@link #BULK_CHUNK_SIZE} like {@link #backfillCatalog(int)}. Genres the registry does not
+   * know get a mask of 0, so every row is visited once.
+   *
+   * @param userId only this user's reviews, or 0 for every review, trashed ones included
+   * @return the number of reviews filled in
+   * @throws SQLException if a batch fails; earlier batches stay committed
+   */
+  int backfillGenreMasks(int userId) throws SQLException {
+    int filled = 0;
+    int lastId = 0;
+    try (Connection conn = primaryConnection()) {
+      while (true) {
+        List<MovieReview> batch = selectUnmasked(conn, userId, lastId);
+        if (batch.isEmpty()) {
+          return filled;
+        }
+        conn.setAutoCommit(false);
+        try (PreparedStatement stmt = conn.prepareStatement(BACKFILL_GENRE_MASK_SQL)) {
+          for (MovieReview review : batch) {
+            stmt.setInt(1, review.getGenreMask());
+            stmt.setInt(2, review.getId());
+            stmt.setString(3, review.getGenre());
+            stmt.addBatch();
+          }
+          for (int count : stmt.executeBatch()) {
+            filled += count > 0 ? 1 : 0;
+          }
+          conn.commit();
+        } catch (SQLException e) {
+          conn.rollback();
+          throw e;
+        } finally {
+          conn.setAutoCommit(true);
+        }
+        lastId = batch.get(batch.size() - 1).getId();
+      }
+    }
+  }
+
+  private List<MovieReview> selectUnmasked(Connection conn, int userId, int afterId)
+      throws SQLException {
+    String sql = userId > 0 ? SELECT_UNMASKED_REVIEWS_BY_USER_SQL : SELECT_UNMASKED_REVIEWS_SQL;
+    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+      int paramIndex = 1;
+      stmt.setInt(paramIndex++, afterId);
+      if (userId > 0) {
+        stmt.setInt(paramIndex++, userId);
+      }
+      stmt.setInt(paramIndex, BULK_CHUNK_SIZE);
+      return executeQuery(
+          stmt,
+          rs ->
+              MovieReview.builder()
+                  .setId(rs.getInt("id"))
+                  .setGenre(rs.getString("genre"))
+                  .build());
+    }
+  }
+
+  private List<MovieReview> selectUncataloged(Connection conn, int userId, int afterId)
+      throws SQLException {
+    String sql =
+        userId > 0 ? SELECT_UNCATALOGED_REVIEWS_BY_USER_SQL : SELECT_UNCATALOGED_REVIEWS_SQL;
+    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+      int paramIndex = 1;
+      stmt.setInt(paramIndex++, afterId);
+      if (userId > 0) {
+        stmt.setInt(paramIndex++, userId);
+      }
+      stmt.setInt(paramIndex, BULK_CHUNK_SIZE);
+      return executeQuery(
+          stmt,
+          rs ->
+              MovieReview.builder()
+                  .setId(rs.getInt("id"))
+                  .setTitle(rs.getString("title"))
+                  .setDirector(rs.getString("director"))
+                  .setGenre(rs.getString("genre"))
+                  .build());
+    }
+  }
+
+  // Catalog-only rows have no names of their own, so full rows are read with the catalog's
+  private String namedSql(String sql) {
+    return catalogOnly ? CatalogDictionary.withNames(sql) : sql;
+  }
+
+  // Summaries resolve names from their keys either way; catalog-only rows have nothing to add
+  private String summarySql(String sql) {
+    return catalogOnly ? sql.replace(SUMMARY_NAME_COLUMNS, CATALOG_SUMMARY_NAME_COLUMNS) : sql;
+  }
+
+  private List<MovieReview> executeQuery(PreparedStatement stmt) throws SQLException {
+    return executeQuery(stmt, this::createReviewFromResultSet);
+  }
+
+  private List<MovieReview> executeQuery(
+      PreparedStatement stmt, ReviewFilterQuery.RowMapper mapper) throws SQLException {
+    List<MovieReview> reviews = new ArrayList<>();
+    try (ResultSet rs = stmt.executeQuery()) {
+      while (rs.next()) {
+        reviews.add(mapper.map(rs));
+      }
+    }
+    return reviews;
+  }
+
+  private List<MovieReview> executeSummaryQuery(Connection conn, PreparedStatement stmt)
+      throws SQLException {
+    List<MovieReview> summaries = new ArrayList<>();
+    List<CatalogDictionary.Ids> ids = new ArrayList<>();
+    try (ResultSet rs = stmt.executeQuery()) {
+      while (rs.next()) {
+        summaries.add(createSummaryFromResultSet(rs));
+        // getInt reads NULL as 0, i.e. no key yet
+        ids.add(
+            new CatalogDictionary.Ids(
+                rs.getInt(COLUMN_MOVIE_ID),
+                rs.getInt(COLUMN_DIRECTOR_ID),
+                rs.getInt(COLUMN_GENRE_ID)));
+      }
+    }
+    catalog.resolveNames(conn, summaries, ids);
+    return summaries;
+  }
+
+  private MovieReview createReviewFromResultSet(ResultSet rs) throws SQLException {
+    return readReviewColumns(rs)
+        .setCreatedAt(readInstant(rs, "created_at"))
+        .setDeletedAt(readInstant(rs, COLUMN_DELETED_AT))
+        .build();
+  }
+
+  private MovieReview createSummaryFromResultSet(ResultSet rs) throws SQLException {
+    return readReviewColumns(rs)
+        .setBodyLoaded(false)
+        .setCreatedAt(readInstant(rs, "created_at"))
+        .build();
+  }
+
+  private static Instant readInstant(ResultSet rs, String column) throws SQLException {
+    Timestamp timestamp = rs.getTimestamp(column);
+    return timestamp != null ? timestamp.toInstant() : null;
+  }
+
+  private MovieReview.Builder readReviewColumns(ResultSet rs) throws SQLException {
+    return MovieReview.builder()
+        .setId(rs.getInt("id"))
+        .setUserId(rs.getInt("user_id"))
+        .setTitle(rs.getString("title"))
+        .setDirector(rs.getString("director"))
+        .setGenre(rs.getString("genre"))
+        .setRating(rs.getDouble("rating"))
+        .setReview(rs.getString("review"))
+        .setDateWatched(rs.getDate("date_watched").toLocalDate())
+        .setTicketImagePath(rs.getString("ticket_image_path"))
+        .setFavorite(rs.getBoolean("is_favorite"))
+        .setVersion(rs.getInt("version"));
+  }
+
+  private Connection primaryConnection() throws SQLException {
+    return shard == NO_SHARD
+        ? DatabaseConnection.getConnection()
+        : DatabaseConnection.getShardConnection(shard);
+  }
+
+  private Connection writeConnection() throws SQLException {
+    session.recordWrite();
+    return primaryConnection();
+  }
+
+  // Shards have no replicas of their own
+  private Connection readConnection() throws SQLException {
+    return shard == NO_SHARD ? DatabaseConnection.getReadConnection(session) : primaryConnection();
+  }
+}
@@ -0,0 +1,150 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.search.ReviewFilter;
+import com.cpp.moviejournal.search.SmartList;
+import com.cpp.moviejournal.util.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/** Smart list storage in the {@code smart_lists} table of the primary MySQL server. */
+public class MySqlSmartListRepository implements SmartListRepository {
+  static final String GENRE_SEPARATOR = ",";
+
+  private static final String CREATE_SMART_LISTS_TABLE_SQL =
+      """
+      CREATE TABLE IF NOT EXISTS smart_lists (
+          id INT AUTO_INCREMENT PRIMARY KEY,
+          user_id INT NOT NULL,
+          name VARCHAR(100) NOT NULL,
+          search_query VARCHAR(255) NOT NULL DEFAULT '',
+          genres VARCHAR(500) NOT NULL DEFAULT '',
+          min_rating DECIMAL(2,1) NOT NULL DEFAULT 0,
+          max_rating DECIMAL(2,1) NOT NULL DEFAULT 5,
+          watched_from DATE NULL,
+          watched_to DATE NULL,
+          favorites_only BOOLEAN DEFAULT FALSE,
+          with_ticket_only BOOLEAN DEFAULT FALSE,
+          sort_option VARCHAR(50),
+          created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+          FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+          UNIQUE KEY unique_user_list_name (user_id, name)
+      )
+      """;
+
+  // Saving under an existing name replaces that list's definition and keeps its ID
+  private static final String UPSERT_SMART_LIST_SQL =
+      """
+      INSERT INTO smart_lists (user_id, name, search_query, genres, min_rating, max_rating,
+          watched_from, watched_to, favorites_only, with_ticket_only, sort_option)
+      VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+      ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id), search_query = VALUES(search_query),
+          genres = VALUES(genres), min_rating = VALUES(min_rating), max_rating = VALUES(max_rating),
+          watched_from = VALUES(watched_from), watched_to = VALUES(watched_to),
+          favorites_only = VALUES(favorites_only), with_ticket_only = VALUES(with_ticket_only),
+          sort_option = VALUES(sort_option)
+      """;
+
+  private static final String SELECT_SMART_LISTS_BY_USER_SQL =
+      "SELECT * FROM smart_lists WHERE user_id = ? ORDER BY name";
+
+  private static final String DELETE_SMART_LIST_SQL =
+      "DELETE FROM smart_lists WHERE id = ? AND user_id = ?";
+
+  @Override
+  public void initialize() throws SQLException {
+    try (Connection conn = DatabaseConnection.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(CREATE_SMART_LISTS_TABLE_SQL)) {
+      stmt.executeUpdate();
+    }
+  }
+
+  @Override
+  public List<SmartList> findByUser(int userId) throws SQLException {
+    try (Connection conn = DatabaseConnection.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(SELECT_SMART_LISTS_BY_USER_SQL)) {
+      stmt.setInt(1, userId);
+      List<SmartList> lists = new ArrayList<>();
+      try (ResultSet rs = stmt.executeQuery()) {
+        while (rs.next()) {
+          lists.add(createSmartListFromResultSet(rs));
+        }
+      }
+      return lists;
+    }
+  }
+
+  private SmartList createSmartListFromResultSet(ResultSet rs) throws SQLException {
+    Date watchedFrom = rs.getDate("watched_from");
+    Date watchedTo = rs.getDate("watched_to");
+    ReviewFilter filter = ReviewFilter.builder()
+        .setQuery(rs.getString("search_query"))
+        .setGenres(Arrays.asList(rs.getString("genres").split(GENRE_SEPARATOR)))
+        .setRatingRange(rs.getDouble("min_rating"), rs.getDouble("max_rating"))
+        .setWatchedFrom(watchedFrom != null ? watchedFrom.toLocalDate() : null)
+        .setWatchedTo(watchedTo != null ? watchedTo.toLocalDate() : null)
+        .setFavoritesOnly(rs.getBoolean("favorites_only"))
+        .setWithTicketOnly(rs.getBoolean("with_ticket_only"))
+        .setSortOption(rs.getString("sort_option"))
+        .build();
+    return new SmartList(rs.getInt("id"), rs.getInt("user_id"), rs.getString("name"), filter);
+  }
+
+  @Override
+  public SmartList save(int userId, String name, ReviewFilter filter) throws SQLException {
+    try (Connection conn = DatabaseConnection.getConnection();
+        PreparedStatement stmt =
+            conn.prepareStatement(UPSERT_SMART_LIST_SQL, Statement.RETURN_GENERATED_KEYS)) {
+      setSmartListParameters(stmt, userId, name, filter);
+      stmt.executeUpdate();
+      try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+        if (!generatedKeys.next()) {
+          throw new SQLException("No key returned for smart list " + name);
+        }
+        return new SmartList(generatedKeys.getInt(1), userId, name, filter);
+      }
+    }
+  }
+
+  private void setSmartListParameters(
+      PreparedStatement stmt, int userId, String name, ReviewFilter filter) throws SQLException {
+    stmt.setInt(1, userId);
+    stmt.setString(2, name);
+    stmt.setString(3, filter.getQuery());
+    stmt.setString(4, String.join(GENRE_SEPARATOR, filter.getGenres()));
+    stmt.setDouble(5, filter.getMinRating());
+    stmt.setDouble(6, filter.getMaxRating());
+    setNullableDate(stmt, 7, filter.getWatchedFrom());
+    setNullableDate(stmt, 8, filter.getWatchedTo());
+    stmt.setBoolean(9, filter.isFavoritesOnly());
+    stmt.setBoolean(10, filter.isWithTicketOnly());
+    stmt.setString(11, filter.getSortOption());
+  }
+
+  private void setNullableDate(PreparedStatement stmt, int index, LocalDate date)
+      throws SQLException {
+    if (date != null) {
+      stmt.setDate(index, Date.valueOf(date));
+    } else {
+      stmt.setNull(index, Types.DATE);
+    }
+  }
+
+  @Override
+  public boolean delete(int listId, int userId) throws SQLException {
+    try (Connection conn = DatabaseConnection.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(DELETE_SMART_LIST_SQL)) {
+      stmt.setInt(1, listId);
+      stmt.setInt(2, userId);
+      return stmt.executeUpdate() > 0;
+    }
+  }
+}
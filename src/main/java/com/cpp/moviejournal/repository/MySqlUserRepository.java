@@ -0,0 +1,243 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.model.User;
+import com.cpp.moviejournal.util.DatabaseConnection;
+import com.cpp.moviejournal.util.ReadYourWritesSession;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * User storage on the MySQL server configured in {@link DatabaseConnection}. Writes and the
+ * uniqueness checks guarding them go to the primary; lookups may go to a read replica.
+ */
+public class MySqlUserRepository implements UserRepository {
+  private static final String CREATE_USERS_TABLE_SQL =
+      """
+      CREATE TABLE IF NOT EXISTS users (
+          id INT AUTO_INCREMENT PRIMARY KEY,
+          username VARCHAR(50) NOT NULL UNIQUE,
+          email VARCHAR(100) NOT NULL UNIQUE,
+          password VARCHAR(255) NOT NULL,
+          created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+          last_login TIMESTAMP NULL,
+          is_active BOOLEAN DEFAULT TRUE,
+          INDEX idx_username (username),
+          INDEX idx_email (email)
+      )
+      """;
+
+  private static final String INSERT_USER_SQL =
+      "INSERT INTO users (username, email, password, created_at, is_active) VALUES (?, ?, ?, ?, ?)";
+
+  private static final String SELECT_USER_BY_USERNAME_SQL =
+      "SELECT * FROM users WHERE username = ? AND is_active = TRUE";
+
+  private static final String SELECT_USER_BY_EMAIL_SQL =
+      "SELECT * FROM users WHERE email = ? AND is_active = TRUE";
+
+  private static final String CHECK_USERNAME_EXISTS_SQL = "SELECT COUNT(*) FROM users WHERE username = ?";
+
+  private static final String CHECK_EMAIL_EXISTS_SQL = "SELECT COUNT(*) FROM users WHERE email = ?";
+
+  private static final String SELECT_USER_BY_USERNAME_ALL_SQL = "SELECT * FROM users WHERE username = ?";
+
+  private static final String SELECT_USER_BY_EMAIL_ALL_SQL = "SELECT * FROM users WHERE email = ?";
+
+  private static final String UPDATE_PASSWORD_SQL = "UPDATE users SET password = ? WHERE username = ?";
+
+  private static final String DEACTIVATE_USER_SQL = "UPDATE users SET is_active = FALSE WHERE username = ?";
+
+  private static final String SELECT_ALL_USERS_SQL = "SELECT * FROM users ORDER BY created_at DESC";
+
+  private static final String DELETE_ALL_USERS_SQL = "DELETE FROM users";
+
+  private static final String UPDATE_LAST_LOGIN_SQL = "UPDATE users SET last_login = ? WHERE id = ?";
+
+  private static final String UPDATE_USER_PROFILE_SQL = "UPDATE users SET username = ?, email = ? WHERE id = ?";
+
+  private static final String CHECK_USER_UNIQUENESS_SQL =
+      "SELECT COUNT(*) FROM users WHERE (username = ? OR email = ?) AND id != ?";
+
+  // Writes pin this repository's reads to the primary for a while; see ReadYourWritesSession
+  private final ReadYourWritesSession session = new ReadYourWritesSession();
+
+  @Override
+  public void initialize() throws SQLException {
+    try (Connection conn = DatabaseConnection.getConnection()) {
+      createUsersTable(conn);
+    }
+  }
+
+  static void createUsersTable(Connection conn) throws SQLException {
+    try (PreparedStatement stmt = conn.prepareStatement(CREATE_USERS_TABLE_SQL)) {
+      stmt.executeUpdate();
+    }
+  }
+
+  @Override
+  public boolean insert(User user) throws SQLException {
+    try (Connection conn = writeConnection();
+        PreparedStatement stmt =
+            conn.prepareStatement(INSERT_USER_SQL, Statement.RETURN_GENERATED_KEYS)) {
+      stmt.setString(1, user.getUsername());
+      stmt.setString(2, user.getEmail());
+      stmt.setString(3, user.getPassword());
+      stmt.setTimestamp(4, Timestamp.valueOf(user.getCreatedAt()));
+      stmt.setBoolean(5, user.isActive());
+      if (stmt.executeUpdate() == 0) {
+        return false;
+      }
+      try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+        if (generatedKeys.next()) {
+          user.setId(generatedKeys.getInt(1));
+        }
+      }
+      return true;
+    }
+  }
+
+  @Override
+  public User findByUsername(String username, boolean activeOnly) throws SQLException {
+    return findOne(activeOnly ? SELECT_USER_BY_USERNAME_SQL : SELECT_USER_BY_USERNAME_ALL_SQL, username);
+  }
+
+  @Override
+  public User findByEmail(String email, boolean activeOnly) throws SQLException {
+    return findOne(activeOnly ? SELECT_USER_BY_EMAIL_SQL : SELECT_USER_BY_EMAIL_ALL_SQL, email);
+  }
+
+  private User findOne(String sql, String identifier) throws SQLException {
+    try (Connection conn = readConnection();
+        PreparedStatement stmt = conn.prepareStatement(sql)) {
+      stmt.setString(1, identifier);
+      try (ResultSet rs = stmt.executeQuery()) {
+        return rs.next() ? createUserFromResultSet(rs) : null;
+      }
+    }
+  }
+
+  @Override
+  public boolean existsByUsername(String username) throws SQLException {
+    return checkExists(CHECK_USERNAME_EXISTS_SQL, username);
+  }
+
+  @Override
+  public boolean existsByEmail(String email) throws SQLException {
+    return checkExists(CHECK_EMAIL_EXISTS_SQL, email);
+  }
+
+  private boolean checkExists(String sql, String value) throws SQLException {
+    try (Connection conn = DatabaseConnection.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(sql)) {
+      stmt.setString(1, value);
+      try (ResultSet rs = stmt.executeQuery()) {
+        return rs.next() && rs.getInt(1) > 0;
+      }
+    }
+  }
+
+  @Override
+  public boolean existsOther(int excludedUserId, String username, String email)
+      throws SQLException {
+    try (Connection conn = DatabaseConnection.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(CHECK_USER_UNIQUENESS_SQL)) {
+      stmt.setString(1, username);
+      stmt.setString(2, email);
+      stmt.setInt(3, excludedUserId);
+      try (ResultSet rs = stmt.executeQuery()) {
+        return rs.next() && rs.getInt(1) > 0;
+      }
+    }
+  }
+
+  @Override
+  public List<User> findAll() throws SQLException {
+    List<User> users = new ArrayList<>();
+    try (Connection conn = readConnection();
+        PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_USERS_SQL);
+        ResultSet rs = stmt.executeQuery()) {
+      while (rs.next()) {
+        users.add(createUserFromResultSet(rs));
+      }
+    }
+    return users;
+  }
+
+  @Override
+  public boolean updatePassword(String username, String hashedPassword) throws SQLException {
+    try (Connection conn = writeConnection();
+        PreparedStatement stmt = conn.prepareStatement(UPDATE_PASSWORD_SQL)) {
+      stmt.setString(1, hashedPassword);
+      stmt.setString(2, username);
+      return stmt.executeUpdate() > 0;
+    }
+  }
+
+  @Override
+  public boolean updateProfile(User user) throws SQLException {
+    try (Connection conn = writeConnection();
+        PreparedStatement stmt = conn.prepareStatement(UPDATE_USER_PROFILE_SQL)) {
+      stmt.setString(1, user.getUsername());
+      stmt.setString(2, user.getEmail());
+      stmt.setInt(3, user.getId());
+      return stmt.executeUpdate() > 0;
+    }
+  }
+
+  @Override
+  public boolean updateLastLogin(int userId, LocalDateTime lastLogin) throws SQLException {
+    try (Connection conn = writeConnection();
+        PreparedStatement stmt = conn.prepareStatement(UPDATE_LAST_LOGIN_SQL)) {
+      stmt.setTimestamp(1, Timestamp.valueOf(lastLogin));
+      stmt.setInt(2, userId);
+      return stmt.executeUpdate() > 0;
+    }
+  }
+
+  @Override
+  public boolean deactivate(String username) throws SQLException {
+    try (Connection conn = writeConnection();
+        PreparedStatement stmt = conn.prepareStatement(DEACTIVATE_USER_SQL)) {
+      stmt.setString(1, username);
+      return stmt.executeUpdate() > 0;
+    }
+  }
+
+  @Override
+  public void deleteAll() throws SQLException {
+    try (Connection conn = writeConnection();
+        PreparedStatement stmt = conn.prepareStatement(DELETE_ALL_USERS_SQL)) {
+      stmt.executeUpdate();
+    }
+  }
+
+  private User createUserFromResultSet(ResultSet rs) throws SQLException {
+    int id = rs.getInt("id");
+    String username = rs.getString("username");
+    String email = rs.getString("email");
+    String password = rs.getString("password");
+    LocalDateTime createdAt = rs.getTimestamp("created_at").toLocalDateTime();
+    LocalDateTime lastLogin =
+        rs.getTimestamp("last_login") != null
+            ? rs.getTimestamp("last_login").toLocalDateTime()
+            : null;
+    boolean isActive = rs.getBoolean("is_active");
+    return new User(id, username, email, password, createdAt, lastLogin, isActive);
+  }
+
+  private Connection writeConnection() throws SQLException {
+    session.recordWrite();
+    return DatabaseConnection.getConnection();
+  }
+
+  private Connection readConnection() throws SQLException {
+    return DatabaseConnection.getReadConnection(session);
+  }
+}
@@ -0,0 +1,93 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.util.DatabaseConnection;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Factory Pattern: Creates the repositories for the backend configured in
+ * {@link DatabaseConnection#getBackend()}. The file and memory backends are shared by every
+ * caller in the process, since each holds the only copy of its data. MySQL reviews are sharded
+ * by user when {@code DB_SHARD_URLS} lists shards.
+ */
+public final class RepositoryFactory {
+  private static InMemoryUserRepository memoryUsers;
+  private static InMemoryReviewRepository memoryReviews;
+  private static InMemorySmartListRepository memorySmartLists;
+  private static FileDatabase fileDatabase;
+
+  private RepositoryFactory() {}
+
+  /**
+   * Gets the user repository for the configured backend.
+   *
+   * @return the repository
+   * @throws UncheckedIOException if the database file exists but cannot be read
+   */
+  public static synchronized UserRepository createUserRepository() {
+    return switch (DatabaseConnection.getBackend()) {
+      case MYSQL -> new MySqlUserRepository();
+      case FILE -> fileDatabase().getUserRepository();
+      case MEMORY -> {
+        if (memoryUsers == null) {
+          memoryUsers = new InMemoryUserRepository();
+        }
+        yield memoryUsers;
+      }
+    };
+  }
+
+  /**
+   * Gets the review repository for the configured backend.
+   *
+   * @return the repository
+   * @throws UncheckedIOException if the database file exists but cannot be read
+   */
+  public static synchronized ReviewRepository createReviewRepository() {
+    return switch (DatabaseConnection.getBackend()) {
+      case MYSQL ->
+          DatabaseConnection.getShardCount() > 0
+              ? new ShardedReviewRepository()
+              : new MySqlReviewRepository();
+      case FILE -> fileDatabase().getReviewRepository();
+      case MEMORY -> {
+        if (memoryReviews == null) {
+          memoryReviews = new InMemoryReviewRepository();
+        }
+        yield memoryReviews;
+      }
+    };
+  }
+
+  /**
+   * Gets the smart list repository for the configured backend. Smart lists are not sharded;
+   * on MySQL they live on the primary next to the users.
+   *
+   * @return the repository
+   * @throws UncheckedIOException if the database file exists but cannot be read
+   */
+  public static synchronized SmartListRepository createSmartListRepository() {
+    return switch (DatabaseConnection.getBackend()) {
+      case MYSQL -> new MySqlSmartListRepository();
+      case FILE -> fileDatabase().getSmartListRepository();
+      case MEMORY -> {
+        if (memorySmartLists == null) {
+          memorySmartLists = new InMemorySmartListRepository();
+        }
+        yield memorySmartLists;
+      }
+    };
+  }
+
+  private static FileDatabase fileDatabase() {
+    if (fileDatabase == null) {
+      try {
+        fileDatabase = FileDatabase.open(DatabaseConnection.getDatabaseFile());
+      } catch (IOException e) {
+        // Starting empty would overwrite the user's data on the first save
+        throw new UncheckedIOException("Cannot open database file", e);
+      }
+    }
+    return fileDatabase;
+  }
+}
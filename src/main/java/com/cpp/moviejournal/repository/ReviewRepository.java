@@ -0,0 +1,186 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.manager.ReviewDelta;
+import com.cpp.moviejournal.manager.UpdateResult;
+import com.cpp.moviejournal.manager.UpsertOutcome;
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.search.ReviewFilter;
+import com.cpp.moviejournal.search.ReviewFilterResult;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage for movie reviews, independent of the database behind it. Methods taking a
+ * {@code userId} treat 0 or less as every user. Deletes move reviews to the trash; trashed
+ * reviews are left out of every read except {@link #findTrashed(int)} and
+ * {@link #findChangedSince(int, Instant)}.
+ *
+ * <p>Failures surface as {@link SQLException} on every backend, so callers can tell transient
+ * outages from bad requests with {@link com.cpp.moviejournal.util.RetryPolicy#isTransient}.
+ */
+public interface ReviewRepository {
+
+  /**
+   * Creates or migrates the schema.
+   *
+   * @param seedUserId a user that must exist for reviews to reference, or 0 for none
+   * @throws SQLException if the schema cannot be prepared
+   */
+  void initialize(int seedUserId) throws SQLException;
+
+  /**
+   * Inserts a review, replacing a trashed review with the same title and director.
+   *
+   * @param review the review; its ID is set to the new row's
+   * @return true if a row was inserted
+   * @throws SQLException if the insert fails, e.g. on a duplicate title and director
+   */
+  boolean insert(MovieReview review) throws SQLException;
+
+  /**
+   * Inserts reviews or overwrites the ones holding their title and director, atomically.
+   *
+   * @param reviews the reviews, none null; their IDs are set to the rows written
+   * @param knownIds IDs of reviews known to hold some of the pairs, by
+   *     {@link com.cpp.moviejournal.search.DuplicateReviewIndex#pairKey}; backends that cannot
+   *     tell an insert from an unchanged row use it to classify the result
+   * @return one outcome per review, in order
+   * @throws SQLException if the batch fails; nothing is written then
+   */
+  List<UpsertOutcome> upsert(List<MovieReview> reviews, Map<String, Integer> knownIds)
+      throws SQLException;
+
+  /**
+   * Updates a review if it is still at the version {@code original} was read at.
+   *
+   * @param original the review as read
+   * @param updated the new values; its version is advanced on success
+   * @return the outcome, never {@link UpdateResult#FAILED}
+   * @throws SQLException if the update fails
+   */
+  UpdateResult update(MovieReview original, MovieReview updated) throws SQLException;
+
+  /**
+   * Sets the favorite flag if the review is still at the version it was read at.
+   *
+   * @param review the review as read; its flag and version are updated on success
+   * @param favorite the new flag
+   * @return the outcome, never {@link UpdateResult#FAILED}
+   * @throws SQLException if the update fails
+   */
+  UpdateResult updateFavorite(MovieReview review, boolean favorite) throws SQLException;
+
+  /**
+   * Sets the favorite flag of several reviews in one round trip, each only if it is still at the
+   * version it was read at. Reviews succeed or fail independently.
+   *
+   * @param reviews the reviews as read, each carrying its new flag; versions of the updated ones
+   *     are advanced
+   * @return one outcome per review, in order, never {@link UpdateResult#FAILED}
+   * @throws SQLException if the batch fails
+   */
+  List<UpdateResult> updateFavorites(List<MovieReview> reviews) throws SQLException;
+
+  /**
+   * Moves one review to the trash.
+   *
+   * @return the number of reviews moved, 0 if it was already gone
+   * @throws SQLException if the delete fails
+   */
+  int softDelete(int userId, int reviewId) throws SQLException;
+
+  /**
+   * Moves reviews to the trash in one transaction.
+   *
+   * @return the number of reviews moved
+   * @throws SQLException if the delete fails; nothing is moved then
+   */
+  int softDelete(int userId, List<Integer> reviewIds) throws SQLException;
+
+  /**
+   * Takes reviews back out of the trash in one transaction.
+   *
+   * @return the IDs of the reviews restored; IDs not in the user's trash are left out
+   * @throws SQLException if the restore fails; nothing is restored then
+   */
+  List<Integer> restore(int userId, List<Integer> reviewIds) throws SQLException;
+
+  /**
+   * Permanently removes up to {@code limit} trashed reviews, oldest trashed first.
+   *
+   * @param userId whose trash, or 0 for every user's
+   * @param trashedBefore only reviews trashed before this, or null for any
+   * @param limit the maximum number removed
+   * @return the number removed
+   * @throws SQLException if the delete fails
+   */
+  int purgeTrashed(int userId, Instant trashedBefore, int limit) throws SQLException;
+
+  /**
+   * Removes every review, trashed or not.
+   *
+   * @throws SQLException if the delete fails
+   */
+  void deleteAll() throws SQLException;
+
+  /** Gets a live review, or null. */
+  MovieReview findById(int userId, int reviewId) throws SQLException;
+
+  /** Gets the live review holding a title and director, compared like the unique key, or null. */
+  MovieReview findByTitleAndDirector(int userId, String title, String director)
+      throws SQLException;
+
+  /** Gets live reviews, newest first. */
+  List<MovieReview> findAll(int userId) throws SQLException;
+
+  /** Gets summaries of live reviews, newest first, without their full review text. */
+  List<MovieReview> findSummaries(int userId) throws SQLException;
+
+  /** Gets the full review text of a live review, or null. */
+  String findReviewBody(int userId, int reviewId) throws SQLException;
+
+  /** Gets summaries of live favorite reviews, newest first. */
+  List<MovieReview> findFavorites(int userId) throws SQLException;
+
+  /** Gets summaries of live reviews with a ticket image, newest watch date first. */
+  List<MovieReview> findWithTickets(int userId) throws SQLException;
+
+  /** Gets trashed reviews, most recently trashed first. */
+  List<MovieReview> findTrashed(int userId) throws SQLException;
+
+  /**
+   * Gets summaries of live reviews whose title, director or genre contains a normalized query,
+   * newest first.
+   */
+  List<MovieReview> search(int userId, String normalizedQuery) throws SQLException;
+
+  /**
+   * Gets one page of summaries of live reviews matching a filter, with total and facet counts.
+   */
+  ReviewFilterResult filter(int userId, ReviewFilter filter) throws SQLException;
+
+  /**
+   * Gets the reviews written at or after a watermark, trashed ones as tombstones.
+   *
+   * @param since the watermark, inclusive
+   * @return the changes and the new watermark
+   */
+  ReviewDelta findChangedSince(int userId, Instant since) throws SQLException;
+
+  /**
+   * Gets the time on the clock that stamps changes, as a first watermark for
+   * {@link #findChangedSince(int, Instant)}.
+   */
+  Instant currentTime(int userId) throws SQLException;
+
+  /** Gets the average rating of live reviews, 0 if there are none. */
+  double averageRating(int userId) throws SQLException;
+
+  /** Counts live reviews. */
+  int count(int userId) throws SQLException;
+
+  /** Counts live reviews with a ticket image. */
+  int countWithTickets(int userId) throws SQLException;
+}
@@ -0,0 +1,33 @@
+package com.cpp.moviejournal.repository;
+
+import java.sql.SQLException;
+
+/** Tells which review shard holds a user's reviews. */
+@FunctionalInterface
+interface ShardLocator {
+
+  /**
+   * Where a user's reviews live.
+   *
+   * @param shard the shard's position in {@code DB_SHARD_URLS}
+   * @param moving true while the reviews are being copied to another shard; they can be read
+   *     from {@code shard} but not written
+   */
+  record Placement(int shard, boolean moving) {}
+
+  /**
+   * Creates whatever the locator stores placements in.
+   *
+   * @throws SQLException if the storage cannot be prepared
+   */
+  default void initialize() throws SQLException {}
+
+  /**
+   * Finds where a user's reviews live.
+   *
+   * @param userId the user
+   * @return the placement, never null
+   * @throws SQLException if the placement cannot be looked up
+   */
+  Placement locate(int userId) throws SQLException;
+}
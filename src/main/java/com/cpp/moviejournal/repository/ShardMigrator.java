@@ -0,0 +1,308 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.model.User;
+import com.cpp.moviejournal.util.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves a user's reviews between shards while the app keeps running:
+ *
+ * <ol>
+ *   <li>copy every review, trashed ones included, with its ID, version and timestamps;
+ *   <li>copy again whatever changed meanwhile, by {@code updated_at}, and link the copies to the
+ *       new shard's movie catalog;
+ *   <li>mark the user as moving, which blocks the user's writes, and wait until every process
+ *       has seen the mark;
+ *   <li>copy and link the last changes, point the directory at the new shard, wait until every
+ *       process reads from there, and delete the reviews from the old shard.
+ * </ol>
+ *
+ * <p>Only step 3 to 4 blocks writes, for a few seconds; the managers keep such writes in their
+ * offline journal. Run with {@code migrate <userId> <targetShard>}.
+ *
+ * <p>Adding a shard hands the new shard some users the ring placed elsewhere. Run
+ * {@code pin <oldShardCount>} before the new shard takes traffic: it records every user's current
+ * shard in the directory, so nobody's reviews move until migrated on purpose, and moves every
+ * shard's next review ID past the highest one in use. {@code reserve-ids} does only the latter,
+ * e.g. once after upgrading from shards that stepped their IDs by the shard count.
+ */
+public class ShardMigrator {
+  // The genre mask is parsed from the genre text, so unlike catalog keys it is valid anywhere
+  static final String[] REVIEW_COLUMNS = {
+    "id", "user_id", "title", "director", "genre", "rating", "review", "date_watched",
+    "ticket_image_path", "is_favorite", "deleted_at", "version", "created_at", "updated_at",
+    "genre_mask"
+  };
+
+  private static final String SELECT_USER_REVIEWS_SINCE_SQL =
+      "SELECT * FROM movie_reviews WHERE user_id = ? AND updated_at >= ? ORDER BY updated_at, id";
+
+  private static final String SELECT_FOREIGN_REVIEWS_SQL_PREFIX =
+      "SELECT id, user_id FROM movie_reviews WHERE user_id <> ? AND id IN (";
+
+  // The counter can be ahead of MAX(id) when the newest reviews were purged
+  private static final String SELECT_NEXT_REVIEW_ID_SQL =
+      """
+      SELECT GREATEST(
+          COALESCE((SELECT MAX(id) FROM movie_reviews), 0) + 1,
+          COALESCE((SELECT AUTO_INCREMENT FROM information_schema.TABLES
+              WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'movie_reviews'), 1))
+      """;
+
+  private static final String DELETE_USER_REVIEWS_SQL =
+      "DELETE FROM movie_reviews WHERE user_id = ?";
+
+  // Past the router's cache lifetime, so no process still acts on the old directory entry
+  private static final Duration DIRECTORY_SETTLE_TIME =
+      ShardRouter.DIRECTORY_TTL.plus(Duration.ofSeconds(1));
+
+  private final ShardRouter router;
+
+  /**
+   * Creates a migrator for the shards configured in {@link DatabaseConnection}.
+   *
+   * @throws IllegalStateException if reviews are not sharded
+   */
+  public ShardMigrator() {
+    if (DatabaseConnection.getShardCount() == 0) {
+      throw new IllegalStateException("DB_SHARD_URLS lists no shards");
+    }
+    this.router = new ShardRouter(DatabaseConnection.getShardCount());
+  }
+
+  /**
+   * Moves a user's reviews to another shard.
+   *
+   * @param userId the user
+   * @param targetShard the shard's position in {@code DB_SHARD_URLS}
+   * @return the number of reviews moved
+   * @throws SQLException if a step fails; the user stays readable on the old shard, and running
+   *     the migration again resumes it
+   * @throws InterruptedException if interrupted while waiting for the directory to settle
+   */
+  public int migrate(int userId, int targetShard) throws SQLException, InterruptedException {
+    if (targetShard < 0 || targetShard >= DatabaseConnection.getShardCount()) {
+      throw new IllegalArgumentException("No shard " + targetShard);
+    }
+    router.initialize();
+    int sourceShard = router.locate(userId).shard();
+    if (sourceShard == targetShard) {
+      router.place(userId, new ShardLocator.Placement(targetShard, false));
+      return 0;
+    }
+    MySqlReviewRepository target = new MySqlReviewRepository(targetShard);
+    Instant watermark = copy(userId, sourceShard, targetShard, Instant.EPOCH);
+    watermark = copy(userId, sourceShard, targetShard, watermark);
+    target.backfillCatalog(userId);
+    router.place(userId, new ShardLocator.Placement(sourceShard, true));
+    try {
+      Thread.sleep(DIRECTORY_SETTLE_TIME.toMillis());
+      copy(userId, sourceShard, targetShard, watermark);
+      // Linked before the directory moves, so readers never see the copies without names
+      target.backfillCatalog(userId);
+      target.clearCatalogNames(userId);
+      router.place(userId, new ShardLocator.Placement(targetShard, false));
+    } catch (SQLException | InterruptedException e) {
+      // Reopen the user for writes on the shard that still has every review
+      router.place(userId, new ShardLocator.Placement(sourceShard, false));
+      throw e;
+    }
+    Thread.sleep(DIRECTORY_SETTLE_TIME.toMillis());
+    try (Connection conn = DatabaseConnection.getShardConnection(sourceShard);
+        PreparedStatement stmt = conn.prepareStatement(DELETE_USER_REVIEWS_SQL)) {
+      stmt.setInt(1, userId);
+      return stmt.executeUpdate();
+    }
+  }
+
+  /**
+   * Copies the user's reviews changed at or after a watermark, overwriting earlier copies.
+   *
+   * @return the watermark for the next pass
+   */
+  private Instant copy(int userId, int sourceShard, int targetShard, Instant since)
+      throws SQLException {
+    try (Connection source = DatabaseConnection.getShardConnection(sourceShard);
+        Connection target = DatabaseConnection.getShardConnection(targetShard)) {
+      return copy(source, target, userId, since);
+    }
+  }
+
+  /**
+   * Copies the user's reviews changed at or after a watermark from one database to another, in
+   * one transaction on the target.
+   *
+   * @param source a connection to the source shard
+   * @param target a connection to the target shard
+   * @param userId the user
+   * @param since the watermark
+   * @return the watermark for the next pass
+   * @throws SQLException if reading or writing fails; the target is rolled back
+   */
+  static Instant copy(Connection source, Connection target, int userId, Instant since)
+      throws SQLException {
+    Instant watermark = since;
+    // Catalog-only rows carry their names as keys, which mean nothing on the target
+    String selectSql =
+        DatabaseConnection.isCatalogOnly()
+            ? CatalogDictionary.withNames(SELECT_USER_REVIEWS_SINCE_SQL)
+            : SELECT_USER_REVIEWS_SINCE_SQL;
+    try (PreparedStatement select = source.prepareStatement(selectSql);
+        PreparedStatement upsert = target.prepareStatement(buildCopySql())) {
+      select.setInt(1, userId);
+      select.setTimestamp(2, Timestamp.from(since));
+      target.setAutoCommit(false);
+      try (ResultSet rs = select.executeQuery()) {
+        List<Object> ids = new ArrayList<>();
+        while (rs.next()) {
+          for (int i = 0; i < REVIEW_COLUMNS.length; i++) {
+            upsert.setObject(i + 1, rs.getObject(REVIEW_COLUMNS[i]));
+          }
+          upsert.addBatch();
+          ids.add(rs.getObject("id"));
+          watermark = rs.getTimestamp("updated_at").toInstant();
+        }
+        if (!ids.isEmpty()) {
+          requireOwnedBy(target, userId, ids);
+          upsert.executeBatch();
+        }
+        target.commit();
+      } catch (SQLException e) {
+        target.rollback();
+        throw e;
+      }
+    }
+    return watermark;
+  }
+
+  /**
+   * Fails if any of the IDs belongs to another user on the target. The upsert would otherwise
+   * overwrite that user's review; it only happens if two shards handed out the same ID.
+   */
+  private static void requireOwnedBy(Connection target, int userId, List<Object> ids)
+      throws SQLException {
+    for (int from = 0; from < ids.size(); from += MySqlReviewRepository.BULK_CHUNK_SIZE) {
+      List<Object> chunk =
+          ids.subList(from, Math.min(from + MySqlReviewRepository.BULK_CHUNK_SIZE, ids.size()));
+      String sql =
+          SELECT_FOREIGN_REVIEWS_SQL_PREFIX + "?, ".repeat(chunk.size() - 1) + "?) FOR UPDATE";
+      try (PreparedStatement stmt = target.prepareStatement(sql)) {
+        stmt.setInt(1, userId);
+        for (int i = 0; i < chunk.size(); i++) {
+          stmt.setObject(i + 2, chunk.get(i));
+        }
+        try (ResultSet rs = stmt.executeQuery()) {
+          if (rs.next()) {
+            throw new SQLException(
+                "Review "
+                    + rs.getObject("id")
+                    + " on the target shard belongs to user "
+                    + rs.getObject("user_id"));
+          }
+        }
+      }
+    }
+  }
+
+  // Sets updated_at explicitly, so the copy keeps the source's change times. Catalog keys are
+  // per database, so copies carry their names until they are linked to the target's catalog.
+  private static String buildCopySql() {
+    StringBuilder sql = new StringBuilder("INSERT INTO movie_reviews (");
+    sql.append(String.join(", ", REVIEW_COLUMNS)).append(") VALUES (");
+    sql.append("?, ".repeat(REVIEW_COLUMNS.length - 1)).append("?) ON DUPLICATE KEY UPDATE ");
+    for (int i = 0; i < REVIEW_COLUMNS.length; i++) {
+      if (i > 0) {
+        sql.append(", ");
+      }
+      sql.append(REVIEW_COLUMNS[i]).append(" = VALUES(").append(REVIEW_COLUMNS[i]).append(")");
+    }
+    sql.append(", movie_id = NULL, director_id = NULL, genre_id = NULL");
+    return sql.toString();
+  }
+
+  /**
+   * Records every user's current shard in the directory, for users not in it yet.
+   *
+   * @param oldShardCount the number of shards the users were placed on
+   * @return the number of users pinned
+   * @throws SQLException if the users or the directory cannot be read or written
+   */
+  public int pinAll(int oldShardCount) throws SQLException {
+    router.initialize();
+    reserveIds();
+    ConsistentHashRing oldRing = new ConsistentHashRing(oldShardCount);
+    int pinned = 0;
+    for (User user : new MySqlUserRepository().findAll()) {
+      // Users already in the directory live where it says, not where the ring put them
+      if (router.readDirectory(user.getId()) == null) {
+        router.place(
+            user.getId(), new ShardLocator.Placement(oldRing.shardFor(user.getId()), false));
+        pinned++;
+      }
+    }
+    return pinned;
+  }
+
+  /**
+   * Moves every shard's next review ID past the highest ID on any shard, so no shard hands out
+   * an ID another shard already used, whatever increment the IDs were handed out with before.
+   *
+   * @return the lowest ID a shard may hand out from now on
+   * @throws SQLException if a shard cannot be read or altered
+   */
+  public long reserveIds() throws SQLException {
+    long nextId = 1;
+    for (int shard = 0; shard < DatabaseConnection.getShardCount(); shard++) {
+      try (Connection conn = DatabaseConnection.getShardConnection(shard);
+          Statement stmt = conn.createStatement();
+          ResultSet rs = stmt.executeQuery(SELECT_NEXT_REVIEW_ID_SQL)) {
+        if (rs.next()) {
+          nextId = Math.max(nextId, rs.getLong(1));
+        }
+      }
+    }
+    for (int shard = 0; shard < DatabaseConnection.getShardCount(); shard++) {
+      try (Connection conn = DatabaseConnection.getShardConnection(shard);
+          Statement stmt = conn.createStatement()) {
+        stmt.executeUpdate("ALTER TABLE movie_reviews AUTO_INCREMENT = " + nextId);
+      }
+    }
+    return nextId;
+  }
+
+  public static void main(String[] args) {
+    try {
+      if (args.length == 3 && args[0].equals("migrate")) {
+        int moved =
+            new ShardMigrator().migrate(Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+        System.out.println(
+            "Moved " + moved + " reviews of user " + args[1] + " to shard " + args[2]);
+      } else if (args.length == 2 && args[0].equals("pin")) {
+        int pinned = new ShardMigrator().pinAll(Integer.parseInt(args[1]));
+        System.out.println("Pinned " + pinned + " users to their shards");
+      } else if (args.length == 1 && args[0].equals("reserve-ids")) {
+        long nextId = new ShardMigrator().reserveIds();
+        System.out.println("Shards hand out review IDs from " + nextId);
+      } else {
+        System.err.println(
+            "Usage: ShardMigrator migrate <userId> <targetShard> | pin <oldShardCount>"
+                + " | reserve-ids");
+      }
+    } catch (SQLException e) {
+      System.err.println("Error migrating reviews: " + e.getMessage());
+      e.printStackTrace();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      System.err.println("Migration interrupted");
+    }
+  }
+}
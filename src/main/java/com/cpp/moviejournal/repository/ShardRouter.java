@@ -0,0 +1,109 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.util.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Places users on review shards: by {@link ConsistentHashRing} unless the
+ * {@code shard_directory} table on the primary says otherwise. The directory records users
+ * moved by {@link ShardMigrator} and users pinned before a shard was added, so their reviews
+ * stay findable whatever the ring now says.
+ *
+ * <p>Lookups are cached for {@link #DIRECTORY_TTL}; a directory change reaches every process
+ * within that time, which is why the migrator waits it out before each step that depends on it.
+ */
+final class ShardRouter implements ShardLocator {
+  static final Duration DIRECTORY_TTL = Duration.ofSeconds(5);
+
+  private static final String CREATE_SHARD_DIRECTORY_TABLE_SQL =
+      """
+      CREATE TABLE IF NOT EXISTS shard_directory (
+          user_id INT PRIMARY KEY,
+          shard INT NOT NULL,
+          moving BOOLEAN NOT NULL DEFAULT FALSE
+      )
+      """;
+
+  private static final String SELECT_PLACEMENT_SQL =
+      "SELECT shard, moving FROM shard_directory WHERE user_id = ?";
+
+  private static final String UPSERT_PLACEMENT_SQL =
+      "INSERT INTO shard_directory (user_id, shard, moving) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE shard = VALUES(shard), moving = VALUES(moving)";
+
+  private record CachedPlacement(Placement placement, long expiresAt) {}
+
+  private final ConsistentHashRing ring;
+  private final Map<Integer, CachedPlacement> cache = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a router over the given number of shards.
+   *
+   * @param shardCount the number of shards, at least 1
+   */
+  ShardRouter(int shardCount) {
+    this.ring = new ConsistentHashRing(shardCount);
+  }
+
+  @Override
+  public void initialize() throws SQLException {
+    try (Connection conn = DatabaseConnection.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(CREATE_SHARD_DIRECTORY_TABLE_SQL)) {
+      stmt.executeUpdate();
+    }
+  }
+
+  @Override
+  public Placement locate(int userId) throws SQLException {
+    long now = System.nanoTime();
+    CachedPlacement cached = cache.get(userId);
+    if (cached != null && now - cached.expiresAt() < 0) {
+      return cached.placement();
+    }
+    Placement placement = readDirectory(userId);
+    if (placement == null) {
+      placement = new Placement(ring.shardFor(userId), false);
+    }
+    cache.put(userId, new CachedPlacement(placement, now + DIRECTORY_TTL.toNanos()));
+    return placement;
+  }
+
+  /**
+   * Reads a user's directory entry, bypassing the cache.
+   *
+   * @return the placement, or null if the ring places the user
+   */
+  Placement readDirectory(int userId) throws SQLException {
+    try (Connection conn = DatabaseConnection.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(SELECT_PLACEMENT_SQL)) {
+      stmt.setInt(1, userId);
+      try (ResultSet rs = stmt.executeQuery()) {
+        return rs.next() ? new Placement(rs.getInt("shard"), rs.getBoolean("moving")) : null;
+      }
+    }
+  }
+
+  /**
+   * Records a user's placement in the directory. This process sees it at once; others within
+   * {@link #DIRECTORY_TTL}.
+   *
+   * @param userId the user
+   * @param placement where the user's reviews live from now on
+   * @throws SQLException if the directory cannot be written
+   */
+  void place(int userId, Placement placement) throws SQLException {
+    try (Connection conn = DatabaseConnection.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(UPSERT_PLACEMENT_SQL)) {
+      stmt.setInt(1, userId);
+      stmt.setInt(2, placement.shard());
+      stmt.setBoolean(3, placement.moving());
+      stmt.executeUpdate();
+    }
+    cache.remove(userId);
+  }
+}
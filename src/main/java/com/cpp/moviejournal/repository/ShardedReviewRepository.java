@@ -0,0 +1,424 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.manager.ReviewDelta;
+import com.cpp.moviejournal.manager.UpdateResult;
+import com.cpp.moviejournal.manager.UpsertOutcome;
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.search.ReviewFacetIndex;
+import com.cpp.moviejournal.search.ReviewFilter;
+import com.cpp.moviejournal.search.ReviewFilterResult;
+import com.cpp.moviejournal.util.DatabaseConnection;
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Review storage split by user over the MySQL databases in {@code DB_SHARD_URLS}. Every
+ * per-user call goes to the one shard holding that user's reviews. Calls for every user
+ * ({@code userId} 0 or less) run on all shards in parallel and merge the results: lists are
+ * merged into the order a single database returns them in, counts summed, and the average
+ * rating weighted by each shard's count.
+ *
+ * <p>While {@link ShardMigrator} moves a user, the user's reviews can still be read but writes
+ * fail with a transient {@link SQLException}, which the managers treat like an outage.
+ */
+public class ShardedReviewRepository implements ReviewRepository {
+  private static final ExecutorService FAN_OUT =
+      Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread = new Thread(runnable, "review-shard-fan-out");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  // The ORDER BY clauses of the single-database queries. NULLs compare low, so once reversed
+  // they come last, as MySQL sorts them in descending order.
+  private static final Comparator<MovieReview> NEWEST_FIRST =
+      Comparator.comparing(
+              MovieReview::getCreatedAt, Comparator.nullsFirst(Comparator.<Instant>naturalOrder()))
+          .reversed();
+  private static final Comparator<MovieReview> NEWEST_TRASHED_FIRST =
+      Comparator.comparing(
+              MovieReview::getDeletedAt, Comparator.nullsFirst(Comparator.<Instant>naturalOrder()))
+          .thenComparingInt(MovieReview::getId)
+          .reversed();
+  private static final Comparator<MovieReview> NEWEST_WATCHED_FIRST =
+      Comparator.comparing(
+              MovieReview::getDateWatched,
+              Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()))
+          .thenComparingInt(MovieReview::getId)
+          .reversed();
+
+  @FunctionalInterface
+  private interface ShardCall<T> {
+    T apply(ReviewRepository shard) throws SQLException;
+  }
+
+  private final List<ReviewRepository> shards;
+  private final ShardLocator locator;
+
+  /** Creates a repository over the shards configured in {@link DatabaseConnection}. */
+  public ShardedReviewRepository() {
+    this(
+        mySqlShards(DatabaseConnection.getShardCount()),
+        new ShardRouter(DatabaseConnection.getShardCount()));
+  }
+
+  ShardedReviewRepository(List<ReviewRepository> shards, ShardLocator locator) {
+    if (shards.isEmpty()) {
+      throw new IllegalArgumentException("At least one shard is required");
+    }
+    this.shards = List.copyOf(shards);
+    this.locator = locator;
+  }
+
+  private static List<ReviewRepository> mySqlShards(int shardCount) {
+    List<ReviewRepository> shards = new ArrayList<>(shardCount);
+    for (int shard = 0; shard < shardCount; shard++) {
+      shards.add(new MySqlReviewRepository(shard));
+    }
+    return shards;
+  }
+
+  @Override
+  public void initialize(int seedUserId) throws SQLException {
+    locator.initialize();
+    // Shards keep no users, so there is no user to seed
+    fanOut(shard -> {
+      shard.initialize(0);
+      return null;
+    });
+  }
+
+  @Override
+  public boolean insert(MovieReview review) throws SQLException {
+    return writableShardFor(review.getUserId()).insert(review);
+  }
+
+  @Override
+  public List<UpsertOutcome> upsert(List<MovieReview> reviews, Map<String, Integer> knownIds)
+      throws SQLException {
+    Map<ReviewRepository, List<Integer>> rowsByShard = new LinkedHashMap<>();
+    for (int row = 0; row < reviews.size(); row++) {
+      ReviewRepository shard = writableShardFor(reviews.get(row).getUserId());
+      rowsByShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(row);
+    }
+    UpsertOutcome[] outcomes = new UpsertOutcome[reviews.size()];
+    for (Map.Entry<ReviewRepository, List<Integer>> entry : rowsByShard.entrySet()) {
+      List<Integer> rows = entry.getValue();
+      List<UpsertOutcome> shardOutcomes =
+          entry.getKey().upsert(rows.stream().map(reviews::get).toList(), knownIds);
+      for (int i = 0; i < rows.size(); i++) {
+        outcomes[rows.get(i)] = shardOutcomes.get(i);
+      }
+    }
+    return List.of(outcomes);
+  }
+
+  @Override
+  public UpdateResult update(MovieReview original, MovieReview updated) throws SQLException {
+    return writableShardFor(original.getUserId()).update(original, updated);
+  }
+
+  @Override
+  public UpdateResult updateFavorite(MovieReview review, boolean favorite) throws SQLException {
+    return writableShardFor(review.getUserId()).updateFavorite(review, favorite);
+  }
+
+  @Override
+  public List<UpdateResult> updateFavorites(List<MovieReview> reviews) throws SQLException {
+    Map<ReviewRepository, List<Integer>> rowsByShard = new LinkedHashMap<>();
+    for (int row = 0; row < reviews.size(); row++) {
+      ReviewRepository shard = writableShardFor(reviews.get(row).getUserId());
+      rowsByShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(row);
+    }
+    UpdateResult[] results = new UpdateResult[reviews.size()];
+    for (Map.Entry<ReviewRepository, List<Integer>> entry : rowsByShard.entrySet()) {
+      List<Integer> rows = entry.getValue();
+      List<UpdateResult> shardResults =
+          entry.getKey().updateFavorites(rows.stream().map(reviews::get).toList());
+      for (int i = 0; i < rows.size(); i++) {
+        results[rows.get(i)] = shardResults.get(i);
+      }
+    }
+    return List.of(results);
+  }
+
+  @Override
+  public int softDelete(int userId, int reviewId) throws SQLException {
+    return writableShardFor(userId).softDelete(userId, reviewId);
+  }
+
+  @Override
+  public int softDelete(int userId, List<Integer> reviewIds) throws SQLException {
+    return writableShardFor(userId).softDelete(userId, reviewIds);
+  }
+
+  @Override
+  public List<Integer> restore(int userId, List<Integer> reviewIds) throws SQLException {
+    return writableShardFor(userId).restore(userId, reviewIds);
+  }
+
+  @Override
+  public int purgeTrashed(int userId, Instant trashedBefore, int limit) throws SQLException {
+    if (userId > 0) {
+      return writableShardFor(userId).purgeTrashed(userId, trashedBefore, limit);
+    }
+    // One shard after another, so the limit still bounds the whole chunk
+    int purged = 0;
+    for (ReviewRepository shard : shards) {
+      if (purged >= limit) {
+        break;
+      }
+      purged += shard.purgeTrashed(0, trashedBefore, limit - purged);
+    }
+    return purged;
+  }
+
+  @Override
+  public void deleteAll() throws SQLException {
+    fanOut(shard -> {
+      shard.deleteAll();
+      return null;
+    });
+  }
+
+  @Override
+  public MovieReview findById(int userId, int reviewId) throws SQLException {
+    if (userId > 0) {
+      return shardFor(userId).findById(userId, reviewId);
+    }
+    for (MovieReview review : fanOut(shard -> shard.findById(0, reviewId))) {
+      if (review != null) {
+        return review;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public MovieReview findByTitleAndDirector(int userId, String title, String director)
+      throws SQLException {
+    return shardFor(userId).findByTitleAndDirector(userId, title, director);
+  }
+
+  @Override
+  public List<MovieReview> findAll(int userId) throws SQLException {
+    return userId > 0
+        ? shardFor(userId).findAll(userId)
+        : merge(fanOut(s -> s.findAll(0)), NEWEST_FIRST);
+  }
+
+  @Override
+  public List<MovieReview> findSummaries(int userId) throws SQLException {
+    return userId > 0
+        ? shardFor(userId).findSummaries(userId)
+        : merge(fanOut(s -> s.findSummaries(0)), NEWEST_FIRST);
+  }
+
+  @Override
+  public String findReviewBody(int userId, int reviewId) throws SQLException {
+    if (userId > 0) {
+      return shardFor(userId).findReviewBody(userId, reviewId);
+    }
+    for (String body : fanOut(shard -> shard.findReviewBody(0, reviewId))) {
+      if (body != null) {
+        return body;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public List<MovieReview> findFavorites(int userId) throws SQLException {
+    return userId > 0
+        ? shardFor(userId).findFavorites(userId)
+        : merge(fanOut(s -> s.findFavorites(0)), NEWEST_FIRST);
+  }
+
+  @Override
+  public List<MovieReview> findWithTickets(int userId) throws SQLException {
+    if (userId > 0) {
+      return shardFor(userId).findWithTickets(userId);
+    }
+    return merge(fanOut(s -> s.findWithTickets(0)), NEWEST_WATCHED_FIRST);
+  }
+
+  @Override
+  public List<MovieReview> findTrashed(int userId) throws SQLException {
+    return userId > 0
+        ? shardFor(userId).findTrashed(userId)
+        : merge(fanOut(s -> s.findTrashed(0)), NEWEST_TRASHED_FIRST);
+  }
+
+  @Override
+  public List<MovieReview> search(int userId, String normalizedQuery) throws SQLException {
+    return userId > 0
+        ? shardFor(userId).search(userId, normalizedQuery)
+        : merge(fanOut(s -> s.search(0, normalizedQuery)), NEWEST_FIRST);
+  }
+
+  @Override
+  public ReviewFilterResult filter(int userId, ReviewFilter filter) throws SQLException {
+    if (userId > 0) {
+      return shardFor(userId).filter(userId, filter);
+    }
+    // Pages and facet counts cannot be merged per shard, so filter the union in memory
+    ReviewFacetIndex index = new ReviewFacetIndex();
+    index.rebuild(findSummaries(0));
+    return index.filter(filter);
+  }
+
+  @Override
+  public ReviewDelta findChangedSince(int userId, Instant since) throws SQLException {
+    if (userId > 0) {
+      return shardFor(userId).findChangedSince(userId, since);
+    }
+    List<MovieReview> changed = new ArrayList<>();
+    List<Integer> deletedIds = new ArrayList<>();
+    Instant watermark = since;
+    for (ReviewDelta delta : fanOut(s -> s.findChangedSince(0, since))) {
+      changed.addAll(delta.getChanged());
+      deletedIds.addAll(delta.getDeletedIds());
+      // Assumes the shard servers' clocks agree, as replication already does
+      if (delta.getWatermark().isAfter(watermark)) {
+        watermark = delta.getWatermark();
+      }
+    }
+    return new ReviewDelta(changed, deletedIds, watermark);
+  }
+
+  @Override
+  public Instant currentTime(int userId) throws SQLException {
+    if (userId > 0) {
+      return shardFor(userId).currentTime(userId);
+    }
+    // The slowest clock, so no shard's next change falls before the watermark
+    Instant earliest = null;
+    for (Instant time : fanOut(s -> s.currentTime(0))) {
+      if (earliest == null || time.isBefore(earliest)) {
+        earliest = time;
+      }
+    }
+    return earliest;
+  }
+
+  @Override
+  public double averageRating(int userId) throws SQLException {
+    if (userId > 0) {
+      return shardFor(userId).averageRating(userId);
+    }
+    double ratingSum = 0;
+    int count = 0;
+    for (double[] shardStats : fanOut(s -> new double[] {s.averageRating(0), s.count(0)})) {
+      ratingSum += shardStats[0] * shardStats[1];
+      count += (int) shardStats[1];
+    }
+    return count == 0 ? 0.0 : ratingSum / count;
+  }
+
+  @Override
+  public int count(int userId) throws SQLException {
+    if (userId > 0) {
+      return shardFor(userId).count(userId);
+    }
+    return fanOut(s -> s.count(0)).stream().mapToInt(Integer::intValue).sum();
+  }
+
+  @Override
+  public int countWithTickets(int userId) throws SQLException {
+    if (userId > 0) {
+      return shardFor(userId).countWithTickets(userId);
+    }
+    return fanOut(s -> s.countWithTickets(0)).stream().mapToInt(Integer::intValue).sum();
+  }
+
+  private ReviewRepository shardFor(int userId) throws SQLException {
+    return shards.get(locator.locate(userId).shard());
+  }
+
+  private ReviewRepository writableShardFor(int userId) throws SQLException {
+    ShardLocator.Placement placement = locator.locate(userId);
+    if (placement.moving()) {
+      throw new SQLTransientException(
+          "Reviews of user " + userId + " are moving to another shard; try again shortly");
+    }
+    return shards.get(placement.shard());
+  }
+
+  /**
+   * Runs a call on every shard at once.
+   *
+   * @return the results in shard order
+   * @throws SQLException the first shard failure, after every call has finished
+   */
+  private <T> List<T> fanOut(ShardCall<T> call) throws SQLException {
+    if (shards.size() == 1) {
+      return Collections.singletonList(call.apply(shards.get(0)));
+    }
+    List<Future<T>> futures = new ArrayList<>(shards.size());
+    for (ReviewRepository shard : shards) {
+      futures.add(FAN_OUT.submit(() -> call.apply(shard)));
+    }
+    List<T> results = new ArrayList<>(shards.size());
+    SQLException failure = null;
+    for (Future<T> future : futures) {
+      try {
+        results.add(future.get());
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure =
+              e.getCause() instanceof SQLException sqlException
+                  ? sqlException
+                  : new SQLException("Shard query failed", e.getCause());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        futures.forEach(pending -> pending.cancel(true));
+        throw new SQLException("Interrupted while querying shards", e);
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    return results;
+  }
+
+  /**
+   * Merges lists that are each sorted by {@code order} into one sorted list. Reviews that tie keep
+   * their shard's order, earlier shards first, so ties the database broke stay broken its way.
+   * There are only a few shards, so each step scans every shard's next review.
+   */
+  private static List<MovieReview> merge(
+      List<List<MovieReview>> shardReviews, Comparator<MovieReview> order) {
+    List<MovieReview> merged = new ArrayList<>();
+    int[] next = new int[shardReviews.size()];
+    while (true) {
+      int first = -1;
+      for (int shard = 0; shard < shardReviews.size(); shard++) {
+        List<MovieReview> reviews = shardReviews.get(shard);
+        if (next[shard] < reviews.size()
+            && (first < 0
+                || order.compare(reviews.get(next[shard]), shardReviews.get(first).get(next[first]))
+                    < 0)) {
+          first = shard;
+        }
+      }
+      if (first < 0) {
+        return merged;
+      }
+      merged.add(shardReviews.get(first).get(next[first]++));
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.search.ReviewFilter;
+import com.cpp.moviejournal.search.SmartList;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Storage for saved smart list definitions, independent of the database behind it. List names
+ * are unique per user.
+ */
+public interface SmartListRepository {
+
+  /**
+   * Creates or migrates the schema.
+   *
+   * @throws SQLException if the schema cannot be prepared
+   */
+  void initialize() throws SQLException;
+
+  /** Gets a user's smart lists, ordered by name. */
+  List<SmartList> findByUser(int userId) throws SQLException;
+
+  /**
+   * Saves a smart list. Saving under a name the user already has replaces that list's
+   * definition and keeps its ID.
+   *
+   * @param userId the owner
+   * @param name the list name
+   * @param filter the criteria and sort order; paging is not stored
+   * @return the saved list
+   * @throws SQLException if the list cannot be saved
+   */
+  SmartList save(int userId, String name, ReviewFilter filter) throws SQLException;
+
+  /**
+   * Deletes one of a user's smart lists.
+   *
+   * @return true if a list was deleted
+   */
+  boolean delete(int listId, int userId) throws SQLException;
+}
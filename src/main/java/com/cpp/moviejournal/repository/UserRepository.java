@@ -0,0 +1,67 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.model.User;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Storage for user accounts, independent of the database behind it. Passwords are stored as
+ * given; hashing is the caller's job.
+ */
+public interface UserRepository {
+
+  /**
+   * Creates or migrates the schema.
+   *
+   * @throws SQLException if the schema cannot be prepared
+   */
+  void initialize() throws SQLException;
+
+  /**
+   * Inserts a user.
+   *
+   * @param user the user; its ID is set to the new row's
+   * @return true if a row was inserted
+   * @throws SQLException if the insert fails, e.g. on a taken username or email
+   */
+  boolean insert(User user) throws SQLException;
+
+  /**
+   * Finds a user by username.
+   *
+   * @param activeOnly whether to skip deactivated accounts
+   * @return the user, or null
+   */
+  User findByUsername(String username, boolean activeOnly) throws SQLException;
+
+  /**
+   * Finds a user by email.
+   *
+   * @param activeOnly whether to skip deactivated accounts
+   * @return the user, or null
+   */
+  User findByEmail(String email, boolean activeOnly) throws SQLException;
+
+  boolean existsByUsername(String username) throws SQLException;
+
+  boolean existsByEmail(String email) throws SQLException;
+
+  /**
+   * Tells whether a user other than {@code excludedUserId} holds the username or email.
+   */
+  boolean existsOther(int excludedUserId, String username, String email) throws SQLException;
+
+  /** Gets every user, newest first. */
+  List<User> findAll() throws SQLException;
+
+  boolean updatePassword(String username, String hashedPassword) throws SQLException;
+
+  boolean updateProfile(User user) throws SQLException;
+
+  boolean updateLastLogin(int userId, LocalDateTime lastLogin) throws SQLException;
+
+  boolean deactivate(String username) throws SQLException;
+
+  void deleteAll() throws SQLException;
+}
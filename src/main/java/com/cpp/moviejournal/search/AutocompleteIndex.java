@@ -0,0 +1,320 @@
+package com.cpp.moviejournal.search;
+
+import com.cpp.moviejournal.manager.ReviewChangeListener;
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.util.TitleCollation;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Autocomplete over the distinct titles, directors and genres of one journal. Each field keeps
+ * its values in a sorted map keyed by the case- and accent-folded value, so the values starting
+ * with a prefix are one contiguous range found by binary search; the most used values in that
+ * range are picked with a bounded heap. Titles are also reachable without their leading article
+ * ("matr" suggests "The Matrix").
+ *
+ * <p>Each value keeps a usage count, and the spelling shown is the one used most often, which
+ * steers new reviews toward the established spelling. The index is maintained from review
+ * change events once built.
+ */
+public class AutocompleteIndex implements ReviewChangeListener {
+  /** Review fields offered for autocomplete. */
+  public enum Field {
+    TITLE,
+    DIRECTOR,
+    GENRE
+  }
+
+  private final Map<Field, PrefixIndex> indexes = new EnumMap<>(Field.class);
+  private final Map<Integer, String[]> valuesById = new HashMap<>();
+  private boolean loaded;
+
+  public AutocompleteIndex() {
+    for (Field field : Field.values()) {
+      indexes.put(field, new PrefixIndex(field == Field.TITLE));
+    }
+  }
+
+  /**
+   * Tells whether the index has been built for the current journal.
+   *
+   * @return true once {@link #rebuild(Collection)} has run
+   */
+  public synchronized boolean isLoaded() {
+    return loaded;
+  }
+
+  /**
+   * Replaces the index contents with the given reviews.
+   *
+   * @param reviews all reviews of the journal
+   */
+  public synchronized void rebuild(Collection<MovieReview> reviews) {
+    reset();
+    for (MovieReview review : reviews) {
+      add(review);
+    }
+    loaded = true;
+  }
+
+  /**
+   * Drops all indexed values and marks the index as not loaded.
+   */
+  public synchronized void invalidate() {
+    reset();
+  }
+
+  private void reset() {
+    indexes.values().forEach(PrefixIndex::clear);
+    valuesById.clear();
+    loaded = false;
+  }
+
+  /**
+   * Indexes a review's values, replacing any earlier version with the same ID.
+   *
+   * @param review the review to index
+   */
+  public synchronized void add(MovieReview review) {
+    if (review == null) {
+      return;
+    }
+    remove(review.getId());
+    String[] values = {review.getTitle(), review.getDirector(), review.getGenre()};
+    for (Field field : Field.values()) {
+      indexes.get(field).add(values[field.ordinal()]);
+    }
+    valuesById.put(review.getId(), values);
+  }
+
+  /**
+   * Removes a review's values from the index.
+   *
+   * @param reviewId the review ID
+   */
+  public synchronized void remove(int reviewId) {
+    String[] values = valuesById.remove(reviewId);
+    if (values == null) {
+      return;
+    }
+    for (Field field : Field.values()) {
+      indexes.get(field).remove(values[field.ordinal()]);
+    }
+  }
+
+  /**
+   * Suggests values of a field starting with the typed text, ignoring case and accents.
+   *
+   * @param field the field being typed
+   * @param prefix the text typed so far
+   * @param limit the maximum number of suggestions
+   * @return distinct values, most used first
+   */
+  public synchronized List<String> suggest(Field field, String prefix, int limit) {
+    return indexes.get(field).suggest(prefix, limit);
+  }
+
+  /**
+   * Gets the number of distinct values of a field.
+   *
+   * @param field the field
+   * @return the distinct value count
+   */
+  public synchronized int distinctCount(Field field) {
+    return indexes.get(field).size();
+  }
+
+  /**
+   * Folds a value for prefix matching: accents stripped, lower-cased, whitespace collapsed.
+   */
+  static String fold(String value) {
+    return Normalizer.normalize(value, Normalizer.Form.NFD)
+        .replaceAll("\\p{M}+", "")
+        .replaceAll("\\s+", " ")
+        .toLowerCase(Locale.ROOT);
+  }
+
+  /** Sorted value map of one field. */
+  private static final class PrefixIndex {
+    // Separates an article-free key from the full key it belongs to, keeping keys unique
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final boolean articleFreeKeys;
+    private final NavigableMap<String, Term> terms = new TreeMap<>();
+    private final NavigableMap<String, Term> articleFreeTerms = new TreeMap<>();
+
+    PrefixIndex(boolean articleFreeKeys) {
+      this.articleFreeKeys = articleFreeKeys;
+    }
+
+    void add(String value) {
+      if (value == null || value.isBlank()) {
+        return;
+      }
+      String spelling = value.trim();
+      String key = fold(spelling);
+      Term term = terms.get(key);
+      if (term == null) {
+        term = new Term();
+        terms.put(key, term);
+        String articleFree = articleFreeKeys ? fold(TitleCollation.stripLeadingArticle(spelling)) : key;
+        if (!articleFree.equals(key)) {
+          term.articleFreeKey = articleFree + KEY_SEPARATOR + key;
+          articleFreeTerms.put(term.articleFreeKey, term);
+        }
+      }
+      term.add(spelling);
+    }
+
+    void remove(String value) {
+      if (value == null || value.isBlank()) {
+        return;
+      }
+      String spelling = value.trim();
+      String key = fold(spelling);
+      Term term = terms.get(key);
+      if (term == null) {
+        return;
+      }
+      term.remove(spelling);
+      if (term.count == 0) {
+        terms.remove(key);
+        if (term.articleFreeKey != null) {
+          articleFreeTerms.remove(term.articleFreeKey);
+        }
+      }
+    }
+
+    List<String> suggest(String prefix, int limit) {
+      if (prefix == null || limit <= 0) {
+        return new ArrayList<>();
+      }
+      String folded = fold(prefix.stripLeading());
+      if (folded.isEmpty()) {
+        return new ArrayList<>();
+      }
+      Comparator<Term> rank = Comparator.comparingInt((Term t) -> t.count)
+          .thenComparing(t -> t.display, Comparator.reverseOrder());
+      PriorityQueue<Term> top = new PriorityQueue<>(limit + 1, rank);
+      Set<Term> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+      for (NavigableMap<String, Term> map : List.of(terms, articleFreeTerms)) {
+        for (Term term : map.subMap(folded, true, folded + Character.MAX_VALUE, false).values()) {
+          if (seen.add(term)) {
+            top.offer(term);
+            if (top.size() > limit) {
+              top.poll();
+            }
+          }
+        }
+      }
+      List<String> suggestions = new ArrayList<>(top.size());
+      while (!top.isEmpty()) {
+        suggestions.add(top.poll().display);
+      }
+      Collections.reverse(suggestions);
+      return suggestions;
+    }
+
+    int size() {
+      return terms.size();
+    }
+
+    void clear() {
+      terms.clear();
+      articleFreeTerms.clear();
+    }
+  }
+
+  /** One distinct folded value with its usage count and spellings. */
+  private static final class Term {
+    private final Map<String, Integer> spellings = new LinkedHashMap<>();
+    private String display;
+    private String articleFreeKey;
+    private int count;
+
+    void add(String spelling) {
+      int uses = spellings.merge(spelling, 1, Integer::sum);
+      count++;
+      if (display == null || uses > spellings.get(display)) {
+        display = spelling;
+      }
+    }
+
+    void remove(String spelling) {
+      Integer uses = spellings.get(spelling);
+      if (uses == null) {
+        return;
+      }
+      count--;
+      if (uses == 1) {
+        spellings.remove(spelling);
+      } else {
+        spellings.put(spelling, uses - 1);
+      }
+      if (spelling.equals(display)) {
+        display = null;
+        int best = 0;
+        for (Map.Entry<String, Integer> entry : spellings.entrySet()) {
+          if (entry.getValue() > best) {
+            best = entry.getValue();
+            display = entry.getKey();
+          }
+        }
+      }
+    }
+  }
+
+  // ReviewChangeListener implementation: keep the value counts in step with writes once built
+  @Override
+  public synchronized void onReviewAdded(MovieReview review) {
+    if (loaded) {
+      add(review);
+    }
+  }
+
+  @Override
+  public synchronized void onReviewUpdated(MovieReview review) {
+    if (loaded) {
+      add(review);
+    }
+  }
+
+  @Override
+  public synchronized void onReviewDeleted(int reviewId) {
+    remove(reviewId);
+  }
+
+  @Override
+  public synchronized void onReviewsBulkDeleted(int count) {
+    // Without IDs the affected reviews are unknown; rebuild on next use
+    invalidate();
+  }
+
+  @Override
+  public synchronized void onReviewsBulkDeleted(List<Integer> reviewIds, int count) {
+    for (Integer reviewId : reviewIds) {
+      remove(reviewId);
+    }
+  }
+
+  @Override
+  public synchronized void onReviewsCleared() {
+    boolean wasLoaded = loaded;
+    reset();
+    loaded = wasLoaded;
+  }
+}
@@ -0,0 +1,160 @@
+package com.cpp.moviejournal.search;
+
+import com.cpp.moviejournal.manager.ReviewChangeListener;
+import com.cpp.moviejournal.model.MovieReview;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory mirror of the {@code unique_user_movie_director} key: maps each (user, title,
+ * director) triple to the review that holds it. Values are compared like the database's
+ * case- and accent-insensitive collation, so a pair found here would be rejected by the key,
+ * and callers can warn or merge before making the round trip.
+ */
+public class DuplicateReviewIndex implements ReviewChangeListener {
+  /** Returned by {@link #findReviewId} when no review holds the pair. */
+  public static final int NOT_FOUND = -1;
+
+  private static final char KEY_SEPARATOR = '\u0000';
+
+  private final Map<String, Integer> reviewIdByKey = new HashMap<>();
+  private final Map<Integer, String> keyByReviewId = new HashMap<>();
+  private boolean loaded;
+
+  /**
+   * Tells whether the index has been built for the current journal.
+   *
+   * @return true once {@link #rebuild(Collection)} has run
+   */
+  public synchronized boolean isLoaded() {
+    return loaded;
+  }
+
+  /**
+   * Replaces the index contents with the given reviews.
+   *
+   * @param reviews all reviews of the journal
+   */
+  public synchronized void rebuild(Collection<MovieReview> reviews) {
+    reset();
+    for (MovieReview review : reviews) {
+      add(review);
+    }
+    loaded = true;
+  }
+
+  /**
+   * Drops all pairs and marks the index as not loaded.
+   */
+  public synchronized void invalidate() {
+    reset();
+  }
+
+  private void reset() {
+    reviewIdByKey.clear();
+    keyByReviewId.clear();
+    loaded = false;
+  }
+
+  /**
+   * Records a review's pair, replacing the pair of any earlier version with the same ID.
+   *
+   * @param review the review
+   */
+  public synchronized void add(MovieReview review) {
+    if (review == null) {
+      return;
+    }
+    remove(review.getId());
+    String key = pairKey(review.getUserId(), review.getTitle(), review.getDirector());
+    reviewIdByKey.put(key, review.getId());
+    keyByReviewId.put(review.getId(), key);
+  }
+
+  /**
+   * Removes a review's pair.
+   *
+   * @param reviewId the review ID
+   */
+  public synchronized void remove(int reviewId) {
+    String key = keyByReviewId.remove(reviewId);
+    if (key != null) {
+      reviewIdByKey.remove(key, reviewId);
+    }
+  }
+
+  /**
+   * Finds the review holding a user's (title, director) pair.
+   *
+   * @param userId the user ID
+   * @param title the movie title
+   * @param director the director
+   * @return the ID of the review holding the pair, or {@link #NOT_FOUND}
+   */
+  public synchronized int findReviewId(int userId, String title, String director) {
+    return reviewIdByKey.getOrDefault(pairKey(userId, title, director), NOT_FOUND);
+  }
+
+  public synchronized int size() {
+    return reviewIdByKey.size();
+  }
+
+  /**
+   * Builds the key two reviews share exactly when the unique key would treat them as the same
+   * movie.
+   *
+   * @param userId the user ID
+   * @param title the movie title
+   * @param director the director
+   * @return the folded key
+   */
+  public static String pairKey(int userId, String title, String director) {
+    return userId + String.valueOf(KEY_SEPARATOR) + fold(title) + KEY_SEPARATOR + fold(director);
+  }
+
+  private static String fold(String value) {
+    return value != null ? AutocompleteIndex.fold(value.strip()) : "";
+  }
+
+  // ReviewChangeListener implementation: keep the pairs in step with writes once built
+  @Override
+  public synchronized void onReviewAdded(MovieReview review) {
+    if (loaded) {
+      add(review);
+    }
+  }
+
+  @Override
+  public synchronized void onReviewUpdated(MovieReview review) {
+    if (loaded) {
+      add(review);
+    }
+  }
+
+  @Override
+  public synchronized void onReviewDeleted(int reviewId) {
+    remove(reviewId);
+  }
+
+  @Override
+  public synchronized void onReviewsBulkDeleted(int count) {
+    // Without IDs the affected reviews are unknown; rebuild on next use
+    invalidate();
+  }
+
+  @Override
+  public synchronized void onReviewsBulkDeleted(List<Integer> reviewIds, int count) {
+    for (Integer reviewId : reviewIds) {
+      remove(reviewId);
+    }
+  }
+
+  @Override
+  public synchronized void onReviewsCleared() {
+    boolean wasLoaded = loaded;
+    reset();
+    loaded = wasLoaded;
+  }
+}
@@ -0,0 +1,77 @@
+package com.cpp.moviejournal.search;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Review counts per filter facet. Each facet is counted with every other active criterion
+ * applied but not its own, so the counts tell how many reviews selecting that value would
+ * show (e.g. the genre counts stay visible after a genre has been picked).
+ */
+public class FacetCounts {
+  public static final int RATING_BUCKETS = 6;
+
+  private final Map<String, Integer> genreCounts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+  private final int[] ratingCounts = new int[RATING_BUCKETS];
+  private int favoriteCount;
+  private int ticketCount;
+
+  void addGenreCount(String genre, int count) {
+    genreCounts.merge(genre, count, Integer::sum);
+  }
+
+  void addRatingCount(int bucket, int count) {
+    ratingCounts[Math.max(0, Math.min(bucket, RATING_BUCKETS - 1))] += count;
+  }
+
+  void setFavoriteCount(int favoriteCount) {
+    this.favoriteCount = favoriteCount;
+  }
+
+  void setTicketCount(int ticketCount) {
+    this.ticketCount = ticketCount;
+  }
+
+  /**
+   * Gets the number of reviews per genre, ordered by genre name.
+   *
+   * @return an unmodifiable genre to count map
+   */
+  public Map<String, Integer> getGenreCounts() {
+    return Collections.unmodifiableMap(genreCounts);
+  }
+
+  /**
+   * Gets the number of reviews whose rating falls in the whole-star bucket, e.g. bucket 4
+   * covers 4.0 and 4.5.
+   *
+   * @param bucket the whole-star bucket (0-5)
+   * @return the review count
+   */
+  public int getRatingCount(int bucket) {
+    return bucket >= 0 && bucket < RATING_BUCKETS ? ratingCounts[bucket] : 0;
+  }
+
+  /**
+   * Gets the number of reviews rated at least the given whole number of stars.
+   *
+   * @param minStars the minimum stars (0-5)
+   * @return the review count
+   */
+  public int getRatingAtLeastCount(int minStars) {
+    int count = 0;
+    for (int bucket = Math.max(0, minStars); bucket < RATING_BUCKETS; bucket++) {
+      count += ratingCounts[bucket];
+    }
+    return count;
+  }
+
+  public int getFavoriteCount() {
+    return favoriteCount;
+  }
+
+  public int getTicketCount() {
+    return ticketCount;
+  }
+}
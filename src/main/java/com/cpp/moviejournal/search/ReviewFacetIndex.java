@@ -0,0 +1,329 @@
+package com.cpp.moviejournal.search;
+
+import com.cpp.moviejournal.manager.ReviewChangeListener;
+import com.cpp.moviejournal.model.Genre;
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.strategy.SortStrategyFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * In-memory facet engine over one journal's reviews. Every review gets a dense ordinal, and each
+ * facet value (registry genre, rating half-step, favorite, has-ticket, watch year) keeps a bitmap
+ * of the ordinals that carry it; a review tagged with several genres is in each genre's bitmap.
+ * Evaluating a {@link ReviewFilter} is then a handful of AND/OR operations over bitmaps, and each
+ * facet count is the cardinality of an intersection, so filter changes are answered without a
+ * database round trip.
+ *
+ * <p>Range criteria (rating, watch date) OR together the buckets that lie entirely inside the
+ * range and check individual reviews only in the two boundary buckets. Deleted reviews are
+ * cleared from the live bitmap and compacted away once they outnumber live reviews.
+ */
+public class ReviewFacetIndex implements ReviewChangeListener {
+  private static final int COMPACTION_MIN_TOMBSTONES = 1024;
+
+  private final List<MovieReview> documents = new ArrayList<>();
+  private final Map<Integer, Integer> ordinalById = new HashMap<>();
+  private final BitSet live = new BitSet();
+  private final Map<Genre, BitSet> genres = new EnumMap<>(Genre.class);
+  private final NavigableMap<Integer, BitSet> ratingHalfSteps = new TreeMap<>();
+  private final NavigableMap<Integer, BitSet> watchYears = new TreeMap<>();
+  private final BitSet favorites = new BitSet();
+  private final BitSet tickets = new BitSet();
+  private int tombstones;
+  private boolean loaded;
+
+  /**
+   * Tells whether the index has been built for the current journal.
+   *
+   * @return true once {@link #rebuild(Collection)} has run
+   */
+  public synchronized boolean isLoaded() {
+    return loaded;
+  }
+
+  /**
+   * Replaces the index contents with the given reviews.
+   *
+   * @param reviews all reviews of the journal
+   */
+  public synchronized void rebuild(Collection<MovieReview> reviews) {
+    reset();
+    for (MovieReview review : reviews) {
+      add(review);
+    }
+    loaded = true;
+  }
+
+  /**
+   * Drops all indexed reviews and marks the index as not loaded.
+   */
+  public synchronized void invalidate() {
+    reset();
+  }
+
+  private void reset() {
+    documents.clear();
+    ordinalById.clear();
+    live.clear();
+    genres.clear();
+    ratingHalfSteps.clear();
+    watchYears.clear();
+    favorites.clear();
+    tickets.clear();
+    tombstones = 0;
+    loaded = false;
+  }
+
+  /**
+   * Indexes a review, replacing any earlier version with the same ID.
+   *
+   * @param review the review to index
+   */
+  public synchronized void add(MovieReview review) {
+    if (review == null) {
+      return;
+    }
+    remove(review.getId());
+    int ordinal = documents.size();
+    documents.add(review);
+    ordinalById.put(review.getId(), ordinal);
+    live.set(ordinal);
+
+    for (Genre genre : review.getGenres()) {
+      genres.computeIfAbsent(genre, k -> new BitSet()).set(ordinal);
+    }
+    ratingHalfSteps.computeIfAbsent(halfStep(review.getRating()), k -> new BitSet()).set(ordinal);
+    if (review.getDateWatched() != null) {
+      watchYears.computeIfAbsent(review.getDateWatched().getYear(), k -> new BitSet()).set(ordinal);
+    }
+    if (review.isFavorite()) {
+      favorites.set(ordinal);
+    }
+    if (hasTicket(review)) {
+      tickets.set(ordinal);
+    }
+  }
+
+  /**
+   * Removes a review from the index.
+   *
+   * @param reviewId the review ID
+   */
+  public synchronized void remove(int reviewId) {
+    Integer ordinal = ordinalById.remove(reviewId);
+    if (ordinal == null) {
+      return;
+    }
+    // Facet bitmaps keep the stale bit; every query starts from the live bitmap
+    live.clear(ordinal);
+    documents.set(ordinal, null);
+    tombstones++;
+    if (tombstones >= COMPACTION_MIN_TOMBSTONES && tombstones > ordinalById.size()) {
+      compact();
+    }
+  }
+
+  private void compact() {
+    List<MovieReview> survivors = new ArrayList<>(ordinalById.size());
+    for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+      survivors.add(documents.get(ordinal));
+    }
+    boolean wasLoaded = loaded;
+    rebuild(survivors);
+    loaded = wasLoaded;
+  }
+
+  public synchronized int size() {
+    return ordinalById.size();
+  }
+
+  /**
+   * Evaluates a filter: the requested page of matching reviews in the filter's sort order, the
+   * total match count, and facet counts computed like {@link ReviewFilterQuery} (each facet
+   * without its own criterion).
+   *
+   * @param filter the filter criteria
+   * @return the page and facet counts
+   */
+  public synchronized ReviewFilterResult filter(ReviewFilter filter) {
+    BitSet common = (BitSet) live.clone();
+    if (!filter.getQuery().isEmpty()) {
+      common.and(matching(common, review -> SearchQueryCache.matches(review, filter.getQuery())));
+    }
+    if (filter.getWatchedFrom() != null || filter.getWatchedTo() != null) {
+      common.and(watchDateMask(filter.getWatchedFrom(), filter.getWatchedTo()));
+    }
+    BitSet genreMask = filter.getGenres().isEmpty() ? null : genreMask(filter.getGenreMask());
+    BitSet ratingMask =
+        filter.hasRatingRange() ? ratingMask(filter.getMinRating(), filter.getMaxRating()) : null;
+    BitSet favoriteMask = filter.isFavoritesOnly() ? favorites : null;
+    BitSet ticketMask = filter.isWithTicketOnly() ? tickets : null;
+
+    BitSet matched = intersect(common, genreMask, ratingMask, favoriteMask, ticketMask);
+    FacetCounts facets = new FacetCounts();
+
+    BitSet genreBase = intersect(common, null, ratingMask, favoriteMask, ticketMask);
+    for (Map.Entry<Genre, BitSet> entry : genres.entrySet()) {
+      int count = intersectionCount(genreBase, entry.getValue());
+      if (count > 0) {
+        facets.addGenreCount(entry.getKey().getDisplayName(), count);
+      }
+    }
+    BitSet ratingBase = intersect(common, genreMask, null, favoriteMask, ticketMask);
+    for (Map.Entry<Integer, BitSet> entry : ratingHalfSteps.entrySet()) {
+      facets.addRatingCount(entry.getKey() / 2, intersectionCount(ratingBase, entry.getValue()));
+    }
+    facets.setFavoriteCount(
+        intersectionCount(intersect(common, genreMask, ratingMask, null, ticketMask), favorites));
+    facets.setTicketCount(
+        intersectionCount(intersect(common, genreMask, ratingMask, favoriteMask, null), tickets));
+
+    List<MovieReview> reviews = new ArrayList<>(matched.cardinality());
+    for (int ordinal = matched.nextSetBit(0); ordinal >= 0;
+        ordinal = matched.nextSetBit(ordinal + 1)) {
+      reviews.add(documents.get(ordinal));
+    }
+    List<MovieReview> sorted =
+        SortStrategyFactory.createStrategy(filter.getSortOption()).sort(reviews);
+    int from = Math.min(filter.getOffset(), sorted.size());
+    int to = Math.min(from + filter.getLimit(), sorted.size());
+    return new ReviewFilterResult(new ArrayList<>(sorted.subList(from, to)), sorted.size(), facets);
+  }
+
+  private BitSet genreMask(int selectedGenres) {
+    BitSet mask = new BitSet();
+    for (Genre genre : Genre.fromMask(selectedGenres)) {
+      BitSet bits = genres.get(genre);
+      if (bits != null) {
+        mask.or(bits);
+      }
+    }
+    return mask;
+  }
+
+  private BitSet ratingMask(double minRating, double maxRating) {
+    return rangeMask(ratingHalfSteps, halfStep(minRating), halfStep(maxRating),
+        review -> review.getRating() >= minRating && review.getRating() <= maxRating);
+  }
+
+  private BitSet watchDateMask(LocalDate from, LocalDate to) {
+    int fromYear = from != null ? from.getYear() : Integer.MIN_VALUE;
+    int toYear = to != null ? to.getYear() : Integer.MAX_VALUE;
+    return rangeMask(watchYears, fromYear, toYear, review -> {
+      LocalDate date = review.getDateWatched();
+      return date != null
+          && (from == null || !date.isBefore(from))
+          && (to == null || !date.isAfter(to));
+    });
+  }
+
+  /**
+   * ORs the buckets strictly between the boundary keys and adds the reviews of the boundary
+   * buckets that pass the exact check.
+   */
+  private BitSet rangeMask(NavigableMap<Integer, BitSet> buckets, int lowKey, int highKey,
+      Predicate<MovieReview> exact) {
+    BitSet mask = new BitSet();
+    if (lowKey > highKey) {
+      return mask;
+    }
+    for (BitSet bits : buckets.subMap(lowKey, false, highKey, false).values()) {
+      mask.or(bits);
+    }
+    for (int key : lowKey == highKey ? new int[] {lowKey} : new int[] {lowKey, highKey}) {
+      BitSet boundary = buckets.get(key);
+      if (boundary != null) {
+        BitSet candidates = (BitSet) boundary.clone();
+        candidates.and(live);
+        mask.or(matching(candidates, exact));
+      }
+    }
+    return mask;
+  }
+
+  private BitSet matching(BitSet candidates, Predicate<MovieReview> predicate) {
+    BitSet result = new BitSet();
+    for (int ordinal = candidates.nextSetBit(0); ordinal >= 0;
+        ordinal = candidates.nextSetBit(ordinal + 1)) {
+      if (predicate.test(documents.get(ordinal))) {
+        result.set(ordinal);
+      }
+    }
+    return result;
+  }
+
+  private static BitSet intersect(BitSet base, BitSet... masks) {
+    BitSet result = (BitSet) base.clone();
+    for (BitSet mask : masks) {
+      if (mask != null) {
+        result.and(mask);
+      }
+    }
+    return result;
+  }
+
+  private static int intersectionCount(BitSet base, BitSet bits) {
+    BitSet result = (BitSet) bits.clone();
+    result.and(base);
+    return result.cardinality();
+  }
+
+  private static boolean hasTicket(MovieReview review) {
+    String path = review.getTicketImagePath();
+    return path != null && !path.isEmpty();
+  }
+
+  private static int halfStep(double rating) {
+    return (int) Math.floor(rating * 2 + 1e-9);
+  }
+
+  // ReviewChangeListener implementation: keep the bitmaps in step with writes once built
+  @Override
+  public synchronized void onReviewAdded(MovieReview review) {
+    if (loaded) {
+      add(review);
+    }
+  }
+
+  @Override
+  public synchronized void onReviewUpdated(MovieReview review) {
+    if (loaded) {
+      add(review);
+    }
+  }
+
+  @Override
+  public synchronized void onReviewDeleted(int reviewId) {
+    remove(reviewId);
+  }
+
+  @Override
+  public synchronized void onReviewsBulkDeleted(int count) {
+    // Without IDs the affected reviews are unknown; rebuild on next use
+    invalidate();
+  }
+
+  @Override
+  public synchronized void onReviewsBulkDeleted(List<Integer> reviewIds, int count) {
+    for (Integer reviewId : reviewIds) {
+      remove(reviewId);
+    }
+  }
+
+  @Override
+  public synchronized void onReviewsCleared() {
+    boolean wasLoaded = loaded;
+    reset();
+    loaded = wasLoaded;
+  }
+}
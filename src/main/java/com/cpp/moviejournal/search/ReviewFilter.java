@@ -0,0 +1,276 @@
+package com.cpp.moviejournal.search;
+
+import com.cpp.moviejournal.model.Genre;
+import com.cpp.moviejournal.model.MovieReview;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Immutable filter criteria for querying reviews: free text, genres, rating range, watch-date
+ * range, favorite and has-ticket flags, plus sort order and paging. Built with {@link Builder};
+ * unset criteria do not restrict the result.
+ *
+ * <p>Genres are matched through the {@link Genre} registry: a review matches when it is tagged
+ * with any selected genre, and names the registry does not know match nothing.
+ */
+public class ReviewFilter {
+  public static final double MIN_RATING = 0.0;
+  public static final double MAX_RATING = 5.0;
+  public static final int DEFAULT_LIMIT = 500;
+
+  private final String query;
+  private final Set<String> genres;
+  private final int genreMask;
+  private final double minRating;
+  private final double maxRating;
+  private final LocalDate watchedFrom;
+  private final LocalDate watchedTo;
+  private final boolean favoritesOnly;
+  private final boolean withTicketOnly;
+  private final String sortOption;
+  private final int offset;
+  private final int limit;
+
+  private ReviewFilter(Builder builder) {
+    this.query = SearchQueryCache.normalize(builder.query);
+    this.genres = Collections.unmodifiableSet(new LinkedHashSet<>(builder.genres));
+    this.genreMask = genreMask(builder.genres);
+    this.minRating = builder.minRating;
+    this.maxRating = builder.maxRating;
+    this.watchedFrom = builder.watchedFrom;
+    this.watchedTo = builder.watchedTo;
+    this.favoritesOnly = builder.favoritesOnly;
+    this.withTicketOnly = builder.withTicketOnly;
+    this.sortOption = builder.sortOption;
+    this.offset = builder.offset;
+    this.limit = builder.limit;
+  }
+
+  /**
+   * Tells whether any criterion other than the free-text query, sort and paging is set.
+   *
+   * @return true if the filter narrows results beyond a plain search
+   */
+  public boolean hasCriteria() {
+    return !genres.isEmpty()
+        || hasRatingRange()
+        || watchedFrom != null
+        || watchedTo != null
+        || favoritesOnly
+        || withTicketOnly;
+  }
+
+  /**
+   * Tests a single review against every criterion, mirroring {@link ReviewFilterQuery} and
+   * {@link ReviewFacetIndex}. Sort and paging do not apply.
+   *
+   * @param review the review to test
+   * @return true if the review belongs to the filtered result
+   */
+  public boolean matches(MovieReview review) {
+    if (review == null) {
+      return false;
+    }
+    if (!query.isEmpty() && !SearchQueryCache.matches(review, query)) {
+      return false;
+    }
+    if (!genres.isEmpty() && (review.getGenreMask() & genreMask) == 0) {
+      return false;
+    }
+    if (review.getRating() < minRating || review.getRating() > maxRating) {
+      return false;
+    }
+    LocalDate date = review.getDateWatched();
+    if ((watchedFrom != null || watchedTo != null) && date == null) {
+      return false;
+    }
+    if ((watchedFrom != null && date.isBefore(watchedFrom))
+        || (watchedTo != null && date.isAfter(watchedTo))) {
+      return false;
+    }
+    if (favoritesOnly && !review.isFavorite()) {
+      return false;
+    }
+    String ticketPath = review.getTicketImagePath();
+    return !withTicketOnly || (ticketPath != null && !ticketPath.isEmpty());
+  }
+
+  private static int genreMask(Collection<String> genres) {
+    int mask = 0;
+    for (String genre : genres) {
+      mask |= Genre.parseMask(genre);
+    }
+    return mask;
+  }
+
+  public boolean hasRatingRange() {
+    return minRating > MIN_RATING || maxRating < MAX_RATING;
+  }
+
+  public String getQuery() {
+    return query;
+  }
+
+  public Set<String> getGenres() {
+    return genres;
+  }
+
+  /**
+   * Gets the selected genres as a {@link Genre} mask; only meaningful while
+   * {@link #getGenres()} is not empty.
+   *
+   * @return the mask, 0 if no selected name is in the registry
+   */
+  public int getGenreMask() {
+    return genreMask;
+  }
+
+  public double getMinRating() {
+    return minRating;
+  }
+
+  public double getMaxRating() {
+    return maxRating;
+  }
+
+  public LocalDate getWatchedFrom() {
+    return watchedFrom;
+  }
+
+  public LocalDate getWatchedTo() {
+    return watchedTo;
+  }
+
+  public boolean isFavoritesOnly() {
+    return favoritesOnly;
+  }
+
+  public boolean isWithTicketOnly() {
+    return withTicketOnly;
+  }
+
+  public String getSortOption() {
+    return sortOption;
+  }
+
+  public int getOffset() {
+    return offset;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  /** Builder class for constructing ReviewFilter objects. */
+  public static class Builder {
+    private String query;
+    private final Set<String> genres = new LinkedHashSet<>();
+    private double minRating = MIN_RATING;
+    private double maxRating = MAX_RATING;
+    private LocalDate watchedFrom;
+    private LocalDate watchedTo;
+    private boolean favoritesOnly;
+    private boolean withTicketOnly;
+    private String sortOption;
+    private int offset;
+    private int limit = DEFAULT_LIMIT;
+
+    public Builder setQuery(String query) {
+      this.query = query;
+      return this;
+    }
+
+    public Builder addGenre(String genre) {
+      if (genre != null && !genre.isBlank()) {
+        this.genres.add(genre.trim());
+      }
+      return this;
+    }
+
+    public Builder setGenres(Collection<String> genres) {
+      this.genres.clear();
+      if (genres != null) {
+        genres.forEach(this::addGenre);
+      }
+      return this;
+    }
+
+    /**
+     * Restricts ratings to an inclusive range; values are clamped to 0-5.
+     *
+     * @param minRating the lowest rating to include
+     * @param maxRating the highest rating to include
+     * @return this builder
+     */
+    public Builder setRatingRange(double minRating, double maxRating) {
+      double low = clampRating(Math.min(minRating, maxRating));
+      double high = clampRating(Math.max(minRating, maxRating));
+      this.minRating = low;
+      this.maxRating = high;
+      return this;
+    }
+
+    private static double clampRating(double rating) {
+      return Math.max(MIN_RATING, Math.min(rating, MAX_RATING));
+    }
+
+    public Builder setWatchedFrom(LocalDate watchedFrom) {
+      this.watchedFrom = watchedFrom;
+      return this;
+    }
+
+    public Builder setWatchedTo(LocalDate watchedTo) {
+      this.watchedTo = watchedTo;
+      return this;
+    }
+
+    public Builder setFavoritesOnly(boolean favoritesOnly) {
+      this.favoritesOnly = favoritesOnly;
+      return this;
+    }
+
+    public Builder setWithTicketOnly(boolean withTicketOnly) {
+      this.withTicketOnly = withTicketOnly;
+      return this;
+    }
+
+    public Builder setSortOption(String sortOption) {
+      this.sortOption = sortOption;
+      return this;
+    }
+
+    /**
+     * Selects the page of results to return.
+     *
+     * @param offset the number of matching reviews to skip
+     * @param limit the maximum number of reviews to return
+     * @return this builder
+     */
+    public Builder setPage(int offset, int limit) {
+      this.offset = Math.max(0, offset);
+      this.limit = Math.max(1, limit);
+      return this;
+    }
+
+    /**
+     * Builds a ReviewFilter from the builder.
+     *
+     * @return the constructed ReviewFilter
+     */
+    public ReviewFilter build() {
+      return new ReviewFilter(this);
+    }
+  }
+
+  /**
+   * Creates a new Builder instance for constructing ReviewFilter objects.
+   *
+   * @return a new Builder instance
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+}
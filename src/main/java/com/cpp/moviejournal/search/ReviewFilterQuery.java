@@ -0,0 +1,299 @@
+package com.cpp.moviejournal.search;
+
+import com.cpp.moviejournal.model.Genre;
+import com.cpp.moviejournal.model.MovieReview;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compiles a {@link ReviewFilter} into a single parameterized SQL statement that returns the
+ * requested page of reviews and all facet counts in one round trip.
+ *
+ * <p>The matching rows are defined once in a common table expression; the page is numbered
+ * with {@code ROW_NUMBER()} and every facet is appended with {@code UNION ALL}. Result rows
+ * carry a {@code facet} discriminator column. Predicates are sargable (equality on
+ * {@code user_id}, ranges on rating and date) so they can use the {@code (user_id, ...)}
+ * composite indexes; genres are a bitwise test on {@code genre_mask}, checked on the rows the
+ * user's index range yields. Genre counts join the rows to the {@link Genre} registry, so a
+ * review with several genres counts once for each.
+ */
+public class ReviewFilterQuery {
+  private static final String COLUMNS =
+      "id, user_id, title, director, genre, rating, review, date_watched, ticket_image_path, is_favorite, version";
+  // Pages list reviews with a snippet of their text, so the rest stays on the server
+  private static final String MATCHED_COLUMNS =
+      COLUMNS.replace(
+          " review,", " LEFT(review, " + (MovieReview.SNIPPET_LENGTH + 1) + ") AS review,");
+  private static final String NULL_COLUMNS =
+      "NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL";
+
+  private static final String FACET_ROW = "row";
+  private static final String FACET_TOTAL = "total";
+  private static final String FACET_GENRE = "genre";
+  private static final String FACET_RATING = "rating";
+  private static final String FACET_FAVORITE = "favorite";
+  private static final String FACET_TICKET = "ticket";
+
+  // One row per registry genre; a review joins every genre whose bit it carries
+  private static final String GENRE_JOIN_SQL = genreJoin();
+  private static final String HAS_TICKET_SQL =
+      "ticket_image_path IS NOT NULL AND ticket_image_path <> ''";
+  // Mirrors TitleCollation: leading article skipped, case and accents folded by the _ci collation
+  private static final String TITLE_SORT_KEY =
+      "CASE WHEN title LIKE 'the _%' THEN SUBSTRING(title, 5)"
+          + " WHEN title LIKE 'an _%' THEN SUBSTRING(title, 4)"
+          + " WHEN title LIKE 'a _%' THEN SUBSTRING(title, 3) ELSE title END";
+
+  /** Maps one result row to a review. */
+  @FunctionalInterface
+  public interface RowMapper {
+    MovieReview map(ResultSet rs) throws SQLException;
+  }
+
+  /** Filter dimensions that have facet counts; their own predicate is left out when counting. */
+  private enum Dimension {
+    GENRE,
+    RATING,
+    FAVORITE,
+    TICKET
+  }
+
+  private record Predicate(Dimension dimension, String sql, List<Object> parameters) {}
+
+  private final String sql;
+  private final List<Object> parameters;
+
+  private ReviewFilterQuery(String sql, List<Object> parameters) {
+    this.sql = sql;
+    this.parameters = Collections.unmodifiableList(parameters);
+  }
+
+  /**
+   * Compiles a filter for the given user.
+   *
+   * @param filter the filter criteria
+   * @param userId the user whose reviews to query, or 0 for all users
+   * @return the compiled query
+   */
+  public static ReviewFilterQuery compile(ReviewFilter filter, int userId) {
+    List<Predicate> predicates = buildPredicates(filter, userId);
+    List<Object> parameters = new ArrayList<>();
+    StringBuilder sql = new StringBuilder();
+
+    sql.append("WITH matched AS (SELECT ").append(MATCHED_COLUMNS)
+        .append(", genre_mask FROM movie_reviews");
+    appendWhere(sql, parameters, predicates, null, null);
+    sql.append("), numbered AS (SELECT matched.*, ROW_NUMBER() OVER (ORDER BY ")
+        .append(orderBy(filter.getSortOption()))
+        .append(") AS row_num FROM matched)\n");
+
+    sql.append("SELECT '").append(FACET_ROW).append("' AS facet, NULL AS facet_key, ")
+        .append("row_num AS facet_count, ").append(COLUMNS)
+        .append(" FROM numbered WHERE row_num > ? AND row_num <= ?\n");
+    parameters.add(filter.getOffset());
+    parameters.add(filter.getOffset() + filter.getLimit());
+
+    sql.append("UNION ALL SELECT '").append(FACET_TOTAL).append("', NULL, COUNT(*), ")
+        .append(NULL_COLUMNS).append(" FROM matched\n");
+    appendFacet(sql, parameters, predicates, Dimension.GENRE,
+        "'" + FACET_GENRE + "', genres.genre_name", GENRE_JOIN_SQL, null, "genres.genre_name");
+    appendFacet(sql, parameters, predicates, Dimension.RATING,
+        "'" + FACET_RATING + "', CAST(FLOOR(rating) AS CHAR)", null, null,
+        "CAST(FLOOR(rating) AS CHAR)");
+    appendFacet(sql, parameters, predicates, Dimension.FAVORITE,
+        "'" + FACET_FAVORITE + "', NULL", null, "is_favorite = TRUE", null);
+    appendFacet(sql, parameters, predicates, Dimension.TICKET,
+        "'" + FACET_TICKET + "', NULL", null, HAS_TICKET_SQL, null);
+    sql.append("ORDER BY facet, facet_count");
+
+    return new ReviewFilterQuery(sql.toString(), parameters);
+  }
+
+  private static List<Predicate> buildPredicates(ReviewFilter filter, int userId) {
+    List<Predicate> predicates = new ArrayList<>();
+    if (userId > 0) {
+      predicates.add(new Predicate(null, "user_id = ?", List.of(userId)));
+    }
+    // Reviews in the trash stay hidden until they are restored or purged
+    predicates.add(new Predicate(null, "deleted_at IS NULL", List.of()));
+    if (!filter.getQuery().isEmpty()) {
+      String pattern = containsPattern(filter.getQuery());
+      predicates.add(new Predicate(null,
+          "(LOWER(title) LIKE ? OR LOWER(director) LIKE ? OR LOWER(genre) LIKE ?)",
+          List.of(pattern, pattern, pattern)));
+    }
+    if (filter.getWatchedFrom() != null) {
+      predicates.add(new Predicate(null, "date_watched >= ?", List.of(filter.getWatchedFrom())));
+    }
+    if (filter.getWatchedTo() != null) {
+      predicates.add(new Predicate(null, "date_watched <= ?", List.of(filter.getWatchedTo())));
+    }
+    if (!filter.getGenres().isEmpty()) {
+      predicates.add(new Predicate(Dimension.GENRE, "(genre_mask & ?) <> 0",
+          List.of(filter.getGenreMask())));
+    }
+    if (filter.hasRatingRange()) {
+      predicates.add(new Predicate(Dimension.RATING, "rating BETWEEN ? AND ?",
+          List.of(filter.getMinRating(), filter.getMaxRating())));
+    }
+    if (filter.isFavoritesOnly()) {
+      predicates.add(new Predicate(Dimension.FAVORITE, "is_favorite = TRUE", List.of()));
+    }
+    if (filter.isWithTicketOnly()) {
+      predicates.add(new Predicate(Dimension.TICKET, HAS_TICKET_SQL, List.of()));
+    }
+    return predicates;
+  }
+
+  private static String genreJoin() {
+    List<String> rows = new ArrayList<>();
+    for (Genre genre : Genre.values()) {
+      rows.add("SELECT '" + genre.getDisplayName() + "' AS genre_name, " + genre.mask()
+          + " AS genre_bit");
+    }
+    return " JOIN (" + String.join(" UNION ALL ", rows)
+        + ") genres ON (genre_mask & genres.genre_bit) <> 0";
+  }
+
+  /**
+   * Appends one facet. When the filter does not restrict the facet's own dimension its counts
+   * come straight from the matched rows; otherwise the base table is scanned with every
+   * predicate except that dimension's.
+   */
+  private static void appendFacet(StringBuilder sql, List<Object> parameters,
+      List<Predicate> predicates, Dimension dimension, String keyColumns, String join,
+      String condition, String groupBy) {
+    sql.append("UNION ALL SELECT ").append(keyColumns).append(", COUNT(*), ")
+        .append(NULL_COLUMNS);
+    boolean restricted = predicates.stream().anyMatch(p -> p.dimension() == dimension);
+    if (restricted) {
+      sql.append(" FROM movie_reviews");
+      if (join != null) {
+        sql.append(join);
+      }
+      appendWhere(sql, parameters, predicates, dimension, condition);
+    } else {
+      sql.append(" FROM matched");
+      if (join != null) {
+        sql.append(join);
+      }
+      if (condition != null) {
+        sql.append(" WHERE ").append(condition);
+      }
+    }
+    if (groupBy != null) {
+      sql.append(" GROUP BY ").append(groupBy);
+    }
+    sql.append('\n');
+  }
+
+  private static void appendWhere(StringBuilder sql, List<Object> parameters,
+      List<Predicate> predicates, Dimension excluded, String extraCondition) {
+    List<String> conditions = new ArrayList<>();
+    for (Predicate predicate : predicates) {
+      if (excluded == null || predicate.dimension() != excluded) {
+        conditions.add(predicate.sql());
+        parameters.addAll(predicate.parameters());
+      }
+    }
+    if (extraCondition != null) {
+      conditions.add(extraCondition);
+    }
+    if (!conditions.isEmpty()) {
+      sql.append(" WHERE ").append(String.join(" AND ", conditions));
+    }
+  }
+
+  // Mirrors the sort strategies so server-side paging agrees with in-memory sorting
+  private static String orderBy(String sortOption) {
+    if (sortOption == null) {
+      return "date_watched DESC, id DESC";
+    }
+    return switch (sortOption) {
+      case "Date (Oldest)" -> "date_watched ASC, id ASC";
+      case "Rating (High)" -> "rating DESC, title ASC, id ASC";
+      case "Rating (Low)" -> "rating ASC, title ASC, id ASC";
+      case "Title (A-Z)" -> TITLE_SORT_KEY + " ASC, title ASC, director ASC, id ASC";
+      case "Title (Z-A)" -> TITLE_SORT_KEY + " DESC, title DESC, director DESC, id DESC";
+      default -> "date_watched DESC, id DESC";
+    };
+  }
+
+  /**
+   * Builds a LIKE pattern matching the normalized query literally anywhere in a value.
+   *
+   * @param normalizedQuery a query produced by {@link SearchQueryCache#normalize(String)}
+   * @return the escaped pattern
+   */
+  public static String containsPattern(String normalizedQuery) {
+    String escaped =
+        normalizedQuery.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    return "%" + escaped + "%";
+  }
+
+  public String getSql() {
+    return sql;
+  }
+
+  public List<Object> getParameters() {
+    return parameters;
+  }
+
+  /**
+   * Binds the compiled parameters to a statement prepared from {@link #getSql()}.
+   *
+   * @param stmt the prepared statement
+   * @throws SQLException if a parameter cannot be set
+   */
+  public void bind(PreparedStatement stmt) throws SQLException {
+    for (int i = 0; i < parameters.size(); i++) {
+      Object value = parameters.get(i);
+      int index = i + 1;
+      if (value instanceof LocalDate date) {
+        stmt.setDate(index, Date.valueOf(date));
+      } else if (value instanceof Double number) {
+        stmt.setDouble(index, number);
+      } else if (value instanceof Integer number) {
+        stmt.setInt(index, number);
+      } else {
+        stmt.setString(index, String.valueOf(value));
+      }
+    }
+  }
+
+  /**
+   * Reads the combined result set into the page of reviews and its facet counts.
+   *
+   * @param rs the result set of the executed statement
+   * @param mapper maps a review row
+   * @return the page, total and facet counts
+   * @throws SQLException if reading fails
+   */
+  public ReviewFilterResult read(ResultSet rs, RowMapper mapper) throws SQLException {
+    List<MovieReview> reviews = new ArrayList<>();
+    FacetCounts facets = new FacetCounts();
+    int total = 0;
+    while (rs.next()) {
+      String facet = rs.getString("facet");
+      int count = rs.getInt("facet_count");
+      switch (facet) {
+        case FACET_ROW -> reviews.add(mapper.map(rs));
+        case FACET_TOTAL -> total = count;
+        case FACET_GENRE -> facets.addGenreCount(rs.getString("facet_key"), count);
+        case FACET_RATING -> facets.addRatingCount(Integer.parseInt(rs.getString("facet_key")), count);
+        case FACET_FAVORITE -> facets.setFavoriteCount(count);
+        case FACET_TICKET -> facets.setTicketCount(count);
+        default -> {
+          // Unknown facets are ignored
+        }
+      }
+    }
+    return new ReviewFilterResult(reviews, total, facets);
+  }
+}
@@ -0,0 +1,41 @@
+package com.cpp.moviejournal.search;
+
+import com.cpp.moviejournal.model.MovieReview;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of filtered reviews together with the total match count and facet counts.
+ */
+public class ReviewFilterResult {
+  private final List<MovieReview> reviews;
+  private final int totalCount;
+  private final FacetCounts facets;
+
+  public ReviewFilterResult(List<MovieReview> reviews, int totalCount, FacetCounts facets) {
+    this.reviews = reviews;
+    this.totalCount = totalCount;
+    this.facets = facets;
+  }
+
+  /**
+   * Creates an empty result, used when the query could not be run.
+   *
+   * @return a result without reviews or counts
+   */
+  public static ReviewFilterResult empty() {
+    return new ReviewFilterResult(new ArrayList<>(), 0, new FacetCounts());
+  }
+
+  public List<MovieReview> getReviews() {
+    return reviews;
+  }
+
+  public int getTotalCount() {
+    return totalCount;
+  }
+
+  public FacetCounts getFacets() {
+    return facets;
+  }
+}
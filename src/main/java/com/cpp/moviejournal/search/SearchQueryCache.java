@@ -0,0 +1,169 @@
+package com.cpp.moviejournal.search;
+
+import com.cpp.moviejournal.manager.ReviewChangeListener;
+import com.cpp.moviejournal.model.MovieReview;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * LRU cache of search results keyed by normalized query.
+ * When a query extends a cached one (the user kept typing), the narrower result is computed by
+ * filtering the cached superset in memory: every review containing the longer query also
+ * contains its prefix, so no database round trip is needed. Any review change clears the cache
+ * and starts a new generation; results read before the change are dropped when they are stored.
+ */
+public class SearchQueryCache implements ReviewChangeListener {
+  private static final int DEFAULT_CAPACITY = 64;
+
+  private final Map<String, List<MovieReview>> entries;
+  private long generation;
+
+  public SearchQueryCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public SearchQueryCache(int capacity) {
+    this.entries =
+        new LinkedHashMap<>(capacity, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, List<MovieReview>> eldest) {
+            return size() > capacity;
+          }
+        };
+  }
+
+  /**
+   * Normalizes a raw query: trimmed, lower-cased and with inner whitespace collapsed.
+   *
+   * @param query the raw query, may be null
+   * @return the normalized query, empty if there is nothing to search for
+   */
+  public static String normalize(String query) {
+    if (query == null) {
+      return "";
+    }
+    return query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Tells whether a review matches a normalized query, mirroring the SQL search: a substring of
+   * title, director or genre, ignoring case and accents as utf8mb4_unicode_ci does.
+   *
+   * @param review the review
+   * @param normalizedQuery a query produced by {@link #normalize(String)}
+   * @return true if the review matches
+   */
+  public static boolean matches(MovieReview review, String normalizedQuery) {
+    String foldedQuery = AutocompleteIndex.fold(normalizedQuery);
+    return containsFolded(review.getTitle(), foldedQuery)
+        || containsFolded(review.getDirector(), foldedQuery)
+        || containsFolded(review.getGenre(), foldedQuery);
+  }
+
+  private static boolean containsFolded(String value, String foldedQuery) {
+    return value != null && AutocompleteIndex.fold(value).contains(foldedQuery);
+  }
+
+  /**
+   * Looks up a normalized query, refining the longest cached prefix in memory if there is no
+   * exact entry.
+   *
+   * @param normalizedQuery a query produced by {@link #normalize(String)}
+   * @return a fresh copy of the results, or null on a cache miss
+   */
+  public synchronized List<MovieReview> get(String normalizedQuery) {
+    List<MovieReview> cached = entries.get(normalizedQuery);
+    if (cached != null) {
+      return new ArrayList<>(cached);
+    }
+    for (int length = normalizedQuery.length() - 1; length > 0; length--) {
+      List<MovieReview> superset = entries.get(normalizedQuery.substring(0, length));
+      if (superset != null) {
+        List<MovieReview> refined = new ArrayList<>();
+        for (MovieReview review : superset) {
+          if (matches(review, normalizedQuery)) {
+            refined.add(review);
+          }
+        }
+        entries.put(normalizedQuery, refined);
+        return new ArrayList<>(refined);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Gets the current generation. Capture it before querying and pass it to
+   * {@link #put(String, List, long)} so results that raced with a review change are not stored.
+   *
+   * @return the number of times the cache has been cleared
+   */
+  public synchronized long generation() {
+    return generation;
+  }
+
+  /**
+   * Stores the results for a normalized query, read in the current generation.
+   *
+   * @param normalizedQuery a query produced by {@link #normalize(String)}
+   * @param results the results, in display order
+   */
+  public synchronized void put(String normalizedQuery, List<MovieReview> results) {
+    put(normalizedQuery, results, generation);
+  }
+
+  /**
+   * Stores the results for a normalized query unless the cache was cleared after they were read.
+   *
+   * @param normalizedQuery a query produced by {@link #normalize(String)}
+   * @param results the results, in display order
+   * @param readGeneration the {@link #generation()} captured before the results were read
+   * @return true if the results were stored, false if they are stale
+   */
+  public synchronized boolean put(
+      String normalizedQuery, List<MovieReview> results, long readGeneration) {
+    if (readGeneration != generation) {
+      return false;
+    }
+    entries.put(normalizedQuery, new ArrayList<>(results));
+    return true;
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+    generation++;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  // ReviewChangeListener implementation: any write may change any result set
+  @Override
+  public void onReviewAdded(MovieReview review) {
+    clear();
+  }
+
+  @Override
+  public void onReviewUpdated(MovieReview review) {
+    clear();
+  }
+
+  @Override
+  public void onReviewDeleted(int reviewId) {
+    clear();
+  }
+
+  @Override
+  public void onReviewsBulkDeleted(int count) {
+    clear();
+  }
+
+  @Override
+  public void onReviewsCleared() {
+    clear();
+  }
+}
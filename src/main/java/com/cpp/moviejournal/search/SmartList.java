@@ -0,0 +1,41 @@
+package com.cpp.moviejournal.search;
+
+/**
+ * A saved, named filter and sort order belonging to one user, such as "5-star horror" or
+ * "Watched this year". Paging in the filter is ignored; a smart list always holds every
+ * matching review.
+ */
+public class SmartList {
+  private final int id;
+  private final int userId;
+  private final String name;
+  private final ReviewFilter filter;
+
+  public SmartList(int id, int userId, String name, ReviewFilter filter) {
+    this.id = id;
+    this.userId = userId;
+    this.name = name;
+    this.filter = filter;
+  }
+
+  public int getId() {
+    return id;
+  }
+
+  public int getUserId() {
+    return userId;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public ReviewFilter getFilter() {
+    return filter;
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
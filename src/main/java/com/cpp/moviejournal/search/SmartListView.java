@@ -0,0 +1,103 @@
+package com.cpp.moviejournal.search;
+
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.strategy.SortStrategy;
+import com.cpp.moviejournal.strategy.SortStrategyFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Materialized result of a {@link SmartList}: the matching reviews, kept in the list's sort
+ * order. After one full build the view is maintained per change; a changed review is taken
+ * out and, if it still matches, put back at its binary-searched position, so reading the view
+ * never re-runs the filter or the sort.
+ */
+public class SmartListView {
+  private final ReviewFilter filter;
+  private final SortStrategy strategy;
+  private final Comparator<MovieReview> order;
+  private final List<MovieReview> members = new ArrayList<>();
+  private final Set<Integer> memberIds = new HashSet<>();
+
+  public SmartListView(ReviewFilter filter) {
+    this.filter = filter;
+    this.strategy = SortStrategyFactory.createStrategy(filter.getSortOption());
+    this.order = strategy.comparator();
+  }
+
+  /**
+   * Replaces the view contents by filtering and sorting the given reviews.
+   *
+   * @param reviews all reviews of the journal
+   */
+  public synchronized void rebuild(Collection<MovieReview> reviews) {
+    clear();
+    List<MovieReview> matching = new ArrayList<>();
+    for (MovieReview review : reviews) {
+      if (filter.matches(review)) {
+        matching.add(review);
+      }
+    }
+    members.addAll(strategy.sort(matching));
+    for (MovieReview review : members) {
+      memberIds.add(review.getId());
+    }
+  }
+
+  /**
+   * Applies an added or updated review: drops any earlier version and inserts the review in
+   * sort order if it matches the filter.
+   *
+   * @param review the new state of the review
+   */
+  public synchronized void apply(MovieReview review) {
+    remove(review.getId());
+    if (!filter.matches(review)) {
+      return;
+    }
+    int position = Collections.binarySearch(members, review, order);
+    members.add(position >= 0 ? position : -position - 1, review);
+    memberIds.add(review.getId());
+  }
+
+  /**
+   * Removes a review from the view.
+   *
+   * @param reviewId the review ID
+   */
+  public synchronized void remove(int reviewId) {
+    if (!memberIds.remove(reviewId)) {
+      return;
+    }
+    // Scan by ID: the review may have been changed in place, so its old sort position is unknown
+    for (int i = 0; i < members.size(); i++) {
+      if (members.get(i).getId() == reviewId) {
+        members.remove(i);
+        return;
+      }
+    }
+  }
+
+  public synchronized void clear() {
+    members.clear();
+    memberIds.clear();
+  }
+
+  /**
+   * Gets the reviews in the list, in sort order.
+   *
+   * @return a copy of the current members
+   */
+  public synchronized List<MovieReview> getReviews() {
+    return new ArrayList<>(members);
+  }
+
+  public synchronized int size() {
+    return members.size();
+  }
+}
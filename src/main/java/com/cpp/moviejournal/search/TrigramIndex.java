@@ -0,0 +1,350 @@
+package com.cpp.moviejournal.search;
+
+import com.cpp.moviejournal.manager.ReviewChangeListener;
+import com.cpp.moviejournal.model.MovieReview;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Typo-tolerant search over review titles, directors and genres.
+ * Each field is split into words and indexed by padded character trigrams ("nolan" yields
+ * " no", "nol", "ola", "lan", "an "). A query is answered by counting, per review and field,
+ * how many of the query's trigrams it shares, then ranking candidates by a blend of query
+ * coverage and Dice similarity. Only posting lists of the query's own trigrams are touched, so
+ * lookups stay well under a millisecond for tens of thousands of reviews.
+ *
+ * <p>The index is maintained incrementally from review change events. Deleted reviews leave
+ * tombstones in the posting lists that are skipped at query time and dropped by periodic
+ * compaction.
+ */
+public class TrigramIndex implements ReviewChangeListener {
+  private static final int FIELD_TITLE = 0;
+  private static final int FIELD_DIRECTOR = 1;
+  private static final int FIELD_GENRE = 2;
+  private static final int FIELD_COUNT = 3;
+
+  /** Minimum share of the query's trigrams a field must contain to be a candidate. */
+  private static final double MIN_COVERAGE = 0.34;
+  private static final double COVERAGE_WEIGHT = 0.7;
+  private static final int COMPACTION_MIN_TOMBSTONES = 1024;
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final Map<Long, IntList> postings = new HashMap<>();
+  private final List<MovieReview> documents = new ArrayList<>();
+  private final BitSet live = new BitSet();
+  private final Map<Integer, Integer> ordinalById = new HashMap<>();
+  private int[][] fieldGramCounts = new int[FIELD_COUNT][INITIAL_CAPACITY];
+  private int[][] overlap = new int[FIELD_COUNT][INITIAL_CAPACITY];
+  private int[] touchedCount = new int[INITIAL_CAPACITY];
+  private int tombstones;
+  private boolean loaded;
+
+  /**
+   * Tells whether the index has been built for the current journal.
+   *
+   * @return true once {@link #rebuild(Collection)} has run
+   */
+  public synchronized boolean isLoaded() {
+    return loaded;
+  }
+
+  /**
+   * Replaces the index contents with the given reviews.
+   *
+   * @param reviews all reviews to index
+   */
+  public synchronized void rebuild(Collection<MovieReview> reviews) {
+    reset();
+    for (MovieReview review : reviews) {
+      add(review);
+    }
+    loaded = true;
+  }
+
+  /**
+   * Drops all indexed reviews and marks the index as not loaded.
+   */
+  public synchronized void invalidate() {
+    reset();
+  }
+
+  private void reset() {
+    postings.clear();
+    documents.clear();
+    live.clear();
+    ordinalById.clear();
+    tombstones = 0;
+    loaded = false;
+  }
+
+  /**
+   * Indexes a review, replacing any earlier version with the same ID.
+   *
+   * @param review the review to index
+   */
+  public synchronized void add(MovieReview review) {
+    if (review == null) {
+      return;
+    }
+    remove(review.getId());
+    int ordinal = documents.size();
+    documents.add(review);
+    live.set(ordinal);
+    ordinalById.put(review.getId(), ordinal);
+    ensureCapacity(ordinal + 1);
+    indexField(FIELD_TITLE, review.getTitle(), ordinal);
+    indexField(FIELD_DIRECTOR, review.getDirector(), ordinal);
+    indexField(FIELD_GENRE, review.getGenre(), ordinal);
+  }
+
+  private void indexField(int field, String value, int ordinal) {
+    long[] grams = trigrams(value);
+    fieldGramCounts[field][ordinal] = grams.length;
+    for (long gram : grams) {
+      postings.computeIfAbsent(key(field, gram), k -> new IntList()).add(ordinal);
+    }
+  }
+
+  /**
+   * Removes a review from the index.
+   *
+   * @param reviewId the review ID
+   */
+  public synchronized void remove(int reviewId) {
+    Integer ordinal = ordinalById.remove(reviewId);
+    if (ordinal == null) {
+      return;
+    }
+    live.clear(ordinal);
+    documents.set(ordinal, null);
+    tombstones++;
+    if (tombstones >= COMPACTION_MIN_TOMBSTONES && tombstones > live.cardinality()) {
+      compact();
+    }
+  }
+
+  private void compact() {
+    List<MovieReview> survivors = new ArrayList<>(live.cardinality());
+    for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+      survivors.add(documents.get(ordinal));
+    }
+    boolean wasLoaded = loaded;
+    rebuild(survivors);
+    loaded = wasLoaded;
+  }
+
+  public synchronized int size() {
+    return ordinalById.size();
+  }
+
+  /**
+   * Finds the reviews most similar to the query, best match first.
+   *
+   * @param query the raw query, may contain typos
+   * @param limit the maximum number of results
+   * @return up to {@code limit} matching reviews ranked by similarity
+   */
+  public synchronized List<MovieReview> search(String query, int limit) {
+    long[] queryGrams = trigrams(query);
+    if (queryGrams.length == 0 || limit <= 0) {
+      return new ArrayList<>();
+    }
+
+    IntList touched = new IntList();
+    for (int field = 0; field < FIELD_COUNT; field++) {
+      int[] fieldOverlap = overlap[field];
+      for (long gram : queryGrams) {
+        IntList posting = postings.get(key(field, gram));
+        if (posting == null) {
+          continue;
+        }
+        for (int i = 0; i < posting.size; i++) {
+          int ordinal = posting.values[i];
+          fieldOverlap[ordinal]++;
+          if (touchedCount[ordinal]++ == 0) {
+            touched.add(ordinal);
+          }
+        }
+      }
+    }
+
+    PriorityQueue<ScoredReview> best =
+        new PriorityQueue<>(limit + 1, Comparator.comparingDouble(ScoredReview::score));
+    for (int i = 0; i < touched.size; i++) {
+      int ordinal = touched.values[i];
+      if (live.get(ordinal)) {
+        double score = score(ordinal, queryGrams.length);
+        if (score > 0) {
+          best.add(new ScoredReview(documents.get(ordinal), score));
+          if (best.size() > limit) {
+            best.poll();
+          }
+        }
+      }
+      touchedCount[ordinal] = 0;
+      for (int field = 0; field < FIELD_COUNT; field++) {
+        overlap[field][ordinal] = 0;
+      }
+    }
+
+    MovieReview[] ranked = new MovieReview[best.size()];
+    for (int i = ranked.length - 1; i >= 0; i--) {
+      ranked[i] = best.poll().review();
+    }
+    return new ArrayList<>(Arrays.asList(ranked));
+  }
+
+  private double score(int ordinal, int queryGramCount) {
+    double best = 0;
+    for (int field = 0; field < FIELD_COUNT; field++) {
+      int shared = overlap[field][ordinal];
+      if (shared == 0) {
+        continue;
+      }
+      double coverage = (double) shared / queryGramCount;
+      if (coverage < MIN_COVERAGE) {
+        continue;
+      }
+      double dice = 2.0 * shared / (queryGramCount + fieldGramCounts[field][ordinal]);
+      best = Math.max(best, COVERAGE_WEIGHT * coverage + (1 - COVERAGE_WEIGHT) * dice);
+    }
+    return best;
+  }
+
+  private void ensureCapacity(int required) {
+    int capacity = touchedCount.length;
+    if (required <= capacity) {
+      return;
+    }
+    int newCapacity = Math.max(required, capacity * 2);
+    for (int field = 0; field < FIELD_COUNT; field++) {
+      fieldGramCounts[field] = Arrays.copyOf(fieldGramCounts[field], newCapacity);
+      overlap[field] = Arrays.copyOf(overlap[field], newCapacity);
+    }
+    touchedCount = Arrays.copyOf(touchedCount, newCapacity);
+  }
+
+  private static long key(int field, long gram) {
+    return ((long) field << 48) | gram;
+  }
+
+  /**
+   * Extracts the distinct padded trigrams of a text, case- and accent-folded, sorted.
+   *
+   * @param text the text, may be null
+   * @return the packed trigrams
+   */
+  static long[] trigrams(String text) {
+    if (text == null || text.isBlank()) {
+      return new long[0];
+    }
+    String folded =
+        Normalizer.normalize(text, Normalizer.Form.NFD)
+            .replaceAll("\\p{M}+", "")
+            .toLowerCase(Locale.ROOT);
+    long[] grams = new long[folded.length() * 2 + 2];
+    int count = 0;
+    int wordStart = -1;
+    for (int i = 0; i <= folded.length(); i++) {
+      boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+      if (wordChar && wordStart < 0) {
+        wordStart = i;
+      } else if (!wordChar && wordStart >= 0) {
+        count = addWordGrams(folded, wordStart, i, grams, count);
+        wordStart = -1;
+      }
+    }
+    long[] unique = Arrays.copyOf(grams, count);
+    Arrays.sort(unique);
+    int distinct = 0;
+    for (int i = 0; i < unique.length; i++) {
+      if (i == 0 || unique[i] != unique[i - 1]) {
+        unique[distinct++] = unique[i];
+      }
+    }
+    return Arrays.copyOf(unique, distinct);
+  }
+
+  private static int addWordGrams(String text, int start, int end, long[] grams, int count) {
+    // Pad with a space on both sides so word starts and ends form their own trigrams
+    int length = end - start + 2;
+    for (int i = 0; i + 3 <= length; i++) {
+      grams[count++] = pack(charAt(text, start, end, i), charAt(text, start, end, i + 1),
+          charAt(text, start, end, i + 2));
+    }
+    return count;
+  }
+
+  private static char charAt(String text, int start, int end, int paddedIndex) {
+    int index = start + paddedIndex - 1;
+    return index < start || index >= end ? ' ' : text.charAt(index);
+  }
+
+  private static long pack(char first, char second, char third) {
+    return ((long) first << 32) | ((long) second << 16) | third;
+  }
+
+  // ReviewChangeListener implementation: keep the index in step with writes once built
+  @Override
+  public synchronized void onReviewAdded(MovieReview review) {
+    if (loaded) {
+      add(review);
+    }
+  }
+
+  @Override
+  public synchronized void onReviewUpdated(MovieReview review) {
+    if (loaded) {
+      add(review);
+    }
+  }
+
+  @Override
+  public synchronized void onReviewDeleted(int reviewId) {
+    remove(reviewId);
+  }
+
+  @Override
+  public synchronized void onReviewsBulkDeleted(int count) {
+    // Without IDs the affected reviews are unknown; rebuild on next use
+    invalidate();
+  }
+
+  @Override
+  public synchronized void onReviewsBulkDeleted(List<Integer> reviewIds, int count) {
+    for (Integer reviewId : reviewIds) {
+      remove(reviewId);
+    }
+  }
+
+  @Override
+  public synchronized void onReviewsCleared() {
+    boolean wasLoaded = loaded;
+    reset();
+    loaded = wasLoaded;
+  }
+
+  private record ScoredReview(MovieReview review, double score) {}
+
+  /** Growable primitive int list used for posting lists. */
+  private static final class IntList {
+    private int[] values = new int[4];
+    private int size;
+
+    void add(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+  }
+}
@@ -1,7 +1,6 @@
 package com.cpp.moviejournal.strategy;
 
 import com.cpp.moviejournal.model.MovieReview;
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -12,12 +11,11 @@ import java.util.List;
 public class DateNewestSortStrategy implements SortStrategy {
   @Override
   public List<MovieReview> sort(List<MovieReview> reviews) {
-    List<MovieReview> sorted = new ArrayList<>(reviews);
-    sorted.sort(
-        Comparator.comparing(
-                MovieReview::getDateWatched, Comparator.nullsLast(Comparator.reverseOrder()))
-            .thenComparing(MovieReview::getId, Comparator.reverseOrder()));
-    return sorted;
+    return ReviewSortEngine.sortByDate(reviews, true);
   }
-}
 
+  @Override
+  public Comparator<MovieReview> comparator() {
+    return ReviewSortEngine.dateOrder(true);
+  }
+}
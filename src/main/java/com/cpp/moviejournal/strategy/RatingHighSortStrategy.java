@@ -1,7 +1,6 @@
 package com.cpp.moviejournal.strategy;
 
 import com.cpp.moviejournal.model.MovieReview;
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -12,11 +11,11 @@ import java.util.List;
 public class RatingHighSortStrategy implements SortStrategy {
   @Override
   public List<MovieReview> sort(List<MovieReview> reviews) {
-    List<MovieReview> sorted = new ArrayList<>(reviews);
-    sorted.sort(
-        Comparator.comparing(MovieReview::getRating, Comparator.reverseOrder())
-            .thenComparing(MovieReview::getTitle));
-    return sorted;
+    return ReviewSortEngine.sortByRating(reviews, true);
   }
-}
 
+  @Override
+  public Comparator<MovieReview> comparator() {
+    return ReviewSortEngine.ratingOrder(true);
+  }
+}
@@ -1,7 +1,6 @@
 package com.cpp.moviejournal.strategy;
 
 import com.cpp.moviejournal.model.MovieReview;
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -12,10 +11,11 @@ import java.util.List;
 public class RatingLowSortStrategy implements SortStrategy {
   @Override
   public List<MovieReview> sort(List<MovieReview> reviews) {
-    List<MovieReview> sorted = new ArrayList<>(reviews);
-    sorted.sort(
-        Comparator.comparing(MovieReview::getRating).thenComparing(MovieReview::getTitle));
-    return sorted;
+    return ReviewSortEngine.sortByRating(reviews, false);
   }
-}
 
+  @Override
+  public Comparator<MovieReview> comparator() {
+    return ReviewSortEngine.ratingOrder(false);
+  }
+}
@@ -0,0 +1,267 @@
+package com.cpp.moviejournal.strategy;
+
+import com.cpp.moviejournal.model.MovieReview;
+import java.text.CollationKey;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sorting algorithms behind the sort strategies, chosen per key type.
+ *
+ * <ul>
+ *   <li>Rating: counting sort over the 51 tenth-of-a-star values a rating can take, then a
+ *       title sort inside each equal-rating run.
+ *   <li>Date: LSD radix sort on a 64-bit key packing epoch day and review ID; byte passes in
+ *       which every key has the same digit are skipped.
+ *   <li>Title: comparison sort on each review's cached collation key, which skips leading
+ *       articles and folds case and accents; the raw title breaks ties between titles that
+ *       collate equal.
+ * </ul>
+ *
+ * Numeric keys are extracted into primitive arrays up front, so no comparison boxes a value.
+ * Comparison-based steps switch to {@link Arrays#parallelSort} above {@link #PARALLEL_THRESHOLD}
+ * elements. All sorts are stable.
+ */
+public final class ReviewSortEngine {
+  /** Arrays at least this long are sorted with the fork/join parallel merge sort. */
+  static final int PARALLEL_THRESHOLD = 1 << 13;
+
+  private static final int RATING_STEPS_PER_STAR = 10;
+  private static final int RATING_BUCKETS = 5 * RATING_STEPS_PER_STAR + 1;
+  private static final int RADIX_BITS = 8;
+  private static final int RADIX_SIZE = 1 << RADIX_BITS;
+  private static final long SIGN_FLIP = 0x80000000L;
+  private static final long LOW_32_BITS = 0xFFFFFFFFL;
+
+  private static final Comparator<MovieReview> BY_TITLE = Comparator.comparing(MovieReview::getTitle);
+  private static final Comparator<MovieReview> TITLE_ASCENDING =
+      Comparator.comparing(
+              MovieReview::getTitleSortKey, Comparator.nullsLast(Comparator.<CollationKey>naturalOrder()))
+          .thenComparing(MovieReview::getTitle, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+          .thenComparing(MovieReview::getDirector);
+  private static final Comparator<MovieReview> TITLE_DESCENDING =
+      Comparator.comparing(
+              MovieReview::getTitleSortKey, Comparator.nullsLast(Comparator.<CollationKey>reverseOrder()))
+          .thenComparing(MovieReview::getTitle, Comparator.nullsLast(Comparator.<String>reverseOrder()))
+          .thenComparing(MovieReview::getDirector, Comparator.reverseOrder());
+
+  private ReviewSortEngine() {}
+
+  /**
+   * Gets the order {@link #sortByRating} produces, for keeping already sorted lists in order.
+   *
+   * @param highestFirst true for highest rating first
+   * @return the comparator
+   */
+  public static Comparator<MovieReview> ratingOrder(boolean highestFirst) {
+    Comparator<MovieReview> byRating = Comparator.comparingDouble(MovieReview::getRating);
+    return (highestFirst ? byRating.reversed() : byRating).thenComparing(BY_TITLE);
+  }
+
+  /**
+   * Gets the order {@link #sortByDate} produces, for keeping already sorted lists in order.
+   *
+   * @param newestFirst true for newest first
+   * @return the comparator
+   */
+  public static Comparator<MovieReview> dateOrder(boolean newestFirst) {
+    if (newestFirst) {
+      return Comparator.comparing(
+              MovieReview::getDateWatched, Comparator.nullsLast(Comparator.<LocalDate>reverseOrder()))
+          .thenComparing(MovieReview::getId, Comparator.reverseOrder());
+    }
+    return Comparator.comparing(
+            MovieReview::getDateWatched, Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()))
+        .thenComparing(MovieReview::getId);
+  }
+
+  /**
+   * Gets the order {@link #sortByTitle} produces, for keeping already sorted lists in order.
+   *
+   * @param ascending true for A-Z
+   * @return the comparator
+   */
+  public static Comparator<MovieReview> titleOrder(boolean ascending) {
+    return ascending ? TITLE_ASCENDING : TITLE_DESCENDING;
+  }
+
+  /**
+   * Sorts by rating, ties by title (natural order).
+   *
+   * @param reviews the reviews to sort
+   * @param highestFirst true for highest rating first
+   * @return a new sorted list
+   */
+  public static List<MovieReview> sortByRating(List<MovieReview> reviews, boolean highestFirst) {
+    MovieReview[] items = reviews.toArray(new MovieReview[0]);
+    int[] buckets = new int[items.length];
+    int[] starts = new int[RATING_BUCKETS + 1];
+    for (int i = 0; i < items.length; i++) {
+      int bucket = ratingBucket(items[i].getRating());
+      if (bucket < 0) {
+        return sortByRatingKeys(items, highestFirst);
+      }
+      buckets[i] = highestFirst ? RATING_BUCKETS - 1 - bucket : bucket;
+      starts[buckets[i] + 1]++;
+    }
+    for (int bucket = 0; bucket < RATING_BUCKETS; bucket++) {
+      starts[bucket + 1] += starts[bucket];
+    }
+
+    MovieReview[] sorted = new MovieReview[items.length];
+    int[] next = Arrays.copyOf(starts, RATING_BUCKETS);
+    for (int i = 0; i < items.length; i++) {
+      sorted[next[buckets[i]]++] = items[i];
+    }
+    for (int bucket = 0; bucket < RATING_BUCKETS; bucket++) {
+      sortRange(sorted, starts[bucket], starts[bucket + 1], BY_TITLE);
+    }
+    return new ArrayList<>(Arrays.asList(sorted));
+  }
+
+  /** Returns the tenth-of-a-star bucket of a rating, or -1 if it is not on that grid. */
+  private static int ratingBucket(double rating) {
+    double scaled = rating * RATING_STEPS_PER_STAR;
+    long bucket = Math.round(scaled);
+    if (bucket < 0 || bucket >= RATING_BUCKETS || Math.abs(scaled - bucket) > 1e-6) {
+      return -1;
+    }
+    return (int) bucket;
+  }
+
+  // Fallback for ratings off the tenth-star grid: stable sort on primitive keys
+  private static List<MovieReview> sortByRatingKeys(MovieReview[] items, boolean highestFirst) {
+    RatingKeyed[] keyed = new RatingKeyed[items.length];
+    for (int i = 0; i < items.length; i++) {
+      keyed[i] = new RatingKeyed(items[i].getRating(), items[i]);
+    }
+    Comparator<RatingKeyed> byRating = (a, b) -> Double.compare(a.rating(), b.rating());
+    Comparator<RatingKeyed> order = (highestFirst ? byRating.reversed() : byRating)
+        .thenComparing(k -> k.review().getTitle());
+    sortRange(keyed, 0, keyed.length, order);
+    List<MovieReview> sorted = new ArrayList<>(keyed.length);
+    for (RatingKeyed k : keyed) {
+      sorted.add(k.review());
+    }
+    return sorted;
+  }
+
+  /**
+   * Sorts by watch date, ties by ID. Newest first puts reviews without a date last; oldest
+   * first puts them first.
+   *
+   * @param reviews the reviews to sort
+   * @param newestFirst true for newest first
+   * @return a new sorted list
+   */
+  public static List<MovieReview> sortByDate(List<MovieReview> reviews, boolean newestFirst) {
+    MovieReview[] items = reviews.toArray(new MovieReview[0]);
+    long[] keys = new long[items.length];
+    for (int i = 0; i < items.length; i++) {
+      keys[i] = dateKey(items[i], newestFirst);
+    }
+    int[] order = radixSort(keys);
+    List<MovieReview> sorted = new ArrayList<>(items.length);
+    for (int index : order) {
+      sorted.add(items[index]);
+    }
+    return sorted;
+  }
+
+  /**
+   * Packs day and ID into one unsigned key: the high 32 bits order by day, the low 32 bits by
+   * ID, each inverted for newest first. A missing date takes the smallest day ascending and the
+   * largest descending; real dates are clamped so they never collide with it.
+   */
+  private static long dateKey(MovieReview review, boolean newestFirst) {
+    LocalDate date = review.getDateWatched();
+    long day = 0;
+    if (date != null) {
+      long epochDay = Math.max(Integer.MIN_VALUE + 1L, Math.min(date.toEpochDay(), Integer.MAX_VALUE));
+      day = unsigned(epochDay);
+    }
+    long id = unsigned(review.getId());
+    if (newestFirst) {
+      day = date == null ? LOW_32_BITS : ~day & LOW_32_BITS;
+      id = ~id & LOW_32_BITS;
+    }
+    return (day << 32) | id;
+  }
+
+  /** Maps a signed 32-bit value to an unsigned one with the same order. */
+  private static long unsigned(long value) {
+    return (value ^ SIGN_FLIP) & LOW_32_BITS;
+  }
+
+  /**
+   * Stable LSD radix sort of unsigned 64-bit keys.
+   *
+   * @return the indices of the keys in sorted order
+   */
+  static int[] radixSort(long[] keys) {
+    int n = keys.length;
+    int[] order = new int[n];
+    for (int i = 0; i < n; i++) {
+      order[i] = i;
+    }
+    int[] buffer = new int[n];
+    int[] counts = new int[RADIX_SIZE + 1];
+    for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+      Arrays.fill(counts, 0);
+      for (int i = 0; i < n; i++) {
+        counts[digit(keys[i], shift) + 1]++;
+      }
+      if (n == 0 || counts[digit(keys[0], shift) + 1] == n) {
+        continue; // every key shares this digit
+      }
+      for (int d = 0; d < RADIX_SIZE; d++) {
+        counts[d + 1] += counts[d];
+      }
+      for (int i = 0; i < n; i++) {
+        int index = order[i];
+        buffer[counts[digit(keys[index], shift)]++] = index;
+      }
+      int[] swap = order;
+      order = buffer;
+      buffer = swap;
+    }
+    return order;
+  }
+
+  private static int digit(long key, int shift) {
+    return (int) (key >>> shift) & (RADIX_SIZE - 1);
+  }
+
+  /**
+   * Sorts by title collation key (missing titles last), ties by exact title, then director.
+   * Keys are computed once per review and cached on it, so repeated sorts only compare keys.
+   *
+   * @param reviews the reviews to sort
+   * @param ascending true for A-Z
+   * @return a new sorted list
+   */
+  public static List<MovieReview> sortByTitle(List<MovieReview> reviews, boolean ascending) {
+    MovieReview[] items = reviews.toArray(new MovieReview[0]);
+    for (MovieReview item : items) {
+      item.getTitleSortKey(); // warm the cache before a parallel sort shares the reviews
+    }
+    sortRange(items, 0, items.length, ascending ? TITLE_ASCENDING : TITLE_DESCENDING);
+    return new ArrayList<>(Arrays.asList(items));
+  }
+
+  private static <T> void sortRange(T[] items, int from, int to, Comparator<? super T> order) {
+    if (to - from < 2) {
+      return;
+    }
+    if (to - from >= PARALLEL_THRESHOLD) {
+      Arrays.parallelSort(items, from, to, order);
+    } else {
+      Arrays.sort(items, from, to, order);
+    }
+  }
+
+  private record RatingKeyed(double rating, MovieReview review) {}
+}
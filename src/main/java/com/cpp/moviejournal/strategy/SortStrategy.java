@@ -1,6 +1,7 @@
 package com.cpp.moviejournal.strategy;
 
 import com.cpp.moviejournal.model.MovieReview;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -15,5 +16,12 @@ public interface SortStrategy {
    * @return sorted list of reviews
    */
   List<MovieReview> sort(List<MovieReview> reviews);
+
+  /**
+   * Gets the order this strategy sorts by, for inserting reviews into an already sorted list.
+   *
+   * @return a comparator consistent with {@link #sort(List)}
+   */
+  Comparator<MovieReview> comparator();
 }
 
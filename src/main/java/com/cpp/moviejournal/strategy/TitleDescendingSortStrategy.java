@@ -1,7 +1,6 @@
 package com.cpp.moviejournal.strategy;
 
 import com.cpp.moviejournal.model.MovieReview;
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -12,13 +11,11 @@ import java.util.List;
 public class TitleDescendingSortStrategy implements SortStrategy {
   @Override
   public List<MovieReview> sort(List<MovieReview> reviews) {
-    List<MovieReview> sorted = new ArrayList<>(reviews);
-    sorted.sort(
-        Comparator.comparing(
-                MovieReview::getTitle,
-                Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER.reversed()))
-            .thenComparing(MovieReview::getDirector, Comparator.reverseOrder()));
-    return sorted;
+    return ReviewSortEngine.sortByTitle(reviews, false);
   }
-}
 
+  @Override
+  public Comparator<MovieReview> comparator() {
+    return ReviewSortEngine.titleOrder(false);
+  }
+}
@@ -0,0 +1,97 @@
+package com.cpp.moviejournal.util;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Fails fast while the database is down instead of letting every call wait for its own timeout.
+ * After a run of consecutive failures the breaker opens and rejects requests for a cool-down
+ * period; then it lets a single trial request through (half-open) and closes again only if that
+ * request succeeds.
+ */
+public class CircuitBreaker {
+  /** Breaker state. */
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final int failureThreshold;
+  private final long openNanos;
+  private final LongSupplier nanoClock;
+  private State state = State.CLOSED;
+  private int consecutiveFailures;
+  private long openedAt;
+  private boolean trialInFlight;
+
+  /**
+   * Creates a breaker on the system clock.
+   *
+   * @param failureThreshold consecutive failures that open the breaker
+   * @param openDuration how long to reject requests before a trial
+   */
+  public CircuitBreaker(int failureThreshold, Duration openDuration) {
+    this(failureThreshold, openDuration, System::nanoTime);
+  }
+
+  CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+    if (failureThreshold <= 0) {
+      throw new IllegalArgumentException("failureThreshold must be positive");
+    }
+    this.failureThreshold = failureThreshold;
+    this.openNanos = openDuration.toNanos();
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Asks whether a request may go to the database now. In the half-open state only one caller
+   * gets a yes until that caller reports its outcome.
+   *
+   * @return true if the request may proceed
+   */
+  public synchronized boolean allowRequest() {
+    if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+      state = State.HALF_OPEN;
+      trialInFlight = false;
+    }
+    return switch (state) {
+      case CLOSED -> true;
+      case OPEN -> false;
+      case HALF_OPEN -> {
+        if (trialInFlight) {
+          yield false;
+        }
+        trialInFlight = true;
+        yield true;
+      }
+    };
+  }
+
+  public synchronized void recordSuccess() {
+    state = State.CLOSED;
+    consecutiveFailures = 0;
+    trialInFlight = false;
+  }
+
+  public synchronized void recordFailure() {
+    consecutiveFailures++;
+    if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+      state = State.OPEN;
+      openedAt = nanoClock.getAsLong();
+      trialInFlight = false;
+    }
+  }
+
+  /**
+   * Gets the current state, moving from open to half-open once the cool-down has passed.
+   *
+   * @return the state
+   */
+  public synchronized State getState() {
+    if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+      return State.HALF_OPEN;
+    }
+    return state;
+  }
+}
@@ -1,20 +1,83 @@
 package com.cpp.moviejournal.util;
 
 import io.github.cdimascio.dotenv.Dotenv;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Singleton Pattern: Ensures only one instance of database connection manager exists.
  * Provides thread-safe access to database connections with configuration loaded from
  * environment variables, system properties, or .env file.
+ *
+ * <p>Connections are guarded against a slow or dead server: every statement gets a query
+ * timeout, transient connect failures are retried with jittered backoff, and a circuit breaker
+ * fails fast after repeated failures so callers can fall back to cached data at once.
+ *
+ * <p>{@code DB_BACKEND} picks where data lives: {@code mysql} (the default) for the server at
+ * {@code DB_URL}, {@code file} for a single local file at {@code DB_FILE}, or {@code memory}
+ * for the running process only, e.g. in tests and benchmarks.
+ *
+ * <p>{@code DB_REPLICA_URLS} optionally lists read replicas of the MySQL primary, separated by
+ * commas. {@link #getReadConnection(ReadYourWritesSession)} spreads reads over them round-robin,
+ * skipping replicas whose own circuit breaker is open and falling back to the primary when none
+ * is left. A session that wrote within {@code DB_READ_YOUR_WRITES_MS} reads from the primary so
+ * it always sees its own writes.
+ *
+ * <p>{@code DB_SHARD_URLS} optionally lists MySQL databases that split the reviews between
+ * them by user; {@link #getShardConnection(int)} connects to one. Users and the shard directory
+ * stay on {@code DB_URL}.
+ *
+ * <p>While a {@link UnitOfWork} is active on the calling thread, every connection request for
+ * the same database returns the unit's one connection, and reads skip the replicas so they see
+ * the unit's uncommitted writes.
  */
 public class DatabaseConnection {
+  /** Where the repositories keep their data. */
+  public enum Backend {
+    MYSQL,
+    FILE,
+    MEMORY
+  }
+
   private static final String ENV_DB_URL = "DB_URL";
   private static final String ENV_DB_USER = "DB_USER";
   private static final String ENV_DB_PASSWORD = "DB_PASSWORD";
+  private static final String ENV_DB_QUERY_TIMEOUT_SECONDS = "DB_QUERY_TIMEOUT_SECONDS";
+  private static final String ENV_DB_CONNECT_TIMEOUT_MS = "DB_CONNECT_TIMEOUT_MS";
+  private static final String ENV_DB_BACKEND = "DB_BACKEND";
+  private static final String ENV_DB_FILE = "DB_FILE";
+  private static final String ENV_DB_REPLICA_URLS = "DB_REPLICA_URLS";
+  private static final String ENV_DB_READ_YOUR_WRITES_MS = "DB_READ_YOUR_WRITES_MS";
+  private static final String ENV_DB_SHARD_URLS = "DB_SHARD_URLS";
+  private static final String ENV_DB_CATALOG_ONLY = "DB_CATALOG_ONLY";
   private static final String EMPTY_STRING = "";
+  private static final int DEFAULT_QUERY_TIMEOUT_SECONDS = 10;
+  private static final int DEFAULT_CONNECT_TIMEOUT_MS = 5000;
+  // Comfortably above the usual replication lag of a lightly loaded replica
+  private static final int DEFAULT_READ_YOUR_WRITES_MS = 5000;
+  private static final int BREAKER_FAILURE_THRESHOLD = 5;
+  private static final Duration BREAKER_OPEN_DURATION = Duration.ofSeconds(30);
+  private static final String SQLSTATE_UNABLE_TO_CONNECT = "08001";
+
+  /**
+   * The most shards {@code DB_SHARD_URLS} may list. Shards hand out review IDs in steps of this
+   * rather than of the configured count, so adding a shard never reuses an ID.
+   */
+  public static final int MAX_SHARDS = 64;
 
   // Singleton instance
   private static volatile DatabaseConnection instance;
@@ -26,12 +89,83 @@ public class DatabaseConnection {
   private final String url;
   private final String user;
   private final String password;
+  private final int queryTimeoutSeconds;
+  private final int connectTimeoutMillis;
+  private final Backend backend;
+  private final Path databaseFile;
+  private final List<Endpoint> replicas = new ArrayList<>();
+  private final AtomicInteger nextReplica = new AtomicInteger();
+  private final List<Endpoint> shards = new ArrayList<>();
+  private final Duration readYourWritesWindow;
+  private final boolean catalogOnly;
+  private final CircuitBreaker breaker =
+      new CircuitBreaker(BREAKER_FAILURE_THRESHOLD, BREAKER_OPEN_DURATION);
+  private final RetryPolicy retryPolicy =
+      new RetryPolicy(3, Duration.ofMillis(100), Duration.ofSeconds(1));
 
   // Private constructor to prevent instantiation
   private DatabaseConnection() {
     this.url = getEnv(ENV_DB_URL, EMPTY_STRING);
     this.user = getEnv(ENV_DB_USER, EMPTY_STRING);
     this.password = getEnv(ENV_DB_PASSWORD, EMPTY_STRING);
+    this.queryTimeoutSeconds =
+        getIntEnv(ENV_DB_QUERY_TIMEOUT_SECONDS, DEFAULT_QUERY_TIMEOUT_SECONDS);
+    this.connectTimeoutMillis = getIntEnv(ENV_DB_CONNECT_TIMEOUT_MS, DEFAULT_CONNECT_TIMEOUT_MS);
+    this.backend = parseBackend(getEnv(ENV_DB_BACKEND, Backend.MYSQL.name()));
+    this.databaseFile =
+        Paths.get(
+            getEnv(
+                ENV_DB_FILE,
+                Paths.get(System.getProperty("user.home"), ".moviejournal", "moviejournal.db")
+                    .toString()));
+    addEndpoints(replicas, getEnv(ENV_DB_REPLICA_URLS, EMPTY_STRING));
+    addEndpoints(shards, getEnv(ENV_DB_SHARD_URLS, EMPTY_STRING));
+    if (shards.size() > MAX_SHARDS) {
+      throw new IllegalStateException(
+          ENV_DB_SHARD_URLS + " lists more than " + MAX_SHARDS + " shards");
+    }
+    this.readYourWritesWindow =
+        Duration.ofMillis(getIntEnv(ENV_DB_READ_YOUR_WRITES_MS, DEFAULT_READ_YOUR_WRITES_MS));
+    this.catalogOnly = Boolean.parseBoolean(getEnv(ENV_DB_CATALOG_ONLY, "false").trim());
+  }
+
+  /**
+   * A replica or shard with its own breaker, so one dead server never blocks the others.
+   */
+  private static final class Endpoint {
+    private final String url;
+    private final CircuitBreaker breaker =
+        new CircuitBreaker(BREAKER_FAILURE_THRESHOLD, BREAKER_OPEN_DURATION);
+
+    Endpoint(String url) {
+      this.url = url;
+    }
+  }
+
+  private static void addEndpoints(List<Endpoint> endpoints, String urls) {
+    for (String endpointUrl : urls.split(",")) {
+      if (!endpointUrl.isBlank()) {
+        endpoints.add(new Endpoint(endpointUrl.trim()));
+      }
+    }
+  }
+
+  private static Backend parseBackend(String value) {
+    try {
+      return Backend.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      System.err.println("Ignoring invalid " + ENV_DB_BACKEND + ": " + value);
+      return Backend.MYSQL;
+    }
+  }
+
+  private static int getIntEnv(String key, int defaultValue) {
+    try {
+      return Integer.parseInt(getEnv(key, String.valueOf(defaultValue)).trim());
+    } catch (NumberFormatException e) {
+      System.err.println("Ignoring invalid " + key + ": " + e.getMessage());
+      return defaultValue;
+    }
   }
 
   /**
@@ -82,7 +216,251 @@ public class DatabaseConnection {
    * @throws SQLException if connection fails
    */
   public Connection getConnectionInstance() throws SQLException {
-    return DriverManager.getConnection(url, user, password);
+    return enlisted(url, () -> connect(url, breaker));
+  }
+
+  private static Connection enlisted(String targetUrl, UnitOfWork.ConnectionOpener opener)
+      throws SQLException {
+    UnitOfWork unit = UnitOfWork.current();
+    return unit != null ? unit.enlist(targetUrl, opener) : opener.open();
+  }
+
+  private Connection connect(String targetUrl, CircuitBreaker serverBreaker) throws SQLException {
+    if (!serverBreaker.allowRequest()) {
+      throw new SQLException(
+          "Database unavailable; not retrying until the circuit breaker cools down",
+          SQLSTATE_UNABLE_TO_CONNECT);
+    }
+    SQLException lastFailure = null;
+    for (int attempt = 1; attempt <= retryPolicy.getMaxAttempts(); attempt++) {
+      if (attempt > 1 && !pause(retryPolicy.delayBeforeRetry(attempt - 1))) {
+        break;
+      }
+      try {
+        return guard(
+            DriverManager.getConnection(targetUrl, connectionProperties()), serverBreaker);
+      } catch (SQLException e) {
+        lastFailure = e;
+        if (!RetryPolicy.isTransient(e)) {
+          break;
+        }
+      }
+    }
+    serverBreaker.recordFailure();
+    throw lastFailure;
+  }
+
+  /**
+   * Gets a connection to one review shard, retried and guarded like the primary's. The session
+   * hands out auto-increment IDs in steps of {@link #MAX_SHARDS}, offset by the shard, so a review
+   * keeps an ID no other shard uses, even after shards are added, and can move between shards
+   * unchanged.
+   *
+   * @param shard the shard's position in {@code DB_SHARD_URLS}
+   * @return a new Connection object
+   * @throws SQLException if connection fails
+   * @throws IndexOutOfBoundsException if no such shard is configured
+   */
+  public Connection getShardConnectionInstance(int shard) throws SQLException {
+    Endpoint endpoint = shards.get(shard);
+    return enlisted(endpoint.url, () -> openShard(shard, endpoint));
+  }
+
+  private Connection openShard(int shard, Endpoint endpoint) throws SQLException {
+    Connection connection = connect(endpoint.url, endpoint.breaker);
+    try (Statement stmt = connection.createStatement()) {
+      stmt.execute(
+          "SET SESSION auto_increment_increment = "
+              + MAX_SHARDS
+              + ", auto_increment_offset = "
+              + (shard + 1));
+    } catch (SQLException e) {
+      connection.close();
+      throw e;
+    }
+    return connection;
+  }
+
+  /**
+   * Gets a connection for a read: from a replica unless the session wrote recently, a unit of
+   * work is active, or no replica is configured or reachable, otherwise from the primary.
+   * Replicas are not retried; a failed one is skipped in favor of the next and, last, the
+   * primary.
+   *
+   * @param session the reading session
+   * @return a new Connection object
+   * @throws SQLException if the primary fallback fails too
+   */
+  public Connection getReadConnectionInstance(ReadYourWritesSession session)
+      throws SQLException {
+    if (replicas.isEmpty() || session.requiresPrimary() || UnitOfWork.current() != null) {
+      return getConnectionInstance();
+    }
+    for (int i = 0; i < replicas.size(); i++) {
+      Endpoint replica =
+          replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+      if (!replica.breaker.allowRequest()) {
+        continue;
+      }
+      try {
+        return guard(
+            DriverManager.getConnection(replica.url, connectionProperties()), replica.breaker);
+      } catch (SQLException e) {
+        replica.breaker.recordFailure();
+      }
+    }
+    return getConnectionInstance();
+  }
+
+  /**
+   * Tells whether the database is currently considered reachable.
+   *
+   * @return false while the circuit breaker is open; always true for local backends
+   */
+  public static boolean isAvailable() {
+    DatabaseConnection connection = getInstance();
+    return connection.backend != Backend.MYSQL
+        || connection.breaker.getState() != CircuitBreaker.State.OPEN;
+  }
+
+  /**
+   * Gets the configured storage backend.
+   *
+   * @return the backend named by {@code DB_BACKEND}, MySQL if unset or unknown
+   */
+  public static Backend getBackend() {
+    return getInstance().backend;
+  }
+
+  /**
+   * Gets how long a session reads from the primary after it wrote.
+   *
+   * @return the window from {@code DB_READ_YOUR_WRITES_MS}, by default 5 seconds
+   */
+  public static Duration getReadYourWritesWindow() {
+    return getInstance().readYourWritesWindow;
+  }
+
+  /**
+   * Gets how many review shards are configured.
+   *
+   * @return the number of URLs in {@code DB_SHARD_URLS}, 0 if reviews are not sharded
+   */
+  public static int getShardCount() {
+    return getInstance().shards.size();
+  }
+
+  /**
+   * Tells whether reviews reference their movie, director and genre only by catalog key, with
+   * the name columns no longer written or read. Turn it on once every review is linked to the
+   * catalog; see {@code CatalogMigrator}.
+   *
+   * @return the value of {@code DB_CATALOG_ONLY}, false if unset
+   */
+  public static boolean isCatalogOnly() {
+    return getInstance().catalogOnly;
+  }
+
+  /**
+   * Gets the file the {@link Backend#FILE} backend stores data in.
+   *
+   * @return the path from {@code DB_FILE}, by default {@code ~/.moviejournal/moviejournal.db}
+   */
+  public static Path getDatabaseFile() {
+    return getInstance().databaseFile;
+  }
+
+  private Properties connectionProperties() {
+    Properties properties = new Properties();
+    properties.setProperty("user", user);
+    properties.setProperty("password", password);
+    // MySQL Connector/J: bound the TCP connect so a dead host fails in seconds, not minutes
+    properties.setProperty("connectTimeout", String.valueOf(connectTimeoutMillis));
+    return properties;
+  }
+
+  private static boolean pause(Duration delay) {
+    try {
+      Thread.sleep(delay.toMillis());
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private Connection guard(Connection connection, CircuitBreaker serverBreaker) {
+    return (Connection)
+        Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            new GuardedConnection(connection, serverBreaker));
+  }
+
+  /**
+   * Puts a query timeout on every statement the connection creates and reports each
+   * statement's outcome to the server's circuit breaker. A server that accepts connections but
+   * never answers queries therefore opens the breaker just like one that refuses connections.
+   */
+  private final class GuardedConnection implements InvocationHandler {
+    private final Connection target;
+    private final CircuitBreaker serverBreaker;
+    private boolean outcomeReported;
+
+    GuardedConnection(Connection target, CircuitBreaker serverBreaker) {
+      this.target = target;
+      this.serverBreaker = serverBreaker;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (method.getName().equals("close") && !outcomeReported) {
+        // The connection worked even if no statement ran on it
+        report(true);
+      }
+      Object result = delegate(target, method, args);
+      if (result instanceof Statement statement) {
+        statement.setQueryTimeout(queryTimeoutSeconds);
+        return Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {method.getReturnType()},
+            (statementProxy, statementMethod, statementArgs) ->
+                execute(statement, statementMethod, statementArgs));
+      }
+      return result;
+    }
+
+    private Object execute(Statement statement, Method method, Object[] args) throws Throwable {
+      if (!method.getName().startsWith("execute")) {
+        return delegate(statement, method, args);
+      }
+      try {
+        Object result = delegate(statement, method, args);
+        report(true);
+        return result;
+      } catch (SQLException e) {
+        // Timeouts and dropped connections count against the server; bad SQL does not
+        report(!RetryPolicy.isTransient(e));
+        throw e;
+      }
+    }
+
+    private void report(boolean success) {
+      outcomeReported = true;
+      if (success) {
+        serverBreaker.recordSuccess();
+      } else {
+        serverBreaker.recordFailure();
+      }
+    }
+  }
+
+  private static Object delegate(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
   }
 
   /**
@@ -95,6 +473,28 @@ public class DatabaseConnection {
     return getInstance().getConnectionInstance();
   }
 
+  /**
+   * Static convenience method for {@link #getReadConnectionInstance(ReadYourWritesSession)}.
+   *
+   * @param session the reading session
+   * @return a new Connection object
+   * @throws SQLException if connection fails
+   */
+  public static Connection getReadConnection(ReadYourWritesSession session) throws SQLException {
+    return getInstance().getReadConnectionInstance(session);
+  }
+
+  /**
+   * Static convenience method for {@link #getShardConnectionInstance(int)}.
+   *
+   * @param shard the shard's position in {@code DB_SHARD_URLS}
+   * @return a new Connection object
+   * @throws SQLException if connection fails
+   */
+  public static Connection getShardConnection(int shard) throws SQLException {
+    return getInstance().getShardConnectionInstance(shard);
+  }
+
   public static void main(String[] args) {
     try (Connection conn = getConnection()) {
       if (conn != null) {
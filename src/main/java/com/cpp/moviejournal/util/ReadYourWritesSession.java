@@ -0,0 +1,53 @@
+package com.cpp.moviejournal.util;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers when one session last wrote, so its reads can stay on the primary until read
+ * replicas have had time to apply the write. Without this a user could save a review and not
+ * see it in the list that reloads right after, because the list came from a lagging replica.
+ */
+public class ReadYourWritesSession {
+  private final long windowNanos;
+  private final LongSupplier nanoClock;
+  private volatile long lastWriteAt;
+  private volatile boolean hasWritten;
+
+  /** Creates a session with the window configured in {@link DatabaseConnection}. */
+  public ReadYourWritesSession() {
+    this(DatabaseConnection.getReadYourWritesWindow());
+  }
+
+  /**
+   * Creates a session on the system clock.
+   *
+   * @param window how long after a write reads go to the primary
+   */
+  public ReadYourWritesSession(Duration window) {
+    this(window, System::nanoTime);
+  }
+
+  ReadYourWritesSession(Duration window, LongSupplier nanoClock) {
+    if (window == null || window.isNegative()) {
+      throw new IllegalArgumentException("window must not be negative");
+    }
+    this.windowNanos = window.toNanos();
+    this.nanoClock = nanoClock;
+  }
+
+  /** Records that this session is about to write to the primary. */
+  public void recordWrite() {
+    lastWriteAt = nanoClock.getAsLong();
+    hasWritten = true;
+  }
+
+  /**
+   * Tells whether this session's reads must go to the primary to see its own writes.
+   *
+   * @return true within the window after the last write
+   */
+  public boolean requiresPrimary() {
+    return hasWritten && nanoClock.getAsLong() - lastWriteAt < windowNanos;
+  }
+}
@@ -0,0 +1,79 @@
+package com.cpp.moviejournal.util;
+
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Bounded retries with exponential backoff and full jitter for transient database failures.
+ * Jitter spreads the retries of several instances hitting the same outage so they do not
+ * reconnect in lockstep.
+ */
+public class RetryPolicy {
+  // SQLState class 08 is "connection exception", 40001 a serialization failure or deadlock
+  private static final String SQLSTATE_CONNECTION_CLASS = "08";
+  private static final String SQLSTATE_SERIALIZATION_FAILURE = "40001";
+
+  private final int maxAttempts;
+  private final Duration baseDelay;
+  private final Duration maxDelay;
+  private final DoubleSupplier random;
+
+  /**
+   * Creates a policy.
+   *
+   * @param maxAttempts total attempts, including the first
+   * @param baseDelay delay cap before the first retry
+   * @param maxDelay upper bound for any delay
+   */
+  public RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay) {
+    this(maxAttempts, baseDelay, maxDelay, () -> ThreadLocalRandom.current().nextDouble());
+  }
+
+  RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay, DoubleSupplier random) {
+    if (maxAttempts <= 0) {
+      throw new IllegalArgumentException("maxAttempts must be positive");
+    }
+    this.maxAttempts = maxAttempts;
+    this.baseDelay = baseDelay;
+    this.maxDelay = maxDelay;
+    this.random = random;
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /**
+   * Tells whether an error is worth retrying: dropped or refused connections, timeouts and
+   * deadlocks are; syntax errors, constraint violations and bad credentials are not.
+   *
+   * @param e the error
+   * @return true if the same call may succeed if repeated
+   */
+  public static boolean isTransient(SQLException e) {
+    if (e instanceof SQLTransientException || e instanceof SQLRecoverableException) {
+      return true;
+    }
+    String sqlState = e.getSQLState();
+    return sqlState != null
+        && (sqlState.startsWith(SQLSTATE_CONNECTION_CLASS)
+            || sqlState.equals(SQLSTATE_SERIALIZATION_FAILURE));
+  }
+
+  /**
+   * Picks the wait before a retry: uniformly random between zero and
+   * {@code min(maxDelay, baseDelay * 2^(retry - 1))}.
+   *
+   * @param retry the retry number, starting at 1
+   * @return the delay
+   */
+  public Duration delayBeforeRetry(int retry) {
+    long cap = baseDelay.toMillis() << Math.min(retry - 1, 20);
+    cap = Math.min(cap, maxDelay.toMillis());
+    return Duration.ofMillis((long) (random.getAsDouble() * cap));
+  }
+}
@@ -0,0 +1,56 @@
+package com.cpp.moviejournal.util;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Locale;
+
+/**
+ * Utility class for ordering movie titles the way people expect to find them in a list.
+ * A leading article ("The", "A", "An") is ignored, and titles are compared with the default
+ * locale's collator at primary strength, so case and accents do not affect the order
+ * ("Amélie" files next to "Amelie", not after "Zodiac").
+ *
+ * <p>Collating is expensive, so callers compute a {@link CollationKey} once per title and sort
+ * on the keys, which compare as cheaply as plain byte strings.
+ */
+public class TitleCollation {
+  private static final String[] LEADING_ARTICLES = {"the ", "an ", "a "};
+  private static final Collator COLLATOR = createCollator();
+
+  private static Collator createCollator() {
+    Collator collator = Collator.getInstance();
+    collator.setStrength(Collator.PRIMARY);
+    collator.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
+    return collator;
+  }
+
+  /**
+   * Removes a leading English article, keeping titles that consist of the article alone.
+   *
+   * @param title the title
+   * @return the title without its leading article, trimmed
+   */
+  public static String stripLeadingArticle(String title) {
+    String trimmed = title.trim();
+    String lower = trimmed.toLowerCase(Locale.ROOT);
+    for (String article : LEADING_ARTICLES) {
+      if (lower.startsWith(article) && !trimmed.substring(article.length()).isBlank()) {
+        return trimmed.substring(article.length()).trim();
+      }
+    }
+    return trimmed;
+  }
+
+  /**
+   * Computes the collation key a title sorts by.
+   *
+   * @param title the title, may be null
+   * @return the collation key, or null for a null title
+   */
+  public static CollationKey sortKey(String title) {
+    if (title == null) {
+      return null;
+    }
+    return COLLATOR.getCollationKey(stripLeadingArticle(title));
+  }
+}
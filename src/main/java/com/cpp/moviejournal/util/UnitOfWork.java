@@ -0,0 +1,281 @@
+package com.cpp.moviejournal.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups several manager operations on the current thread into one transaction per database:
+ *
+ * <pre>{@code
+ * try (UnitOfWork unit = UnitOfWork.begin()) {
+ *   reviewManager.updateReview(original, edited);
+ *   reviewManager.setFavoriteStatus(edited, true);
+ *   unit.commit();
+ * }
+ * }</pre>
+ *
+ * <p>While a unit is active, {@link DatabaseConnection} hands every repository on this thread the
+ * same connection to each database, with auto-commit off, so the operations share one round trip
+ * to connect and one commit. Repositories' own commits, rollbacks and closes are ignored on it.
+ * Any statement that fails marks the whole unit for rollback; {@link #commit()} then rolls back
+ * and throws. Closing a unit that was not committed rolls it back.
+ *
+ * <p>Managers hand their listener notifications to {@link #afterCommit(Runnable)}, so caches and
+ * indexes only hear about changes once they are committed. Backends without a database, like
+ * the file and memory ones, write at once and cannot roll back; their notifications are delivered
+ * either way.
+ */
+public final class UnitOfWork implements AutoCloseable {
+  private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+  /** Opens a real connection the first time a unit needs one to a database. */
+  @FunctionalInterface
+  interface ConnectionOpener {
+    Connection open() throws SQLException;
+  }
+
+  // Keyed by database URL; values are the real connections, in the order they were opened
+  private final Map<String, Connection> connections = new LinkedHashMap<>();
+  private final Map<String, Connection> participants = new LinkedHashMap<>();
+  private final List<Runnable> afterCommit = new ArrayList<>();
+  private final List<Runnable> afterCompletion = new ArrayList<>();
+  private boolean rollbackOnly;
+  private boolean finished;
+
+  private UnitOfWork() {}
+
+  /**
+   * Starts a unit of work on the current thread.
+   *
+   * @return the unit, to be committed or closed on this thread
+   * @throws IllegalStateException if a unit is already active on this thread
+   */
+  public static UnitOfWork begin() {
+    if (CURRENT.get() != null) {
+      throw new IllegalStateException("A unit of work is already active on this thread");
+    }
+    UnitOfWork unit = new UnitOfWork();
+    CURRENT.set(unit);
+    return unit;
+  }
+
+  /**
+   * Gets the unit of work active on the current thread.
+   *
+   * @return the unit, or null if none is active
+   */
+  public static UnitOfWork current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Runs an action once the unit commits; it is dropped if the unit rolls back.
+   *
+   * @param action the action, e.g. a listener notification
+   */
+  public void afterCommit(Runnable action) {
+    ensureActive();
+    afterCommit.add(action);
+  }
+
+  /**
+   * Runs an action once the unit ends, whether it commits or rolls back.
+   *
+   * @param action the action, e.g. flushing a local file the unit's writes went to
+   */
+  public void afterCompletion(Runnable action) {
+    ensureActive();
+    afterCompletion.add(action);
+  }
+
+  /**
+   * Tells whether an operation in the unit failed, so it can only roll back.
+   *
+   * @return true once any statement in the unit has failed
+   */
+  public boolean isRollbackOnly() {
+    return rollbackOnly;
+  }
+
+  /**
+   * Commits every database the unit wrote to, then runs the after-commit actions. Each
+   * database commits atomically, but with several shards one may commit and the next fail.
+   *
+   * @throws SQLException if an operation in the unit failed or a commit fails; the unit is
+   *     rolled back then
+   * @throws IllegalStateException if the unit already finished
+   */
+  public void commit() throws SQLException {
+    ensureActive();
+    finish();
+    if (rollbackOnly) {
+      rollbackAndClose();
+      run(afterCompletion);
+      throw new SQLException("Unit of work rolled back because an operation in it failed");
+    }
+    try {
+      for (Connection connection : connections.values()) {
+        connection.commit();
+      }
+    } catch (SQLException e) {
+      rollbackAndClose();
+      run(afterCompletion);
+      throw e;
+    }
+    closeAll();
+    run(afterCompletion);
+    run(afterCommit);
+  }
+
+  /** Rolls back every database the unit wrote to. Does nothing once the unit finished. */
+  public void rollback() {
+    if (finished) {
+      return;
+    }
+    finish();
+    boolean transactional = !connections.isEmpty();
+    rollbackAndClose();
+    run(afterCompletion);
+    if (!transactional) {
+      // Nothing was held back, so listeners must still hear about what was written
+      run(afterCommit);
+    }
+  }
+
+  /** Rolls the unit back unless it was committed. */
+  @Override
+  public void close() {
+    rollback();
+  }
+
+  /**
+   * Gets the unit's connection to a database, opening it on first use.
+   *
+   * @param url the database's URL
+   * @param opener opens the real connection
+   * @return a connection whose commit, rollback and close only affect the unit as a whole
+   */
+  Connection enlist(String url, ConnectionOpener opener) throws SQLException {
+    ensureActive();
+    Connection participant = participants.get(url);
+    if (participant != null) {
+      return participant;
+    }
+    Connection connection = opener.open();
+    try {
+      connection.setAutoCommit(false);
+    } catch (SQLException e) {
+      connection.close();
+      throw e;
+    }
+    participant =
+        (Connection)
+            Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> participate(connection, method, args));
+    connections.put(url, connection);
+    participants.put(url, participant);
+    return participant;
+  }
+
+  private Object participate(Connection connection, Method method, Object[] args)
+      throws Throwable {
+    switch (method.getName()) {
+      case "close", "commit", "setAutoCommit" -> {
+        return null;
+      }
+      case "rollback" -> {
+        // A repository undoing its own work means the unit cannot complete as a whole
+        rollbackOnly = true;
+        return null;
+      }
+      default -> {
+        Object result = invoke(connection, method, args);
+        if (result instanceof Statement statement) {
+          return Proxy.newProxyInstance(
+              Connection.class.getClassLoader(),
+              new Class<?>[] {method.getReturnType()},
+              (statementProxy, statementMethod, statementArgs) ->
+                  execute(statement, statementMethod, statementArgs));
+        }
+        return result;
+      }
+    }
+  }
+
+  private Object execute(Statement statement, Method method, Object[] args) throws Throwable {
+    try {
+      return invoke(statement, method, args);
+    } catch (SQLException e) {
+      if (method.getName().startsWith("execute")) {
+        rollbackOnly = true;
+      }
+      throw e;
+    }
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  private void ensureActive() {
+    if (finished) {
+      throw new IllegalStateException("Unit of work already finished");
+    }
+  }
+
+  private void finish() {
+    finished = true;
+    if (CURRENT.get() == this) {
+      CURRENT.remove();
+    }
+  }
+
+  private void rollbackAndClose() {
+    for (Connection connection : connections.values()) {
+      try {
+        connection.rollback();
+      } catch (SQLException e) {
+        System.err.println("Error rolling back unit of work: " + e.getMessage());
+      }
+    }
+    closeAll();
+  }
+
+  private void closeAll() {
+    for (Connection connection : connections.values()) {
+      try {
+        connection.close();
+      } catch (SQLException e) {
+        System.err.println("Error closing unit of work connection: " + e.getMessage());
+      }
+    }
+    connections.clear();
+    participants.clear();
+  }
+
+  // Runs after the thread left the unit, so the actions take effect instead of deferring again
+  private static void run(List<Runnable> actions) {
+    for (Runnable action : actions) {
+      try {
+        action.run();
+      } catch (RuntimeException ignored) {
+        // Ignore action exceptions, like listener notifications do
+      }
+    }
+    actions.clear();
+  }
+}
@@ -0,0 +1,287 @@
+package com.cpp.moviejournal.manager;
+
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.repository.InMemoryReviewRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FavoriteWriteBehind
+ * Tests coalescing, batched writes, the read overlay and rollback of rejected toggles
+ */
+@DisplayName("FavoriteWriteBehind Unit Tests")
+class FavoriteWriteBehindTest {
+
+    // Long enough that only explicit flushes write in these tests
+    private static final Duration FLUSH_DELAY = Duration.ofHours(1);
+
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private final List<List<MovieReview>> rollbacks = new ArrayList<>();
+    private boolean rejectWrites;
+    private InMemoryReviewRepository repository;
+    private MovieReviewManager manager;
+    private FavoriteWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryReviewRepository() {
+            @Override
+            public synchronized List<UpdateResult> updateFavorites(List<MovieReview> reviews) {
+                batchSizes.add(reviews.size());
+                if (rejectWrites) {
+                    return reviews.stream().map(review -> UpdateResult.FAILED).toList();
+                }
+                return super.updateFavorites(reviews);
+            }
+        };
+        manager = new MovieReviewManager(1, repository);
+        manager.setFavoriteRollbackHandler(rollbacks::add);
+        writeBehind = new FavoriteWriteBehind(manager, FLUSH_DELAY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeBehind.close();
+    }
+
+    private MovieReview addReview(String title) {
+        MovieReview review = MovieReview.builder()
+            .setTitle(title)
+            .setDirector("Director")
+            .setGenre("Drama")
+            .setRating(4.0)
+            .setDateWatched(LocalDate.of(2026, 5, 1))
+            .build();
+        manager.addReview(review);
+        return review;
+    }
+
+    private MovieReview stored(MovieReview review) throws SQLException {
+        return repository.findById(1, review.getId());
+    }
+
+    @Nested
+    @DisplayName("Coalescing Tests")
+    class CoalescingTests {
+
+        @Test
+        @DisplayName("Should show a toggle at once and write it on flush")
+        void shouldApplyAtOnceAndWriteOnFlush() throws SQLException {
+            // Given
+            MovieReview heat = addReview("Heat");
+
+            // When
+            writeBehind.toggle(heat, true);
+
+            // Then
+            assertTrue(heat.isFavorite());
+            assertFalse(stored(heat).isFavorite());
+            assertEquals(1, writeBehind.flush());
+            assertTrue(stored(heat).isFavorite());
+            assertEquals(stored(heat).getVersion(), heat.getVersion());
+        }
+
+        @Test
+        @DisplayName("Should write only the last of several toggles")
+        void shouldKeepLastToggle() throws SQLException {
+            // Given
+            MovieReview heat = addReview("Heat");
+
+            // When
+            writeBehind.toggle(heat, true);
+            writeBehind.toggle(heat, false);
+            writeBehind.toggle(heat, true);
+
+            // Then
+            assertEquals(1, writeBehind.size());
+            writeBehind.flush();
+            assertEquals(List.of(1), batchSizes);
+            assertEquals(1, stored(heat).getVersion());
+        }
+
+        @Test
+        @DisplayName("Should write nothing after an even number of toggles")
+        void shouldCancelEvenToggles() {
+            // Given
+            MovieReview heat = addReview("Heat");
+
+            // When
+            writeBehind.toggle(heat, true);
+            writeBehind.toggle(heat, false);
+
+            // Then
+            assertEquals(0, writeBehind.size());
+            assertEquals(0, writeBehind.flush());
+            assertTrue(batchSizes.isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch Tests")
+    class BatchTests {
+
+        @Test
+        @DisplayName("Should write toggles of several reviews in one batch")
+        void shouldBatchReviews() throws SQLException {
+            // Given
+            MovieReview heat = addReview("Heat");
+            MovieReview alien = addReview("Alien");
+
+            // When
+            writeBehind.toggle(heat, true);
+            writeBehind.toggle(alien, true);
+            int written = writeBehind.flush();
+
+            // Then
+            assertEquals(2, written);
+            assertEquals(List.of(2), batchSizes);
+            assertTrue(stored(heat).isFavorite());
+            assertTrue(stored(alien).isFavorite());
+        }
+
+        @Test
+        @DisplayName("Should overlay pending flags on reviews read before the flush")
+        void shouldOverlayPendingFlags() {
+            // Given
+            MovieReview heat = addReview("Heat");
+            writeBehind.toggle(heat, true);
+
+            // When
+            List<MovieReview> read = writeBehind.overlay(repository.findAll(1));
+
+            // Then
+            assertTrue(read.get(0).isFavorite());
+        }
+
+        @Test
+        @DisplayName("Should reapply a toggle to a review edited meanwhile")
+        void shouldReapplyOnConflict() throws SQLException {
+            // Given
+            MovieReview heat = addReview("Heat");
+            writeBehind.toggle(heat, true);
+            MovieReview edited = stored(heat);
+            edited.setRating(2.0);
+            repository.update(stored(heat), edited);
+
+            // When
+            int written = writeBehind.flush();
+
+            // Then
+            assertEquals(1, written);
+            assertTrue(stored(heat).isFavorite());
+            assertEquals(2.0, stored(heat).getRating());
+        }
+    }
+
+    @Nested
+    @DisplayName("Pending Read Tests")
+    class PendingReadTests {
+
+        @Test
+        @DisplayName("Should list ticket reviews without a watch date last while a toggle is pending")
+        void shouldListUndatedTicketsLast() {
+            // Given a store that reads one ticket back without a watch date
+            InMemoryReviewRepository undatedRows = new InMemoryReviewRepository() {
+                @Override
+                public List<MovieReview> findAll(int userId) {
+                    List<MovieReview> reviews = super.findAll(userId);
+                    reviews.stream()
+                        .filter(review -> review.getTitle().equals("Undated"))
+                        .forEach(review -> review.setDateWatched(null));
+                    return reviews;
+                }
+            };
+            MovieReviewManager pendingManager = new MovieReviewManager(1, undatedRows);
+            for (String title : List.of("Undated", "Heat")) {
+                MovieReview review = MovieReview.builder()
+                    .setTitle(title)
+                    .setDirector("Director")
+                    .setGenre("Drama")
+                    .setRating(4.0)
+                    .setDateWatched(LocalDate.of(2026, 5, 1))
+                    .setTicketImagePath(title + ".png")
+                    .build();
+                pendingManager.addReview(review);
+                pendingManager.setFavoriteStatusDeferred(review, true);
+            }
+
+            // When
+            List<MovieReview> tickets = pendingManager.getTicketReviews();
+            pendingManager.flushPendingFavorites();
+
+            // Then
+            assertEquals(List.of("Heat", "Undated"), tickets.stream().map(MovieReview::getTitle).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Close Tests")
+    class CloseTests {
+
+        @Test
+        @DisplayName("Should write a pending toggle when the manager is closed")
+        void shouldWritePendingToggleOnClose() throws SQLException {
+            // Given
+            MovieReview heat = addReview("Heat");
+            manager.setFavoriteStatusDeferred(heat, true);
+            assertFalse(stored(heat).isFavorite());
+
+            // When
+            manager.close();
+
+            // Then
+            assertTrue(stored(heat).isFavorite());
+            assertEquals(List.of(1), batchSizes);
+        }
+    }
+
+    @Nested
+    @DisplayName("Rollback Tests")
+    class RollbackTests {
+
+        @Test
+        @DisplayName("Should undo and report a toggle the database rejects")
+        void shouldRollBackRejectedToggle() {
+            // Given
+            MovieReview heat = addReview("Heat");
+            writeBehind.toggle(heat, true);
+            rejectWrites = true;
+
+            // When
+            int written = writeBehind.flush();
+
+            // Then
+            assertEquals(0, written);
+            assertFalse(heat.isFavorite());
+            assertEquals(List.of(List.of(heat)), rollbacks);
+        }
+
+        @Test
+        @DisplayName("Should drop a toggle of a review deleted meanwhile")
+        void shouldDropToggleOfDeletedReview() {
+            // Given
+            MovieReview heat = addReview("Heat");
+            writeBehind.toggle(heat, true);
+            manager.deleteReview(heat);
+
+            // When
+            int written = writeBehind.flush();
+
+            // Then
+            assertEquals(0, written);
+            assertTrue(rollbacks.isEmpty());
+            assertEquals(0, writeBehind.size());
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.cpp.moviejournal.manager;
+
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.repository.InMemoryReviewRepository;
+import com.cpp.moviejournal.repository.ReviewRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.sql.SQLTransientConnectionException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for adding reviews with MovieReviewManager
+ * Tests the results reported to callers and offline replacement without a MySQL server
+ */
+@DisplayName("MovieReviewManager Add Unit Tests")
+class MovieReviewManagerAddTest {
+
+    @TempDir
+    Path tempDir;
+
+    private boolean failUpserts;
+    private InMemoryReviewRepository repository;
+    private MovieReviewManager manager;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryReviewRepository();
+        // Delegates to memory, but upserts fail like an unreachable server while failUpserts is set
+        ReviewRepository failing = (ReviewRepository) Proxy.newProxyInstance(
+            ReviewRepository.class.getClassLoader(),
+            new Class<?>[] {ReviewRepository.class},
+            (proxy, method, args) -> {
+                if (failUpserts && method.getName().equals("upsert")) {
+                    throw new SQLTransientConnectionException("Server unavailable");
+                }
+                try {
+                    return method.invoke(repository, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        manager = new MovieReviewManager(1, failing);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.disableOfflineMode();
+    }
+
+    private static MovieReview review(String title, String director) {
+        return MovieReview.builder()
+            .setTitle(title)
+            .setDirector(director)
+            .setGenre("Drama")
+            .setRating(4.0)
+            .setDateWatched(LocalDate.of(2026, 5, 1))
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Result Tests")
+    class ResultTests {
+
+        @Test
+        @DisplayName("Should report a new review as added")
+        void shouldReportAdded() {
+            // When
+            AddResult result = manager.addReview(review("Heat", "Mann"));
+
+            // Then
+            assertEquals(AddResult.ADDED, result);
+            assertEquals(1, manager.getAllMovies().size());
+        }
+
+        @Test
+        @DisplayName("Should report a review whose title and director are taken as a duplicate")
+        void shouldReportDuplicate() {
+            // Given
+            manager.addReview(review("Heat", "Mann"));
+
+            // When
+            AddResult result = manager.addReview(review("heat", "MANN"));
+
+            // Then
+            assertEquals(AddResult.DUPLICATE, result);
+            assertEquals(1, manager.getAllMovies().size());
+        }
+
+        @Test
+        @DisplayName("Should report a duplicate the server rejects after the index was built")
+        void shouldReportDuplicateAddedElsewhere() throws Exception {
+            // Given
+            manager.addReview(review("Heat", "Mann"));
+            MovieReview elsewhere = review("Alien", "Scott");
+            elsewhere.setUserId(1);
+            repository.insert(elsewhere);
+
+            // When
+            AddResult result = manager.addReview(review("Alien", "Scott"));
+
+            // Then
+            assertEquals(AddResult.DUPLICATE, result);
+        }
+
+        @Test
+        @DisplayName("Should report a missing review as failed")
+        void shouldReportFailed() {
+            // When
+            AddResult result = manager.addReview(null);
+
+            // Then
+            assertEquals(AddResult.FAILED, result);
+        }
+    }
+    @Nested
+    @DisplayName("Replace Tests")
+    class ReplaceTests {
+
+        @Test
+        @DisplayName("Should replace a review offline, keeping the ID of the one it overwrites")
+        void shouldReplaceOffline() {
+            // Given
+            manager.addReview(review("Heat", "Mann"));
+            int heatId = manager.getAllMovies().get(0).getId();
+            manager.enableOfflineMode(tempDir.resolve("offline.log"));
+            failUpserts = true;
+            MovieReview replacement = review("Heat", "Mann");
+            replacement.setRating(2.0);
+
+            // When
+            UpsertOutcome outcome = manager.upsertReview(replacement);
+
+            // Then
+            assertEquals(UpsertOutcome.UPDATED, outcome);
+            assertEquals(heatId, replacement.getId());
+            assertEquals(1, manager.getPendingOfflineWriteCount());
+            List<MovieReview> shown = manager.getAllMovies();
+            assertEquals(1, shown.size());
+            assertEquals(2.0, shown.get(0).getRating());
+        }
+
+        @Test
+        @DisplayName("Should add a new pair offline under a temporary ID")
+        void shouldAddNewPairOffline() {
+            // Given
+            manager.addReview(review("Heat", "Mann"));
+            manager.enableOfflineMode(tempDir.resolve("offline.log"));
+            failUpserts = true;
+            MovieReview alien = review("Alien", "Scott");
+
+            // When
+            UpsertOutcome outcome = manager.upsertReview(alien);
+
+            // Then
+            assertEquals(UpsertOutcome.INSERTED, outcome);
+            assertTrue(alien.getId() < 0);
+            assertEquals(List.of("Alien", "Heat"),
+                manager.getAllMovies().stream().map(MovieReview::getTitle).toList());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.cpp.moviejournal.manager;
+
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.repository.InMemoryReviewRepository;
+import com.cpp.moviejournal.repository.ReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the last known good results of MovieReviewManager
+ * Tests that failed reads serve earlier results that callers could not have changed
+ */
+@DisplayName("MovieReviewManager Fallback Unit Tests")
+class MovieReviewManagerFallbackTest {
+
+    private boolean failReads;
+    private MovieReviewManager manager;
+
+    @BeforeEach
+    void setUp() {
+        // Delegates to memory, but full reads fail like an unreachable server while failReads is set
+        InMemoryReviewRepository stored = new InMemoryReviewRepository();
+        ReviewRepository repository = (ReviewRepository) Proxy.newProxyInstance(
+            ReviewRepository.class.getClassLoader(),
+            new Class<?>[] {ReviewRepository.class},
+            (proxy, method, args) -> {
+                if (failReads && method.getName().equals("findAll")) {
+                    throw new SQLException("Server unavailable");
+                }
+                try {
+                    return method.invoke(stored, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        manager = new MovieReviewManager(1, repository);
+    }
+
+    private void addReview(String title, double rating) {
+        manager.addReview(MovieReview.builder()
+            .setTitle(title)
+            .setDirector("Director")
+            .setGenre("Drama")
+            .setRating(rating)
+            .setDateWatched(LocalDate.of(2026, 5, 1))
+            .build());
+    }
+
+    @Nested
+    @DisplayName("Copy Tests")
+    class CopyTests {
+
+        @Test
+        @DisplayName("Should keep the reviews as read when a caller sorts or clears its list")
+        void shouldNotShareListWithCallers() {
+            // Given
+            addReview("Heat", 4.0);
+            addReview("Alien", 5.0);
+            List<MovieReview> returned = manager.getAllMovies();
+            List<String> titles = returned.stream().map(MovieReview::getTitle).toList();
+            returned.sort((a, b) -> b.getTitle().compareTo(a.getTitle()));
+            returned.clear();
+
+            // When
+            failReads = true;
+            List<MovieReview> fallback = manager.getAllMovies();
+
+            // Then
+            assertTrue(manager.isServingStaleData());
+            assertEquals(titles, fallback.stream().map(MovieReview::getTitle).toList());
+        }
+
+        @Test
+        @DisplayName("Should hand out a fresh copy on every fallback")
+        void shouldCopyOnEveryFallback() {
+            // Given
+            addReview("Heat", 4.0);
+            addReview("Alien", 5.0);
+            manager.getAllMovies();
+            failReads = true;
+
+            // When
+            List<MovieReview> first = manager.getAllMovies();
+            first.get(0).setTitle("Edited in place");
+            first.clear();
+
+            // Then
+            List<MovieReview> second = manager.getAllMovies();
+            assertEquals(2, second.size());
+            assertFalse(second.stream().anyMatch(review -> review.getTitle().equals("Edited in place")));
+        }
+    }
+}
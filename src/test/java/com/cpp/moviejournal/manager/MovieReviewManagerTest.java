@@ -3,6 +3,7 @@ package com.cpp.moviejournal.manager;
 import com.cpp.moviejournal.model.MovieReview;
 import org.junit.jupiter.api.*;
 
+import java.text.CollationKey;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -731,10 +732,10 @@ class MovieReviewManagerTest {
             
             // Then
             assertTrue(results.size() >= 3);
-            // Verify order (alphabetical)
+            // Verify order (alphabetical, ignoring leading articles)
             for (int i = 0; i < results.size() - 1; i++) {
-                String current = results.get(i).getTitle();
-                String next = results.get(i + 1).getTitle();
+                CollationKey current = results.get(i).getTitleSortKey();
+                CollationKey next = results.get(i + 1).getTitleSortKey();
                 assertTrue(current.compareTo(next) <= 0);
             }
         }
@@ -747,10 +748,10 @@ class MovieReviewManagerTest {
             
             // Then
             assertTrue(results.size() >= 3);
-            // Verify order (reverse alphabetical)
+            // Verify order (reverse alphabetical, ignoring leading articles)
             for (int i = 0; i < results.size() - 1; i++) {
-                String current = results.get(i).getTitle();
-                String next = results.get(i + 1).getTitle();
+                CollationKey current = results.get(i).getTitleSortKey();
+                CollationKey next = results.get(i + 1).getTitleSortKey();
                 assertTrue(current.compareTo(next) >= 0);
             }
         }
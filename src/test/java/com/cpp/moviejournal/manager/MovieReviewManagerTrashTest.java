@@ -0,0 +1,92 @@
+package com.cpp.moviejournal.manager;
+
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.repository.InMemoryReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the trash of MovieReviewManager
+ * Tests restoring reviews without a MySQL server
+ */
+@DisplayName("MovieReviewManager Trash Unit Tests")
+class MovieReviewManagerTrashTest {
+
+    private final List<String> added = new ArrayList<>();
+    private MovieReviewManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new MovieReviewManager(1, new InMemoryReviewRepository());
+    }
+
+    private MovieReview addReview(String title) {
+        MovieReview review = MovieReview.builder()
+            .setTitle(title)
+            .setDirector("Director")
+            .setGenre("Drama")
+            .setRating(4.0)
+            .setDateWatched(LocalDate.of(2026, 5, 1))
+            .build();
+        manager.addReview(review);
+        return review;
+    }
+
+    private void listenForAdds() {
+        manager.addReviewChangeListener(new ReviewChangeListener() {
+            @Override
+            public void onReviewAdded(MovieReview review) {
+                added.add(review.getTitle());
+            }
+
+            @Override
+            public void onReviewUpdated(MovieReview review) {
+            }
+
+            @Override
+            public void onReviewDeleted(int reviewId) {
+            }
+
+            @Override
+            public void onReviewsBulkDeleted(int count) {
+            }
+
+            @Override
+            public void onReviewsCleared() {
+            }
+        });
+    }
+
+    @Nested
+    @DisplayName("Restore Tests")
+    class RestoreTests {
+
+        @Test
+        @DisplayName("Should announce only the reviews that actually left the trash")
+        void shouldNotifyOnlyRestoredReviews() {
+            // Given
+            MovieReview heat = addReview("Heat");
+            MovieReview alien = addReview("Alien");
+            MovieReview up = addReview("Up");
+            manager.deleteReviews(List.of(heat, alien));
+            manager.restoreReviews(List.of(alien));
+            listenForAdds();
+
+            // When
+            int restored = manager.restoreReviews(List.of(heat, alien, up));
+
+            // Then
+            assertEquals(1, restored);
+            assertEquals(List.of("Heat"), added);
+            assertTrue(manager.getTrashedReviews().isEmpty());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.cpp.moviejournal.manager;
+
+import com.cpp.moviejournal.model.MovieReview;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OfflineJournal
+ * Tests durability, recovery, compaction and the local read overlay
+ */
+@DisplayName("OfflineJournal Unit Tests")
+class OfflineJournalTest {
+
+    // Long enough that only explicit flushes write in these tests
+    private static final Duration FLUSH_INTERVAL = Duration.ofHours(1);
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private OfflineJournal journal;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = tempDir.resolve("offline.log");
+        journal = new OfflineJournal(file, FLUSH_INTERVAL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    private static MovieReview review(int id, String title) {
+        return MovieReview.builder()
+            .setId(id)
+            .setUserId(7)
+            .setTitle(title)
+            .setDirector("Director\twith tab")
+            .setReview("Line one\nline two")
+            .setDateWatched(LocalDate.of(2026, 3, 1))
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Durability Tests")
+    class DurabilityTests {
+
+        @Test
+        @DisplayName("Should recover flushed writes after a restart")
+        void shouldRecoverFlushedWrites() throws IOException {
+            // Given
+            journal.append(PendingWrite.Operation.ADD, 0, review(journal.nextTemporaryId(), "Heat"));
+            journal.append(PendingWrite.Operation.UPDATE, 2, review(5, "Alien"));
+            journal.flush();
+            journal.close();
+
+            // When
+            journal = new OfflineJournal(file, FLUSH_INTERVAL);
+
+            // Then
+            List<PendingWrite> writes = journal.peek(10);
+            assertEquals(2, writes.size());
+            assertEquals(PendingWrite.Operation.ADD, writes.get(0).getOperation());
+            assertEquals("Director\twith tab", writes.get(0).getReview().getDirector());
+            assertEquals("Line one\nline two", writes.get(0).getReview().getReview());
+            assertEquals(2, writes.get(1).getBaseVersion());
+            assertEquals(-2, journal.nextTemporaryId());
+        }
+
+        @Test
+        @DisplayName("Should drop a line torn by a crash")
+        void shouldDropTornLine() throws IOException {
+            // Given
+            journal.append(PendingWrite.Operation.DELETE, 0, review(5, "Alien"));
+            journal.flush();
+            journal.close();
+            Files.writeString(file, "2\tUPDATE\t0\t5", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+            // When
+            journal = new OfflineJournal(file, FLUSH_INTERVAL);
+
+            // Then
+            assertEquals(1, journal.size());
+            assertEquals(1, Files.readAllLines(file).size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Acknowledge Tests")
+    class AcknowledgeTests {
+
+        @Test
+        @DisplayName("Should drop replayed writes and retarget later writes to server IDs")
+        void shouldCompactAndRetarget() throws IOException {
+            // Given
+            int temporaryId = journal.nextTemporaryId();
+            journal.append(PendingWrite.Operation.ADD, 0, review(temporaryId, "Heat"));
+            journal.append(PendingWrite.Operation.UPDATE, 0, review(temporaryId, "Heat (1995)"));
+
+            // When
+            journal.acknowledge(1, Map.of(temporaryId, 42));
+
+            // Then
+            assertEquals(1, journal.size());
+            assertEquals(42, journal.peek(1).get(0).getReview().getId());
+            journal.close();
+            journal = new OfflineJournal(file, FLUSH_INTERVAL);
+            assertEquals(42, journal.peek(1).get(0).getReview().getId());
+        }
+    }
+
+    @Nested
+    @DisplayName("Overlay Tests")
+    class OverlayTests {
+
+        @Test
+        @DisplayName("Should apply pending writes on top of server reviews")
+        void shouldOverlayPendingWrites() {
+            // Given
+            MovieReview server1 = review(1, "Alien");
+            MovieReview server2 = review(2, "Heat");
+            journal.append(PendingWrite.Operation.ADD, 0, review(-1, "Up"));
+            journal.append(PendingWrite.Operation.UPDATE, 0, review(1, "Aliens"));
+            journal.append(PendingWrite.Operation.DELETE, 0, review(2, "Heat"));
+
+            // When
+            List<MovieReview> reviews = journal.overlay(List.of(server1, server2));
+
+            // Then
+            assertEquals(List.of("Up", "Aliens"), reviews.stream().map(MovieReview::getTitle).toList());
+        }
+
+        @Test
+        @DisplayName("Should apply a favorite toggle without changing the server copy")
+        void shouldOverlayFavoriteOnCopy() {
+            // Given
+            MovieReview server = review(1, "Alien");
+            MovieReview toggled = review(1, "Alien");
+            toggled.setFavorite(true);
+            toggled.setVersion(1);
+            journal.append(PendingWrite.Operation.FAVORITE, 0, toggled);
+
+            // When
+            List<MovieReview> reviews = journal.overlay(List.of(server));
+
+            // Then
+            assertTrue(reviews.get(0).isFavorite());
+            assertEquals(1, reviews.get(0).getVersion());
+            assertFalse(server.isFavorite());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.cpp.moviejournal.manager;
+
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.repository.InMemoryReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReviewBodyLoader
+ * Tests summaries, on-demand loading of the full text and its cache
+ */
+@DisplayName("ReviewBodyLoader Unit Tests")
+class ReviewBodyLoaderTest {
+
+    private static final String LONG_TEXT = "A slow burn that pays off. ".repeat(20);
+
+    private int bodyReads;
+    private InMemoryReviewRepository repository;
+    private MovieReviewManager manager;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryReviewRepository() {
+            @Override
+            public String findReviewBody(int userId, int reviewId) {
+                bodyReads++;
+                return super.findReviewBody(userId, reviewId);
+            }
+        };
+        manager = new MovieReviewManager(1, repository);
+    }
+
+    private MovieReview addReview(String title, String text) {
+        MovieReview review = MovieReview.builder()
+            .setTitle(title)
+            .setDirector("Director")
+            .setGenre("Drama")
+            .setRating(4.0)
+            .setReview(text)
+            .setDateWatched(LocalDate.of(2026, 5, 1))
+            .build();
+        manager.addReview(review);
+        return review;
+    }
+
+    @Nested
+    @DisplayName("Summary Tests")
+    class SummaryTests {
+
+        @Test
+        @DisplayName("Should cut the review text of summaries to a snippet")
+        void shouldCutSummaryText() {
+            // Given
+            addReview("Heat", LONG_TEXT);
+
+            // When
+            MovieReview summary = manager.getReviewSummaries().get(0);
+
+            // Then
+            assertFalse(summary.isBodyLoaded());
+            assertEquals(MovieReview.SNIPPET_LENGTH + 1, summary.getReview().length());
+            assertTrue(LONG_TEXT.startsWith(summary.getReview()));
+        }
+
+        @Test
+        @DisplayName("Should keep the full text when saving an edited summary")
+        void shouldKeepFullTextWhenSavingSummary() {
+            // Given
+            addReview("Heat", LONG_TEXT);
+            MovieReview summary = manager.getReviewSummaries().get(0);
+            MovieReview edited = manager.getReviewSummaries().get(0);
+            edited.setRating(2.0);
+
+            // When
+            UpdateResult result = manager.updateReview(summary, edited);
+
+            // Then
+            assertEquals(UpdateResult.UPDATED, result);
+            assertEquals(LONG_TEXT, manager.findReview(summary.getId()).getReview());
+        }
+    }
+
+    @Nested
+    @DisplayName("Loading Tests")
+    class LoadingTests {
+
+        @Test
+        @DisplayName("Should load the full text once and then serve it from the cache")
+        void shouldCacheLoadedText() {
+            // Given
+            addReview("Heat", LONG_TEXT);
+            // Another window did not see the add, so has nothing cached
+            MovieReviewManager otherWindow = new MovieReviewManager(1, repository);
+            MovieReview summary = otherWindow.getReviewSummaries().get(0);
+
+            // When
+            String first = otherWindow.loadReviewBody(summary);
+            String second = otherWindow.loadReviewBody(summary);
+
+            // Then
+            assertEquals(LONG_TEXT, first);
+            assertEquals(LONG_TEXT, second);
+            assertEquals(1, bodyReads);
+        }
+
+        @Test
+        @DisplayName("Should read a text that changed since it was cached")
+        void shouldReloadChangedText() {
+            // Given
+            addReview("Heat", LONG_TEXT);
+            MovieReview summary = manager.getReviewSummaries().get(0);
+            manager.loadReviewBody(summary);
+            MovieReview edited = manager.findReview(summary.getId());
+            edited.setReview("Better the second time.");
+            manager.updateReview(manager.findReview(summary.getId()), edited);
+
+            // When
+            String body = manager.loadReviewBody(manager.getReviewSummaries().get(0));
+
+            // Then
+            assertEquals("Better the second time.", body);
+        }
+
+        @Test
+        @DisplayName("Should return null for a review deleted meanwhile")
+        void shouldReturnNullForDeletedReview() {
+            // Given
+            addReview("Heat", LONG_TEXT);
+            MovieReview summary = manager.getReviewSummaries().get(0);
+            manager.deleteReviews(List.of(summary));
+
+            // When
+            String body = manager.loadReviewBody(summary);
+
+            // Then
+            assertNull(body);
+        }
+
+        @Test
+        @DisplayName("Should not hit the database for a review that carries its text")
+        void shouldUseLoadedText() {
+            // Given
+            MovieReview heat = addReview("Heat", LONG_TEXT);
+
+            // When
+            String body = manager.loadReviewBody(heat);
+
+            // Then
+            assertEquals(LONG_TEXT, body);
+            assertEquals(0, bodyReads);
+        }
+    }
+}
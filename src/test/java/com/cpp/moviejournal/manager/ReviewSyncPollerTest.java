@@ -0,0 +1,186 @@
+package com.cpp.moviejournal.manager;
+
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.repository.InMemoryReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReviewSyncPoller
+ * Tests how deltas are merged against known versions and local writes
+ */
+@DisplayName("ReviewSyncPoller Unit Tests")
+class ReviewSyncPollerTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T10:00:00Z");
+
+    private ReviewSyncPoller poller;
+
+    @BeforeEach
+    void setUp() {
+        poller = new ReviewSyncPoller(new MovieReviewManager(7));
+        // The journal, holding reviews 1 and 2, was loaded just before T0
+        poller.startAt(T0);
+    }
+
+    // A review created before polling started, so it was loaded at startup
+    private static MovieReview review(int id, int version) {
+        return review(id, version, T0.minusSeconds(60));
+    }
+
+    private static MovieReview newReview(int id, int version) {
+        return review(id, version, T0.plusSeconds(10));
+    }
+
+    private static MovieReview review(int id, int version, Instant createdAt) {
+        return MovieReview.builder()
+            .setId(id)
+            .setUserId(7)
+            .setTitle("Movie " + id)
+            .setVersion(version)
+            .setCreatedAt(createdAt)
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Delta Merge Tests")
+    class DeltaMergeTests {
+
+        @Test
+        @DisplayName("Should only read the server time on the first poll")
+        void shouldStartAtServerTime() {
+            // Given
+            List<Instant> fetchedSince = new ArrayList<>();
+            InMemoryReviewRepository repository = new InMemoryReviewRepository() {
+                @Override
+                public ReviewDelta findChangedSince(int userId, Instant since) {
+                    fetchedSince.add(since);
+                    return super.findChangedSince(userId, since);
+                }
+            };
+            ReviewSyncPoller fresh = new ReviewSyncPoller(new MovieReviewManager(7, repository));
+            Instant before = Instant.now();
+
+            // When
+            int published = fresh.pollOnce();
+            fresh.pollOnce();
+
+            // Then
+            assertEquals(0, published);
+            assertFalse(fresh.getWatermark().isBefore(before));
+            assertEquals(List.of(fresh.getWatermark().minus(ReviewSyncPoller.WATERMARK_OVERLAP)), fetchedSince);
+        }
+
+        @Test
+        @DisplayName("Should classify new rows, newer versions and tombstones")
+        void shouldClassifyChanges() {
+            // Given
+            ReviewDelta delta = new ReviewDelta(
+                List.of(review(2, 4), newReview(3, 0)), List.of(1, 99), T0.plusSeconds(30));
+
+            // When
+            ReviewSyncPoller.Changes changes = poller.apply(delta);
+
+            // Then
+            assertEquals(List.of(3), changes.added().stream().map(MovieReview::getId).toList());
+            assertEquals(List.of(2), changes.updated().stream().map(MovieReview::getId).toList());
+            assertEquals(List.of(1, 99), changes.deletedIds());
+            assertEquals(T0.plusSeconds(30), poller.getWatermark());
+        }
+
+        @Test
+        @DisplayName("Should skip rows seen again in the overlap window")
+        void shouldSkipRepeatedRows() {
+            // Given
+            poller.apply(new ReviewDelta(List.of(review(2, 3)), List.of(), T0.plusSeconds(2)));
+
+            // When
+            ReviewSyncPoller.Changes changes = poller.apply(new ReviewDelta(List.of(review(2, 3)), List.of(), T0.plusSeconds(2)));
+
+            // Then
+            assertTrue(changes.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should publish a tombstone once, and a review back from the trash as added")
+        void shouldPublishTombstoneOnce() {
+            // Given
+            poller.apply(new ReviewDelta(List.of(), List.of(1), T0.plusSeconds(5)));
+
+            // When
+            ReviewSyncPoller.Changes again = poller.apply(new ReviewDelta(List.of(), List.of(1), T0.plusSeconds(5)));
+            ReviewSyncPoller.Changes restored = poller.apply(new ReviewDelta(List.of(review(1, 1)), List.of(), T0.plusSeconds(9)));
+
+            // Then
+            assertTrue(again.isEmpty());
+            assertEquals(List.of(1), restored.added().stream().map(MovieReview::getId).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Local Write Tests")
+    class LocalWriteTests {
+
+        @Test
+        @DisplayName("Should not echo writes this instance made")
+        void shouldNotEchoLocalWrites() {
+            // Given
+            poller.onReviewUpdated(review(2, 4));
+            poller.onReviewAdded(newReview(5, 0));
+            poller.onReviewDeleted(1);
+
+            // When
+            ReviewSyncPoller.Changes changes = poller.apply(
+                new ReviewDelta(List.of(review(2, 4), newReview(5, 0)), List.of(1), T0.plusSeconds(5)));
+
+            // Then
+            assertTrue(changes.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should ignore an older copy when a local write overtook the fetch")
+        void shouldIgnoreOlderCopies() {
+            // Given
+            poller.onReviewUpdated(review(2, 5));
+
+            // When
+            ReviewSyncPoller.Changes changes = poller.apply(new ReviewDelta(List.of(review(2, 4)), List.of(), T0));
+
+            // Then
+            assertTrue(changes.updated().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should not echo a deferred favorite toggle once it is stored")
+        void shouldNotEchoWriteBehindToggles() {
+            // Given
+            MovieReviewManager manager = new MovieReviewManager(7, new InMemoryReviewRepository());
+            ReviewSyncPoller local = new ReviewSyncPoller(manager);
+            manager.addReviewChangeListener(local);
+            local.pollOnce();
+            MovieReview heat = MovieReview.builder()
+                .setTitle("Heat")
+                .setDirector("Michael Mann")
+                .setGenre("Crime")
+                .setRating(4.5)
+                .build();
+            manager.addReview(heat);
+            manager.setFavoriteStatusDeferred(heat, true);
+            manager.flushPendingFavorites();
+
+            // When
+            int published = local.pollOnce();
+
+            // Then
+            assertEquals(0, published);
+        }
+    }
+}
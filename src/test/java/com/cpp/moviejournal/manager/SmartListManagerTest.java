@@ -0,0 +1,107 @@
+package com.cpp.moviejournal.manager;
+
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.repository.InMemoryReviewRepository;
+import com.cpp.moviejournal.repository.InMemorySmartListRepository;
+import com.cpp.moviejournal.search.ReviewFilter;
+import com.cpp.moviejournal.search.SmartList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SmartListManager
+ * Tests saving, opening and deleting smart lists without a MySQL server
+ */
+@DisplayName("SmartListManager Unit Tests")
+class SmartListManagerTest {
+
+    private InMemorySmartListRepository repository;
+    private MovieReviewManager reviewManager;
+    private SmartListManager manager;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemorySmartListRepository();
+        reviewManager = new MovieReviewManager(1, new InMemoryReviewRepository());
+        manager = new SmartListManager(reviewManager, repository);
+    }
+
+    private MovieReview addReview(String title, String genre, double rating) {
+        MovieReview review = MovieReview.builder()
+            .setTitle(title)
+            .setDirector("Director")
+            .setGenre(genre)
+            .setRating(rating)
+            .setDateWatched(LocalDate.of(2026, 5, 1))
+            .build();
+        reviewManager.addReview(review);
+        return review;
+    }
+
+    @Nested
+    @DisplayName("Storage Tests")
+    class StorageTests {
+
+        @Test
+        @DisplayName("Should save lists to the repository and read them back in a new session")
+        void shouldSaveToRepository() {
+            // Given
+            manager.saveSmartList(" Horror ", ReviewFilter.builder().addGenre("Horror").build());
+
+            // When
+            List<SmartList> lists = new SmartListManager(reviewManager, repository).getSmartLists();
+
+            // Then
+            assertEquals(1, lists.size());
+            assertEquals("Horror", lists.get(0).getName());
+        }
+
+        @Test
+        @DisplayName("Should delete only the user's own list")
+        void shouldDeleteList() {
+            // Given
+            SmartList list = manager.saveSmartList("Horror", ReviewFilter.builder().build());
+
+            // When
+            boolean deleted = manager.deleteSmartList(list);
+
+            // Then
+            assertTrue(deleted);
+            assertTrue(repository.findByUser(1).isEmpty());
+            assertFalse(manager.deleteSmartList(list));
+        }
+    }
+
+    @Nested
+    @DisplayName("Open Tests")
+    class OpenTests {
+
+        @Test
+        @DisplayName("Should open a list and keep it current as reviews are added")
+        void shouldKeepOpenListCurrent() {
+            // Given
+            addReview("Alien", "Horror", 4.5);
+            addReview("Heat", "Crime", 5.0);
+            SmartList list = manager.saveSmartList("Horror",
+                ReviewFilter.builder().addGenre("Horror").build());
+            manager.openSmartList(list);
+
+            // When
+            addReview("Hereditary", "Horror", 5.0);
+
+            // Then
+            List<String> titles = manager.openSmartList(list).stream()
+                .map(MovieReview::getTitle)
+                .toList();
+            assertEquals(2, titles.size());
+            assertTrue(titles.containsAll(List.of("Alien", "Hereditary")));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.cpp.moviejournal.manager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TrashPurger
+ * Tests the chunked purge loop and constructor validation
+ */
+@DisplayName("TrashPurger Unit Tests")
+class TrashPurgerTest {
+
+    private static TrashPurger.ChunkDeleter deleting(List<Integer> requestedLimits, Integer... chunks) {
+        Deque<Integer> remaining = new ArrayDeque<>(List.of(chunks));
+        return limit -> {
+            requestedLimits.add(limit);
+            return remaining.isEmpty() ? 0 : remaining.poll();
+        };
+    }
+
+    @Nested
+    @DisplayName("Drain Tests")
+    class DrainTests {
+
+        @Test
+        @DisplayName("Should keep deleting full chunks until one comes back short")
+        void shouldStopAfterShortChunk() throws SQLException {
+            // Given
+            List<Integer> limits = new ArrayList<>();
+
+            // When
+            int total = TrashPurger.drain(deleting(limits, 3, 3, 1), 3, Duration.ZERO);
+
+            // Then
+            assertEquals(7, total);
+            assertEquals(List.of(3, 3, 3), limits);
+        }
+
+        @Test
+        @DisplayName("Should make one extra round trip when the last chunk is exactly full")
+        void shouldConfirmEmptyAfterFullChunk() throws SQLException {
+            // Given
+            List<Integer> limits = new ArrayList<>();
+
+            // When
+            int total = TrashPurger.drain(deleting(limits, 2, 2), 2, Duration.ZERO);
+
+            // Then
+            assertEquals(4, total);
+            assertEquals(3, limits.size());
+        }
+
+        @Test
+        @DisplayName("Should stop between chunks when interrupted and keep the interrupt flag")
+        void shouldStopWhenInterrupted() throws SQLException {
+            // Given
+            List<Integer> limits = new ArrayList<>();
+            Thread.currentThread().interrupt();
+
+            try {
+                // When
+                int total = TrashPurger.drain(deleting(limits, 5, 5, 5), 5, Duration.ofMillis(10));
+
+                // Then
+                assertEquals(5, total);
+                assertTrue(Thread.currentThread().isInterrupted());
+            } finally {
+                Thread.interrupted();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation Tests")
+    class ValidationTests {
+
+        @Test
+        @DisplayName("Should reject non-positive chunk sizes and negative durations")
+        void shouldRejectInvalidSettings() {
+            assertThrows(IllegalArgumentException.class,
+                () -> new TrashPurger(Duration.ofDays(1), 0, Duration.ZERO));
+            assertThrows(IllegalArgumentException.class,
+                () -> new TrashPurger(Duration.ofDays(-1), 10, Duration.ZERO));
+            assertThrows(IllegalArgumentException.class,
+                () -> new TrashPurger(Duration.ofDays(1), 10, Duration.ofMillis(-1)));
+        }
+    }
+}
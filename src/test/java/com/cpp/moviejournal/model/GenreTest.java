@@ -0,0 +1,92 @@
+package com.cpp.moviejournal.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Genre
+ * Tests name lookup, free-text parsing and mask round trips
+ */
+@DisplayName("Genre Unit Tests")
+class GenreTest {
+
+    @Nested
+    @DisplayName("Parsing Tests")
+    class ParsingTests {
+
+        @Test
+        @DisplayName("Should parse combined genres whatever the separator")
+        void shouldParseCombinedGenres() {
+            // Given
+            int expected = Genre.SCI_FI.mask() | Genre.THRILLER.mask();
+
+            // When & Then
+            assertEquals(expected, Genre.parseMask("Sci-Fi/Thriller"));
+            assertEquals(expected, Genre.parseMask(" thriller , science fiction "));
+            assertEquals(expected, Genre.parseMask("SciFi & Thriller"));
+            assertEquals(expected, Genre.parseMask("Sci-Fi and Thriller"));
+        }
+
+        @Test
+        @DisplayName("Should skip names the registry does not know")
+        void shouldSkipUnknownNames() {
+            // When & Then
+            assertEquals(Genre.HORROR.mask(), Genre.parseMask("Horror/Giallo"));
+            assertEquals(0, Genre.parseMask("Giallo"));
+            assertEquals(0, Genre.parseMask("  "));
+            assertEquals(0, Genre.parseMask(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Mask Tests")
+    class MaskTests {
+
+        @Test
+        @DisplayName("Should give every genre its own bit")
+        void shouldGiveEveryGenreOwnBit() {
+            // When
+            int all = Genre.maskOf(List.of(Genre.values()));
+
+            // Then
+            assertEquals(Genre.values().length, Integer.bitCount(all));
+        }
+
+        @Test
+        @DisplayName("Should format a mask as text that parses back to it")
+        void shouldRoundTripThroughText() {
+            // Given
+            Set<Genre> genres = EnumSet.of(Genre.WAR, Genre.DRAMA);
+
+            // When
+            String text = Genre.format(Genre.maskOf(genres));
+
+            // Then
+            assertEquals("Drama/War", text);
+            assertEquals(genres, Genre.fromMask(Genre.parseMask(text)));
+        }
+
+        @Test
+        @DisplayName("Should reparse a review's mask when its genre text changes")
+        void shouldTrackReviewGenreText() {
+            // Given
+            MovieReview review = MovieReview.builder().setGenre("Crime").build();
+            int before = review.getGenreMask();
+
+            // When
+            review.setGenres(List.of(Genre.CRIME, Genre.DRAMA));
+
+            // Then
+            assertEquals(Genre.CRIME.mask(), before);
+            assertEquals("Crime/Drama", review.getGenre());
+            assertEquals(EnumSet.of(Genre.CRIME, Genre.DRAMA), review.getGenres());
+        }
+    }
+}
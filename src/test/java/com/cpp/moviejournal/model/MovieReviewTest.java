@@ -228,10 +228,21 @@ class MovieReviewTest {
         void shouldHandleNullDateWatched() {
             // When
             validReview.setDateWatched(null);
-            
+
             // Then
             assertNull(validReview.getDateWatched());
         }
+
+        @Test
+        @DisplayName("Should start at version 0 and carry the builder's version")
+        void shouldCarryRowVersion() {
+            // Given
+            MovieReview stored = MovieReview.builder().setId(4).setTitle("Heat").setVersion(3).build();
+
+            // Then
+            assertEquals(0, validReview.getVersion());
+            assertEquals(3, stored.getVersion());
+        }
     }
 
     @Nested
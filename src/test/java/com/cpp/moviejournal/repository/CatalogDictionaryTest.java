@@ -0,0 +1,236 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.util.UnitOfWork;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CatalogDictionary
+ * Tests key lookup, caching and name resolution against a fake catalog database
+ */
+@DisplayName("CatalogDictionary Unit Tests")
+class CatalogDictionaryTest {
+
+    // Catalog rows of the fake database: table -> name (with its director key) -> key
+    private final Map<String, Map<String, Integer>> catalogTables = new HashMap<>();
+    private final List<String> statements = new ArrayList<>();
+    private final Connection connection = fakeConnection();
+
+    @AfterEach
+    void tearDown() {
+        UnitOfWork unit = UnitOfWork.current();
+        if (unit != null) {
+            unit.close();
+        }
+    }
+
+    private static MovieReview review(String title, String director, String genre) {
+        return MovieReview.builder()
+            .setTitle(title)
+            .setDirector(director)
+            .setGenre(genre)
+            .build();
+    }
+
+    private static CatalogDictionary.Ids noKeys() {
+        return new CatalogDictionary.Ids(0, 0, 0);
+    }
+
+    @Nested
+    @DisplayName("Key Tests")
+    class KeyTests {
+
+        @Test
+        @DisplayName("Should add names once and then answer from the cache")
+        void shouldCacheKeys() throws SQLException {
+            // Given
+            CatalogDictionary catalog = new CatalogDictionary();
+            CatalogDictionary.Ids first = catalog.idsFor(connection, review("Heat", "Mann", "Crime"));
+            int written = statements.size();
+
+            // When
+            CatalogDictionary.Ids second = catalog.idsFor(connection, review("Heat", "Mann", "Crime"));
+
+            // Then
+            assertEquals(3, written);
+            assertEquals(first, second);
+            assertEquals(written, statements.size());
+        }
+
+        @Test
+        @DisplayName("Should share the director's key between the director's movies")
+        void shouldShareDirectorKey() throws SQLException {
+            // Given
+            CatalogDictionary catalog = new CatalogDictionary();
+
+            // When
+            CatalogDictionary.Ids heat = catalog.idsFor(connection, review("Heat", "Mann", "Crime"));
+            CatalogDictionary.Ids thief = catalog.idsFor(connection, review("Thief", "Mann", "Crime"));
+
+            // Then
+            assertEquals(heat.directorId(), thief.directorId());
+            assertEquals(heat.genreId(), thief.genreId());
+            assertNotEquals(heat.movieId(), thief.movieId());
+        }
+
+        @Test
+        @DisplayName("Should cache keys added in a unit of work only once it commits")
+        void shouldCacheKeysAfterCommit() throws SQLException {
+            // Given
+            CatalogDictionary catalog = new CatalogDictionary();
+            UnitOfWork unit = UnitOfWork.begin();
+            catalog.idsFor(connection, review("Heat", "Mann", "Crime"));
+            catalog.idsFor(connection, review("Heat", "Mann", "Crime"));
+            int written = statements.size();
+
+            // When
+            unit.commit();
+            catalog.idsFor(connection, review("Heat", "Mann", "Crime"));
+
+            // Then
+            assertEquals(6, written);
+            assertEquals(written, statements.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Name Tests")
+    class NameTests {
+
+        @Test
+        @DisplayName("Should resolve keys to names, reading unknown keys in one query per table")
+        void shouldResolveUnknownKeys() throws SQLException {
+            // Given
+            CatalogDictionary otherProcess = new CatalogDictionary();
+            CatalogDictionary.Ids heat = otherProcess.idsFor(connection, review("Heat", "Mann", "Crime"));
+            CatalogDictionary.Ids up = otherProcess.idsFor(connection, review("Up", "Docter", "Family"));
+            statements.clear();
+            List<MovieReview> summaries = List.of(
+                review(null, null, null), review(null, null, null), review("Alien", "Scott", "Horror"));
+
+            // When
+            new CatalogDictionary().resolveNames(connection, summaries, List.of(heat, up, noKeys()));
+
+            // Then
+            assertEquals(3, statements.size());
+            assertEquals("Heat", summaries.get(0).getTitle());
+            assertEquals("Mann", summaries.get(0).getDirector());
+            assertEquals("Family", summaries.get(1).getGenre());
+            assertEquals("Alien", summaries.get(2).getTitle());
+        }
+
+        @Test
+        @DisplayName("Should resolve keys it created itself without a query")
+        void shouldResolveOwnKeysFromCache() throws SQLException {
+            // Given
+            CatalogDictionary catalog = new CatalogDictionary();
+            CatalogDictionary.Ids heat = catalog.idsFor(connection, review("Heat", "Mann", "Crime"));
+            statements.clear();
+            List<MovieReview> summaries = List.of(review(null, null, null));
+
+            // When
+            catalog.resolveNames(connection, summaries, List.of(heat));
+
+            // Then
+            assertTrue(statements.isEmpty());
+            assertEquals("Crime", summaries.get(0).getGenre());
+        }
+
+        @Test
+        @DisplayName("Should rewrite review reads to take names from the catalog tables")
+        void shouldReadNamesFromCatalog() {
+            // Given
+            String sql = "SELECT * FROM movie_reviews WHERE user_id = ? AND title = ?";
+
+            // When
+            String named = CatalogDictionary.withNames(sql);
+
+            // Then
+            assertTrue(named.startsWith("SELECT * FROM (SELECT r.id, r.user_id, movies.title"));
+            assertTrue(named.contains("FROM movie_reviews r LEFT JOIN movies ON movies.id = r.movie_id"));
+            assertTrue(named.endsWith(") movie_reviews WHERE user_id = ? AND title = ?"));
+            assertFalse(named.contains("r.title"));
+        }
+    }
+
+    /** A connection that answers the catalog's inserts and key lookups from catalogTables. */
+    private Connection fakeConnection() {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> method.getName().equals("prepareStatement")
+                ? fakeStatement((String) args[0])
+                : null);
+    }
+
+    private PreparedStatement fakeStatement(String sql) {
+        Map<Integer, Object> parameters = new HashMap<>();
+        String table = sql.split(" ")[sql.startsWith("INSERT") ? 2 : 4];
+        Map<String, Integer> rows = catalogTables.computeIfAbsent(table, name -> new HashMap<>());
+        int[] insertedKey = new int[1];
+        return (PreparedStatement) Proxy.newProxyInstance(
+            PreparedStatement.class.getClassLoader(),
+            new Class<?>[] {PreparedStatement.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "setString", "setInt" -> parameters.put((Integer) args[0], args[1]);
+                    case "executeUpdate" -> {
+                        statements.add(sql);
+                        String name = parameters.get(1) + "/" + parameters.get(2);
+                        insertedKey[0] = rows.computeIfAbsent(name, key -> rows.size() + 1);
+                        return 1;
+                    }
+                    case "getGeneratedKeys" -> {
+                        return fakeResultSet(List.<Object[]>of(new Object[] {insertedKey[0]}));
+                    }
+                    case "executeQuery" -> {
+                        statements.add(sql);
+                        List<Object[]> found = new ArrayList<>();
+                        for (Map.Entry<String, Integer> row : rows.entrySet()) {
+                            if (parameters.containsValue(row.getValue())) {
+                                found.add(new Object[] {row.getValue(), row.getKey().split("/")[0]});
+                            }
+                        }
+                        return fakeResultSet(found);
+                    }
+                    default -> {
+                        return null;
+                    }
+                }
+                return null;
+            });
+    }
+
+    private static ResultSet fakeResultSet(List<Object[]> rows) {
+        Iterator<Object[]> remaining = rows.iterator();
+        Object[][] current = new Object[1][];
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[] {ResultSet.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "next" -> {
+                    current[0] = remaining.hasNext() ? remaining.next() : null;
+                    yield current[0] != null;
+                }
+                case "getInt" -> current[0][(Integer) args[0] - 1];
+                case "getString" -> current[0][(Integer) args[0] - 1];
+                default -> null;
+            });
+    }
+}
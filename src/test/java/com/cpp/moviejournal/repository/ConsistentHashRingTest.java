@@ -0,0 +1,84 @@
+package com.cpp.moviejournal.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConsistentHashRing
+ * Tests that users spread evenly and mostly stay put when a shard is added
+ */
+@DisplayName("ConsistentHashRing Unit Tests")
+class ConsistentHashRingTest {
+
+    private static final int USERS = 10_000;
+
+    @Nested
+    @DisplayName("Placement Tests")
+    class PlacementTests {
+
+        @Test
+        @DisplayName("Should place a user on the same shard every time")
+        void shouldPlaceDeterministically() {
+            // Given
+            ConsistentHashRing first = new ConsistentHashRing(4);
+            ConsistentHashRing second = new ConsistentHashRing(4);
+
+            // Then
+            for (int userId = 1; userId <= 100; userId++) {
+                assertEquals(first.shardFor(userId), second.shardFor(userId));
+            }
+        }
+
+        @Test
+        @DisplayName("Should spread users roughly evenly over the shards")
+        void shouldSpreadUsersEvenly() {
+            // Given
+            ConsistentHashRing ring = new ConsistentHashRing(4);
+            int[] usersPerShard = new int[4];
+
+            // When
+            for (int userId = 1; userId <= USERS; userId++) {
+                usersPerShard[ring.shardFor(userId)]++;
+            }
+
+            // Then
+            for (int users : usersPerShard) {
+                assertTrue(users > USERS / 4 / 2, "shard too empty: " + users);
+                assertTrue(users < USERS / 4 * 2, "shard too full: " + users);
+            }
+        }
+
+        @Test
+        @DisplayName("Should only move users onto a newly added shard")
+        void shouldOnlyMoveUsersToNewShard() {
+            // Given
+            ConsistentHashRing before = new ConsistentHashRing(4);
+            ConsistentHashRing after = new ConsistentHashRing(5);
+            int moved = 0;
+
+            // When
+            for (int userId = 1; userId <= USERS; userId++) {
+                int oldShard = before.shardFor(userId);
+                int newShard = after.shardFor(userId);
+                if (oldShard != newShard) {
+                    assertEquals(4, newShard);
+                    moved++;
+                }
+            }
+
+            // Then
+            assertTrue(moved > 0);
+            assertTrue(moved < USERS / 3, "too many users moved: " + moved);
+        }
+
+        @Test
+        @DisplayName("Should reject a ring without shards")
+        void shouldRejectEmptyRing() {
+            // Then
+            assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(0));
+        }
+    }
+}
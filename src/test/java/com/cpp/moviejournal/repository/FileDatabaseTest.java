@@ -0,0 +1,137 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.model.User;
+import com.cpp.moviejournal.search.ReviewFilter;
+import com.cpp.moviejournal.search.SmartList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FileDatabase
+ * Tests that users, reviews and smart lists survive a reopen of the single database file
+ */
+@DisplayName("FileDatabase Unit Tests")
+class FileDatabaseTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Nested
+    @DisplayName("Persistence Tests")
+    class PersistenceTests {
+
+        @Test
+        @DisplayName("Should reload users and reviews after reopening")
+        void shouldReloadAfterReopen() throws IOException, SQLException {
+            // Given
+            Path file = tempDir.resolve("journal.db");
+            FileDatabase database = FileDatabase.open(file);
+            User user = new User(0, "alice", "alice@example.com", "hash",
+                LocalDateTime.of(2026, 1, 2, 3, 4), null, true);
+            database.getUserRepository().insert(user);
+            MovieReview kept = MovieReview.builder()
+                .setUserId(user.getId())
+                .setTitle("Tab\there")
+                .setDirector("Line\nbreak")
+                .setGenre("Drama")
+                .setRating(4.5)
+                .setReview("100% ~ great")
+                .setDateWatched(LocalDate.of(2026, 5, 1))
+                .setFavorite(true)
+                .build();
+            MovieReview trashed = MovieReview.builder()
+                .setUserId(user.getId())
+                .setTitle("Gone")
+                .setDirector("Someone")
+                .setDateWatched(LocalDate.of(2026, 5, 2))
+                .build();
+            database.getReviewRepository().insert(kept);
+            database.getReviewRepository().insert(trashed);
+            database.getReviewRepository().softDelete(user.getId(), trashed.getId());
+
+            // When
+            FileDatabase reopened = FileDatabase.open(file);
+
+            // Then
+            User loaded = reopened.getUserRepository().findByUsername("alice", true);
+            assertEquals(user.getId(), loaded.getId());
+            assertEquals("hash", loaded.getPassword());
+            MovieReview loadedReview = reopened.getReviewRepository().findById(user.getId(), kept.getId());
+            assertEquals("Tab\there", loadedReview.getTitle());
+            assertEquals("Line\nbreak", loadedReview.getDirector());
+            assertEquals("100% ~ great", loadedReview.getReview());
+            assertTrue(loadedReview.isFavorite());
+            assertEquals(1, reopened.getReviewRepository().findTrashed(user.getId()).size());
+        }
+
+        @Test
+        @DisplayName("Should keep issuing fresh IDs after reopening")
+        void shouldContinueIdsAfterReopen() throws IOException, SQLException {
+            // Given
+            Path file = tempDir.resolve("journal.db");
+            User first = new User(0, "alice", "alice@example.com", "hash", LocalDateTime.now(), null, true);
+            FileDatabase.open(file).getUserRepository().insert(first);
+
+            // When
+            User second = new User(0, "bob", "bob@example.com", "hash", LocalDateTime.now(), null, true);
+            FileDatabase.open(file).getUserRepository().insert(second);
+
+            // Then
+            assertNotEquals(first.getId(), second.getId());
+        }
+
+        @Test
+        @DisplayName("Should reload smart lists, replacing a list saved again under its name")
+        void shouldReloadSmartLists() throws IOException, SQLException {
+            // Given
+            Path file = tempDir.resolve("journal.db");
+            SmartListRepository lists = FileDatabase.open(file).getSmartListRepository();
+            lists.save(1, "Great horror", ReviewFilter.builder().addGenre("Horror").build());
+            SmartList replaced = lists.save(1, "Great horror", ReviewFilter.builder()
+                .addGenre("Horror")
+                .addGenre("Thriller")
+                .setRatingRange(4.0, 5.0)
+                .setWatchedFrom(LocalDate.of(2026, 1, 1))
+                .setSortOption("Rating (High)")
+                .build());
+
+            // When
+            List<SmartList> loaded = FileDatabase.open(file).getSmartListRepository().findByUser(1);
+
+            // Then
+            assertEquals(1, loaded.size());
+            ReviewFilter filter = loaded.get(0).getFilter();
+            assertEquals(replaced.getId(), loaded.get(0).getId());
+            assertEquals(List.of("Horror", "Thriller"), List.copyOf(filter.getGenres()));
+            assertEquals(4.0, filter.getMinRating());
+            assertEquals(LocalDate.of(2026, 1, 1), filter.getWatchedFrom());
+            assertNull(filter.getWatchedTo());
+            assertEquals("Rating (High)", filter.getSortOption());
+        }
+
+        @Test
+        @DisplayName("Should refuse to open a file that is not a database")
+        void shouldRefuseForeignFile() throws IOException {
+            // Given
+            Path file = tempDir.resolve("notes.txt");
+            Files.writeString(file, "hello", StandardCharsets.UTF_8);
+
+            // When / Then
+            assertThrows(IOException.class, () -> FileDatabase.open(file));
+        }
+    }
+}
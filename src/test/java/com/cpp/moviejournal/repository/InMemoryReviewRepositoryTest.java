@@ -0,0 +1,252 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.manager.MovieReviewManager;
+import com.cpp.moviejournal.manager.ReviewDelta;
+import com.cpp.moviejournal.manager.UpdateResult;
+import com.cpp.moviejournal.manager.UpsertOutcome;
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.search.ReviewFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InMemoryReviewRepository
+ * Tests the MySQL-compatible semantics the managers rely on, without a database server
+ */
+@DisplayName("InMemoryReviewRepository Unit Tests")
+class InMemoryReviewRepositoryTest {
+
+    private InMemoryReviewRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryReviewRepository();
+    }
+
+    private static MovieReview review(int userId, String title, String director) {
+        return MovieReview.builder()
+            .setUserId(userId)
+            .setTitle(title)
+            .setDirector(director)
+            .setGenre("Drama")
+            .setRating(4.0)
+            .setReview("")
+            .setDateWatched(LocalDate.of(2026, 5, 1))
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Write Tests")
+    class WriteTests {
+
+        @Test
+        @DisplayName("Should reject a duplicate title and director ignoring case")
+        void shouldRejectDuplicatePair() throws SQLException {
+            // Given
+            repository.insert(review(1, "Heat", "Michael Mann"));
+
+            // When / Then
+            assertThrows(SQLIntegrityConstraintViolationException.class,
+                () -> repository.insert(review(1, "HEAT", "michael mann")));
+            assertTrue(repository.insert(review(2, "Heat", "Michael Mann")));
+        }
+
+        @Test
+        @DisplayName("Should replace a trashed duplicate on insert")
+        void shouldReplaceTrashedDuplicate() throws SQLException {
+            // Given
+            MovieReview first = review(1, "Heat", "Michael Mann");
+            repository.insert(first);
+            repository.softDelete(1, first.getId());
+
+            // When
+            MovieReview again = review(1, "Heat", "Michael Mann");
+            repository.insert(again);
+
+            // Then
+            assertNotEquals(first.getId(), again.getId());
+            assertTrue(repository.findTrashed(1).isEmpty());
+            assertEquals(1, repository.count(1));
+        }
+
+        @Test
+        @DisplayName("Should detect a stale version on update")
+        void shouldDetectStaleVersion() throws SQLException {
+            // Given
+            MovieReview stored = review(1, "Heat", "Michael Mann");
+            repository.insert(stored);
+            MovieReview firstEdit = repository.findById(1, stored.getId());
+            MovieReview secondEdit = repository.findById(1, stored.getId());
+
+            // When
+            UpdateResult first = repository.update(firstEdit, review(1, "Heat", "Michael Mann"));
+            UpdateResult second = repository.update(secondEdit, review(1, "Heat", "M. Mann"));
+
+            // Then
+            assertEquals(UpdateResult.UPDATED, first);
+            assertEquals(UpdateResult.CONFLICT, second);
+            assertEquals(1, repository.findById(1, stored.getId()).getVersion());
+        }
+
+        @Test
+        @DisplayName("Should classify upserts as inserted, unchanged or updated")
+        void shouldClassifyUpserts() throws SQLException {
+            // Given
+            MovieReview existing = review(1, "Heat", "Michael Mann");
+            repository.insert(existing);
+            MovieReview changed = review(1, "Heat", "Michael Mann");
+            changed.setRating(5.0);
+
+            // When
+            List<UpsertOutcome> outcomes = repository.upsert(
+                List.of(review(1, "Alien", "Ridley Scott"), review(1, "Heat", "Michael Mann"), changed),
+                Map.of());
+
+            // Then
+            assertEquals(
+                List.of(UpsertOutcome.INSERTED, UpsertOutcome.UNCHANGED, UpsertOutcome.UPDATED),
+                outcomes);
+            assertEquals(existing.getId(), changed.getId());
+            assertEquals(5.0, repository.findById(1, existing.getId()).getRating());
+        }
+
+        @Test
+        @DisplayName("Should not let callers change stored rows")
+        void shouldCopyRows() throws SQLException {
+            // Given
+            MovieReview stored = review(1, "Heat", "Michael Mann");
+            repository.insert(stored);
+
+            // When
+            stored.setTitle("Changed");
+            repository.findAll(1).get(0).setTitle("Changed too");
+
+            // Then
+            assertEquals("Heat", repository.findById(1, stored.getId()).getTitle());
+        }
+    }
+
+    @Nested
+    @DisplayName("Read Tests")
+    class ReadTests {
+
+        @Test
+        @DisplayName("Should scope reads to the user and keep trashed rows out")
+        void shouldScopeReads() throws SQLException {
+            // Given
+            MovieReview trashed = review(1, "Alien", "Ridley Scott");
+            repository.insert(review(1, "Heat", "Michael Mann"));
+            repository.insert(trashed);
+            repository.insert(review(2, "Up", "Pete Docter"));
+            repository.softDelete(1, trashed.getId());
+
+            // When
+            List<MovieReview> userReviews = repository.findAll(1);
+
+            // Then
+            assertEquals(List.of("Heat"), userReviews.stream().map(MovieReview::getTitle).toList());
+            assertEquals(2, repository.count(0));
+            assertEquals(List.of(trashed.getId()),
+                repository.findTrashed(1).stream().map(MovieReview::getId).toList());
+        }
+
+        @Test
+        @DisplayName("Should list favorites, tickets and filter pages without the full text")
+        void shouldListSummaries() throws SQLException {
+            // Given
+            MovieReview heat = review(1, "Heat", "Michael Mann");
+            heat.setReview("x".repeat(MovieReview.SNIPPET_LENGTH * 3));
+            heat.setFavorite(true);
+            heat.setTicketImagePath("heat.png");
+            repository.insert(heat);
+
+            // When
+            List<MovieReview> lists = List.of(
+                repository.findFavorites(1).get(0),
+                repository.findWithTickets(1).get(0),
+                repository.filter(1, ReviewFilter.builder().setFavoritesOnly(true).build())
+                    .getReviews().get(0));
+
+            // Then
+            for (MovieReview listed : lists) {
+                assertFalse(listed.isBodyLoaded());
+                assertTrue(listed.getReview().length() <= MovieReview.SNIPPET_LENGTH + 1);
+            }
+            assertEquals(heat.getReview(), repository.findReviewBody(1, heat.getId()));
+        }
+
+        @Test
+        @DisplayName("Should return changes since a watermark with tombstones")
+        void shouldReturnChangesSinceWatermark() throws SQLException {
+            // Given
+            MovieReview kept = review(1, "Heat", "Michael Mann");
+            MovieReview deleted = review(1, "Alien", "Ridley Scott");
+            repository.insert(kept);
+            repository.insert(deleted);
+            repository.softDelete(1, deleted.getId());
+
+            // When
+            ReviewDelta delta = repository.findChangedSince(1, Instant.EPOCH);
+
+            // Then
+            assertEquals(List.of(kept.getId()),
+                delta.getChanged().stream().map(MovieReview::getId).toList());
+            assertEquals(List.of(deleted.getId()), delta.getDeletedIds());
+            assertTrue(repository.findChangedSince(1, delta.getWatermark().plusSeconds(1)).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should purge trashed rows in bounded chunks")
+        void shouldPurgeInChunks() throws SQLException {
+            // Given
+            for (int i = 0; i < 5; i++) {
+                MovieReview trashed = review(1, "Movie " + i, "Director");
+                repository.insert(trashed);
+                repository.softDelete(1, trashed.getId());
+            }
+
+            // When
+            int firstChunk = repository.purgeTrashed(1, null, 3);
+            int secondChunk = repository.purgeTrashed(1, null, 3);
+
+            // Then
+            assertEquals(3, firstChunk);
+            assertEquals(2, secondChunk);
+            assertTrue(repository.findTrashed(1).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Manager Integration Tests")
+    class ManagerIntegrationTests {
+
+        @Test
+        @DisplayName("Should run the review manager without a database server")
+        void shouldRunManagerInMemory() {
+            // Given
+            MovieReviewManager manager = new MovieReviewManager(1, repository);
+
+            // When
+            manager.addReview(review(0, "Heat", "Michael Mann"));
+            manager.addReview(review(0, "Alien", "Ridley Scott"));
+            manager.deleteReview(manager.searchReviews("alien").get(0));
+
+            // Then
+            assertEquals(1, manager.getTotalReviews());
+            assertEquals("Heat", manager.getAllMovies().get(0).getTitle());
+            assertEquals(1, manager.getTrashedReviews().size());
+            assertFalse(manager.isServingStaleData());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.model.Genre;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ShardMigrator
+ * Tests copying a user's reviews between fake shard connections
+ */
+@DisplayName("ShardMigrator Unit Tests")
+class ShardMigratorTest {
+
+    private static final Instant UPDATED_AT = Instant.parse("2026-05-01T10:00:00Z");
+
+    private final List<String> targetStatements = new ArrayList<>();
+    private final List<Map<Integer, Object>> copiedRows = new ArrayList<>();
+    // Rows of other users the target holds under the copied IDs
+    private final List<Map<String, Object>> foreignRows = new ArrayList<>();
+    private boolean batchExecuted;
+
+    private static Map<String, Object> sourceRow(String genre) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", 7);
+        row.put("user_id", 3);
+        row.put("title", "Heat");
+        row.put("director", "Mann");
+        row.put("genre", genre);
+        row.put("genre_mask", Genre.parseMask(genre));
+        row.put("updated_at", Timestamp.from(UPDATED_AT));
+        return row;
+    }
+
+    @Nested
+    @DisplayName("Copy Tests")
+    class CopyTests {
+
+        @Test
+        @DisplayName("Should carry the genre mask over to the target shard")
+        void shouldCopyGenreMask() throws SQLException {
+            // Given
+            Connection source = sourceConnection(List.of(sourceRow("Crime/Thriller")));
+            int maskIndex = List.of(ShardMigrator.REVIEW_COLUMNS).indexOf("genre_mask") + 1;
+
+            // When
+            Instant watermark = ShardMigrator.copy(source, targetConnection(), 3, Instant.EPOCH);
+
+            // Then
+            assertEquals(UPDATED_AT, watermark);
+            assertEquals(1, copiedRows.size());
+            assertEquals(Genre.CRIME.mask() | Genre.THRILLER.mask(), copiedRows.get(0).get(maskIndex));
+            assertTrue(targetStatements.get(0).contains("genre_mask = VALUES(genre_mask)"));
+        }
+
+        @Test
+        @DisplayName("Should still leave catalog keys for the target to link")
+        void shouldClearCatalogKeys() throws SQLException {
+            // When
+            ShardMigrator.copy(sourceConnection(List.of(sourceRow("Drama"))), targetConnection(), 3,
+                Instant.EPOCH);
+
+            // Then
+            assertTrue(targetStatements.get(0).contains("movie_id = NULL"));
+            assertFalse(List.of(ShardMigrator.REVIEW_COLUMNS).contains("movie_id"));
+        }
+
+        @Test
+        @DisplayName("Should fail instead of overwriting another user's review with the same ID")
+        void shouldRefuseAnotherUsersReview() {
+            // Given
+            foreignRows.add(Map.of("id", 7, "user_id", 5));
+            Connection source = sourceConnection(List.of(sourceRow("Drama")));
+
+            // When
+            SQLException error = assertThrows(SQLException.class,
+                () -> ShardMigrator.copy(source, targetConnection(), 3, Instant.EPOCH));
+
+            // Then
+            assertTrue(error.getMessage().contains("belongs to user 5"));
+            assertTrue(targetStatements.get(1).contains("user_id <> ? AND id IN (?) FOR UPDATE"));
+            assertFalse(batchExecuted);
+        }
+    }
+
+    /** A source shard whose review query returns the given rows. */
+    private static Connection sourceConnection(List<Map<String, Object>> rows) {
+        PreparedStatement select = proxy(PreparedStatement.class, (method, args) ->
+            method.equals("executeQuery") ? resultSet(rows) : null);
+        return proxy(Connection.class, (method, args) ->
+            method.equals("prepareStatement") ? select : null);
+    }
+
+    /** A target shard that records its statement and the rows batched into it. */
+    private Connection targetConnection() {
+        return proxy(Connection.class, (method, args) -> {
+            if (!method.equals("prepareStatement")) {
+                return null;
+            }
+            targetStatements.add((String) args[0]);
+            Map<Integer, Object> parameters = new HashMap<>();
+            return proxy(PreparedStatement.class, (statementMethod, statementArgs) -> {
+                switch (statementMethod) {
+                    case "setObject" -> parameters.put((Integer) statementArgs[0], statementArgs[1]);
+                    case "addBatch" -> copiedRows.add(new HashMap<>(parameters));
+                    case "executeBatch" -> {
+                        batchExecuted = true;
+                        return new int[copiedRows.size()];
+                    }
+                    case "executeQuery" -> {
+                        return resultSet(foreignRows);
+                    }
+                    default -> {
+                        // Transaction calls and close need no answer
+                    }
+                }
+                return null;
+            });
+        });
+    }
+
+    private static ResultSet resultSet(List<Map<String, Object>> rows) {
+        Iterator<Map<String, Object>> remaining = rows.iterator();
+        List<Map<String, Object>> current = new ArrayList<>(List.of(Map.of()));
+        return proxy(ResultSet.class, (method, args) -> switch (method) {
+            case "next" -> {
+                boolean more = remaining.hasNext();
+                current.set(0, more ? remaining.next() : Map.of());
+                yield more;
+            }
+            case "getObject", "getTimestamp" -> current.get(0).get((String) args[0]);
+            default -> null;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> handler.invoke(method.getName(), args)));
+    }
+}
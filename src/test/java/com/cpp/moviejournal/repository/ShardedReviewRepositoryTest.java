@@ -0,0 +1,215 @@
+package com.cpp.moviejournal.repository;
+
+import com.cpp.moviejournal.manager.UpsertOutcome;
+import com.cpp.moviejournal.model.MovieReview;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ShardedReviewRepository
+ * Tests per-user routing and fan-out merging over in-memory shards
+ */
+@DisplayName("ShardedReviewRepository Unit Tests")
+class ShardedReviewRepositoryTest {
+
+    private InMemoryReviewRepository evenUsers;
+    private InMemoryReviewRepository oddUsers;
+    private final Set<Integer> movingUsers = new HashSet<>();
+    private ShardedReviewRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        evenUsers = new InMemoryReviewRepository();
+        oddUsers = new InMemoryReviewRepository();
+        repository = new ShardedReviewRepository(
+            List.of(evenUsers, oddUsers),
+            userId -> new ShardLocator.Placement(
+                Math.floorMod(userId, 2), movingUsers.contains(userId)));
+    }
+
+    private static MovieReview review(int userId, String title, double rating, LocalDate watched) {
+        return MovieReview.builder()
+            .setUserId(userId)
+            .setTitle(title)
+            .setDirector("Director")
+            .setGenre("Drama")
+            .setRating(rating)
+            .setReview("")
+            .setDateWatched(watched)
+            .setTicketImagePath("ticket.png")
+            .build();
+    }
+
+    /** A review as a shard returns it, created the given number of minutes into 2026. */
+    private static MovieReview stored(int id, String title, int createdMinute, LocalDate watched) {
+        MovieReview review = review(id, title, 4.0, LocalDate.of(2026, 1, 1));
+        review.setId(id);
+        review.setCreatedAt(Instant.parse("2026-01-01T00:00:00Z").plusSeconds(60L * createdMinute));
+        review.setDateWatched(watched);
+        return review;
+    }
+
+    /** A shard whose global lists return the given reviews, already in the shard's order. */
+    private static ReviewRepository shardReturning(MovieReview... reviews) {
+        return new InMemoryReviewRepository() {
+            @Override
+            public List<MovieReview> findAll(int userId) {
+                return List.of(reviews);
+            }
+
+            @Override
+            public List<MovieReview> findWithTickets(int userId) {
+                return List.of(reviews);
+            }
+        };
+    }
+
+    @Nested
+    @DisplayName("Routing Tests")
+    class RoutingTests {
+
+        @Test
+        @DisplayName("Should keep each user's reviews on the user's shard")
+        void shouldRouteByUser() throws SQLException {
+            // When
+            repository.insert(review(2, "Heat", 4.0, LocalDate.of(2026, 1, 1)));
+            repository.insert(review(3, "Alien", 5.0, LocalDate.of(2026, 1, 2)));
+
+            // Then
+            assertEquals(1, evenUsers.count(2));
+            assertEquals(0, evenUsers.count(3));
+            assertEquals(1, oddUsers.count(3));
+            assertEquals("Alien", repository.findAll(3).get(0).getTitle());
+        }
+
+        @Test
+        @DisplayName("Should keep upsert outcomes in order across shards")
+        void shouldUpsertAcrossShards() throws SQLException {
+            // Given
+            repository.insert(review(3, "Alien", 5.0, LocalDate.of(2026, 1, 2)));
+
+            // When
+            List<UpsertOutcome> outcomes = repository.upsert(
+                List.of(
+                    review(2, "Heat", 4.0, LocalDate.of(2026, 1, 1)),
+                    review(3, "Alien", 5.0, LocalDate.of(2026, 1, 2)),
+                    review(4, "Up", 3.0, LocalDate.of(2026, 1, 3))),
+                Map.of());
+
+            // Then
+            assertEquals(
+                List.of(UpsertOutcome.INSERTED, UpsertOutcome.UNCHANGED, UpsertOutcome.INSERTED),
+                outcomes);
+            assertEquals(2, evenUsers.count(0));
+        }
+
+        @Test
+        @DisplayName("Should refuse writes but allow reads while a user is moving")
+        void shouldBlockWritesWhileMoving() throws SQLException {
+            // Given
+            repository.insert(review(2, "Heat", 4.0, LocalDate.of(2026, 1, 1)));
+            movingUsers.add(2);
+
+            // When / Then
+            assertThrows(SQLTransientException.class,
+                () -> repository.insert(review(2, "Alien", 5.0, LocalDate.of(2026, 1, 2))));
+            assertEquals(1, repository.findAll(2).size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Fan-Out Tests")
+    class FanOutTests {
+
+        @BeforeEach
+        void addReviews() throws SQLException {
+            repository.insert(review(2, "Heat", 4.0, LocalDate.of(2026, 1, 1)));
+            repository.insert(review(2, "Up", 2.0, LocalDate.of(2026, 1, 3)));
+            repository.insert(review(3, "Alien", 3.0, LocalDate.of(2026, 1, 2)));
+        }
+
+        @Test
+        @DisplayName("Should merge lists and counts from every shard")
+        void shouldMergeFromEveryShard() throws SQLException {
+            // Then
+            assertEquals(3, repository.findAll(0).size());
+            assertEquals(3, repository.count(0));
+            assertEquals(3, repository.countWithTickets(0));
+            assertEquals(
+                List.of("Up", "Alien", "Heat"),
+                repository.findWithTickets(0).stream().map(MovieReview::getTitle).toList());
+        }
+
+        @Test
+        @DisplayName("Should weight the average rating by each shard's count")
+        void shouldWeightAverageRating() throws SQLException {
+            // Then
+            assertEquals(3.0, repository.averageRating(0), 1e-9);
+        }
+
+        @Test
+        @DisplayName("Should bound a global purge by one limit over all shards")
+        void shouldBoundGlobalPurge() throws SQLException {
+            // Given
+            for (MovieReview stored : repository.findAll(0)) {
+                repository.softDelete(stored.getUserId(), stored.getId());
+            }
+
+            // When
+            int purged = repository.purgeTrashed(0, null, 2);
+
+            // Then
+            assertEquals(2, purged);
+            assertEquals(1, repository.findTrashed(0).size());
+        }
+
+        @Test
+        @DisplayName("Should merge global lists newest first, as one database orders them")
+        void shouldMergeNewestFirst() throws SQLException {
+            // Given
+            ShardedReviewRepository shards = new ShardedReviewRepository(
+                List.of(
+                    shardReturning(stored(2, "Up", 30, null), stored(4, "Heat", 10, null)),
+                    shardReturning(stored(3, "Alien", 20, null))),
+                userId -> new ShardLocator.Placement(0, false));
+
+            // When
+            List<String> titles = shards.findAll(0).stream().map(MovieReview::getTitle).toList();
+
+            // Then
+            assertEquals(List.of("Up", "Alien", "Heat"), titles);
+        }
+
+        @Test
+        @DisplayName("Should put reviews without a watched date last instead of failing")
+        void shouldPutMissingWatchedDatesLast() throws SQLException {
+            // Given
+            ShardedReviewRepository shards = new ShardedReviewRepository(
+                List.of(
+                    shardReturning(
+                        stored(2, "Up", 1, LocalDate.of(2026, 1, 3)), stored(4, "Heat", 2, null)),
+                    shardReturning(stored(3, "Alien", 3, LocalDate.of(2026, 1, 2)))),
+                userId -> new ShardLocator.Placement(0, false));
+
+            // When
+            List<String> titles =
+                shards.findWithTickets(0).stream().map(MovieReview::getTitle).toList();
+
+            // Then
+            assertEquals(List.of("Up", "Alien", "Heat"), titles);
+        }
+    }
+}
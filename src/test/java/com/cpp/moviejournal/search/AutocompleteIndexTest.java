@@ -0,0 +1,115 @@
+package com.cpp.moviejournal.search;
+
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.search.AutocompleteIndex.Field;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AutocompleteIndex
+ * Tests prefix lookup, frequency ranking, spelling choice and incremental maintenance
+ */
+@DisplayName("AutocompleteIndex Unit Tests")
+class AutocompleteIndexTest {
+
+    private AutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AutocompleteIndex();
+        index.rebuild(List.of(
+            review(1, "The Dark Knight", "Christopher Nolan", "Action"),
+            review(2, "Inception", "Christopher Nolan", "Sci-Fi"),
+            review(3, "Dunkirk", "christopher nolan", "War"),
+            review(4, "Chungking Express", "Wong Kar-wai", "Romance"),
+            review(5, "Amélie", "Jean-Pierre Jeunet", "Romance")));
+    }
+
+    private static MovieReview review(int id, String title, String director, String genre) {
+        return MovieReview.builder()
+            .setId(id)
+            .setTitle(title)
+            .setDirector(director)
+            .setGenre(genre)
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Suggestion Tests")
+    class SuggestionTests {
+
+        @Test
+        @DisplayName("Should rank values by how often they are used")
+        void shouldRankByFrequency() {
+            // When
+            List<String> suggestions = index.suggest(Field.DIRECTOR, "CH", 5);
+
+            // Then
+            assertEquals(List.of("Christopher Nolan"), suggestions);
+            assertEquals(List.of("Romance"), index.suggest(Field.GENRE, "r", 5));
+        }
+
+        @Test
+        @DisplayName("Should match titles without their leading article or accents")
+        void shouldIgnoreArticlesAndAccents() {
+            assertEquals(List.of("The Dark Knight"), index.suggest(Field.TITLE, "dark", 5));
+            assertEquals(List.of("The Dark Knight"), index.suggest(Field.TITLE, "the d", 5));
+            assertEquals(List.of("Amélie"), index.suggest(Field.TITLE, "ame", 5));
+        }
+
+        @Test
+        @DisplayName("Should respect the limit and ignore blank input")
+        void shouldRespectLimit() {
+            // Given
+            List<MovieReview> reviews = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                reviews.add(review(100 + i, "Movie " + i, "Director", "Drama"));
+            }
+            index.rebuild(reviews);
+
+            // Then
+            assertEquals(3, index.suggest(Field.TITLE, "movie", 3).size());
+            assertTrue(index.suggest(Field.TITLE, "  ", 3).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental Update Tests")
+    class IncrementalUpdateTests {
+
+        @Test
+        @DisplayName("Should move counts when a review changes in place")
+        void shouldMoveCountsOnUpdate() {
+            // Given
+            MovieReview dunkirk = review(3, "Dunkirk", "Chantal Akerman", "War");
+
+            // When
+            index.onReviewUpdated(dunkirk);
+            index.onReviewAdded(review(6, "Jeanne Dielman", "Chantal Akerman", "Drama"));
+            index.onReviewAdded(review(7, "News from Home", "Chantal Akerman", "Documentary"));
+
+            // Then
+            assertEquals(List.of("Chantal Akerman", "Christopher Nolan"), index.suggest(Field.DIRECTOR, "ch", 5));
+        }
+
+        @Test
+        @DisplayName("Should forget values whose last review is deleted")
+        void shouldForgetDeletedValues() {
+            // When
+            index.onReviewDeleted(4);
+            index.onReviewsBulkDeleted(List.of(1, 2), 2);
+
+            // Then
+            assertTrue(index.suggest(Field.TITLE, "chung", 5).isEmpty());
+            assertEquals(List.of("christopher nolan"), index.suggest(Field.DIRECTOR, "chris", 5));
+            assertEquals(2, index.distinctCount(Field.GENRE));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.cpp.moviejournal.search;
+
+import com.cpp.moviejournal.model.MovieReview;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DuplicateReviewIndex
+ * Tests collation-like pair matching, per-user scoping and incremental maintenance
+ */
+@DisplayName("DuplicateReviewIndex Unit Tests")
+class DuplicateReviewIndexTest {
+
+    private DuplicateReviewIndex index;
+    private MovieReview amelie;
+
+    @BeforeEach
+    void setUp() {
+        index = new DuplicateReviewIndex();
+        amelie = review(1, 7, "Amélie", "Jean-Pierre Jeunet");
+        index.rebuild(List.of(amelie, review(2, 7, "Heat", "Michael Mann")));
+    }
+
+    private static MovieReview review(int id, int userId, String title, String director) {
+        return MovieReview.builder()
+            .setId(id)
+            .setUserId(userId)
+            .setTitle(title)
+            .setDirector(director)
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Lookup Tests")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should match pairs ignoring case, accents and outer spaces")
+        void shouldMatchLikeTheCollation() {
+            assertEquals(1, index.findReviewId(7, " AMELIE ", "jean-pierre jeunet"));
+            assertEquals(2, index.findReviewId(7, "heat", "MICHAEL MANN"));
+        }
+
+        @Test
+        @DisplayName("Should not match other users or other directors")
+        void shouldScopeToUserAndDirector() {
+            assertEquals(DuplicateReviewIndex.NOT_FOUND, index.findReviewId(8, "Heat", "Michael Mann"));
+            assertEquals(DuplicateReviewIndex.NOT_FOUND, index.findReviewId(7, "Heat", "Raoul Walsh"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental Update Tests")
+    class IncrementalUpdateTests {
+
+        @Test
+        @DisplayName("Should release the old pair when a review is renamed")
+        void shouldMovePairOnUpdate() {
+            // Given
+            amelie.setTitle("Delicatessen");
+
+            // When
+            index.onReviewUpdated(amelie);
+
+            // Then
+            assertEquals(DuplicateReviewIndex.NOT_FOUND, index.findReviewId(7, "Amélie", "Jean-Pierre Jeunet"));
+            assertEquals(1, index.findReviewId(7, "delicatessen", "Jean-Pierre Jeunet"));
+        }
+
+        @Test
+        @DisplayName("Should release pairs of deleted reviews")
+        void shouldReleaseDeletedPairs() {
+            // When
+            index.onReviewsBulkDeleted(List.of(1, 2), 2);
+
+            // Then
+            assertEquals(0, index.size());
+            assertTrue(index.isLoaded());
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.cpp.moviejournal.search;
+
+import com.cpp.moviejournal.model.MovieReview;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReviewFacetIndex
+ * Tests bitmap filtering, range boundaries, facet counts and incremental maintenance
+ */
+@DisplayName("ReviewFacetIndex Unit Tests")
+class ReviewFacetIndexTest {
+
+    private ReviewFacetIndex index;
+    private MovieReview inception;
+    private MovieReview interstellar;
+    private MovieReview matrix;
+    private MovieReview parasite;
+
+    @BeforeEach
+    void setUp() {
+        index = new ReviewFacetIndex();
+        inception = review(1, "Inception", "Thriller", 4.5, LocalDate.of(2010, 7, 16), true, null);
+        interstellar = review(2, "Interstellar", "Sci-Fi", 5.0, LocalDate.of(2014, 11, 7), true, "t.png");
+        matrix = review(3, "The Matrix", "Sci-Fi", 3.5, LocalDate.of(2014, 3, 31), false, null);
+        parasite = review(4, "Parasite", "Thriller", 4.0, LocalDate.of(2019, 10, 11), false, "p.png");
+        index.rebuild(List.of(inception, interstellar, matrix, parasite));
+    }
+
+    private static MovieReview review(int id, String title, String genre, double rating,
+                                      LocalDate watched, boolean favorite, String ticket) {
+        return MovieReview.builder()
+            .setId(id)
+            .setTitle(title)
+            .setDirector("Director " + id)
+            .setGenre(genre)
+            .setRating(rating)
+            .setDateWatched(watched)
+            .setFavorite(favorite)
+            .setTicketImagePath(ticket)
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Filter Tests")
+    class FilterTests {
+
+        @Test
+        @DisplayName("Should return all reviews in sort order without criteria")
+        void shouldReturnAllWithoutCriteria() {
+            // When
+            ReviewFilterResult result = index.filter(
+                ReviewFilter.builder().setSortOption("Title (A-Z)").build());
+
+            // Then
+            assertEquals(4, result.getTotalCount());
+            assertEquals(List.of(inception, interstellar, matrix, parasite), result.getReviews());
+        }
+
+        @Test
+        @DisplayName("Should combine genre and flag criteria")
+        void shouldCombineCriteria() {
+            // When
+            ReviewFilterResult result = index.filter(ReviewFilter.builder()
+                .addGenre("sci-fi")
+                .setWithTicketOnly(true)
+                .build());
+
+            // Then
+            assertEquals(List.of(interstellar), result.getReviews());
+        }
+
+        @Test
+        @DisplayName("Should check boundary buckets of a range exactly")
+        void shouldRespectRangeBoundaries() {
+            // When
+            ReviewFilterResult byRating = index.filter(
+                ReviewFilter.builder().setRatingRange(4.0, 4.5).build());
+            ReviewFilterResult byDate = index.filter(ReviewFilter.builder()
+                .setWatchedFrom(LocalDate.of(2014, 4, 1))
+                .setWatchedTo(LocalDate.of(2019, 10, 11))
+                .build());
+
+            // Then
+            assertEquals(2, byRating.getTotalCount());
+            assertTrue(byRating.getReviews().containsAll(List.of(inception, parasite)));
+            assertEquals(2, byDate.getTotalCount());
+            assertTrue(byDate.getReviews().containsAll(List.of(interstellar, parasite)));
+        }
+
+        @Test
+        @DisplayName("Should apply the text query and paging")
+        void shouldApplyQueryAndPaging() {
+            // When
+            ReviewFilterResult result = index.filter(ReviewFilter.builder()
+                .setQuery("in")
+                .setSortOption("Title (A-Z)")
+                .setPage(1, 1)
+                .build());
+
+            // Then
+            assertEquals(2, result.getTotalCount());
+            assertEquals(List.of(interstellar), result.getReviews());
+        }
+    }
+
+    @Nested
+    @DisplayName("Facet Count Tests")
+    class FacetCountTests {
+
+        @Test
+        @DisplayName("Should count each facet without its own criterion")
+        void shouldCountFacetsDisjunctively() {
+            // When
+            FacetCounts facets = index.filter(ReviewFilter.builder()
+                .addGenre("Thriller")
+                .setFavoritesOnly(true)
+                .build()).getFacets();
+
+            // Then
+            assertEquals(1, facets.getGenreCounts().get("Thriller"));
+            assertEquals(1, facets.getGenreCounts().get("Sci-Fi"));
+            assertEquals(1, facets.getFavoriteCount());
+            assertEquals(0, facets.getTicketCount());
+            assertEquals(1, facets.getRatingCount(4));
+        }
+
+        @Test
+        @DisplayName("Should count and match a review under each of its genres")
+        void shouldCountEveryGenreOfReview() {
+            // Given
+            parasite.setGenre("Thriller/Comedy");
+            index.onReviewUpdated(parasite);
+
+            // When
+            ReviewFilterResult result = index.filter(ReviewFilter.builder().addGenre("Comedy").build());
+
+            // Then
+            assertEquals(List.of(parasite), result.getReviews());
+            assertEquals(1, result.getFacets().getGenreCounts().get("Comedy"));
+            assertEquals(2, result.getFacets().getGenreCounts().get("Thriller"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental Update Tests")
+    class IncrementalUpdateTests {
+
+        @Test
+        @DisplayName("Should reflect updated flags")
+        void shouldReflectUpdates() {
+            // Given
+            matrix.setFavorite(true);
+
+            // When
+            index.onReviewUpdated(matrix);
+
+            // Then
+            ReviewFilterResult result = index.filter(ReviewFilter.builder().setFavoritesOnly(true).build());
+            assertEquals(3, result.getTotalCount());
+            assertEquals(4, index.size());
+        }
+
+        @Test
+        @DisplayName("Should drop deleted reviews from results and counts")
+        void shouldDropDeletedReviews() {
+            // When
+            index.onReviewDeleted(2);
+            index.onReviewsBulkDeleted(List.of(4), 1);
+
+            // Then
+            ReviewFilterResult result = index.filter(ReviewFilter.builder().build());
+            assertEquals(List.of(matrix, inception), result.getReviews());
+            assertEquals(0, result.getFacets().getTicketCount());
+            assertEquals(1, result.getFacets().getGenreCounts().get("Sci-Fi"));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.cpp.moviejournal.search;
+
+import com.cpp.moviejournal.model.Genre;
+import com.cpp.moviejournal.model.MovieReview;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReviewFilter and ReviewFilterQuery
+ * Tests criteria building, SQL compilation, parameter order and facet counting
+ */
+@DisplayName("ReviewFilterQuery Unit Tests")
+class ReviewFilterQueryTest {
+
+    @Nested
+    @DisplayName("Filter Builder Tests")
+    class FilterBuilderTests {
+
+        @Test
+        @DisplayName("Should have no criteria by default")
+        void shouldHaveNoCriteriaByDefault() {
+            // When
+            ReviewFilter filter = ReviewFilter.builder().setQuery("  Nolan ").build();
+
+            // Then
+            assertFalse(filter.hasCriteria());
+            assertEquals("nolan", filter.getQuery());
+            assertEquals(ReviewFilter.DEFAULT_LIMIT, filter.getLimit());
+        }
+
+        @Test
+        @DisplayName("Should clamp and order the rating range")
+        void shouldClampRatingRange() {
+            // When
+            ReviewFilter filter = ReviewFilter.builder().setRatingRange(7, 3.5).build();
+
+            // Then
+            assertEquals(3.5, filter.getMinRating());
+            assertEquals(5.0, filter.getMaxRating());
+            assertTrue(filter.hasCriteria());
+        }
+
+        @Test
+        @DisplayName("Should ignore blank genres")
+        void shouldIgnoreBlankGenres() {
+            // When
+            ReviewFilter filter = ReviewFilter.builder().addGenre(" ").addGenre(" Drama ").build();
+
+            // Then
+            assertEquals(List.of("Drama"), List.copyOf(filter.getGenres()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Compilation Tests")
+    class CompilationTests {
+
+        @Test
+        @DisplayName("Should count every facet from the matched rows when unrestricted")
+        void shouldUseMatchedRowsForUnrestrictedFacets() {
+            // Given
+            ReviewFilter filter = ReviewFilter.builder().setPage(20, 10).build();
+
+            // When
+            ReviewFilterQuery query = ReviewFilterQuery.compile(filter, 7);
+
+            // Then
+            assertFalse(query.getSql().contains("FROM movie_reviews WHERE genre"));
+            assertEquals(1, query.getSql().split("FROM movie_reviews", -1).length - 1);
+            assertEquals(List.of(7, 20, 30), query.getParameters());
+        }
+
+        @Test
+        @DisplayName("Should page reviews with a snippet of their text only")
+        void shouldSelectSnippet() {
+            // When
+            ReviewFilterQuery query = ReviewFilterQuery.compile(ReviewFilter.builder().build(), 7);
+
+            // Then
+            assertTrue(query.getSql().contains(
+                "LEFT(review, " + (MovieReview.SNIPPET_LENGTH + 1) + ") AS review"));
+        }
+
+        @Test
+        @DisplayName("Should leave a facet's own predicate out of its counts")
+        void shouldExcludeOwnPredicateFromFacet() {
+            // Given
+            ReviewFilter filter = ReviewFilter.builder()
+                .addGenre("Drama")
+                .setRatingRange(4, 5)
+                .build();
+
+            // When
+            ReviewFilterQuery query = ReviewFilterQuery.compile(filter, 7);
+
+            // Then
+            int drama = Genre.DRAMA.mask();
+            assertTrue(query.getSql().contains("(genre_mask & ?) <> 0"));
+            assertTrue(query.getSql().contains("rating BETWEEN ? AND ?"));
+            assertEquals(List.of(
+                    7, drama, 4.0, 5.0,     // matched rows
+                    0, 500,                 // page bounds
+                    7, 4.0, 5.0,            // genre facet without the genre predicate
+                    7, drama),              // rating facet without the rating predicate
+                query.getParameters());
+        }
+
+        @Test
+        @DisplayName("Should bind query, dates and flags in order")
+        void shouldBindAllCriteria() {
+            // Given
+            LocalDate from = LocalDate.of(2024, 1, 1);
+            ReviewFilter filter = ReviewFilter.builder()
+                .setQuery("50%")
+                .setWatchedFrom(from)
+                .setFavoritesOnly(true)
+                .setPage(0, 25)
+                .build();
+
+            // When
+            ReviewFilterQuery query = ReviewFilterQuery.compile(filter, 0);
+
+            // Then
+            assertFalse(query.getSql().contains("user_id = ?"));
+            assertEquals("%50\\%%", query.getParameters().get(0));
+            assertEquals(from, query.getParameters().get(3));
+            assertTrue(query.getSql().contains("is_favorite = TRUE"));
+        }
+
+        @Test
+        @DisplayName("Should order pages like the matching sort strategy")
+        void shouldMapSortOption() {
+            // When
+            String sql = ReviewFilterQuery.compile(
+                ReviewFilter.builder().setSortOption("Rating (High)").build(), 1).getSql();
+
+            // Then
+            assertTrue(sql.contains("ORDER BY rating DESC, title ASC"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Facet Count Tests")
+    class FacetCountTests {
+
+        @Test
+        @DisplayName("Should sum rating buckets at or above a star count")
+        void shouldSumRatingBuckets() {
+            // Given
+            FacetCounts facets = new FacetCounts();
+            facets.addRatingCount(3, 2);
+            facets.addRatingCount(4, 5);
+            facets.addRatingCount(5, 1);
+
+            // When & Then
+            assertEquals(6, facets.getRatingAtLeastCount(4));
+            assertEquals(8, facets.getRatingAtLeastCount(0));
+            assertEquals(0, facets.getRatingCount(9));
+        }
+    }
+}
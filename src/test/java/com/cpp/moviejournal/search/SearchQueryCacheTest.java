@@ -0,0 +1,177 @@
+package com.cpp.moviejournal.search;
+
+import com.cpp.moviejournal.model.MovieReview;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SearchQueryCache
+ * Tests query normalization, LRU behavior, prefix refinement and invalidation
+ */
+@DisplayName("SearchQueryCache Unit Tests")
+class SearchQueryCacheTest {
+
+    private SearchQueryCache cache;
+    private MovieReview inception;
+    private MovieReview interstellar;
+    private MovieReview matrix;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SearchQueryCache(3);
+        inception = new MovieReview("Inception", "Christopher Nolan", "Thriller", 4.8, "07/16/2010");
+        interstellar = new MovieReview("Interstellar", "Christopher Nolan", "Sci-Fi", 4.6, "11/07/2014");
+        matrix = new MovieReview("The Matrix", "The Wachowskis", "Sci-Fi", 4.5, "03/31/1999");
+    }
+
+    @Nested
+    @DisplayName("Normalization Tests")
+    class NormalizationTests {
+
+        @Test
+        @DisplayName("Should trim, lower-case and collapse whitespace")
+        void shouldNormalizeQuery() {
+            assertEquals("christopher nolan", SearchQueryCache.normalize("  Christopher   NOLAN "));
+        }
+
+        @Test
+        @DisplayName("Should normalize null to empty string")
+        void shouldNormalizeNullToEmpty() {
+            assertEquals("", SearchQueryCache.normalize(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Lookup Tests")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should return null on cache miss")
+        void shouldReturnNullOnMiss() {
+            assertNull(cache.get("nolan"));
+        }
+
+        @Test
+        @DisplayName("Should return cached results for exact query")
+        void shouldReturnExactHit() {
+            // Given
+            cache.put("nolan", List.of(inception, interstellar));
+
+            // When
+            List<MovieReview> results = cache.get("nolan");
+
+            // Then
+            assertEquals(List.of(inception, interstellar), results);
+        }
+
+        @Test
+        @DisplayName("Should refine a cached prefix in memory")
+        void shouldRefineCachedPrefix() {
+            // Given
+            cache.put("in", List.of(inception, interstellar));
+
+            // When
+            List<MovieReview> results = cache.get("inte");
+
+            // Then
+            assertEquals(List.of(interstellar), results);
+            assertEquals(2, cache.size());
+        }
+
+        @Test
+        @DisplayName("Should match genre and director during refinement")
+        void shouldMatchAllSearchableFields() {
+            // Given
+            cache.put("c", List.of(inception, interstellar, matrix));
+            cache.put("t", List.of(inception, interstellar, matrix));
+
+            // When & Then
+            assertEquals(List.of(inception, interstellar), cache.get("christopher"));
+            assertEquals(List.of(inception), cache.get("thr"));
+        }
+
+        @Test
+        @DisplayName("Should ignore accents during refinement, like the SQL collation")
+        void shouldIgnoreAccentsWhenRefining() {
+            // Given
+            MovieReview amelie = new MovieReview("Amélie", "Jean-Pierre Jeunet", "Comedy", 4.7, "04/25/2001");
+            cache.put("am", List.of(amelie));
+
+            // When & Then
+            assertEquals(List.of(amelie), cache.get("ame"));
+            assertEquals(List.of(amelie), cache.get("amélie"));
+        }
+
+        @Test
+        @DisplayName("Should return copies that callers may modify")
+        void shouldReturnDefensiveCopies() {
+            // Given
+            cache.put("nolan", List.of(inception, interstellar));
+
+            // When
+            cache.get("nolan").clear();
+
+            // Then
+            assertEquals(2, cache.get("nolan").size());
+        }
+
+        @Test
+        @DisplayName("Should evict least recently used entries")
+        void shouldEvictLeastRecentlyUsed() {
+            // Given
+            cache.put("a", List.of(matrix));
+            cache.put("b", List.of(matrix));
+            cache.put("c", List.of(matrix));
+            cache.get("a");
+
+            // When
+            cache.put("d", List.of(matrix));
+
+            // Then
+            assertNotNull(cache.get("a"));
+            assertNull(cache.get("b"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation Tests")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("Should clear all entries when a review changes")
+        void shouldClearOnReviewChange() {
+            // Given
+            cache.put("nolan", List.of(inception));
+
+            // When
+            cache.onReviewUpdated(inception);
+
+            // Then
+            assertEquals(0, cache.size());
+            assertNull(cache.get("nolan"));
+        }
+
+        @Test
+        @DisplayName("Should drop results read before a review change")
+        void shouldDropStaleResults() {
+            // Given
+            long generation = cache.generation();
+            cache.onReviewAdded(matrix);
+
+            // When
+            boolean stored = cache.put("nolan", List.of(inception), generation);
+
+            // Then
+            assertFalse(stored);
+            assertNull(cache.get("nolan"));
+            assertTrue(cache.put("nolan", List.of(inception), cache.generation()));
+            assertEquals(List.of(inception), cache.get("nolan"));
+        }
+    }
+}
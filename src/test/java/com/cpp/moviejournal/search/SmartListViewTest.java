@@ -0,0 +1,119 @@
+package com.cpp.moviejournal.search;
+
+import com.cpp.moviejournal.model.MovieReview;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SmartListView
+ * Tests the initial build and incremental maintenance of a materialized smart list
+ */
+@DisplayName("SmartListView Unit Tests")
+class SmartListViewTest {
+
+    private SmartListView view;
+    private MovieReview alien;
+    private MovieReview hereditary;
+    private MovieReview heat;
+
+    @BeforeEach
+    void setUp() {
+        // "Great horror", best first
+        view = new SmartListView(ReviewFilter.builder()
+            .addGenre("Horror")
+            .setRatingRange(4.0, 5.0)
+            .setSortOption("Rating (High)")
+            .build());
+        alien = review(1, "Alien", "Horror", 4.5);
+        hereditary = review(2, "Hereditary", "horror", 5.0);
+        heat = review(3, "Heat", "Crime", 5.0);
+        view.rebuild(List.of(alien, hereditary, heat));
+    }
+
+    private static MovieReview review(int id, String title, String genre, double rating) {
+        return MovieReview.builder()
+            .setId(id)
+            .setTitle(title)
+            .setDirector("Director " + id)
+            .setGenre(genre)
+            .setRating(rating)
+            .setDateWatched(LocalDate.of(2024, 1, id))
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Build Tests")
+    class BuildTests {
+
+        @Test
+        @DisplayName("Should keep only matching reviews in sort order")
+        void shouldFilterAndSort() {
+            assertEquals(List.of(hereditary, alien), view.getReviews());
+        }
+
+        @Test
+        @DisplayName("Should return a copy of the members")
+        void shouldReturnCopy() {
+            // When
+            view.getReviews().clear();
+
+            // Then
+            assertEquals(2, view.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental Update Tests")
+    class IncrementalUpdateTests {
+
+        @Test
+        @DisplayName("Should insert a new matching review at its sorted position")
+        void shouldInsertInOrder() {
+            // Given
+            MovieReview it = review(4, "It", "Horror", 4.8);
+
+            // When
+            view.apply(it);
+            view.apply(review(5, "Scream", "Horror", 3.0));
+
+            // Then
+            assertEquals(List.of(hereditary, it, alien), view.getReviews());
+        }
+
+        @Test
+        @DisplayName("Should move a review changed in place")
+        void shouldRepositionUpdatedReview() {
+            // Given
+            alien.setRating(5.0);
+
+            // When
+            view.apply(alien);
+
+            // Then: equal ratings order by title
+            assertEquals(List.of(alien, hereditary), view.getReviews());
+        }
+
+        @Test
+        @DisplayName("Should drop reviews that stop matching or are deleted")
+        void shouldDropReviews() {
+            // Given
+            heat.setGenre("Horror");
+            view.apply(heat);
+            hereditary.setRating(3.5);
+
+            // When
+            view.apply(hereditary);
+            view.remove(alien.getId());
+
+            // Then
+            assertEquals(List.of(heat), view.getReviews());
+        }
+    }
+}
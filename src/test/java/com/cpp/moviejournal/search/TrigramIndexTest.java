@@ -0,0 +1,143 @@
+package com.cpp.moviejournal.search;
+
+import com.cpp.moviejournal.model.MovieReview;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TrigramIndex
+ * Tests typo-tolerant matching, ranking, limits and incremental maintenance
+ */
+@DisplayName("TrigramIndex Unit Tests")
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+    private MovieReview inception;
+    private MovieReview interstellar;
+    private MovieReview matrix;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        inception = review(1, "Inception", "Christopher Nolan", "Thriller");
+        interstellar = review(2, "Interstellar", "Christopher Nolan", "Sci-Fi");
+        matrix = review(3, "The Matrix", "The Wachowskis", "Sci-Fi");
+        index.rebuild(List.of(inception, interstellar, matrix));
+    }
+
+    private static MovieReview review(int id, String title, String director, String genre) {
+        MovieReview review = new MovieReview(title, director, genre, 4.0, "01/01/2020");
+        review.setId(id);
+        return review;
+    }
+
+    @Nested
+    @DisplayName("Search Tests")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Should find director despite a typo")
+        void shouldFindMisspelledDirector() {
+            // When
+            List<MovieReview> results = index.search("Nolen", 10);
+
+            // Then
+            assertEquals(2, results.size());
+            assertTrue(results.containsAll(List.of(inception, interstellar)));
+        }
+
+        @Test
+        @DisplayName("Should rank the closest title first")
+        void shouldRankClosestMatchFirst() {
+            // When
+            List<MovieReview> results = index.search("Intersteller", 10);
+
+            // Then
+            assertFalse(results.isEmpty());
+            assertEquals(interstellar, results.get(0));
+        }
+
+        @Test
+        @DisplayName("Should ignore case and accents")
+        void shouldFoldCaseAndAccents() {
+            assertEquals(List.of(matrix), index.search("MÁTRIX", 10));
+        }
+
+        @Test
+        @DisplayName("Should return at most limit results")
+        void shouldRespectLimit() {
+            assertEquals(1, index.search("Christopher Nolan", 1).size());
+        }
+
+        @Test
+        @DisplayName("Should return nothing for unrelated or blank queries")
+        void shouldReturnEmptyForUnrelatedQuery() {
+            assertTrue(index.search("zzzz", 10).isEmpty());
+            assertTrue(index.search("   ", 10).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental Update Tests")
+    class IncrementalUpdateTests {
+
+        @Test
+        @DisplayName("Should index reviews added after the build")
+        void shouldIndexAddedReview() {
+            // Given
+            MovieReview dunkirk = review(4, "Dunkirk", "Christopher Nolan", "War");
+
+            // When
+            index.onReviewAdded(dunkirk);
+
+            // Then
+            assertEquals(List.of(dunkirk), index.search("Dunkrik", 10));
+        }
+
+        @Test
+        @DisplayName("Should replace the indexed version on update")
+        void shouldReplaceUpdatedReview() {
+            // Given
+            MovieReview renamed = review(3, "Matrix Reloaded", "The Wachowskis", "Sci-Fi");
+
+            // When
+            index.onReviewUpdated(renamed);
+
+            // Then
+            assertEquals(3, index.size());
+            assertEquals(List.of(renamed), index.search("Reloded", 10));
+        }
+
+        @Test
+        @DisplayName("Should drop deleted reviews")
+        void shouldDropDeletedReviews() {
+            // When
+            index.onReviewDeleted(1);
+            index.onReviewsBulkDeleted(List.of(3), 1);
+
+            // Then
+            assertEquals(1, index.size());
+            assertEquals(List.of(interstellar), index.search("Nolan", 10));
+        }
+
+        @Test
+        @DisplayName("Should ignore events until built")
+        void shouldIgnoreEventsUntilBuilt() {
+            // Given
+            TrigramIndex fresh = new TrigramIndex();
+
+            // When
+            fresh.onReviewAdded(inception);
+
+            // Then
+            assertFalse(fresh.isLoaded());
+            assertEquals(0, fresh.size());
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.cpp.moviejournal.strategy;
+
+import com.cpp.moviejournal.model.MovieReview;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.text.CollationKey;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReviewSortEngine
+ * Checks that every specialized sort orders reviews exactly like the equivalent comparator chain
+ */
+@DisplayName("ReviewSortEngine Unit Tests")
+class ReviewSortEngineTest {
+
+    private static final String[] TITLES = {"Alien", "alien", "Up", "Heat", "heat", "Zodiac", "Her", null};
+    private static final String[] DIRECTORS = {"Scott", "Docter", "Mann", "Fincher", "Jonze"};
+
+    private static List<MovieReview> randomReviews(int count, long seed, boolean offGridRatings) {
+        Random random = new Random(seed);
+        List<MovieReview> reviews = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            MovieReview review = MovieReview.builder()
+                .setId(random.nextInt(count * 2))
+                .setTitle(TITLES[random.nextInt(TITLES.length)])
+                .setDirector(DIRECTORS[random.nextInt(DIRECTORS.length)])
+                .setRating(offGridRatings ? random.nextDouble() * 5 : random.nextInt(11) / 2.0)
+                .setDateWatched(LocalDate.of(1990, 1, 1).plusDays(random.nextInt(400)))
+                .build();
+            if (random.nextInt(20) == 0) {
+                review.setDateWatched(null);
+            }
+            reviews.add(review);
+        }
+        return reviews;
+    }
+
+    private static List<MovieReview> sortedWith(List<MovieReview> reviews, Comparator<MovieReview> order) {
+        List<MovieReview> sorted = new ArrayList<>(reviews);
+        sorted.sort(order);
+        return sorted;
+    }
+
+    private static void assertSameOrder(List<MovieReview> expected, List<MovieReview> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i), "Mismatch at index " + i);
+        }
+    }
+
+    @Nested
+    @DisplayName("Rating Sort Tests")
+    class RatingSortTests {
+
+        private final Comparator<MovieReview> highFirst =
+            Comparator.comparing(MovieReview::getRating, Comparator.reverseOrder())
+                .thenComparing(MovieReview::getTitle);
+
+        @Test
+        @DisplayName("Should bucket sort half-step ratings like the comparator")
+        void shouldMatchComparatorForHalfSteps() {
+            List<MovieReview> reviews = randomReviews(500, 1, false);
+            reviews.forEach(r -> r.setTitle(r.getTitle() == null ? "Untitled" : r.getTitle()));
+
+            assertSameOrder(sortedWith(reviews, highFirst), ReviewSortEngine.sortByRating(reviews, true));
+            assertSameOrder(sortedWith(reviews, Comparator.comparing(MovieReview::getRating)
+                    .thenComparing(MovieReview::getTitle)),
+                ReviewSortEngine.sortByRating(reviews, false));
+        }
+
+        @Test
+        @DisplayName("Should fall back for ratings off the tenth-star grid")
+        void shouldMatchComparatorForArbitraryRatings() {
+            List<MovieReview> reviews = randomReviews(300, 2, true);
+            reviews.forEach(r -> r.setTitle(r.getTitle() == null ? "Untitled" : r.getTitle()));
+
+            assertSameOrder(sortedWith(reviews, highFirst), ReviewSortEngine.sortByRating(reviews, true));
+        }
+    }
+
+    @Nested
+    @DisplayName("Comparator Tests")
+    class ComparatorTests {
+
+        @Test
+        @DisplayName("Should expose comparators that agree with every sort")
+        void shouldMatchSorts() {
+            List<MovieReview> reviews = randomReviews(500, 7, false);
+            reviews.forEach(r -> r.setTitle(r.getTitle() == null ? "Untitled" : r.getTitle()));
+
+            for (boolean direction : new boolean[] {true, false}) {
+                assertSameOrder(sortedWith(reviews, ReviewSortEngine.ratingOrder(direction)),
+                    ReviewSortEngine.sortByRating(reviews, direction));
+                assertSameOrder(sortedWith(reviews, ReviewSortEngine.dateOrder(direction)),
+                    ReviewSortEngine.sortByDate(reviews, direction));
+                assertSameOrder(sortedWith(reviews, ReviewSortEngine.titleOrder(direction)),
+                    ReviewSortEngine.sortByTitle(reviews, direction));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Date Sort Tests")
+    class DateSortTests {
+
+        @Test
+        @DisplayName("Should radix sort newest first with missing dates last")
+        void shouldMatchNewestFirstComparator() {
+            List<MovieReview> reviews = randomReviews(1000, 3, false);
+            Comparator<MovieReview> order = Comparator.comparing(
+                    MovieReview::getDateWatched, Comparator.nullsLast(Comparator.<LocalDate>reverseOrder()))
+                .thenComparing(MovieReview::getId, Comparator.reverseOrder());
+
+            assertSameOrder(sortedWith(reviews, order), ReviewSortEngine.sortByDate(reviews, true));
+        }
+
+        @Test
+        @DisplayName("Should radix sort oldest first with missing dates first")
+        void shouldMatchOldestFirstComparator() {
+            List<MovieReview> reviews = randomReviews(1000, 4, false);
+            Comparator<MovieReview> order = Comparator.comparing(
+                    MovieReview::getDateWatched, Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()))
+                .thenComparing(MovieReview::getId);
+
+            assertSameOrder(sortedWith(reviews, order), ReviewSortEngine.sortByDate(reviews, false));
+        }
+
+        @Test
+        @DisplayName("Should handle empty input")
+        void shouldHandleEmptyInput() {
+            assertTrue(ReviewSortEngine.sortByDate(List.of(), true).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Title Sort Tests")
+    class TitleSortTests {
+
+        private final Comparator<MovieReview> ascending = Comparator.comparing(
+                MovieReview::getTitleSortKey, Comparator.nullsLast(Comparator.<CollationKey>naturalOrder()))
+            .thenComparing(MovieReview::getTitle, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+            .thenComparing(MovieReview::getDirector);
+
+        @Test
+        @DisplayName("Should match the collation key comparator in both directions")
+        void shouldMatchTitleComparators() {
+            List<MovieReview> reviews = randomReviews(400, 5, false);
+            Comparator<MovieReview> descending = Comparator.comparing(
+                    MovieReview::getTitleSortKey, Comparator.nullsLast(Comparator.<CollationKey>reverseOrder()))
+                .thenComparing(MovieReview::getTitle, Comparator.nullsLast(Comparator.<String>reverseOrder()))
+                .thenComparing(MovieReview::getDirector, Comparator.reverseOrder());
+
+            assertSameOrder(sortedWith(reviews, ascending), ReviewSortEngine.sortByTitle(reviews, true));
+            assertSameOrder(sortedWith(reviews, descending), ReviewSortEngine.sortByTitle(reviews, false));
+        }
+
+        @Test
+        @DisplayName("Should ignore leading articles, case and accents")
+        void shouldSortLikeALibraryShelf() {
+            List<String> titles = List.of("The Matrix", "zodiac", "Élite Squad", "An Education", "Eden", "Heat");
+            List<MovieReview> reviews = new ArrayList<>();
+            for (String title : titles) {
+                reviews.add(MovieReview.builder().setTitle(title).setDirector("Director").build());
+            }
+
+            List<String> sorted = ReviewSortEngine.sortByTitle(reviews, true).stream()
+                .map(MovieReview::getTitle)
+                .toList();
+
+            assertEquals(List.of("Eden", "An Education", "Élite Squad", "Heat", "The Matrix", "zodiac"), sorted);
+        }
+
+        @Test
+        @DisplayName("Should stay stable when sorting in parallel")
+        void shouldMatchComparatorAboveParallelThreshold() {
+            List<MovieReview> reviews = randomReviews(ReviewSortEngine.PARALLEL_THRESHOLD * 2, 6, false);
+
+            assertSameOrder(sortedWith(reviews, ascending), ReviewSortEngine.sortByTitle(reviews, true));
+        }
+    }
+}
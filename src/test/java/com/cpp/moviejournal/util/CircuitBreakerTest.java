@@ -0,0 +1,97 @@
+package com.cpp.moviejournal.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for CircuitBreaker class.
+ * Tests opening after repeated failures, the cool-down and the single half-open trial.
+ */
+@DisplayName("CircuitBreaker Unit Tests")
+class CircuitBreakerTest {
+  private final AtomicLong now = new AtomicLong();
+  private CircuitBreaker breaker;
+
+  @BeforeEach
+  void setUp() {
+    breaker = new CircuitBreaker(3, Duration.ofSeconds(30), now::get);
+  }
+
+  private void fail(int times) {
+    for (int i = 0; i < times; i++) {
+      breaker.allowRequest();
+      breaker.recordFailure();
+    }
+  }
+
+  @Nested
+  @DisplayName("Opening Tests")
+  class OpeningTests {
+
+    @Test
+    @DisplayName("Should open only after consecutive failures reach the threshold")
+    void shouldOpenAfterThreshold() {
+      // Given
+      fail(2);
+      breaker.recordSuccess();
+      fail(2);
+
+      // Then
+      assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+      // When
+      fail(1);
+
+      // Then
+      assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+      assertFalse(breaker.allowRequest());
+    }
+  }
+
+  @Nested
+  @DisplayName("Recovery Tests")
+  class RecoveryTests {
+
+    @Test
+    @DisplayName("Should let one trial through after the cool-down and close on success")
+    void shouldCloseAfterSuccessfulTrial() {
+      // Given
+      fail(3);
+      now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+      // When
+      boolean trial = breaker.allowRequest();
+      boolean concurrent = breaker.allowRequest();
+      breaker.recordSuccess();
+
+      // Then
+      assertTrue(trial);
+      assertFalse(concurrent);
+      assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should reopen for a full cool-down when the trial fails")
+    void shouldReopenAfterFailedTrial() {
+      // Given
+      fail(3);
+      now.addAndGet(Duration.ofSeconds(30).toNanos());
+      breaker.allowRequest();
+
+      // When
+      breaker.recordFailure();
+      now.addAndGet(Duration.ofSeconds(29).toNanos());
+
+      // Then
+      assertFalse(breaker.allowRequest());
+    }
+  }
+}
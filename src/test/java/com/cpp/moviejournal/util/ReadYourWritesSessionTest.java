@@ -0,0 +1,80 @@
+package com.cpp.moviejournal.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for ReadYourWritesSession class.
+ * Tests that reads stay on the primary only within the window after a write.
+ */
+@DisplayName("ReadYourWritesSession Unit Tests")
+class ReadYourWritesSessionTest {
+  private final AtomicLong now = new AtomicLong(1_000);
+  private ReadYourWritesSession session;
+
+  @BeforeEach
+  void setUp() {
+    session = new ReadYourWritesSession(Duration.ofSeconds(5), now::get);
+  }
+
+  @Nested
+  @DisplayName("Routing Tests")
+  class RoutingTests {
+
+    @Test
+    @DisplayName("Should allow replica reads before any write")
+    void shouldAllowReplicaReadsBeforeWrite() {
+      // Then
+      assertFalse(session.requiresPrimary());
+    }
+
+    @Test
+    @DisplayName("Should pin reads to the primary within the window after a write")
+    void shouldPinReadsAfterWrite() {
+      // When
+      session.recordWrite();
+      now.addAndGet(Duration.ofSeconds(4).toNanos());
+
+      // Then
+      assertTrue(session.requiresPrimary());
+
+      // When
+      now.addAndGet(Duration.ofSeconds(1).toNanos());
+
+      // Then
+      assertFalse(session.requiresPrimary());
+    }
+
+    @Test
+    @DisplayName("Should restart the window on every write")
+    void shouldRestartWindowOnWrite() {
+      // Given
+      session.recordWrite();
+      now.addAndGet(Duration.ofSeconds(4).toNanos());
+
+      // When
+      session.recordWrite();
+      now.addAndGet(Duration.ofSeconds(4).toNanos());
+
+      // Then
+      assertTrue(session.requiresPrimary());
+    }
+
+    @Test
+    @DisplayName("Should reject a negative window")
+    void shouldRejectNegativeWindow() {
+      // Then
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> new ReadYourWritesSession(Duration.ofMillis(-1)));
+    }
+  }
+}
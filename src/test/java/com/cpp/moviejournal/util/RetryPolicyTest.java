@@ -0,0 +1,71 @@
+package com.cpp.moviejournal.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for RetryPolicy class.
+ * Tests which errors are retried and how the jittered backoff grows.
+ */
+@DisplayName("RetryPolicy Unit Tests")
+class RetryPolicyTest {
+
+  @Nested
+  @DisplayName("Transient Error Tests")
+  class TransientErrorTests {
+
+    @Test
+    @DisplayName("Should retry timeouts, connection errors and deadlocks")
+    void shouldRetryTransientErrors() {
+      assertTrue(RetryPolicy.isTransient(new SQLTimeoutException("timeout")));
+      assertTrue(RetryPolicy.isTransient(new SQLException("link failure", "08S01")));
+      assertTrue(RetryPolicy.isTransient(new SQLException("deadlock", "40001")));
+    }
+
+    @Test
+    @DisplayName("Should not retry constraint violations or syntax errors")
+    void shouldNotRetryPermanentErrors() {
+      assertFalse(RetryPolicy.isTransient(new SQLIntegrityConstraintViolationException("dup", "23000")));
+      assertFalse(RetryPolicy.isTransient(new SQLException("syntax", "42000")));
+      assertFalse(RetryPolicy.isTransient(new SQLException("no state")));
+    }
+  }
+
+  @Nested
+  @DisplayName("Backoff Tests")
+  class BackoffTests {
+
+    @Test
+    @DisplayName("Should double the delay cap per retry up to the maximum")
+    void shouldGrowExponentiallyUpToCap() {
+      // Given: the random draw at its top end exposes the cap
+      RetryPolicy policy =
+          new RetryPolicy(5, Duration.ofMillis(100), Duration.ofMillis(350), () -> 1.0);
+
+      // Then
+      assertEquals(Duration.ofMillis(100), policy.delayBeforeRetry(1));
+      assertEquals(Duration.ofMillis(200), policy.delayBeforeRetry(2));
+      assertEquals(Duration.ofMillis(350), policy.delayBeforeRetry(3));
+    }
+
+    @Test
+    @DisplayName("Should spread delays between zero and the cap")
+    void shouldApplyFullJitter() {
+      // Given
+      RetryPolicy policy =
+          new RetryPolicy(5, Duration.ofMillis(100), Duration.ofSeconds(1), () -> 0.25);
+
+      // Then
+      assertEquals(Duration.ofMillis(50), policy.delayBeforeRetry(2));
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package com.cpp.moviejournal.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cpp.moviejournal.model.MovieReview;
+import java.text.CollationKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for TitleCollation class.
+ * Tests article stripping, case and accent folding, and the key cached on reviews.
+ */
+@DisplayName("TitleCollation Unit Tests")
+class TitleCollationTest {
+
+  @Nested
+  @DisplayName("Leading Article Tests")
+  class LeadingArticleTests {
+
+    @Test
+    @DisplayName("Should strip a leading article in any case")
+    void shouldStripLeadingArticle() {
+      assertEquals("Matrix", TitleCollation.stripLeadingArticle("The Matrix"));
+      assertEquals("Education", TitleCollation.stripLeadingArticle("an Education"));
+      assertEquals("Quiet Place", TitleCollation.stripLeadingArticle(" A Quiet Place"));
+    }
+
+    @Test
+    @DisplayName("Should keep articles that are the whole title or part of a word")
+    void shouldKeepNonArticlePrefixes() {
+      assertEquals("The", TitleCollation.stripLeadingArticle("The"));
+      assertEquals("Theory of Everything", TitleCollation.stripLeadingArticle("Theory of Everything"));
+      assertEquals("Amelie", TitleCollation.stripLeadingArticle("Amelie"));
+    }
+  }
+
+  @Nested
+  @DisplayName("Sort Key Tests")
+  class SortKeyTests {
+
+    @Test
+    @DisplayName("Should compare equal ignoring case, accents and articles")
+    void shouldFoldCaseAndAccents() {
+      assertEquals(0, TitleCollation.sortKey("Amélie").compareTo(TitleCollation.sortKey("AMELIE")));
+      assertEquals(0, TitleCollation.sortKey("The Matrix").compareTo(TitleCollation.sortKey("matrix")));
+    }
+
+    @Test
+    @DisplayName("Should place accented titles with their base letter")
+    void shouldOrderAccentedTitles() {
+      CollationKey eden = TitleCollation.sortKey("Eden");
+      CollationKey elite = TitleCollation.sortKey("Élite Squad");
+      CollationKey fargo = TitleCollation.sortKey("Fargo");
+
+      assertTrue(eden.compareTo(elite) < 0);
+      assertTrue(elite.compareTo(fargo) < 0);
+    }
+
+    @Test
+    @DisplayName("Should return null for a null title")
+    void shouldHandleNullTitle() {
+      assertNull(TitleCollation.sortKey(null));
+    }
+
+    @Test
+    @DisplayName("Should cache the key on a review until its title changes")
+    void shouldCacheKeyOnReview() {
+      // Given
+      MovieReview review = MovieReview.builder().setTitle("Heat").build();
+      CollationKey first = review.getTitleSortKey();
+
+      // When
+      CollationKey cached = review.getTitleSortKey();
+      review.setTitle("The Heat");
+      CollationKey renamed = review.getTitleSortKey();
+
+      // Then
+      assertSame(first, cached);
+      assertNotSame(first, renamed);
+      assertEquals("Heat", renamed.getSourceString());
+    }
+  }
+}
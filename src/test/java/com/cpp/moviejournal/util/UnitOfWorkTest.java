@@ -0,0 +1,205 @@
+package com.cpp.moviejournal.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cpp.moviejournal.manager.MovieReviewManager;
+import com.cpp.moviejournal.manager.ReviewChangeListener;
+import com.cpp.moviejournal.model.MovieReview;
+import com.cpp.moviejournal.repository.InMemoryReviewRepository;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for UnitOfWork class.
+ * Tests connection sharing, commit and rollback, and deferred notifications.
+ */
+@DisplayName("UnitOfWork Unit Tests")
+class UnitOfWorkTest {
+  private final List<String> calls = new ArrayList<>();
+
+  @AfterEach
+  void tearDown() {
+    UnitOfWork unit = UnitOfWork.current();
+    if (unit != null) {
+      unit.close();
+    }
+  }
+
+  /** A connection that records calls and whose statements fail when {@code failing}. */
+  private Connection fakeConnection(boolean failing) {
+    PreparedStatement statement =
+        (PreparedStatement)
+            Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class},
+                (proxy, method, args) -> {
+                  if (failing && method.getName().startsWith("execute")) {
+                    throw new SQLException("Duplicate entry", "23000");
+                  }
+                  return method.getName().equals("executeUpdate") ? 1 : null;
+                });
+    return (Connection)
+        Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+              String name = method.getName();
+              if (name.equals("prepareStatement")) {
+                return statement;
+              }
+              if (name.equals("setAutoCommit")) {
+                calls.add("setAutoCommit(" + args[0] + ")");
+              } else if (name.equals("commit")
+                  || name.equals("rollback")
+                  || name.equals("close")) {
+                calls.add(name);
+              }
+              return null;
+            });
+  }
+
+  @Nested
+  @DisplayName("Transaction Tests")
+  class TransactionTests {
+
+    @Test
+    @DisplayName("Should share one connection and commit it once")
+    void shouldShareConnectionAndCommitOnce() throws SQLException {
+      // Given
+      UnitOfWork unit = UnitOfWork.begin();
+      Connection first = unit.enlist("db", () -> fakeConnection(false));
+      first.prepareStatement("UPDATE a").executeUpdate();
+      first.commit();
+      first.close();
+
+      // When
+      Connection second = unit.enlist("db", () -> fakeConnection(false));
+      second.prepareStatement("UPDATE b").executeUpdate();
+      unit.commit();
+
+      // Then
+      assertSame(first, second);
+      assertEquals(List.of("setAutoCommit(false)", "commit", "close"), calls);
+      assertNull(UnitOfWork.current());
+    }
+
+    @Test
+    @DisplayName("Should roll back everything when one statement fails")
+    void shouldRollBackOnFailedStatement() throws SQLException {
+      // Given
+      UnitOfWork unit = UnitOfWork.begin();
+      Connection connection = unit.enlist("db", () -> fakeConnection(true));
+
+      // When
+      assertThrows(
+          SQLException.class, () -> connection.prepareStatement("INSERT").executeUpdate());
+
+      // Then
+      assertTrue(unit.isRollbackOnly());
+      assertThrows(SQLException.class, unit::commit);
+      assertEquals(List.of("setAutoCommit(false)", "rollback", "close"), calls);
+    }
+
+    @Test
+    @DisplayName("Should roll back a unit closed without commit")
+    void shouldRollBackOnClose() throws SQLException {
+      // Given
+      List<String> actions = new ArrayList<>();
+      try (UnitOfWork unit = UnitOfWork.begin()) {
+        unit.enlist("db", () -> fakeConnection(false));
+        unit.afterCommit(() -> actions.add("committed"));
+        unit.afterCompletion(() -> actions.add("completed"));
+      }
+
+      // Then
+      assertEquals(List.of("setAutoCommit(false)", "rollback", "close"), calls);
+      assertEquals(List.of("completed"), actions);
+    }
+
+    @Test
+    @DisplayName("Should refuse a second unit on the same thread")
+    void shouldRefuseNestedUnit() {
+      // Given
+      UnitOfWork.begin();
+
+      // Then
+      assertThrows(IllegalStateException.class, UnitOfWork::begin);
+    }
+  }
+
+  @Nested
+  @DisplayName("Notification Tests")
+  class NotificationTests {
+
+    @Test
+    @DisplayName("Should tell listeners about writes only after commit")
+    void shouldDeferNotificationsUntilCommit() throws SQLException {
+      // Given
+      MovieReviewManager manager = new MovieReviewManager(1, new InMemoryReviewRepository());
+      List<String> heard = new ArrayList<>();
+      manager.addReviewChangeListener(recordingListener(heard));
+      UnitOfWork unit = UnitOfWork.begin();
+
+      // When
+      manager.addReview(review("Heat"));
+      manager.addReview(review("Alien"));
+
+      // Then
+      assertTrue(heard.isEmpty());
+      unit.commit();
+      assertEquals(List.of("added Heat", "added Alien"), heard);
+    }
+  }
+
+  private static MovieReview review(String title) {
+    return MovieReview.builder()
+        .setTitle(title)
+        .setDirector("Director")
+        .setGenre("Drama")
+        .setRating(4.0)
+        .setDateWatched(LocalDate.of(2026, 5, 1))
+        .build();
+  }
+
+  private static ReviewChangeListener recordingListener(List<String> heard) {
+    return new ReviewChangeListener() {
+      @Override
+      public void onReviewAdded(MovieReview review) {
+        heard.add("added " + review.getTitle());
+      }
+
+      @Override
+      public void onReviewUpdated(MovieReview review) {
+        heard.add("updated " + review.getTitle());
+      }
+
+      @Override
+      public void onReviewDeleted(int reviewId) {
+        heard.add("deleted " + reviewId);
+      }
+
+      @Override
+      public void onReviewsBulkDeleted(int count) {
+        heard.add("deleted " + count);
+      }
+
+      @Override
+      public void onReviewsCleared() {
+        heard.add("cleared");
+      }
+    };
+  }
+}